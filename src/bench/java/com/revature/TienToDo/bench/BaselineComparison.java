@@ -0,0 +1,126 @@
+package com.revature.TienToDo.bench;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files benchmark by benchmark (including @Param
+ * values). A result only counts as a change when it moves by more than the
+ * threshold AND the two 99.9% error intervals do not overlap, so noisy
+ * benchmarks do not flap between runs.
+ */
+public final class BaselineComparison {
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    public enum Verdict { IMPROVED, UNCHANGED, REGRESSED, NEW, MISSING }
+
+    public record Score(String mode, double score, double error, String unit) {
+        boolean higherIsBetter() {
+            return mode.equals("thrpt");
+        }
+    }
+
+    public record Row(String key, Score baseline, Score current, double change, Verdict verdict) {
+    }
+
+    private BaselineComparison() {
+    }
+
+    public static List<Row> compare(Path baselineFile, Path resultsFile, double threshold) throws IOException {
+        Map<String, Score> baseline = read(baselineFile);
+        Map<String, Score> current = read(resultsFile);
+        List<Row> rows = new ArrayList<>();
+
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null || !before.unit().equals(now.unit())) {
+                rows.add(new Row(entry.getKey(), null, now, Double.NaN, Verdict.NEW));
+                continue;
+            }
+            rows.add(new Row(entry.getKey(), before, now, change(before, now), verdict(before, now, threshold)));
+        }
+        for (Map.Entry<String, Score> entry : baseline.entrySet()) {
+            if (!current.containsKey(entry.getKey())) {
+                rows.add(new Row(entry.getKey(), entry.getValue(), null, Double.NaN, Verdict.MISSING));
+            }
+        }
+        return rows;
+    }
+
+    public static void print(List<Row> rows, PrintStream out) {
+        out.printf("%-80s %14s %14s %9s  %s%n", "Benchmark", "Baseline", "Current", "Change", "Verdict");
+        for (Row row : rows) {
+            out.printf("%-80s %14s %14s %9s  %s%n",
+                    row.key(),
+                    format(row.baseline()),
+                    format(row.current()),
+                    Double.isNaN(row.change()) ? "" : String.format("%+.1f%%", row.change() * 100),
+                    row.verdict());
+        }
+    }
+
+    /**
+     * Relative change in the "better" direction: positive means faster.
+     */
+    static double change(Score before, Score now) {
+        double delta = (now.score() - before.score()) / before.score();
+        return before.higherIsBetter() ? delta : -delta;
+    }
+
+    static Verdict verdict(Score before, Score now, double threshold) {
+        double change = change(before, now);
+        boolean overlap = Math.abs(now.score() - before.score()) <= safe(now.error()) + safe(before.error());
+        if (overlap || Math.abs(change) <= threshold) {
+            return Verdict.UNCHANGED;
+        }
+        return change > 0 ? Verdict.IMPROVED : Verdict.REGRESSED;
+    }
+
+    static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        try (InputStream in = Files.newInputStream(file)) {
+            for (JsonNode result : MAPPER.readTree(in)) {
+                JsonNode metric = result.path("primaryMetric");
+                scores.put(key(result), new Score(
+                        result.path("mode").asString(),
+                        metric.path("score").asDouble(),
+                        metric.path("scoreError").asDouble(Double.NaN),
+                        metric.path("scoreUnit").asString()));
+            }
+        }
+        return scores;
+    }
+
+    private static String key(JsonNode result) {
+        String benchmark = result.path("benchmark").asString();
+        JsonNode params = result.path("params");
+        if (params.isMissingNode() || params.isEmpty()) {
+            return benchmark;
+        }
+        Map<String, String> sorted = new TreeMap<>();
+        for (Map.Entry<String, JsonNode> param : params.properties()) {
+            sorted.put(param.getKey(), param.getValue().asString());
+        }
+        return benchmark + " " + sorted;
+    }
+
+    private static double safe(double error) {
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static String format(Score score) {
+        return score == null ? "-" : String.format("%.3f %s", score.score(), score.unit());
+    }
+}
@@ -0,0 +1,73 @@
+package com.revature.TienToDo.bench;
+
+import com.revature.TienToDo.seed.SeedConfig;
+import com.revature.TienToDo.seed.SqliteApplication;
+import com.revature.TienToDo.seed.SqliteSeeder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The application running against a SQLite file: either a throwaway file
+ * filled by {@link SqliteSeeder}, or an existing one given with
+ * -Dbench.database (e.g. a multi-million-row file from the seed profile),
+ * which is used as-is and kept. Extra properties (e.g. app.storage.engine)
+ * are passed to the application as given, via {@link SqliteApplication} so
+ * they win over the test classpath's H2 settings.
+ */
+final class BenchDatabase implements AutoCloseable {
+    private final Path directory;
+    private final ConfigurableApplicationContext context;
+
+    private BenchDatabase(Path directory, ConfigurableApplicationContext context) {
+        this.directory = directory;
+        this.context = context;
+    }
+
+    static BenchDatabase start(int users, int todosMax, int subtasksMax, String... properties)
+            throws IOException, SQLException {
+        String existing = System.getProperty("bench.database", "");
+        if (!existing.isBlank()) {
+            return new BenchDatabase(null, run(Path.of(existing), properties));
+        }
+
+        Path directory = Files.createTempDirectory("tientodo-bench-");
+        Path file = directory.resolve("bench.sqlite");
+        SqliteSeeder.seed(SeedConfig.of(file, users, todosMax, subtasksMax));
+        return new BenchDatabase(directory, run(file, properties));
+    }
+
+    private static ConfigurableApplicationContext run(Path file, String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "app.rate-limit.enabled=false",
+                "app.concurrency.enabled=false",
+                // Benchmarks measure the reads themselves, not UserCaches
+                "app.cache.enabled=false"));
+        all.addAll(List.of(properties));
+        return SqliteApplication.run("jdbc:sqlite:" + file, all);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
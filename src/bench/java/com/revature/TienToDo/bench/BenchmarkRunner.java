@@ -0,0 +1,76 @@
+package com.revature.TienToDo.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point for the bench profile: runs the JMH benchmarks, writes the JSON
+ * results and compares them against the stored baseline.
+ *
+ * Arguments (all --name=value, set from the pom): include, results, baseline,
+ * threshold, update-baseline, fail-on-regression, profilers. Forks, warm-up and measurement
+ * settings live on each benchmark class.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        Path results = Path.of(options.getOrDefault("results", "target/jmh/results.json"));
+        Path baseline = Path.of(options.getOrDefault("baseline", "src/bench/baseline.json"));
+        double threshold = Double.parseDouble(options.getOrDefault("threshold", "0.10"));
+
+        Files.createDirectories(results.toAbsolutePath().getParent());
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .include(options.getOrDefault("include", ".*"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.toString());
+        // e.g. --profilers=gc for allocation rates (gc.alloc.rate.norm) next to the timings
+        for (String profiler : options.getOrDefault("profilers", "").split(",")) {
+            if (!profiler.isBlank()) {
+                builder.addProfiler(profiler.trim());
+            }
+        }
+        new Runner(builder.build()).run();
+
+        if (Boolean.parseBoolean(options.get("update-baseline"))) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(results, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline updated: " + baseline);
+            return;
+        }
+
+        if (!Files.exists(baseline)) {
+            System.out.println("No baseline at " + baseline
+                    + " — rerun with -Dbench.update-baseline=true to record one.");
+            return;
+        }
+
+        List<BaselineComparison.Row> rows = BaselineComparison.compare(baseline, results, threshold);
+        BaselineComparison.print(rows, System.out);
+
+        boolean regressed = rows.stream().anyMatch(row -> row.verdict() == BaselineComparison.Verdict.REGRESSED);
+        if (regressed && Boolean.parseBoolean(options.get("fail-on-regression"))) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,54 @@
+package com.revature.TienToDo.bench;
+
+import com.revature.TienToDo.dto.SubtaskResponse;
+import com.revature.TienToDo.dto.TodoResponse;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the list endpoints' response body, List&lt;TodoResponse&gt;,
+ * with three subtasks per todo. Uses a writer bound to the list type, as the
+ * MVC message converter does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    @Param({"10", "100", "1000"})
+    public int todos;
+
+    private ObjectWriter writer;
+    private List<TodoResponse> body;
+
+    @Setup
+    public void setUp() {
+        JsonMapper mapper = JsonMapper.builder().build();
+        writer = mapper.writerFor(mapper.getTypeFactory()
+                .constructCollectionType(List.class, TodoResponse.class));
+
+        LocalDateTime now = LocalDateTime.of(2025, 3, 14, 15, 9, 26);
+        body = new ArrayList<>(todos);
+        for (long i = 0; i < todos; i++) {
+            TodoResponse todo = new TodoResponse(i, "Todo title " + i,
+                    "A description long enough to look like real user input #" + i, i % 3 == 0, now, now);
+            for (long j = 0; j < 3; j++) {
+                todo.getSubtasks().add(new SubtaskResponse(i * 3 + j, "Subtask " + j, j == 0, now, now));
+            }
+            body.add(todo);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeTodoList() {
+        return writer.writeValueAsBytes(body);
+    }
+}
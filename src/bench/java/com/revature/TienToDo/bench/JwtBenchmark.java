@@ -0,0 +1,101 @@
+package com.revature.TienToDo.bench;
+
+import com.revature.TienToDo.service.CustomUserDetailsService;
+import com.revature.TienToDo.utility.JwtAuthFilter;
+import com.revature.TienToDo.utility.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification, and the checks JwtAuthFilter runs per request.
+ * The user lookup is stubbed so the filter numbers are JWT work only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+    private static final String USERNAME = "bench-user";
+
+    private JwtUtil jwtUtil;
+    private JwtAuthFilter jwtAuthFilter;
+    private UserDetails user;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", "benchmark-secret-key-that-is-long-enough-for-hs256");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpirationMs", 604_800_000L);
+        ReflectionTestUtils.setField(jwtUtil, "issuer", "todo-api");
+        ReflectionTestUtils.setField(jwtUtil, "meterRegistry", meterRegistry);
+        jwtUtil.init();
+
+        user = new User(USERNAME, "{bcrypt}unused", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService() {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return user;
+            }
+        };
+
+        jwtAuthFilter = new JwtAuthFilter();
+        ReflectionTestUtils.setField(jwtAuthFilter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(jwtAuthFilter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(jwtAuthFilter, "meterRegistry", meterRegistry);
+
+        accessToken = jwtUtil.generateToken(USERNAME);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(USERNAME);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtUtil.extractClaim(accessToken, claims -> claims);
+    }
+
+    /**
+     * The JwtUtil calls JwtAuthFilter makes for one valid access token, in order.
+     */
+    @Benchmark
+    public boolean filterTokenChecks() {
+        return jwtUtil.getTokenError(accessToken) == null
+                && !jwtUtil.isRefreshToken(accessToken)
+                && jwtUtil.extractUsername(accessToken) != null
+                && jwtUtil.isTokenValid(accessToken, user);
+    }
+
+    @Benchmark
+    public int filterValidToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/todos");
+        request.setServletPath("/api/todos");
+        request.addHeader("Authorization", "Bearer " + accessToken);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            jwtAuthFilter.doFilter(request, response, new MockFilterChain());
+            return response.getStatus();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.revature.TienToDo.bench;
+
+import com.revature.TienToDo.utility.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimitFilter's per-request cost: one CAS on a bucket. Measured with all
+ * threads on one hot key (worst-case contention) and spread over many keys,
+ * at 1 and 8 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+    private static final int KEYS = 10_000;
+
+    private RateLimiter rateLimiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        // Limits high enough that the benchmark measures bookkeeping, not rejections
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("app.rate-limit.read.rate-per-second", "1000000000")
+                .withProperty("app.rate-limit.read.burst", "1000000");
+        rateLimiter = new RateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "env", env);
+        rateLimiter.init();
+
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "user:bench-" + i;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        rateLimiter.shutdown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long hotKeySingleThread() {
+        return rateLimiter.tryAcquire(RateLimiter.RouteGroup.READ, keys[0]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long hotKeyContended() {
+        return rateLimiter.tryAcquire(RateLimiter.RouteGroup.READ, keys[0]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long spreadKeys() {
+        return rateLimiter.tryAcquire(RateLimiter.RouteGroup.READ,
+                keys[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+}
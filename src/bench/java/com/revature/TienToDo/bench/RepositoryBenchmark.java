@@ -0,0 +1,89 @@
+package com.revature.TienToDo.bench;
+
+import com.revature.TienToDo.dto.SubtaskRow;
+import com.revature.TienToDo.dto.TodoResponse;
+import com.revature.TienToDo.entity.Todo;
+import com.revature.TienToDo.entity.User;
+import com.revature.TienToDo.repository.SubtaskRepository;
+import com.revature.TienToDo.repository.TodoRepository;
+import com.revature.TienToDo.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The repository queries behind the list, search and auth paths, through the
+ * real Spring Data proxies against a seeded SQLite file (1,000 users with
+ * Zipf-distributed todo counts up to 1,000, 0–6 subtasks each). Runs for the
+ * median user and for the user with the most todos, and includes the entity
+ * query the projections replaced, for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+    @Param({"median", "heaviest"})
+    public String user;
+
+    private BenchDatabase database;
+    private TodoRepository todoRepository;
+    private SubtaskRepository subtaskRepository;
+    private UserRepository userRepository;
+    private long userId;
+    private String username;
+    private List<Long> todoIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        database = BenchDatabase.start(1_000, 1_000, 6);
+        todoRepository = database.bean(TodoRepository.class);
+        subtaskRepository = database.bean(SubtaskRepository.class);
+        userRepository = database.bean(UserRepository.class);
+
+        List<Long> byTodoCount = database.bean(JdbcTemplate.class).queryForList(
+                "SELECT user_id FROM todos GROUP BY user_id ORDER BY COUNT(*) DESC", Long.class);
+        userId = user.equals("heaviest") ? byTodoCount.get(0) : byTodoCount.get(byTodoCount.size() / 2);
+        username = userRepository.findById(userId).orElseThrow().getUsername();
+        todoIds = todoRepository.findTodoViewsByUserId(userId).stream()
+                .map(TodoResponse::getId)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Benchmark
+    public List<TodoResponse> findTodoViewsByUserId() {
+        return todoRepository.findTodoViewsByUserId(userId);
+    }
+
+    @Benchmark
+    public List<Todo> findEntitiesByUserId() {
+        return todoRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    @Benchmark
+    public List<TodoResponse> searchTodoViewsByKeyword() {
+        return todoRepository.searchTodoViewsByKeyword(userId, "report");
+    }
+
+    @Benchmark
+    public List<SubtaskRow> findSubtaskRowsByTodoIds() {
+        return subtaskRepository.findSubtaskRowsByTodoIds(todoIds);
+    }
+
+    @Benchmark
+    public Optional<User> findByUsername() {
+        return userRepository.findByUsername(username);
+    }
+}
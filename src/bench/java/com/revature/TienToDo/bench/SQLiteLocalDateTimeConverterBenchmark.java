@@ -0,0 +1,43 @@
+package com.revature.TienToDo.bench;
+
+import com.revature.TienToDo.config.SQLiteLocalDateTimeConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every timestamp column goes through this converter on each read and write.
+ * The three read formats take different paths (epoch millis parses first,
+ * ISO-8601 falls through two failed attempts), so each is measured separately.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SQLiteLocalDateTimeConverterBenchmark {
+    private final SQLiteLocalDateTimeConverter converter = new SQLiteLocalDateTimeConverter();
+    private final LocalDateTime dateTime = LocalDateTime.of(2025, 3, 14, 15, 9, 26);
+
+    @Benchmark
+    public String toDatabaseColumn() {
+        return converter.convertToDatabaseColumn(dateTime);
+    }
+
+    @Benchmark
+    public LocalDateTime fromSqliteText() {
+        return converter.convertToEntityAttribute("2025-03-14 15:09:26");
+    }
+
+    @Benchmark
+    public LocalDateTime fromEpochMillis() {
+        return converter.convertToEntityAttribute("1741964966000");
+    }
+
+    @Benchmark
+    public LocalDateTime fromIsoText() {
+        return converter.convertToEntityAttribute("2025-03-14T15:09:26");
+    }
+}
@@ -0,0 +1,102 @@
+package com.revature.TienToDo.bench;
+
+import com.revature.TienToDo.dto.TodoRequest;
+import com.revature.TienToDo.dto.TodoResponse;
+import com.revature.TienToDo.entity.User;
+import com.revature.TienToDo.repository.UserRepository;
+import com.revature.TienToDo.service.TodoService;
+import com.revature.TienToDo.utility.RequestInfo;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Write throughput of the sharded engine by shard count, 8 writers each acting
+ * as their own user. With one shard every write queues on the same SQLite
+ * lock; more shards let writers for users on different shards commit in
+ * parallel, until the disk's fsync rate is the limit. The same seeded file as
+ * {@link RepositoryBenchmark}, spread over the shards on start.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShardingBenchmark {
+    private static final int WRITERS = 8;
+
+    @Param({"1", "2", "4", "8"})
+    public int shards;
+
+    private Path shardDirectory;
+    private BenchDatabase database;
+    private TodoService todoService;
+    private List<User> users;
+    private final AtomicInteger nextWriter = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        shardDirectory = Files.createTempDirectory("tientodo-shard-bench-");
+        database = BenchDatabase.start(1_000, 1_000, 6,
+                "app.storage.engine=sharded",
+                "app.storage.sharded.directory=" + shardDirectory,
+                "app.storage.sharded.count=" + shards,
+                "app.storage.sharded.pool-size=" + WRITERS);
+        todoService = database.bean(TodoService.class);
+        users = database.bean(UserRepository.class).findAll().stream()
+                .skip(500)
+                .limit(WRITERS)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+        try (Stream<Path> files = Files.walk(shardDirectory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        User user;
+        int round;
+
+        @Setup(Level.Trial)
+        public void setUp(ShardingBenchmark benchmark) {
+            user = benchmark.users.get(benchmark.nextWriter.getAndIncrement() % benchmark.users.size());
+            // As the JWT filter would, so lookups by id go straight to the user's shard
+            RequestInfo.start("bench");
+            RequestInfo.setUser(user.getId(), user.getUsername());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            RequestInfo.clear();
+        }
+    }
+
+    /**
+     * Create, complete and delete: three commits on the writer's shard per call.
+     */
+    @Benchmark
+    @Threads(WRITERS)
+    public TodoResponse createCompleteDelete(Writer writer) {
+        TodoResponse todo = todoService.createTodo(
+                new TodoRequest("Bench " + writer.round++, "Sharding benchmark"), writer.user);
+        TodoResponse completed = todoService.markTodoComplete(todo.getId(), writer.user);
+        todoService.deleteTodo(todo.getId(), writer.user);
+        return completed;
+    }
+}
@@ -0,0 +1,106 @@
+package com.revature.TienToDo.bench;
+
+import com.revature.TienToDo.dto.TodoRequest;
+import com.revature.TienToDo.dto.TodoResponse;
+import com.revature.TienToDo.entity.User;
+import com.revature.TienToDo.repository.UserRepository;
+import com.revature.TienToDo.service.TodoService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * TodoService on the two storage engines (app.storage.engine): Hibernate on
+ * SQLite against the in-memory store with its append-only log, both with
+ * durable writes (SQLite's WAL commit, the log's fsync). The same seeded file
+ * as {@link RepositoryBenchmark}; the memory engine imports it on start.
+ *
+ * The write benchmarks run on 8 threads, each as its own user, so the memory
+ * engine's group commit shares fsyncs between them where SQLite serialises
+ * writers on its single write lock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageEngineBenchmark {
+    private static final int WRITERS = 8;
+
+    @Param({"jpa", "memory"})
+    public String engine;
+
+    private Path storeDirectory;
+    private BenchDatabase database;
+    private TodoService todoService;
+    private List<User> users;
+    private final AtomicInteger nextWriter = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        storeDirectory = Files.createTempDirectory("tientodo-store-bench-");
+        database = BenchDatabase.start(1_000, 1_000, 6,
+                "app.storage.engine=" + engine,
+                "app.storage.memory.directory=" + storeDirectory,
+                "app.storage.memory.snapshot-interval-seconds=0");
+        todoService = database.bean(TodoService.class);
+        // Median-sized users, one per writer thread
+        users = database.bean(UserRepository.class).findAll().stream()
+                .skip(500)
+                .limit(WRITERS)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+        try (Stream<Path> files = Files.walk(storeDirectory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        User user;
+        int round;
+
+        @Setup(Level.Trial)
+        public void setUp(StorageEngineBenchmark benchmark) {
+            user = benchmark.users.get(benchmark.nextWriter.getAndIncrement() % benchmark.users.size());
+        }
+    }
+
+    @Benchmark
+    public List<TodoResponse> getAllTodos(Writer writer) {
+        return todoService.getAllTodos(writer.user);
+    }
+
+    @Benchmark
+    public List<TodoResponse> searchTodos(Writer writer) {
+        return todoService.searchTodos("report", writer.user);
+    }
+
+    /**
+     * Create, complete and delete: three durable writes per call.
+     */
+    @Benchmark
+    @Threads(WRITERS)
+    public TodoResponse createCompleteDelete(Writer writer) {
+        TodoResponse todo = todoService.createTodo(
+                new TodoRequest("Bench " + writer.round++, "Storage engine benchmark"), writer.user);
+        TodoResponse completed = todoService.markTodoComplete(todo.getId(), writer.user);
+        todoService.deleteTodo(todo.getId(), writer.user);
+        return completed;
+    }
+}
@@ -0,0 +1,118 @@
+package com.revature.TienToDo.bench;
+
+import com.revature.TienToDo.repository.InMemoryTodoStore;
+import com.revature.TienToDo.seed.SeedConfig;
+import com.revature.TienToDo.seed.SqliteSeeder;
+import org.openjdk.jmh.annotations.*;
+import org.sqlite.SQLiteDataSource;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Restart cost of the in-process data set: opening the in-memory store from
+ * its mapped snapshot and serving one user, against re-reading every todo and
+ * subtask from SQLite, as a cache-warming start has to. Each iteration is one
+ * cold start in a fresh object graph; the OS page cache stays warm, so the
+ * SQLite numbers are a lower bound.
+ *
+ * After each iteration the heap still reachable from the started data set is
+ * printed (after a GC), for the resident-memory side of the comparison; the
+ * mapped snapshot itself lives in the page cache, outside the heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StoreStartupBenchmark {
+    @Param({"mapped-snapshot", "sqlite"})
+    public String source;
+
+    private Path directory;
+    private SQLiteDataSource dataSource;
+    private long probeUserId;
+    private Object started;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("tientodo-startup-bench-");
+        Path file = directory.resolve("bench.sqlite");
+        SqliteSeeder.seed(SeedConfig.of(file, 10_000, 1_000, 6));
+        dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + file);
+
+        // The first open imports from SQLite and writes the snapshot the iterations start from
+        try (InMemoryTodoStore store = new InMemoryTodoStore(directory.resolve("store"), false, 0)) {
+            store.open(dataSource);
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT user_id FROM todos LIMIT 1")) {
+            rs.next();
+            probeUserId = rs.getLong(1);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() throws IOException {
+        System.gc();
+        long retained = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        System.out.printf("%n[%s] heap in use after start: %,d KB%n", source, retained / 1024);
+        if (started instanceof InMemoryTodoStore store) {
+            store.close();
+        }
+        started = null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public int restart() throws IOException, SQLException {
+        if (source.equals("mapped-snapshot")) {
+            InMemoryTodoStore store = new InMemoryTodoStore(directory.resolve("store"), false, 0);
+            store.open(null);
+            started = store;
+            return store.todos(probeUserId).size();
+        }
+        List<Object[]> rows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT id, user_id, title, description, completed, created_at, updated_at FROM todos")) {
+                while (rs.next()) {
+                    rows.add(new Object[]{rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4),
+                            rs.getBoolean(5), rs.getString(6), rs.getString(7)});
+                }
+            }
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT id, todo_id, title, completed, created_at, updated_at FROM subtasks")) {
+                while (rs.next()) {
+                    rows.add(new Object[]{rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getBoolean(4),
+                            rs.getString(5), rs.getString(6)});
+                }
+            }
+        }
+        started = rows;
+        return rows.size();
+    }
+}
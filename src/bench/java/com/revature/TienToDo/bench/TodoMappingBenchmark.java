@@ -0,0 +1,74 @@
+package com.revature.TienToDo.bench;
+
+import com.revature.TienToDo.dto.TodoResponse;
+import com.revature.TienToDo.entity.Subtask;
+import com.revature.TienToDo.entity.Todo;
+import com.revature.TienToDo.entity.User;
+import com.revature.TienToDo.repository.TodoRepository;
+import com.revature.TienToDo.service.TodoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping for the single-todo paths (get/create/update/complete),
+ * which still map a loaded Todo and its subtasks. Measured through
+ * TodoService.getTodoById, with a proxy repository that hands back the same
+ * in-memory Todo, so the rest of the call is a few nanoseconds of overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoMappingBenchmark {
+    @Param({"0", "5", "50"})
+    public int subtasks;
+
+    private final TodoService todoService = new TodoService();
+    private final User user = new User();
+    private Todo todo;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 14, 15, 9, 26);
+        user.setId(7L);
+        todo = new Todo();
+        todo.setId(1L);
+        todo.setTitle("Prepare quarterly report");
+        todo.setDescription("Collect numbers from finance and draft the summary");
+        todo.setCreatedAt(now);
+        todo.setUpdatedAt(now);
+        todo.setUser(user);
+        for (long i = 0; i < subtasks; i++) {
+            Subtask subtask = new Subtask();
+            subtask.setId(i);
+            subtask.setTitle("Step " + i);
+            subtask.setCompleted(i % 2 == 0);
+            subtask.setCreatedAt(now);
+            subtask.setUpdatedAt(now);
+            subtask.setTodo(todo);
+            todo.getSubtasks().add(subtask);
+        }
+
+        Optional<Todo> found = Optional.of(todo);
+        TodoRepository repository = (TodoRepository) Proxy.newProxyInstance(TodoRepository.class.getClassLoader(),
+                new Class<?>[]{TodoRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findByIdAndUserId")) {
+                        return found;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        ReflectionTestUtils.setField(todoService, "todoRepository", repository);
+    }
+
+    @Benchmark
+    public TodoResponse mapTodoToResponse() {
+        return todoService.getTodoById(1L, user);
+    }
+}
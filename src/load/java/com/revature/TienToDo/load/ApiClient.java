@@ -0,0 +1,111 @@
+package com.revature.TienToDo.load;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Thin blocking client for the API. Each call runs on the caller's (virtual)
+ * thread; the shared HttpClient pools connections.
+ */
+public class ApiClient {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    public record Result(int status, JsonNode body) {
+        public boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private final String baseUrl;
+    private final HttpClient http;
+
+    public ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public Result register(String username, String password) throws IOException, InterruptedException {
+        return post("/api/auth/register", null, json(
+                "username", username,
+                "email", username + "@load.test",
+                "password", password,
+                "confirmPassword", password));
+    }
+
+    public Result login(String username, String password) throws IOException, InterruptedException {
+        return post("/api/auth/login", null, json("username", username, "password", password));
+    }
+
+    public Result listTodos(String token) throws IOException, InterruptedException {
+        return get("/api/todos", token);
+    }
+
+    public Result search(String token, String keyword) throws IOException, InterruptedException {
+        return get("/api/todos/search?q=" + URLEncoder.encode(keyword, StandardCharsets.UTF_8), token);
+    }
+
+    public Result createTodo(String token, String title, String description) throws IOException, InterruptedException {
+        return post("/api/todos", token, json("title", title, "description", description));
+    }
+
+    public Result completeTodo(String token, long todoId) throws IOException, InterruptedException {
+        return send(request("/api/todos/" + todoId + "/complete", token)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody()));
+    }
+
+    public Result createSubtask(String token, long todoId, String title) throws IOException, InterruptedException {
+        return post("/api/todos/" + todoId + "/subtasks", token, json("title", title));
+    }
+
+    public Result stats(String token) throws IOException, InterruptedException {
+        return get("/api/auth/me/stats", token);
+    }
+
+    private Result get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET());
+    }
+
+    private Result post(String path, String token, String body) throws IOException, InterruptedException {
+        return send(request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Result send(HttpRequest.Builder builder) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        byte[] body = response.body();
+        boolean json = response.headers().firstValue("Content-Type").orElse("").contains("json");
+        return new Result(response.statusCode(), json && body.length > 0 ? MAPPER.readTree(body) : null);
+    }
+
+    private static String json(String... keyValues) {
+        var node = MAPPER.createObjectNode();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            node.put(keyValues[i], keyValues[i + 1]);
+        }
+        return node.toString();
+    }
+}
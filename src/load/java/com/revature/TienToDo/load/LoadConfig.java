@@ -0,0 +1,109 @@
+package com.revature.TienToDo.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings for one load-test run, parsed from --name=value arguments.
+ *
+ * Scenarios set the default route mix:
+ *   mixed        everyday CRUD and reads, no logins
+ *   login-flood  40% logins alongside the same CRUD, to see BCrypt's effect on everything else
+ * An explicit --mix replaces the scenario's weights.
+ *
+ * --during=backup measures a second time while an online database backup runs
+ * (in-process targets only), for comparing write latency with and without it.
+ */
+public record LoadConfig(
+        String target,
+        String appProfile,
+        String scenario,
+        int users,
+        int todosPerUser,
+        int seedUsers,
+        double ratePerSecond,
+        Duration warmup,
+        Duration duration,
+        Map<Route, Integer> mix,
+        Map<Route, Long> sloMillis,
+        Path report,
+        boolean failOnBreach,
+        String during) {
+
+    private static final Set<String> DURING = Set.of("none", "backup");
+
+    private static final Map<String, String> SCENARIOS = Map.of(
+            "mixed", "list=35,search=10,create=15,complete=10,subtask=15,stats=15",
+            "login-flood", "list=25,search=5,create=10,complete=5,subtask=5,stats=10,login=40");
+
+    public static LoadConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+
+        String scenario = options.getOrDefault("scenario", "mixed");
+        String mix = options.getOrDefault("mix", "");
+        if (mix.isBlank()) {
+            mix = SCENARIOS.get(scenario);
+            if (mix == null) {
+                throw new IllegalArgumentException("Unknown scenario '" + scenario + "', expected one of " + SCENARIOS.keySet());
+            }
+        }
+
+        Map<Route, Long> slo = new EnumMap<>(Route.class);
+        for (Route route : Route.values()) {
+            slo.put(route, route.defaultSloMillis());
+        }
+        parseWeights(options.getOrDefault("slo", "")).forEach((route, ms) -> slo.put(route, (long) ms));
+
+        String during = options.getOrDefault("during", "none");
+        if (!DURING.contains(during)) {
+            throw new IllegalArgumentException("Unknown --during '" + during + "', expected one of " + DURING);
+        }
+        if (!during.equals("none") && blankToNull(options.get("target")) != null) {
+            throw new IllegalArgumentException("--during needs the in-process target, not --target");
+        }
+
+        String appProfile = options.getOrDefault("app-profile", "");
+        return new LoadConfig(
+                blankToNull(options.get("target")),
+                appProfile,
+                scenario,
+                Integer.parseInt(options.getOrDefault("users", "200")),
+                Integer.parseInt(options.getOrDefault("todos-per-user", "5")),
+                Integer.parseInt(options.getOrDefault("seed-users", "0")),
+                Double.parseDouble(options.getOrDefault("rate", "200")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-seconds", "15"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration-seconds", "60"))),
+                parseWeights(mix),
+                slo,
+                Path.of(options.getOrDefault("report", "target/load/report-" + scenario
+                        + (appProfile.isBlank() ? "" : "-" + appProfile) + ".json")),
+                Boolean.parseBoolean(options.getOrDefault("fail-on-breach", "false")),
+                during);
+    }
+
+    private static Map<Route, Integer> parseWeights(String spec) {
+        Map<Route, Integer> weights = new EnumMap<>(Route.class);
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] pair = part.split("=");
+            weights.put(Route.parse(pair[0]), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
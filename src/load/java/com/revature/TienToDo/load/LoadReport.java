@@ -0,0 +1,104 @@
+package com.revature.TienToDo.load;
+
+import org.HdrHistogram.Histogram;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-route percentiles against the SLOs, printed as a table and written as
+ * JSON so runs (platform vs virtual threads, before vs after a change) can be
+ * diffed.
+ */
+public final class LoadReport {
+
+    public record RouteResult(
+            String route, long requests, long ok, long clientErrors, long serverErrors, long shed, long failures,
+            double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs, long sloP99Ms, boolean breach) {
+    }
+
+    private final LoadConfig config;
+    private final List<RouteResult> routes;
+    private final long scheduled;
+    private final long maxInFlight;
+
+    private LoadReport(LoadConfig config, List<RouteResult> routes, long scheduled, long maxInFlight) {
+        this.config = config;
+        this.routes = routes;
+        this.scheduled = scheduled;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public static LoadReport of(LoadConfig config, RouteStats stats, long scheduled) {
+        List<RouteResult> routes = new ArrayList<>();
+        for (Route route : Route.values()) {
+            RouteStats.Entry entry = stats.get(route);
+            Histogram h = entry.histogram;
+            if (h.getTotalCount() == 0) {
+                continue;
+            }
+            long slo = config.sloMillis().get(route);
+            double p99 = millis(h.getValueAtPercentile(99.0));
+            long failed = entry.serverErrors.sum() + entry.shed.sum() + entry.failures.sum();
+            routes.add(new RouteResult(
+                    route.label(), h.getTotalCount(), entry.ok.sum(), entry.clientErrors.sum(),
+                    entry.serverErrors.sum(), entry.shed.sum(), entry.failures.sum(),
+                    millis(h.getValueAtPercentile(50.0)), millis(h.getValueAtPercentile(90.0)), p99,
+                    millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()),
+                    slo, p99 > slo || failed > 0));
+        }
+        return new LoadReport(config, routes, scheduled, stats.maxInFlight());
+    }
+
+    /**
+     * The route's p99 in milliseconds, or NaN if it wasn't called.
+     */
+    public double p99Ms(Route route) {
+        return routes.stream().filter(r -> r.route().equals(route.label()))
+                .mapToDouble(RouteResult::p99Ms).findFirst().orElse(Double.NaN);
+    }
+
+    public boolean hasBreach() {
+        return routes.stream().anyMatch(RouteResult::breach);
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%nScenario: %s   app profile: %s   rate: %.0f req/s   duration: %ss   scheduled: %d   max in flight: %d%n%n",
+                config.scenario(), config.appProfile().isBlank() ? "default" : config.appProfile(),
+                config.ratePerSecond(), config.duration().toSeconds(), scheduled, maxInFlight);
+        out.printf("%-36s %8s %6s %6s %6s %9s %9s %9s %9s %9s %7s  %s%n",
+                "Route", "Count", "4xx", "5xx", "Shed", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "SLO", "");
+        for (RouteResult r : routes) {
+            out.printf("%-36s %8d %6d %6d %6d %9.1f %9.1f %9.1f %9.1f %9.1f %7d  %s%n",
+                    r.route(), r.requests(), r.clientErrors(), r.serverErrors() + r.failures(), r.shed(),
+                    r.p50Ms(), r.p90Ms(), r.p99Ms(), r.p999Ms(), r.maxMs(), r.sloP99Ms(),
+                    r.breach() ? "BREACH" : "ok");
+        }
+    }
+
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("scenario", config.scenario());
+        json.put("appProfile", config.appProfile());
+        json.put("ratePerSecond", config.ratePerSecond());
+        json.put("durationSeconds", config.duration().toSeconds());
+        json.put("users", config.users());
+        json.put("scheduled", scheduled);
+        json.put("maxInFlight", maxInFlight);
+        json.put("breach", hasBreach());
+        json.put("routes", routes);
+        JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), json);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,84 @@
+package com.revature.TienToDo.load;
+
+import com.revature.TienToDo.seed.SeedConfig;
+import com.revature.TienToDo.seed.SqliteApplication;
+import com.revature.TienToDo.seed.SqliteSeeder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The server under test: either an external instance (--target=http://...) or
+ * the application started in this JVM on a random port against a temporary
+ * SQLite file (through {@link SqliteApplication}, so the test classpath's H2
+ * settings don't apply). Per-client rate limiting is switched off in-process,
+ * since every simulated user shares one address; the adaptive concurrency
+ * limit stays on.
+ */
+public final class LoadTarget implements AutoCloseable {
+    private final String baseUrl;
+    private final ConfigurableApplicationContext context;
+    private final Path directory;
+
+    private LoadTarget(String baseUrl, ConfigurableApplicationContext context, Path directory) {
+        this.baseUrl = baseUrl;
+        this.context = context;
+        this.directory = directory;
+    }
+
+    public static LoadTarget external(String baseUrl) {
+        return new LoadTarget(baseUrl, null, null);
+    }
+
+    /**
+     * @param appProfile extra Spring profile, e.g. "virtual" for virtual request threads
+     * @param seedUsers  background users to pre-fill with {@link SqliteSeeder} before startup, 0 for none
+     */
+    public static LoadTarget start(String appProfile, int seedUsers) throws IOException, SQLException {
+        Path directory = Files.createTempDirectory("tientodo-load-");
+        Path file = directory.resolve("load.sqlite");
+        if (seedUsers > 0) {
+            SqliteSeeder.Summary seeded = SqliteSeeder.seed(SeedConfig.of(file, seedUsers, 2_000, 6));
+            System.out.printf("Seeded %,d rows in %.1fs%n", seeded.rows(), seeded.millis() / 1000.0);
+        }
+        ConfigurableApplicationContext context = SqliteApplication.run(
+                "jdbc:sqlite:" + file + "?journal_mode=WAL&busy_timeout=10000",
+                List.of("app.backup.directory=" + directory.resolve("backups"), "app.rate-limit.enabled=false"),
+                appProfile == null || appProfile.isBlank() ? new String[0] : appProfile.split(","));
+        String port = context.getEnvironment().getProperty("local.server.port");
+        return new LoadTarget("http://localhost:" + port, context, directory);
+    }
+
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * A bean from the in-process application, for driving it directly.
+     */
+    public <T> T bean(Class<T> type) {
+        if (context == null) {
+            throw new IllegalStateException("Not available against an external target");
+        }
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (context == null) {
+            return;
+        }
+        context.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.revature.TienToDo.load;
+
+import com.revature.TienToDo.service.DatabaseBackupService;
+import com.revature.TienToDo.service.DatabaseBackupService.BackupResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Entry point for the load profile:
+ *
+ *   1. start the app on a temporary SQLite file (or use --target), optionally
+ *      pre-filled with --seed-users background users by SqliteSeeder
+ *   2. register --users users through /api/auth/register and give each
+ *      --todos-per-user todos
+ *   3. run the scenario's route mix at --rate req/s, first for --warmup-seconds
+ *      (discarded), then for --duration-seconds (recorded)
+ *   4. print per-route percentiles with SLO breaches and write the JSON report
+ *   5. with --during=backup, measure again for as long as an online backup of
+ *      the database takes, and compare the write routes' p99
+ *
+ * Compare request-thread models by running the same scenario twice, with and
+ * without --app-profile=virtual.
+ */
+public class LoadTestRunner {
+    private static final String PASSWORD = "LoadTest#2025";
+    private static final int SETUP_CONCURRENCY = 16;
+    private static final List<Route> WRITE_ROUTES = List.of(Route.CREATE, Route.COMPLETE, Route.SUBTASK);
+
+    public static void main(String[] args) throws Exception {
+        // Exit only once the target is closed, so its temporary database and context don't outlive the run
+        if (!run(LoadConfig.parse(args))) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return false when an SLO was breached and --fail-on-breach is set
+     */
+    static boolean run(LoadConfig config) throws Exception {
+        try (LoadTarget target = config.target() != null
+                ? LoadTarget.external(config.target())
+                : LoadTarget.start(config.appProfile(), config.seedUsers())) {
+            ApiClient client = new ApiClient(target.baseUrl());
+
+            System.out.printf("Setting up %d users against %s%n", config.users(), target.baseUrl());
+            List<SimulatedUser> users = setUp(client, config);
+
+            System.out.printf("Warming up for %ss%n", config.warmup().toSeconds());
+            OpenModelDriver driver = new OpenModelDriver(client, users, config.mix());
+            driver.run(config.ratePerSecond(), config.warmup(), new RouteStats());
+
+            System.out.printf("Measuring for %ss at %.0f req/s%n", config.duration().toSeconds(), config.ratePerSecond());
+            RouteStats stats = new RouteStats();
+            long scheduled = driver.run(config.ratePerSecond(), config.duration(), stats);
+
+            LoadReport report = LoadReport.of(config, stats, scheduled);
+            report.print(System.out);
+            report.write(config.report());
+            System.out.println("\nReport written to " + config.report());
+
+            if (config.during().equals("backup")) {
+                measureDuringBackup(target, driver, config, report);
+            }
+
+            return !(report.hasBreach() && config.failOnBreach());
+        }
+    }
+
+    private static void measureDuringBackup(LoadTarget target, OpenModelDriver driver, LoadConfig config,
+                                            LoadReport baseline) throws IOException {
+        DatabaseBackupService backups = target.bean(DatabaseBackupService.class);
+        System.out.printf("%nMeasuring at %.0f req/s while a backup runs%n", config.ratePerSecond());
+        RouteStats stats = new RouteStats();
+        long scheduled = 0;
+        CompletableFuture<BackupResult> backup = backups.startBackup();
+        // One-second slices, so recording stops about when the backup does; at least one, so there are samples
+        do {
+            scheduled += driver.run(config.ratePerSecond(), Duration.ofSeconds(1), stats);
+        } while (!backup.isDone());
+        BackupResult result;
+        try {
+            result = backup.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("The backup failed, so there is nothing to compare", e.getCause());
+        }
+
+        LoadReport during = LoadReport.of(config, stats, scheduled);
+        during.print(System.out);
+        String name = config.report().getFileName().toString().replaceFirst("\\.json$", "");
+        Path file = config.report().resolveSibling(name + "-during-backup.json");
+        during.write(file);
+
+        System.out.printf("%nBackup of %,d bytes (%,d gzipped): copy %d ms, %d restarts, compress %d ms, WAL %,d bytes at the end%n",
+                result.databaseBytes(), result.compressedBytes(), result.copyMillis(), result.restarts(),
+                result.compressMillis(), result.walBytes());
+        System.out.printf("%-36s %12s %12s %8s%n", "Write route", "p99 ms", "with backup", "change");
+        for (Route route : WRITE_ROUTES) {
+            double before = baseline.p99Ms(route);
+            double after = during.p99Ms(route);
+            String change = before > 0 ? String.format("%+7.0f%%", (after - before) / before * 100) : "n/a";
+            System.out.printf("%-36s %12.1f %12.1f %8s%n", route.label(), before, after, change);
+        }
+        System.out.println("\nReport written to " + file);
+    }
+
+    private static List<SimulatedUser> setUp(ApiClient client, LoadConfig config) throws Exception {
+        List<SimulatedUser> users = Collections.synchronizedList(new ArrayList<>());
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        // Registration hashes a password per user; keep it inside the hashing pool's queue
+        Semaphore permits = new Semaphore(SETUP_CONCURRENCY);
+
+        try (ExecutorService setup = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.users(); i++) {
+                SimulatedUser user = new SimulatedUser("load-" + runId + "-" + i, PASSWORD);
+                setup.execute(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        register(client, user, config.todosPerUser());
+                        users.add(user);
+                    } catch (Exception e) {
+                        System.err.printf("Setup failed for %s: %s%n", user.username(), e.getMessage());
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+
+        if (users.isEmpty()) {
+            throw new IllegalStateException("No users could be registered");
+        }
+        return new ArrayList<>(users);
+    }
+
+    private static void register(ApiClient client, SimulatedUser user, int todos) throws Exception {
+        ApiClient.Result result = client.register(user.username(), user.password());
+        if (!result.ok() || result.body() == null) {
+            throw new IllegalStateException("register returned " + result.status());
+        }
+        user.token(result.body().path("token").asString());
+
+        for (int t = 0; t < todos; t++) {
+            String title = (t % 2 == 0 ? "Quarterly report " : "Buy groceries ") + t;
+            ApiClient.Result todo = client.createTodo(user.token(), title, "Seeded by the load test");
+            if (todo.ok() && todo.body() != null) {
+                user.addTodo(todo.body().path("id").asLong());
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.revature.TienToDo.load;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Fires requests at a fixed arrival rate regardless of how fast the server
+ * answers (an open workload model). Request i is scheduled for
+ * start + i / rate; each runs on its own virtual thread and its latency is
+ * measured from that scheduled time. A closed loop of "send, wait, send"
+ * clients would slow down with the server and hide the queueing delay
+ * (coordinated omission); here a stall shows up in the percentiles.
+ */
+public class OpenModelDriver {
+    private final ApiClient client;
+    private final List<SimulatedUser> users;
+    private final Route[] weightedRoutes;
+
+    public OpenModelDriver(ApiClient client, List<SimulatedUser> users, Map<Route, Integer> mix) {
+        this.client = client;
+        this.users = users;
+        this.weightedRoutes = mix.entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Route[]::new);
+        if (weightedRoutes.length == 0) {
+            throw new IllegalArgumentException("The route mix is empty");
+        }
+    }
+
+    /**
+     * Run at the given rate for the given time and wait for stragglers.
+     *
+     * @return the number of requests scheduled
+     */
+    public long run(double ratePerSecond, Duration duration, RouteStats stats) {
+        long intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long scheduled = 0;
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long intended = start; intended < end; intended = start + (++scheduled) * intervalNanos) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                Route route = weightedRoutes[random.nextInt(weightedRoutes.length)];
+                SimulatedUser user = users.get(random.nextInt(users.size()));
+                long intendedStart = intended;
+                clients.execute(() -> execute(route, user, intendedStart, stats));
+            }
+        }
+        return scheduled;
+    }
+
+    private void execute(Route route, SimulatedUser user, long intendedStart, RouteStats stats) {
+        // A user with nothing to complete or extend lists its todos instead, recorded as such
+        if ((route == Route.COMPLETE && !user.hasOpenTodos()) || (route == Route.SUBTASK && !user.hasTodos())) {
+            route = Route.LIST;
+        }
+        stats.started();
+        int status;
+        try {
+            status = call(route, user);
+        } catch (Exception e) {
+            status = -1;
+        }
+        stats.finished(route, intendedStart, status);
+    }
+
+    private int call(Route route, SimulatedUser user) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token = user.token();
+        return switch (route) {
+            case LIST -> client.listTodos(token).status();
+            case SEARCH -> client.search(token, random.nextBoolean() ? "report" : "groceries").status();
+            case STATS -> client.stats(token).status();
+            case CREATE -> {
+                ApiClient.Result result = client.createTodo(token,
+                        "Load todo " + random.nextInt(100_000), "Created by the load test");
+                if (result.ok() && result.body() != null) {
+                    user.addTodo(result.body().path("id").asLong());
+                }
+                yield result.status();
+            }
+            case COMPLETE -> {
+                long todoId = user.takeOpenTodo();
+                yield todoId < 0 ? client.listTodos(token).status() : client.completeTodo(token, todoId).status();
+            }
+            case SUBTASK -> {
+                long todoId = user.anyTodo();
+                yield todoId < 0 ? client.listTodos(token).status()
+                        : client.createSubtask(token, todoId, "Step " + random.nextInt(100)).status();
+            }
+            case LOGIN -> {
+                ApiClient.Result result = client.login(user.username(), user.password());
+                if (result.ok() && result.body() != null) {
+                    user.token(result.body().path("token").asString());
+                }
+                yield result.status();
+            }
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.revature.TienToDo.load;
+
+/**
+ * The calls a simulated user makes, with the p99 latency each must stay under
+ * (overridable with --slo=route=ms,...).
+ */
+public enum Route {
+    LIST("GET /api/todos", 200),
+    SEARCH("GET /api/todos/search", 250),
+    CREATE("POST /api/todos", 300),
+    COMPLETE("PATCH /api/todos/{todoId}/complete", 300),
+    SUBTASK("POST /api/todos/{todoId}/subtasks", 300),
+    STATS("GET /api/auth/me/stats", 200),
+    LOGIN("POST /api/auth/login", 1000);
+
+    private final String label;
+    private final long defaultSloMillis;
+
+    Route(String label, long defaultSloMillis) {
+        this.label = label;
+        this.defaultSloMillis = defaultSloMillis;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public long defaultSloMillis() {
+        return defaultSloMillis;
+    }
+
+    public static Route parse(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,69 @@
+package com.revature.TienToDo.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and outcome counts per route. Latencies are in
+ * microseconds, measured from each request's scheduled start, not its actual
+ * send time, so time spent queued behind a slow server is counted.
+ */
+public class RouteStats {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    public static final class Entry {
+        final Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final LongAdder ok = new LongAdder();
+        final LongAdder clientErrors = new LongAdder();
+        final LongAdder serverErrors = new LongAdder();
+        final LongAdder shed = new LongAdder();
+        final LongAdder failures = new LongAdder();
+    }
+
+    private final Map<Route, Entry> entries = new EnumMap<>(Route.class);
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong maxInFlight = new AtomicLong();
+
+    public RouteStats() {
+        for (Route route : Route.values()) {
+            entries.put(route, new Entry());
+        }
+    }
+
+    public void started() {
+        long now = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(now, Math::max);
+    }
+
+    public void finished(Route route, long intendedStartNanos, int status) {
+        inFlight.decrementAndGet();
+        Entry entry = entries.get(route);
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStartNanos);
+        entry.histogram.recordValue(Math.min(Math.max(micros, 0), MAX_LATENCY_MICROS));
+        if (status < 0) {
+            entry.failures.increment();
+        } else if (status == 429 || status == 503) {
+            entry.shed.increment();
+        } else if (status >= 500) {
+            entry.serverErrors.increment();
+        } else if (status >= 400) {
+            entry.clientErrors.increment();
+        } else {
+            entry.ok.increment();
+        }
+    }
+
+    public Entry get(Route route) {
+        return entries.get(route);
+    }
+
+    public long maxInFlight() {
+        return maxInFlight.get();
+    }
+}
@@ -0,0 +1,69 @@
+package com.revature.TienToDo.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A registered user: credentials, current access token and the ids of its
+ * todos. Several requests for one user can be in flight at once, so the id
+ * lists are guarded by the instance lock.
+ */
+public class SimulatedUser {
+    private final String username;
+    private final String password;
+    private volatile String token;
+    private final List<Long> openTodos = new ArrayList<>();
+    private final List<Long> allTodos = new ArrayList<>();
+
+    public SimulatedUser(String username, String password) {
+        this.username = username;
+        this.password = password;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public String password() {
+        return password;
+    }
+
+    public String token() {
+        return token;
+    }
+
+    public void token(String token) {
+        this.token = token;
+    }
+
+    public synchronized void addTodo(long todoId) {
+        openTodos.add(todoId);
+        allTodos.add(todoId);
+    }
+
+    public synchronized boolean hasOpenTodos() {
+        return !openTodos.isEmpty();
+    }
+
+    public synchronized boolean hasTodos() {
+        return !allTodos.isEmpty();
+    }
+
+    /**
+     * @return an open todo to complete (removed from the open list), or -1 if none
+     */
+    public synchronized long takeOpenTodo() {
+        if (openTodos.isEmpty()) {
+            return -1;
+        }
+        return openTodos.remove(ThreadLocalRandom.current().nextInt(openTodos.size()));
+    }
+
+    public synchronized long anyTodo() {
+        if (allTodos.isEmpty()) {
+            return -1;
+        }
+        return allTodos.get(ThreadLocalRandom.current().nextInt(allTodos.size()));
+    }
+}
@@ -2,12 +2,19 @@ package com.revature.TienToDo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class TienToDoAppApplication {
 
+	// Enough for every startup step of this app; later steps are dropped, not blocked
+	private static final int STARTUP_STEPS = 8192;
+
 	public static void main(String[] args) {
-		SpringApplication.run(TienToDoAppApplication.class, args);
+		SpringApplication app = new SpringApplication(TienToDoAppApplication.class);
+		// Buffered steps feed config.StartupTimingReport
+		app.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+		app.run(args);
 	}
 
 }
@@ -0,0 +1,66 @@
+package com.revature.TienToDo.config;
+
+import com.revature.TienToDo.repository.TodoArchive;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The todo archive (app.archive.enabled): completed todos older than
+ * app.archive.after-days, moved by TodoArchiveService into their own SQLite
+ * file at app.archive.file, with its own pool and its own migrations under
+ * db/archive, so the main schema and its migrations don't change.
+ *
+ * Only the jpa storage engine is supported: the archive moves rows out of the
+ * main database's todos table, which the memory and sharded engines don't read.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.archive.enabled", havingValue = "true")
+public class ArchiveConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveConfig.class);
+
+    private HikariDataSource pool;
+
+    @Bean
+    public TodoArchive todoArchive(Environment env, DataSource dataSource,
+                                   ObjectProvider<SchemaMigrator> schemaMigrator) throws IOException {
+        String engine = env.getProperty("app.storage.engine", "jpa");
+        if (!"jpa".equals(engine)) {
+            throw new IllegalArgumentException("app.archive.enabled needs app.storage.engine=jpa, not " + engine);
+        }
+        Path file = Path.of(env.getProperty("app.archive.file", "./todo-archive.sqlite")).toAbsolutePath();
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        pool = new HikariDataSource();
+        pool.setPoolName("todo-archive");
+        pool.setJdbcUrl("jdbc:sqlite:" + file + "?journal_mode=WAL&busy_timeout=10000");
+        pool.setMaximumPoolSize(env.getProperty("app.archive.pool-size", Integer.class, 2));
+        new SchemaMigrator(pool, "classpath*:db/archive/",
+                env.getProperty("app.db.migrations.batch-size", Integer.class, 1000), List.of()).migrate();
+        // Archival reads the todos table, so the main database has to be migrated first
+        schemaMigrator.getIfAvailable();
+        logger.info("Todo archive ready at {}", file);
+        return new TodoArchive(dataSource, pool);
+    }
+
+    @PreDestroy
+    public void closePool() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.revature.TienToDo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Picks the BCrypt work factor for this node.
+ *
+ * With app.auth.bcrypt.calibrate=false (default) the fixed app.auth.bcrypt.strength
+ * is used. With calibration on, a few hashes are timed at startup and the highest
+ * strength whose hash time stays within app.auth.bcrypt.target-ms is chosen,
+ * clamped to [min-strength, max-strength]. Each +1 in strength doubles the cost.
+ */
+@Component
+public class BCryptStrengthCalibrator {
+    private static final Logger logger = LoggerFactory.getLogger(BCryptStrengthCalibrator.class);
+
+    private static final String SAMPLE_PASSWORD = "Calibrati0n!Sample";
+    private static final int SAMPLES = 3;
+
+    @Value("${app.auth.bcrypt.strength:10}")
+    private int fixedStrength;
+
+    @Value("${app.auth.bcrypt.calibrate:false}")
+    private boolean calibrate;
+
+    @Value("${app.auth.bcrypt.target-ms:250}")
+    private long targetMs;
+
+    @Value("${app.auth.bcrypt.min-strength:10}")
+    private int minStrength;
+
+    @Value("${app.auth.bcrypt.max-strength:14}")
+    private int maxStrength;
+
+    private Integer resolvedStrength;
+
+    public synchronized int getStrength() {
+        if (resolvedStrength == null) {
+            resolvedStrength = calibrate ? calibrate() : fixedStrength;
+        }
+        return resolvedStrength;
+    }
+
+    private int calibrate() {
+        // Time the floor strength and extrapolate — each step up doubles the work
+        long baseNanos = medianHashNanos(minStrength);
+        long targetNanos = targetMs * 1_000_000L;
+
+        int strength = minStrength;
+        long estimate = baseNanos;
+        while (strength < maxStrength && estimate * 2 <= targetNanos) {
+            strength++;
+            estimate *= 2;
+        }
+
+        // Confirm the pick, stepping down if extrapolation was optimistic
+        long measured = medianHashNanos(strength);
+        while (strength > minStrength && measured > targetNanos) {
+            strength--;
+            measured /= 2;
+        }
+
+        logger.info("BCrypt calibrated to strength {} (~{}ms per hash, target {}ms, base {}ms at {})",
+                strength, measured / 1_000_000, targetMs, baseNanos / 1_000_000, minStrength);
+        return strength;
+    }
+
+    private long medianHashNanos(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(SAMPLE_PASSWORD); // warm-up
+
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
@@ -0,0 +1,82 @@
+package com.revature.TienToDo.config;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * PasswordEncoder that runs every encode/matches call on the bounded password
+ * hashing executor, so BCrypt can never occupy more threads than that pool has.
+ *
+ * Work already running on a hashing thread (the async login/register paths) is
+ * executed inline. Anything else — e.g. AuthService.updatePassword on a request
+ * thread — is handed to the pool and waited on. When the pool's queue is full the
+ * submit fails with a RejectedExecutionException, which the API maps to 503.
+ */
+public class BulkheadPasswordEncoder implements PasswordEncoder {
+    private static final ThreadLocal<Boolean> ON_HASHING_THREAD = new ThreadLocal<>();
+
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+
+    public BulkheadPasswordEncoder(PasswordEncoder delegate, ExecutorService executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    /**
+     * Decorator for the hashing executor's tasks; marks its threads so nested
+     * encoder calls run inline instead of queueing behind themselves.
+     */
+    public static TaskDecorator hashingThreadMarker() {
+        return task -> () -> {
+            ON_HASHING_THREAD.set(Boolean.TRUE);
+            try {
+                task.run();
+            } finally {
+                ON_HASHING_THREAD.remove();
+            }
+        };
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Supplier<T> work) {
+        if (Boolean.TRUE.equals(ON_HASHING_THREAD.get())) {
+            return work.get();
+        }
+
+        Callable<T> task = work::get;
+        Future<T> future = executor.submit(task);
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        }
+    }
+}
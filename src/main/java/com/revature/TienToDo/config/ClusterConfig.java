@@ -0,0 +1,77 @@
+package com.revature.TienToDo.config;
+
+import com.revature.TienToDo.service.InvalidationBus;
+import com.revature.TienToDo.service.LocalInvalidationBus;
+import com.revature.TienToDo.service.SocketInvalidationBus;
+import com.revature.TienToDo.utility.ClusterRing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cluster mode (app.cluster.enabled): several nodes behind a load balancer,
+ * sharing one database. Each user is owned by one node on the
+ * {@link ClusterRing}, and ClusterRoutingFilter sends their requests there, so
+ * the per-user caches in UserCaches are hit instead of being filled on every
+ * node. Writes invalidate the other nodes' copies over the
+ * {@link InvalidationBus} named by app.cluster.bus.type:
+ *
+ *   socket  (default) TCP between the nodes, listening on app.cluster.bus.port
+ *           and sending to app.cluster.bus.peers (host:port, comma-separated)
+ *   local   between contexts in this JVM on app.cluster.bus.channel, for tests
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.cluster.enabled", havingValue = "true")
+public class ClusterConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterConfig.class);
+
+    @Bean
+    public ClusterRing clusterRing(Environment env) {
+        ClusterRing ring = ClusterRing.parse(
+                env.getRequiredProperty("app.cluster.node-id"),
+                env.getRequiredProperty("app.cluster.nodes"),
+                env.getProperty("app.cluster.virtual-nodes", Integer.class, 128));
+        logger.info("Cluster node {} of {}", ring.self(), ring.nodes().keySet());
+        return ring;
+    }
+
+    @Bean(destroyMethod = "close")
+    public InvalidationBus invalidationBus(Environment env) throws IOException {
+        String type = env.getProperty("app.cluster.bus.type", "socket");
+        return switch (type) {
+            case "local" -> new LocalInvalidationBus(env.getProperty("app.cluster.bus.channel", "default"));
+            case "socket" -> new SocketInvalidationBus(
+                    InetAddress.getByName(env.getProperty("app.cluster.bus.bind-address", "127.0.0.1")),
+                    env.getProperty("app.cluster.bus.port", Integer.class, 7600),
+                    peers(env.getProperty("app.cluster.bus.peers", "")));
+            default -> throw new IllegalArgumentException(
+                    "Unknown app.cluster.bus.type '" + type + "'; expected socket or local");
+        };
+    }
+
+    static List<InetSocketAddress> peers(String property) {
+        List<InetSocketAddress> peers = new ArrayList<>();
+        for (String peer : property.split(",")) {
+            if (peer.isBlank()) {
+                continue;
+            }
+            int colon = peer.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException(
+                        "Expected host:port in app.cluster.bus.peers, got '" + peer.trim() + "'");
+            }
+            peers.add(new InetSocketAddress(peer.substring(0, colon).trim(),
+                    Integer.parseInt(peer.substring(colon + 1).trim())));
+        }
+        return peers;
+    }
+}
@@ -0,0 +1,80 @@
+package com.revature.TienToDo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Request and @Async execution settings.
+ *
+ * Virtual threads are opt-in through the "virtual" profile
+ * (application-virtual.properties), which sets spring.threads.virtual.enabled so
+ * Tomcat and the application task executor both run on virtual threads, and sets
+ * app.db.max-concurrency so the DataSource is wrapped in a
+ * {@link ConcurrencyLimitedDataSource}.
+ *
+ * Pinning: sqlite-jdbc's NativeDB methods are declared synchronized, and on
+ * JDK 21 a virtual thread inside a synchronized native call stays pinned to its
+ * carrier for the whole SQLite call. Each in-flight statement therefore occupies a
+ * carrier thread; the DB permit limit keeps that number well below the carrier
+ * count so CPU work (BCrypt, JSON) still has carriers to run on. Pinning shows up
+ * as jdk.VirtualThreadPinned JFR events, or with -Djdk.tracePinnedThreads=full.
+ *
+ * BCrypt runs on its own bounded, CPU-sized pool (passwordHashingExecutor) so a
+ * login storm can't take every request thread. The pool rejects immediately when
+ * its queue is full rather than letting callers wait.
+ */
+@Configuration
+@EnableAsync
+public class ExecutionConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionConfig.class);
+
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${app.auth.hashing.threads:0}") int threads,
+            @Value("${app.auth.hashing.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setTaskDecorator(BulkheadPasswordEncoder.hashingThreadMarker());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+
+        logger.info("Password hashing executor started (threads: {}, queue: {})", poolSize, queueCapacity);
+        return executor;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.db.max-concurrency")
+    public static BeanPostProcessor dataSourceConcurrencyLimiter(Environment env) {
+        int maxConcurrency = env.getRequiredProperty("app.db.max-concurrency", Integer.class);
+        long acquireTimeoutMs = env.getProperty("app.db.acquire-timeout-ms", Long.class, 5000L);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource
+                        && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    logger.info("Limiting database concurrency for '{}' to {} (acquire timeout: {}ms)",
+                            beanName, maxConcurrency, acquireTimeoutMs);
+                    return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
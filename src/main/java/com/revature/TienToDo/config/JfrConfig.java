@@ -0,0 +1,52 @@
+package com.revature.TienToDo.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Wiring for the custom Flight Recorder events in utility.JfrEvents:
+ *
+ *   - JwtVerify       JwtUtil.extractAllClaims
+ *   - UserLookup      CustomUserDetailsService, for logins and token requests
+ *   - RepositoryCall  every repository method (here, via RepositoryJfrInterceptor)
+ *   - DtoMapping      TodoService entity/projection mapping
+ *   - Serialization   response body write (SerializationJfrAdvice)
+ *
+ * Events are only recorded while a recording is running, e.g. one started from
+ * POST /api/admin/jfr/start or with -XX:StartFlightRecording.
+ */
+@Configuration
+public class JfrConfig implements WebMvcConfigurer {
+    @Autowired
+    private SerializationJfrAdvice serializationJfrAdvice;
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static BeanPostProcessor repositoryJfrPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxyFactory, information) ->
+                                    proxyFactory.addAdvice(new RepositoryJfrInterceptor(
+                                            information.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(serializationJfrAdvice);
+    }
+}
@@ -0,0 +1,58 @@
+package com.revature.TienToDo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.aop.support.annotation.AnnotationClassFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.reflect.Method;
+
+/**
+ * Application metrics on top of what Spring Boot already records:
+ *
+ *   - http.server.requests          per controller route (Boot, MVC observation)
+ *   - spring.data.repository.invocations  per repository method (Boot)
+ *   - hikaricp.connections.acquire  pool wait time (Boot)
+ *   - app.service.method            per @Service method (here)
+ *   - http.server.sql.statements    SQL statements per request (here)
+ *   - db.transaction.statements     SQL statements per transaction (StatementTrackingFilter)
+ *   - db.repeated.statements        sampled requests with a repeated statement (StatementTrackingFilter)
+ *   - auth.jwt.*                    JWT parse time and outcomes (JwtUtil, JwtAuthFilter)
+ *   - auth.password.hash            BCrypt time (StrengthTaggedPasswordEncoder)
+ *
+ * Histogram SLO buckets are set per meter under management.metrics.distribution.slo.*;
+ * percentile histograms stay off so each timer keeps a fixed, small bucket set.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getDeclaringClass() != Object.class;
+            }
+        };
+        pointcut.setClassFilter(new AnnotationClassFilter(Service.class, true));
+        return new DefaultPointcutAdvisor(pointcut, new ServiceMetricsInterceptor(meterRegistry));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlMetricsInterceptor(meterRegistry)).addPathPatterns("/api/**");
+    }
+}
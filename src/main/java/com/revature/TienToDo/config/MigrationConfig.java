@@ -0,0 +1,43 @@
+package com.revature.TienToDo.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Makes every EntityManagerFactory wait for {@link SchemaMigrator}, so Hibernate
+ * (with ddl-auto=none) only starts on a migrated schema — the same ordering
+ * Spring Boot applies for Flyway.
+ */
+@Configuration
+public class MigrationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.db.migrations.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanFactoryPostProcessor entityManagerFactoryDependsOnMigrations() {
+        return beanFactory -> {
+            Set<String> names = new LinkedHashSet<>();
+            names.addAll(Arrays.asList(BeanFactoryUtils.beanNamesForTypeIncludingAncestors(
+                    beanFactory, EntityManagerFactory.class, true, false)));
+            names.addAll(Arrays.asList(BeanFactoryUtils.beanNamesForTypeIncludingAncestors(
+                    beanFactory, AbstractEntityManagerFactoryBean.class, true, false)));
+            for (String name : names) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(BeanFactoryUtils.transformedBeanName(name));
+                String[] dependsOn = definition.getDependsOn() != null ? definition.getDependsOn() : new String[0];
+                definition.setDependsOn(Stream.concat(Arrays.stream(dependsOn), Stream.of("schemaMigrator"))
+                        .distinct()
+                        .toArray(String[]::new));
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.revature.TienToDo.config;
+
+import com.revature.TienToDo.utility.JfrEvents;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Emits a RepositoryCall JFR event around each repository method: the statements
+ * it ran (from {@link SqlStatementCounter}), the last SQL text and the number of
+ * rows or entities it returned. Skips all bookkeeping when the event is disabled.
+ */
+public class RepositoryJfrInterceptor implements MethodInterceptor {
+    private final String repository;
+
+    public RepositoryJfrInterceptor(Class<?> repositoryInterface) {
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        JfrEvents.RepositoryCall event = new JfrEvents.RepositoryCall();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+
+        int statementsBefore = SqlStatementCounter.current();
+        Object result = null;
+        event.begin();
+        try {
+            result = invocation.proceed();
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repository;
+                event.method = invocation.getMethod().getName();
+                event.statements = SqlStatementCounter.current() - statementsBefore;
+                event.sql = event.statements > 0 ? SqlStatementCounter.lastSql() : null;
+                event.rows = rowCount(result);
+                event.commitWithRequestInfo();
+            }
+        }
+    }
+
+    static int rowCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Integer affected) {
+            // @Modifying queries return the number of rows they touched
+            return affected;
+        }
+        // Single entity or scalar (count, exists)
+        return 1;
+    }
+}
@@ -0,0 +1,393 @@
+package com.revature.TienToDo.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Versioned SQLite schema migrations, run before JPA starts (see MigrationConfig).
+ *
+ * Migrations are SQL files named V{version}__{description}.sql under
+ * db/migration, plus {@link BatchedMigration}s for data rewrites too large for
+ * one transaction. Each applied version is recorded in schema_migrations with
+ * a SHA-256 checksum; a recorded migration whose checksum has changed stops
+ * startup rather than leaving the schema and the code out of step.
+ *
+ * The latest applied version is also kept in PRAGMA user_version, which lives
+ * in the database header: when it already equals the newest migration, startup
+ * costs one PRAGMA read and nothing else — no history query, no checksums.
+ *
+ * A batched migration commits one batch at a time together with its resume
+ * key, so if the process dies part-way the next start carries on from the
+ * last committed batch.
+ */
+@Component
+@ConditionalOnProperty(name = "app.db.migrations.enabled", havingValue = "true", matchIfMissing = true)
+public class SchemaMigrator {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String APPLIED = "applied";
+    private static final String IN_PROGRESS = "in_progress";
+
+    /**
+     * A data rewrite done in batches keyed by an increasing long (usually a row id).
+     * Change {@link #checksum()} whenever what the migration does changes.
+     */
+    public interface BatchedMigration {
+        int version();
+
+        String description();
+
+        String checksum();
+
+        /**
+         * Process the next batch of at most batchSize rows after the given key.
+         *
+         * @param after the last key already done, or 0 at the start
+         * @return the last key processed, or -1 when nothing was left
+         */
+        long migrateBatch(Connection connection, long after, int batchSize) throws SQLException;
+    }
+
+    /**
+     * Only the file name is read up front; the script is read (and hashed) when
+     * the database is behind.
+     */
+    private record Migration(int version, String description, Resource script, BatchedMigration batched) {
+        String sql() {
+            try (InputStream in = script.getInputStream()) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read migration " + script.getFilename(), e);
+            }
+        }
+
+        String checksum() {
+            return sha256(batched != null ? batched.checksum() : sql());
+        }
+    }
+
+    private record AppliedMigration(String checksum, String state, long resumeAfter) {
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.db.migrations.location:classpath*:db/migration/}")
+    private String location;
+
+    @Value("${app.db.migrations.batch-size:1000}")
+    private int batchSize;
+
+    private List<BatchedMigration> batchedMigrations = TimestampBackfillMigration.all();
+
+    public SchemaMigrator() {
+    }
+
+    /**
+     * For migrating a database other than the application's own (the warm-up database).
+     */
+    SchemaMigrator(DataSource dataSource, String location, int batchSize) {
+        this.dataSource = dataSource;
+        this.location = location;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * For a database with its own schema (the todo archive), so none of the
+     * main database's batched migrations.
+     */
+    SchemaMigrator(DataSource dataSource, String location, int batchSize, List<BatchedMigration> batchedMigrations) {
+        this(dataSource, location, batchSize);
+        this.batchedMigrations = batchedMigrations;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        List<Migration> migrations = loadMigrations();
+        if (migrations.isEmpty()) {
+            return;
+        }
+        int latest = migrations.get(migrations.size() - 1).version();
+
+        try (Connection connection = dataSource.getConnection()) {
+            int current = userVersion(connection);
+            if (current >= latest) {
+                logger.info("Schema is current at version {}", current);
+                return;
+            }
+
+            createHistoryTable(connection);
+            Map<Integer, AppliedMigration> applied = readHistory(connection);
+            Map<Integer, String> checksums = new HashMap<>();
+            for (Migration migration : migrations) {
+                checksums.put(migration.version(), migration.checksum());
+            }
+            verifyChecksums(migrations, applied, checksums);
+
+            for (Migration migration : migrations) {
+                AppliedMigration previous = applied.get(migration.version());
+                if (previous != null && APPLIED.equals(previous.state())) {
+                    continue;
+                }
+                long start = System.nanoTime();
+                String checksum = checksums.get(migration.version());
+                if (migration.batched() != null) {
+                    runBatched(connection, migration, checksum, previous);
+                } else {
+                    runSql(connection, migration, checksum);
+                }
+                logger.info("Applied schema migration V{} {} in {} ms", migration.version(),
+                        migration.description(), (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Schema migration failed", e);
+        }
+    }
+
+    private List<Migration> loadMigrations() {
+        List<Migration> migrations = new ArrayList<>();
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(location + "V*__*.sql");
+            for (Resource resource : resources) {
+                Matcher matcher = FILE_NAME.matcher(String.valueOf(resource.getFilename()));
+                if (!matcher.matches()) {
+                    throw new IllegalStateException("Migration file name must be V{version}__{description}.sql: "
+                            + resource.getFilename());
+                }
+                migrations.add(new Migration(Integer.parseInt(matcher.group(1)),
+                        matcher.group(2).replace('_', ' '), resource, null));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read migrations from " + location, e);
+        }
+        for (BatchedMigration batched : batchedMigrations) {
+            migrations.add(new Migration(batched.version(), batched.description(), null, batched));
+        }
+
+        migrations.sort(Comparator.comparingInt(Migration::version));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version() == migrations.get(i - 1).version()) {
+                throw new IllegalStateException("Duplicate migration version " + migrations.get(i).version());
+            }
+        }
+        return migrations;
+    }
+
+    private void verifyChecksums(List<Migration> migrations, Map<Integer, AppliedMigration> applied,
+                                 Map<Integer, String> checksums) {
+        for (Migration migration : migrations) {
+            AppliedMigration previous = applied.get(migration.version());
+            if (previous != null && !previous.checksum().equals(checksums.get(migration.version()))) {
+                throw new IllegalStateException("Migration V" + migration.version() + " (" + migration.description()
+                        + ") has changed since it was applied; add a new migration instead of editing it");
+            }
+        }
+    }
+
+    private void runSql(Connection connection, Migration migration, String checksum) throws SQLException {
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : splitStatements(migration.sql())) {
+                statement.execute(sql);
+            }
+            record(connection, migration, checksum, APPLIED, 0);
+            setUserVersion(connection, migration.version());
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void runBatched(Connection connection, Migration migration, String checksum,
+                            AppliedMigration previous) throws SQLException {
+        long after = previous != null ? previous.resumeAfter() : 0;
+        if (after > 0) {
+            logger.info("Resuming schema migration V{} {} after key {}",
+                    migration.version(), migration.description(), after);
+        }
+        connection.setAutoCommit(false);
+        try {
+            while (true) {
+                long last = migration.batched().migrateBatch(connection, after, batchSize);
+                if (last < 0) {
+                    record(connection, migration, checksum, APPLIED, after);
+                    setUserVersion(connection, migration.version());
+                    connection.commit();
+                    return;
+                }
+                after = last;
+                record(connection, migration, checksum, IN_PROGRESS, after);
+                connection.commit();
+            }
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static void createHistoryTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE IF NOT EXISTS schema_migrations (
+                        version      INTEGER PRIMARY KEY,
+                        description  TEXT NOT NULL,
+                        checksum     TEXT NOT NULL,
+                        state        TEXT NOT NULL,
+                        resume_after INTEGER NOT NULL DEFAULT 0,
+                        applied_at   TEXT NOT NULL
+                    )""");
+        }
+    }
+
+    private static Map<Integer, AppliedMigration> readHistory(Connection connection) throws SQLException {
+        Map<Integer, AppliedMigration> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT version, checksum, state, resume_after FROM schema_migrations")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), new AppliedMigration(rs.getString(2), rs.getString(3), rs.getLong(4)));
+            }
+        }
+        return applied;
+    }
+
+    private static void record(Connection connection, Migration migration, String checksum, String state,
+                               long resumeAfter) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                INSERT INTO schema_migrations (version, description, checksum, state, resume_after, applied_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                ON CONFLICT (version) DO UPDATE SET
+                    state = excluded.state, resume_after = excluded.resume_after, applied_at = excluded.applied_at""")) {
+            statement.setInt(1, migration.version());
+            statement.setString(2, migration.description());
+            statement.setString(3, checksum);
+            statement.setString(4, state);
+            statement.setLong(5, resumeAfter);
+            statement.setString(6, LocalDateTime.now().format(FORMATTER));
+            statement.executeUpdate();
+        }
+    }
+
+    private static int userVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void setUserVersion(Connection connection, int version) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA user_version = " + version);
+        }
+    }
+
+    /**
+     * Split a script on semicolons outside quotes and comments. CREATE TRIGGER
+     * bodies contain semicolons of their own, so a trigger only ends at "END;".
+     */
+    static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int i = 0;
+        while (i < script.length()) {
+            char c = script.charAt(i);
+            if (c == '-' && script.startsWith("--", i)) {
+                int end = script.indexOf('\n', i);
+                i = end < 0 ? script.length() : end;
+                continue;
+            }
+            if (c == '/' && script.startsWith("/*", i)) {
+                int end = script.indexOf("*/", i + 2);
+                i = end < 0 ? script.length() : end + 2;
+                continue;
+            }
+            if (c == '\'' || c == '"') {
+                int end = i + 1;
+                while (end < script.length()) {
+                    if (script.charAt(end) == c) {
+                        if (end + 1 < script.length() && script.charAt(end + 1) == c) {
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    end++;
+                }
+                current.append(script, i, Math.min(end + 1, script.length()));
+                i = end + 1;
+                continue;
+            }
+            if (c == ';') {
+                String statement = current.toString().strip();
+                if (isTrigger(statement) && !statement.toUpperCase(Locale.ROOT).matches("(?s).*\\bEND")) {
+                    current.append(c);
+                } else {
+                    if (!statement.isEmpty()) {
+                        statements.add(statement);
+                    }
+                    current.setLength(0);
+                }
+                i++;
+                continue;
+            }
+            current.append(c);
+            i++;
+        }
+        String last = current.toString().strip();
+        if (!last.isEmpty()) {
+            statements.add(last);
+        }
+        return statements;
+    }
+
+    private static boolean isTrigger(String statement) {
+        return statement.toUpperCase(Locale.ROOT).matches("(?s)CREATE\\s+(TEMP\\s+|TEMPORARY\\s+)?TRIGGER\\b.*");
+    }
+
+    private static String sha256(String text) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.revature.TienToDo.config;
 
 
+import com.revature.TienToDo.utility.ClusterRoutingFilter;
 import com.revature.TienToDo.utility.JwtAccessDeniedHandler;
 import com.revature.TienToDo.utility.JwtAuthEntryPoint;
 import com.revature.TienToDo.utility.JwtAuthFilter;
+import com.revature.TienToDo.utility.LoadSheddingFilter;
+import com.revature.TienToDo.utility.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -18,10 +24,12 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -39,15 +47,39 @@ public class SecurityConfig {
     //@Autowired
     //private UserDetailsService userDetailsService;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    private LoadSheddingFilter loadSheddingFilter;
+
+    // Only with app.cluster.enabled
+    @Autowired
+    private ObjectProvider<ClusterRoutingFilter> clusterRoutingFilter;
+
     @Autowired
     private JwtAuthEntryPoint jwtAuthEntryPoint;
 
     @Autowired
     private JwtAccessDeniedHandler jwtAccessDeniedHandler;
 
+    @Autowired
+    @Qualifier("passwordHashingExecutor")
+    private ThreadPoolTaskExecutor passwordHashingExecutor;
+
+    @Autowired
+    private BCryptStrengthCalibrator bcryptStrengthCalibrator;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${app.cors.allowed-origins:http://localhost:3000}")
     private String allowedOrigins;
 
+    // -1 when actuator shares the application port
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider)
@@ -66,9 +98,20 @@ public class SecurityConfig {
                                 "/api/auth/register",
                                 "/api/auth/login",
                                 "/api/auth/refresh",
+                                "/actuator/health",
+                                "/actuator/health/**",
+                                // Probe groups on the application port (health.probes.add-additional-paths)
+                                "/livez",
+                                "/readyz",
                                 "/error"
                         ).permitAll()
 
+                        // Prometheus scrapes without a user token, but only on the management port
+                        .requestMatchers(prometheusScrape()).permitAll()
+
+                        // Diagnostics (JFR recordings, slow queries, top users) — usernames listed in app.admin.usernames
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+
                         // Everything else requires authentication
                         .anyRequest().authenticated()
                 )
@@ -95,11 +138,27 @@ public class SecurityConfig {
                 .authenticationProvider(authenticationProvider)
 
                 // JWT filter — runs before Spring's default username/password filter
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // Load shedding — before JWT so rejected requests cost no user lookup
+                .addFilterBefore(loadSheddingFilter, JwtAuthFilter.class);
+
+        // Cluster routing — after JWT so the user's owner is known, and added before
+        // rate limiting so it runs first and a forwarded request is limited by its owner
+        clusterRoutingFilter.ifAvailable(filter -> http.addFilterAfter(filter, JwtAuthFilter.class));
+
+        // Rate limiting — after JWT so authenticated users are keyed by username
+        http.addFilterAfter(rateLimitFilter, JwtAuthFilter.class);
 
         return http.build();
     }
 
+    private RequestMatcher prometheusScrape() {
+        return request -> managementPort > 0
+                && request.getLocalPort() == managementPort
+                && "/actuator/prometheus".equals(request.getRequestURI());
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration config = new CorsConfiguration();
@@ -135,6 +194,11 @@ public class SecurityConfig {
     public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder());
+
+        // Rehash on successful login when the stored cost differs from the target strength
+        if (userDetailsService instanceof UserDetailsPasswordService passwordService) {
+            provider.setUserDetailsPasswordService(passwordService);
+        }
         return provider;
     }
 
@@ -146,6 +210,9 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // BCrypt work is confined to the bounded hashing pool (see ExecutionConfig)
+        PasswordEncoder bcrypt = new StrengthTaggedPasswordEncoder(
+                bcryptStrengthCalibrator.getStrength(), meterRegistry);
+        return new BulkheadPasswordEncoder(bcrypt, passwordHashingExecutor.getThreadPoolExecutor());
     }
 }
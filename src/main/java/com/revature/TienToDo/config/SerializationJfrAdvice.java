@@ -0,0 +1,77 @@
+package com.revature.TienToDo.config;
+
+import com.revature.TienToDo.utility.JfrEvents;
+import com.revature.TienToDo.utility.RequestInfo;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Times response serialization as a JFR Serialization event without touching
+ * the message converters: beforeBodyWrite runs just before the converter
+ * writes, afterCompletion just after, so the event spans the Jackson write.
+ *
+ * As an interceptor it also narrows {@link RequestInfo}'s route to the matched
+ * pattern (GET /api/todos/{todoId}) once the handler is known.
+ */
+@ControllerAdvice
+public class SerializationJfrAdvice implements ResponseBodyAdvice<Object>, HandlerInterceptor {
+    private static final String EVENT_ATTRIBUTE = SerializationJfrAdvice.class.getName() + ".event";
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            RequestInfo.setRoute(request.getMethod() + " " + pattern);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  @NonNull MethodParameter returnType,
+                                  @NonNull MediaType selectedContentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  @NonNull ServerHttpRequest request,
+                                  @NonNull ServerHttpResponse response) {
+        if (body != null && request instanceof ServletServerHttpRequest servletRequest) {
+            JfrEvents.Serialization event = new JfrEvents.Serialization();
+            if (event.isEnabled()) {
+                event.bodyType = body.getClass().getSimpleName();
+                event.contentType = selectedContentType.toString();
+                event.begin();
+                servletRequest.getServletRequest().setAttribute(EVENT_ATTRIBUTE, event);
+            }
+        }
+        return body;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request,
+                                @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        if (request.getAttribute(EVENT_ATTRIBUTE) instanceof JfrEvents.Serialization event) {
+            request.removeAttribute(EVENT_ATTRIBUTE);
+            event.end();
+            event.commitWithRequestInfo();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.revature.TienToDo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call into a @Service bean as app.service.method{class, method, outcome}.
+ *
+ * Timers are resolved once per method and cached, so the hot path is a map
+ * lookup and two nanoTime() calls — no tag or builder allocation per call.
+ */
+public class ServiceMetricsInterceptor implements MethodInterceptor {
+    private static final String METRIC = "app.service.method";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ConcurrentHashMap<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Timer[] methodTimers = timers.computeIfAbsent(invocation.getMethod(),
+                method -> register(method, invocation.getThis()));
+
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            methodTimers[0].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            methodTimers[1].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private Timer[] register(Method method, Object target) {
+        String className = target != null
+                ? AopUtils.getTargetClass(target).getSimpleName()
+                : method.getDeclaringClass().getSimpleName();
+        MeterRegistry registry = meterRegistry.getObject();
+        return new Timer[]{
+                timer(registry, className, method.getName(), "success"),
+                timer(registry, className, method.getName(), "error")
+        };
+    }
+
+    private Timer timer(MeterRegistry registry, String className, String methodName, String outcome) {
+        return Timer.builder(METRIC)
+                .description("Service method latency")
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,119 @@
+package com.revature.TienToDo.config;
+
+import com.revature.TienToDo.repository.InMemoryTodoStore;
+import com.revature.TienToDo.repository.ShardedTodoStore;
+import com.revature.TienToDo.repository.SubtaskRepository;
+import com.revature.TienToDo.repository.TodoRepository;
+import com.revature.TienToDo.repository.TodoStoreRepositories;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The sharded storage engine (app.storage.engine=sharded): todos and subtasks
+ * in app.storage.sharded.count SQLite files under app.storage.sharded.directory,
+ * one connection pool each, behind the same repository proxies as the memory
+ * engine. Users stay in the main database.
+ *
+ * With app.storage.sharded.rebalance-on-start, the store moves todos onto the
+ * shard their owner hashes to before it serves anything: after the count
+ * changes, out of retired shard files, and on the first start out of the main
+ * database. To reshard, change the count and restart.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "sharded")
+public class ShardingConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfig.class);
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    public ShardedTodoStore shardedTodoStore(Environment env, DataSource dataSource,
+                                             ObjectProvider<SchemaMigrator> schemaMigrator) throws IOException {
+        Path directory = Path.of(env.getProperty("app.storage.sharded.directory", "./shards"));
+        int count = env.getProperty("app.storage.sharded.count", Integer.class, 4);
+        int poolSize = env.getProperty("app.storage.sharded.pool-size", Integer.class, 4);
+        String location = env.getProperty("app.db.migrations.location", "classpath*:db/migration/");
+        int batchSize = env.getProperty("app.db.migrations.batch-size", Integer.class, 1000);
+        if (count < 1) {
+            throw new IllegalArgumentException("app.storage.sharded.count must be at least 1");
+        }
+        Files.createDirectories(directory);
+
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            shards.add(open(directory, i, poolSize, location, batchSize));
+        }
+        ShardedTodoStore store = new ShardedTodoStore(shards);
+
+        if (env.getProperty("app.storage.sharded.rebalance-on-start", Boolean.class, true)) {
+            // The main database's todos are the source on the first start, so it has to be migrated too
+            schemaMigrator.getIfAvailable();
+            Map<String, DataSource> extra = new LinkedHashMap<>();
+            extra.put("the main database", dataSource);
+            for (int i = count; Files.exists(shardFile(directory, i)); i++) {
+                extra.put(shardFile(directory, i).toString(), open(directory, i, 1, location, batchSize));
+            }
+            store.rebalance(extra);
+        }
+        logger.info("Sharded todo store ready: {} shards under {}", count, directory.toAbsolutePath());
+        return store;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+    public InMemoryTodoStore warmupTodoStore() throws IOException {
+        return InMemoryTodoStore.throwaway();
+    }
+
+    @Bean
+    @Primary
+    public TodoRepository shardedTodoRepository(ShardedTodoStore store,
+                                                @Qualifier("warmupTodoStore") ObjectProvider<InMemoryTodoStore> warmupStore) {
+        return TodoStoreRepositories.todoRepository(store, warmupStore.getIfAvailable());
+    }
+
+    @Bean
+    @Primary
+    public SubtaskRepository shardedSubtaskRepository(ShardedTodoStore store,
+                                                      @Qualifier("warmupTodoStore") ObjectProvider<InMemoryTodoStore> warmupStore) {
+        return TodoStoreRepositories.subtaskRepository(store, warmupStore.getIfAvailable());
+    }
+
+    @PreDestroy
+    public void closePools() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private DataSource open(Path directory, int index, int poolSize, String location, int batchSize) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("shard-" + index);
+        pool.setJdbcUrl("jdbc:sqlite:" + shardFile(directory, index).toAbsolutePath()
+                + "?journal_mode=WAL&busy_timeout=10000");
+        pool.setMaximumPoolSize(poolSize);
+        pools.add(pool);
+        new SchemaMigrator(pool, location, batchSize).migrate();
+        return pool;
+    }
+
+    static Path shardFile(Path directory, int index) {
+        return directory.resolve(String.format("shard-%02d.sqlite", index));
+    }
+}
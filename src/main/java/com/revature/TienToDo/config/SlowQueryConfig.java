@@ -0,0 +1,85 @@
+package com.revature.TienToDo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Slow-query log: every statement is timed by a {@link SlowQueryDataSource};
+ * those over app.db.slow-query.threshold-ms are logged with their query plan
+ * and listed at GET /api/admin/slow-queries.
+ *
+ * The log itself always exists so the endpoint does too; with
+ * app.db.slow-query.enabled=false the DataSource is simply left unwrapped and
+ * nothing is recorded.
+ *
+ * Query plans are captured on the primary DataSource's pool itself, found once
+ * all beans exist: which wrappers end up around it depends on the order the
+ * post-processors run in, and none of them should see the EXPLAIN.
+ */
+@Configuration
+public class SlowQueryConfig {
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryConfig.class);
+
+    @Bean(destroyMethod = "shutdown")
+    public static SlowQueryLog slowQueryLog(Environment env) {
+        return new SlowQueryLog(
+                env.getProperty("app.db.slow-query.threshold-ms", Long.class, 100L),
+                env.getProperty("app.db.slow-query.recent-size", Integer.class, 200),
+                env.getProperty("app.db.slow-query.max-shapes", Integer.class, 500),
+                env.getProperty("app.db.slow-query.samples-per-shape", Integer.class, 256),
+                env.getProperty("app.db.slow-query.explain-interval-ms", Long.class, 300_000L));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.db.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor dataSourceSlowQueryTimer(SlowQueryLog slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource
+                        && !(bean instanceof SlowQueryDataSource)) {
+                    logger.info("Timing statements on '{}' (slow-query threshold: {}ms)",
+                            beanName, slowQueryLog.getThresholdMs());
+                    return new SlowQueryDataSource(dataSource, slowQueryLog);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SmartInitializingSingleton slowQueryPlanSource(SlowQueryLog slowQueryLog,
+                                                          ObjectProvider<DataSource> dataSource) {
+        return () -> dataSource.ifUnique(primary -> slowQueryLog.setPlanSource(planSource(primary)));
+    }
+
+    /**
+     * The Hikari pool behind the wrappers, or the innermost target if there isn't one.
+     */
+    static DataSource planSource(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            logger.debug("Could not unwrap the DataSource for plan capture: {}", e.getMessage());
+        }
+        DataSource target = dataSource;
+        while (target instanceof DelegatingDataSource delegating && delegating.getTargetDataSource() != null) {
+            target = delegating.getTargetDataSource();
+        }
+        return target;
+    }
+}
@@ -0,0 +1,254 @@
+package com.revature.TienToDo.config;
+
+import com.revature.TienToDo.utility.RequestInfo;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DataSource wrapper that times every statement and reports it to a
+ * {@link SlowQueryLog}.
+ *
+ * Connections, statements and result sets are JDK proxies. A query's time is
+ * the execute call plus the time spent in ResultSet.next(), so a statement that
+ * streams a large result is charged for it; it is reported when the result set
+ * (or the statement) is closed. Bound parameters are recorded by setter type
+ * only (setLong -> "Long"), never by value. Each statement's time and rows read
+ * are also added to the current request's {@link RequestInfo} for per-user
+ * cost accounting.
+ *
+ * Closing this DataSource closes the target, so the pool it wraps still shuts
+ * down with the context.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource implements AutoCloseable {
+    private final SlowQueryLog log;
+
+    public SlowQueryDataSource(DataSource target, SlowQueryLog log) {
+        super(target);
+        this.log = log;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection timed(Connection target) {
+        return proxy(Connection.class, target, (method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, statement, new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, statement, new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, statement, new StatementHandler(statement, null));
+            }
+            return result;
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.handle(method, args));
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    /**
+     * One execution, finished once its result set is exhausted or closed.
+     */
+    private final class Execution {
+        private final String sql;
+        private final List<String> parameterTypes;
+        private long nanos;
+        private long rows;
+        private boolean query;
+        private boolean finished;
+
+        private Execution(String sql, List<String> parameterTypes) {
+            this.sql = sql;
+            this.parameterTypes = parameterTypes;
+        }
+
+        private void finish() {
+            if (!finished) {
+                finished = true;
+                // Warm-up statements ran against the throwaway database; keep them out
+                if (!RequestInfo.isWarmup()) {
+                    log.record(sql, parameterTypes, nanos, rows);
+                    RequestInfo.addStatement(nanos, query ? rows : 0);
+                }
+            }
+        }
+    }
+
+    private final class StatementHandler implements Handler {
+        private final Statement target;
+        private final String preparedSql;
+        private final List<String> parameterTypes = new ArrayList<>();
+        private String batchSql;
+        private Execution pending;
+
+        private StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                recordParameter(index, name.substring(3));
+                return invoke(target, method, args);
+            }
+            switch (name) {
+                case "clearParameters" -> parameterTypes.clear();
+                case "addBatch" -> {
+                    if (batchSql == null) {
+                        batchSql = args != null ? (String) args[0] : preparedSql;
+                    }
+                }
+                case "close" -> finishPending();
+                case "executeQuery", "execute", "executeUpdate", "executeLargeUpdate", "executeBatch",
+                     "executeLargeBatch" -> {
+                    return execute(method, args);
+                }
+                case "getResultSet" -> {
+                    Object result = invoke(target, method, args);
+                    Execution execution = pending;
+                    return result instanceof ResultSet rs && execution != null && !execution.finished
+                            ? timed(rs, execution) : result;
+                }
+                default -> {
+                }
+            }
+            return invoke(target, method, args);
+        }
+
+        private void recordParameter(int index, String type) {
+            while (parameterTypes.size() < index) {
+                parameterTypes.add("?");
+            }
+            parameterTypes.set(index - 1, type);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            finishPending();
+            String name = method.getName();
+            boolean batch = name.endsWith("Batch");
+            String sql = batch ? batchSql : args != null && args.length > 0 ? (String) args[0] : preparedSql;
+            if (batch) {
+                batchSql = null;
+            }
+            Execution execution = new Execution(sql != null ? sql : "(unknown)", List.copyOf(parameterTypes));
+
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invoke(target, method, args);
+            } finally {
+                execution.nanos += System.nanoTime() - start;
+            }
+
+            if (result instanceof ResultSet rs) {
+                execution.query = true;
+                pending = execution;
+                return timed(rs, execution);
+            }
+            if (result instanceof Boolean hasResultSet) {
+                if (hasResultSet) {
+                    // Finished when the caller reads and closes getResultSet()
+                    execution.query = true;
+                    pending = execution;
+                    return result;
+                }
+                execution.rows = target.getUpdateCount();
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    execution.rows += Math.max(count, 0);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    execution.rows += Math.max(count, 0);
+                }
+            } else if (result instanceof Number count) {
+                execution.rows = count.longValue();
+            }
+            execution.finish();
+            return result;
+        }
+
+        private void finishPending() {
+            if (pending != null) {
+                pending.finish();
+                pending = null;
+            }
+        }
+    }
+
+    private ResultSet timed(ResultSet target, Execution execution) {
+        return proxy(ResultSet.class, target, (method, args) -> {
+            switch (method.getName()) {
+                case "next" -> {
+                    long start = System.nanoTime();
+                    try {
+                        boolean hasRow = (Boolean) invoke(target, method, args);
+                        if (hasRow) {
+                            execution.rows++;
+                        }
+                        return hasRow;
+                    } finally {
+                        execution.nanos += System.nanoTime() - start;
+                    }
+                }
+                case "close" -> {
+                    try {
+                        return invoke(target, method, args);
+                    } finally {
+                        execution.finish();
+                    }
+                }
+                default -> {
+                    return invoke(target, method, args);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,277 @@
+package com.revature.TienToDo.config;
+
+import com.revature.TienToDo.utility.RequestInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-shape statement timings fed by {@link SlowQueryDataSource}.
+ *
+ * Every execution lands in its shape's ring of recent durations, which is what
+ * p50/p99 are computed from. Executions over the threshold are also logged and
+ * kept in a fixed-size ring of recent slow statements, with parameter types
+ * only — never values.
+ *
+ * The first slow SELECT of a shape (and again after explain-interval) queues an
+ * EXPLAIN QUERY PLAN on a single background thread using a separate pooled
+ * connection, so the slow request never waits for it. The queue is small and
+ * drops work when full.
+ */
+public class SlowQueryLog {
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    static final String OVERFLOW_SHAPE = "(other statements)";
+
+    private final long thresholdNanos;
+    private final int maxShapes;
+    private final int samplesPerShape;
+    private final long explainIntervalMs;
+
+    private final ConcurrentHashMap<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> shapeCache = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<SlowStatement> recent;
+    private final AtomicLong recentCursor = new AtomicLong();
+    private final ThreadPoolExecutor explainer;
+
+    private volatile DataSource planSource;
+
+    public SlowQueryLog(long thresholdMs, int recentSize, int maxShapes, int samplesPerShape,
+                        long explainIntervalMs) {
+        if (recentSize < 1 || maxShapes < 1 || samplesPerShape < 1) {
+            throw new IllegalArgumentException("Slow query buffer sizes must be at least 1");
+        }
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.maxShapes = maxShapes;
+        this.samplesPerShape = samplesPerShape;
+        this.explainIntervalMs = explainIntervalMs;
+        this.recent = new AtomicReferenceArray<>(recentSize);
+        this.explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(16), r -> {
+                    Thread t = new Thread(r, "slow-query-explain");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * Where EXPLAIN QUERY PLAN runs. Set once by SlowQueryConfig to the primary
+     * DataSource's pool with every wrapper peeled off, so plan capture is neither
+     * timed itself nor takes a permit from the concurrency limit in front of it.
+     */
+    void setPlanSource(DataSource planSource) {
+        this.planSource = planSource;
+    }
+
+    public long getThresholdMs() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    public void shutdown() {
+        explainer.shutdownNow();
+    }
+
+    /**
+     * @param rows rows read for queries, rows affected for updates, -1 if unknown
+     */
+    public void record(String sql, List<String> parameterTypes, long nanos, long rows) {
+        ShapeStats stats = statsFor(shapeOf(sql));
+        stats.add(nanos);
+        if (nanos < thresholdNanos) {
+            return;
+        }
+
+        stats.slow.increment();
+        SlowStatement entry = new SlowStatement(Instant.now(), stats.shape, List.copyOf(parameterTypes),
+                nanos / 1_000_000.0, rows, RequestInfo.route());
+        recent.set((int) (recentCursor.getAndIncrement() % recent.length()), entry);
+        logger.warn("Slow SQL ({} ms, {} rows, params {}, route {}): {}",
+                String.format(Locale.ROOT, "%.1f", entry.millis()), rows, parameterTypes, entry.route(), stats.shape);
+
+        maybeExplain(sql, stats);
+    }
+
+    /**
+     * Shapes ordered by p99, slowest first.
+     */
+    public List<ShapeSummary> slowestShapes(int limit) {
+        return shapes.values().stream()
+                .map(ShapeStats::summary)
+                .sorted(Comparator.comparingDouble(ShapeSummary::p99Ms).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Most recent slow executions, newest first.
+     */
+    public List<SlowStatement> recentSlowStatements(int limit) {
+        long end = recentCursor.get();
+        long start = Math.max(0, end - Math.min(limit, recent.length()));
+        List<SlowStatement> result = new ArrayList<>();
+        for (long i = end - 1; i >= start; i--) {
+            SlowStatement entry = recent.get((int) (i % recent.length()));
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    private String shapeOf(String sql) {
+        // Hibernate reuses a small set of SQL strings, so normalize each only once
+        String shape = shapeCache.get(sql);
+        if (shape == null) {
+            if (shapeCache.size() >= maxShapes * 4) {
+                shapeCache.clear();
+            }
+            shape = SqlShapes.normalize(sql);
+            shapeCache.put(sql, shape);
+        }
+        return shape;
+    }
+
+    private ShapeStats statsFor(String shape) {
+        ShapeStats stats = shapes.get(shape);
+        if (stats != null) {
+            return stats;
+        }
+        if (shapes.size() >= maxShapes) {
+            return shapes.computeIfAbsent(OVERFLOW_SHAPE, ShapeStats::new);
+        }
+        return shapes.computeIfAbsent(shape, ShapeStats::new);
+    }
+
+    private void maybeExplain(String sql, ShapeStats stats) {
+        DataSource source = planSource;
+        if (source == null || stats.shape.equals(OVERFLOW_SHAPE) || !isQuery(sql)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long due = stats.nextExplainAt.get();
+        if (now >= due && stats.nextExplainAt.compareAndSet(due, now + explainIntervalMs)) {
+            explainer.execute(() -> explain(source, sql, stats));
+        }
+    }
+
+    private static boolean isQuery(String sql) {
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return head.startsWith("select") || head.startsWith("with");
+    }
+
+    private void explain(DataSource source, String sql, ShapeStats stats) {
+        try (Connection connection = source.getConnection()) {
+            if (!connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("sqlite")) {
+                stats.plan = "(EXPLAIN QUERY PLAN is only captured on SQLite)";
+                return;
+            }
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+                // The plan doesn't depend on the values, but sqlite-jdbc refuses unbound parameters
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setNull(i, Types.NULL);
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    stats.plan = formatPlan(rs);
+                }
+            }
+            stats.planCapturedAt = Instant.now();
+            logger.info("Query plan for slow SQL {}:\n{}", stats.shape, stats.plan);
+        } catch (SQLException | RuntimeException e) {
+            stats.plan = "(EXPLAIN QUERY PLAN failed: " + e.getMessage() + ")";
+            logger.debug("Could not capture query plan for {}", stats.shape, e);
+        }
+    }
+
+    /**
+     * Rows are (id, parent, notused, detail); indent each detail under its parent.
+     */
+    private static String formatPlan(ResultSet rs) throws SQLException {
+        Map<Integer, Integer> depths = new HashMap<>();
+        StringBuilder plan = new StringBuilder();
+        while (rs.next()) {
+            int id = rs.getInt(1);
+            int depth = depths.getOrDefault(rs.getInt(2), -1) + 1;
+            depths.put(id, depth);
+            if (!plan.isEmpty()) {
+                plan.append('\n');
+            }
+            plan.append("  ".repeat(depth)).append(rs.getString(4));
+        }
+        return plan.toString();
+    }
+
+    public record SlowStatement(Instant at, String shape, List<String> parameterTypes,
+                                double millis, long rows, String route) {
+    }
+
+    public record ShapeSummary(String shape, long executions, long slowExecutions,
+                               double p50Ms, double p99Ms, double maxMs,
+                               String plan, Instant planCapturedAt) {
+    }
+
+    private final class ShapeStats {
+        private final String shape;
+        private final AtomicLongArray samples = new AtomicLongArray(samplesPerShape);
+        private final AtomicLong executions = new AtomicLong();
+        private final LongAdder slow = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+        private final AtomicLong nextExplainAt = new AtomicLong();
+        private volatile String plan;
+        private volatile Instant planCapturedAt;
+
+        private ShapeStats(String shape) {
+            this.shape = shape;
+        }
+
+        private void add(long nanos) {
+            long n = executions.getAndIncrement();
+            samples.set((int) (n % samples.length()), nanos);
+            max.accumulate(nanos);
+        }
+
+        private ShapeSummary summary() {
+            long count = executions.get();
+            int size = (int) Math.min(count, samples.length());
+            long[] window = new long[size];
+            for (int i = 0; i < size; i++) {
+                window[i] = samples.get(i);
+            }
+            Arrays.sort(window);
+            return new ShapeSummary(shape, count, slow.sum(),
+                    percentileMs(window, 0.50), percentileMs(window, 0.99), max.get() / 1_000_000.0,
+                    plan, planCapturedAt);
+        }
+
+        private static double percentileMs(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.revature.TienToDo.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how many SQL statements each request ran, per route, as
+ * http.server.sql.statements{method, uri}.
+ *
+ * Counts come from {@link SqlStatementCounter} on the request thread, started by
+ * StatementTrackingFilter, so work handed to other threads (the async auth
+ * endpoints) is not included.
+ */
+public class SqlMetricsInterceptor implements HandlerInterceptor {
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public SqlMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request,
+                                @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        summaries.computeIfAbsent(method + " " + uri, key -> DistributionSummary
+                        .builder("http.server.sql.statements")
+                        .description("SQL statements executed per request")
+                        .tag("method", method)
+                        .tag("uri", uri)
+                        .register(meterRegistry))
+                .record(SqlStatementCounter.current());
+    }
+}
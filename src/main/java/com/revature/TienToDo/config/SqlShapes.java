@@ -0,0 +1,26 @@
+package com.revature.TienToDo.config;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL to its shape so executions of the same query group together:
+ * string and numeric literals become ?, IN lists of any length become (?...),
+ * and runs of whitespace become one space. Hibernate already binds parameters,
+ * so for its SQL this mostly collapses IN lists.
+ */
+public final class SqlShapes {
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlShapes() {
+    }
+
+    public static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,166 @@
+package com.revature.TienToDo.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hibernate StatementInspector that counts SQL statements run on the current thread,
+ * per request and per transaction, and remembers the most recent one.
+ *
+ * Registered through spring.jpa.properties.hibernate.session_factory.statement_inspector,
+ * so Hibernate instantiates it itself; state is therefore static and per-thread.
+ * StatementTrackingFilter starts and finishes each request; SqlMetricsInterceptor
+ * and the repository JFR events read the running count in between.
+ *
+ * Per-transaction counts hook into Spring's transaction synchronization: the first
+ * statement in a transaction binds a counter that reports back when it completes.
+ * Only between startRequest and finishRequest, as nothing else ever collects
+ * them: transactions on pool, scheduler and warm-up threads aren't recorded.
+ * Statement shapes ({@link SqlShapes}) are only tallied for requests
+ * that asked for it, as that costs a map update per statement.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<Stats> STATS = ThreadLocal.withInitial(Stats::new);
+    private static final Object TRANSACTION_KEY = new Object();
+
+    public record TransactionStatements(String name, int statements) {
+    }
+
+    /**
+     * What one request ran: total statements, per-transaction counts and the
+     * statement shapes that repeated more than the threshold (empty unless
+     * shapes were tracked).
+     */
+    public record RequestStats(int statements,
+                               List<TransactionStatements> transactions,
+                               Map<String, Integer> repeatedShapes) {
+        public int maxPerTransaction() {
+            return transactions.stream().mapToInt(TransactionStatements::statements).max().orElse(0);
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Stats stats = STATS.get();
+        stats.count++;
+        stats.lastSql = sql;
+        if (stats.shapes != null) {
+            stats.shapes.merge(normalize(sql), 1, Integer::sum);
+        }
+        countInTransaction(stats);
+        return sql;
+    }
+
+    public static void reset() {
+        Stats stats = STATS.get();
+        stats.count = 0;
+        stats.lastSql = null;
+        stats.shapes = null;
+        stats.transactions = null;
+        stats.inRequest = false;
+    }
+
+    /**
+     * Start counting a new request.
+     *
+     * @param trackShapes also tally statement shapes for repeated-statement detection
+     */
+    public static void startRequest(boolean trackShapes) {
+        reset();
+        STATS.get().inRequest = true;
+        if (trackShapes) {
+            STATS.get().shapes = new HashMap<>();
+        }
+    }
+
+    /**
+     * @param repeatThreshold shapes run more than this many times are reported
+     */
+    public static RequestStats finishRequest(int repeatThreshold) {
+        Stats stats = STATS.get();
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        if (stats.shapes != null) {
+            stats.shapes.forEach((shape, count) -> {
+                if (count > repeatThreshold) {
+                    repeated.put(shape, count);
+                }
+            });
+        }
+        List<TransactionStatements> transactions = stats.transactions != null ? stats.transactions : List.of();
+        RequestStats result = new RequestStats(stats.count, transactions, repeated);
+        stats.shapes = null;
+        stats.transactions = null;
+        stats.inRequest = false;
+        return result;
+    }
+
+    public static int current() {
+        return STATS.get().count;
+    }
+
+    public static String lastSql() {
+        return STATS.get().lastSql;
+    }
+
+    // Transactions recorded on this thread and not yet collected by finishRequest
+    static int pendingTransactions() {
+        List<TransactionStatements> transactions = STATS.get().transactions;
+        return transactions != null ? transactions.size() : 0;
+    }
+
+    static String normalize(String sql) {
+        return SqlShapes.normalize(sql);
+    }
+
+    private static void countInTransaction(Stats stats) {
+        if (!stats.inRequest || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionCounter counter = (TransactionCounter) TransactionSynchronizationManager.getResource(TRANSACTION_KEY);
+        if (counter == null) {
+            counter = new TransactionCounter(stats, TransactionSynchronizationManager.getCurrentTransactionName());
+            TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, counter);
+            TransactionSynchronizationManager.registerSynchronization(counter);
+        }
+        counter.count++;
+    }
+
+    private static final class Stats {
+        private int count;
+        private String lastSql;
+        private Map<String, Integer> shapes;
+        private List<TransactionStatements> transactions;
+        private boolean inRequest;
+    }
+
+    private static final class TransactionCounter implements TransactionSynchronization {
+        private final Stats owner;
+        private final String name;
+        private int count;
+
+        private TransactionCounter(Stats owner, String name) {
+            this.owner = owner;
+            this.name = name != null ? name : "unnamed";
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+            // A transaction that outlived its request has no one left to report to
+            if (!owner.inRequest) {
+                return;
+            }
+            if (owner.transactions == null) {
+                owner.transactions = new ArrayList<>();
+            }
+            owner.transactions.add(new TransactionStatements(name, count));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.revature.TienToDo.config;
+
+import com.revature.TienToDo.utility.RequestInfo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs where startup time went once the app is ready, and how long after JVM
+ * launch the first request completed — the number that matters when the
+ * autoscaler adds an instance.
+ *
+ * Phases come from the {@link BufferingApplicationStartup} set in main(), so
+ * they're only available when started that way (not in tests or the bench/load
+ * harnesses). Phase times are inclusive of nested steps; the slowest beans are
+ * listed by self time, i.e. minus the beans they pulled in.
+ *
+ * Time to first request is also the application.first_request.time gauge;
+ * JIT warm-up requests (app.warmup.enabled) don't count.
+ */
+@Component
+public class StartupTimingReport {
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimingReport.class);
+
+    private static final String BEAN_INSTANTIATE = "spring.beans.instantiate";
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.startup.report.slowest-beans:10}")
+    private int slowestBeans;
+
+    private final AtomicLong firstRequestMs = new AtomicLong(-1);
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        long uptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        Duration timeTaken = event.getTimeTaken();
+        long runMs = timeTaken != null ? timeTaken.toMillis() : uptimeMs;
+
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "Startup: ready %d ms after JVM start (JVM to SpringApplication.run %d ms, run %d ms)",
+                uptimeMs, Math.max(0, uptimeMs - runMs), runMs));
+        if (context.getApplicationStartup() instanceof BufferingApplicationStartup startup) {
+            appendTimeline(report, startup.getBufferedTimeline());
+        }
+        logger.info("{}", report);
+
+        TimeGauge.builder("application.first_request.time", firstRequestMs, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time from JVM start until the first request completed; -1 until then")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onRequestHandled(ServletRequestHandledEvent event) {
+        if (firstRequestMs.get() >= 0 || RequestInfo.isWarmup()) {
+            return;
+        }
+        long uptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        if (firstRequestMs.compareAndSet(-1, uptimeMs)) {
+            logger.info("First request ({} {}, {} ms) completed {} ms after JVM start",
+                    event.getMethod(), event.getRequestUrl(), event.getProcessingTimeMillis(), uptimeMs);
+        }
+    }
+
+    private void appendTimeline(StringBuilder report, StartupTimeline timeline) {
+        List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+
+        Map<String, Long> phases = new LinkedHashMap<>();
+        Map<Long, Long> childMs = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            String phase = phaseOf(event.getStartupStep());
+            if (phase != null) {
+                phases.merge(phase, event.getDuration().toMillis(), Long::sum);
+            }
+            Long parent = event.getStartupStep().getParentId();
+            if (parent != null) {
+                childMs.merge(parent, event.getDuration().toMillis(), Long::sum);
+            }
+        }
+
+        report.append(String.format(Locale.ROOT, "%n  %-48s %8s", "Phase", "ms"));
+        phases.forEach((phase, ms) -> report.append(String.format(Locale.ROOT, "%n  %-48s %8d", phase, ms)));
+
+        List<long[]> beans = new ArrayList<>();
+        Map<Long, String> beanNames = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            if (BEAN_INSTANTIATE.equals(step.getName())) {
+                long self = event.getDuration().toMillis() - childMs.getOrDefault(step.getId(), 0L);
+                beans.add(new long[]{step.getId(), self});
+                beanNames.put(step.getId(), tag(step, "beanName"));
+            }
+        }
+        beans.sort(Comparator.comparingLong((long[] bean) -> bean[1]).reversed());
+        report.append(String.format(Locale.ROOT, "%n  Slowest beans (self time):"));
+        for (int i = 0; i < Math.min(slowestBeans, beans.size()); i++) {
+            report.append(String.format(Locale.ROOT, "%n    %-46s %8d", beanNames.get(beans.get(i)[0]), beans.get(i)[1]));
+        }
+    }
+
+    /**
+     * The phases worth tracking for cold start; other steps only count toward
+     * their parents.
+     */
+    private static String phaseOf(StartupStep step) {
+        String name = step.getName();
+        if (name.startsWith("spring.boot.application.")) {
+            return "Environment and context preparation";
+        }
+        return switch (name) {
+            // Includes config class parsing (and so repository scanning) as nested steps
+            case "spring.context.beandef-registry.post-process" -> "Component scanning and configuration classes";
+            case "spring.data.repository.scanning" -> "Repository scanning";
+            case "spring.context.refresh" -> "Context refresh (total)";
+            case BEAN_INSTANTIATE -> switch (String.valueOf(tag(step, "beanName"))) {
+                case "schemaMigrator" -> "Schema migrations";
+                // Waits for schemaMigrator (MigrationConfig), so includes it
+                case "entityManagerFactory" -> "JPA entity manager factory";
+                case "springSecurityFilterChain" -> "Security configuration";
+                default -> null;
+            };
+            default -> null;
+        };
+    }
+
+    private static String tag(StartupStep step, String key) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals(key)) {
+                return tag.getValue();
+            }
+        }
+        return null;
+    }
+}
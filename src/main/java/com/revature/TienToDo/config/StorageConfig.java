@@ -0,0 +1,71 @@
+package com.revature.TienToDo.config;
+
+import com.revature.TienToDo.repository.InMemoryTodoStore;
+import com.revature.TienToDo.repository.SubtaskRepository;
+import com.revature.TienToDo.repository.TodoRepository;
+import com.revature.TienToDo.repository.TodoStoreRepositories;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Storage engine for todos and subtasks, chosen by app.storage.engine:
+ *
+ *   jpa     (default) Hibernate on SQLite through the Spring Data repositories
+ *   memory  {@link InMemoryTodoStore}: per-user in-memory structures with an
+ *           append-only log and snapshots under app.storage.memory.directory
+ *
+ * With memory, the in-memory TodoRepository and SubtaskRepository are @Primary,
+ * so TodoService and AuthService get them; users stay in SQLite either way. The
+ * store imports the existing todos on its first start; after that it is the
+ * only copy, and switching back to jpa does not carry its changes over.
+ *
+ * With app.warmup.enabled, the JIT warm-up's requests get a throwaway store of
+ * their own, as they get a throwaway database under jpa.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "memory")
+public class StorageConfig {
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public InMemoryTodoStore inMemoryTodoStore(Environment env, DataSource dataSource,
+                                               ObjectProvider<SchemaMigrator> schemaMigrator) throws IOException {
+        // The first start imports from the tables, so they have to be migrated first
+        schemaMigrator.getIfAvailable();
+        InMemoryTodoStore store = new InMemoryTodoStore(
+                Path.of(env.getProperty("app.storage.memory.directory", "./todo-store")),
+                env.getProperty("app.storage.memory.fsync", Boolean.class, true),
+                env.getProperty("app.storage.memory.snapshot-interval-seconds", Long.class, 300L));
+        store.open(dataSource);
+        return store;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+    public InMemoryTodoStore warmupTodoStore() throws IOException {
+        return InMemoryTodoStore.throwaway();
+    }
+
+    @Bean
+    @Primary
+    public TodoRepository inMemoryTodoRepository(@Qualifier("inMemoryTodoStore") InMemoryTodoStore store,
+                                                 @Qualifier("warmupTodoStore") ObjectProvider<InMemoryTodoStore> warmupStore) {
+        return TodoStoreRepositories.todoRepository(store, warmupStore.getIfAvailable());
+    }
+
+    @Bean
+    @Primary
+    public SubtaskRepository inMemorySubtaskRepository(@Qualifier("inMemoryTodoStore") InMemoryTodoStore store,
+                                                       @Qualifier("warmupTodoStore") ObjectProvider<InMemoryTodoStore> warmupStore) {
+        return TodoStoreRepositories.subtaskRepository(store, warmupStore.getIfAvailable());
+    }
+}
@@ -0,0 +1,81 @@
+package com.revature.TienToDo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * Stores hashes as "{bcrypt}$2a$NN$..." through a DelegatingPasswordEncoder and
+ * reports which stored hashes need rehashing.
+ *
+ * Legacy hashes without the {bcrypt} prefix still verify. upgradeEncoding() is
+ * true for those and for any hash whose cost differs from the target strength —
+ * up or down — so DaoAuthenticationProvider rewrites them on the next successful
+ * login via UserDetailsPasswordService.
+ */
+public class StrengthTaggedPasswordEncoder implements PasswordEncoder {
+    private static final String ID = "bcrypt";
+    private static final String PREFIX = "{" + ID + "}";
+
+    private final DelegatingPasswordEncoder delegate;
+    private final int strength;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public StrengthTaggedPasswordEncoder(int strength, MeterRegistry meterRegistry) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        this.delegate = new DelegatingPasswordEncoder(ID, Map.of(ID, bcrypt));
+        this.delegate.setDefaultPasswordEncoderForMatches(bcrypt);
+        this.strength = strength;
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .description("BCrypt hashing time")
+                .tag("operation", "encode")
+                .tag("strength", Integer.toString(strength))
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .description("BCrypt hashing time")
+                .tag("operation", "matches")
+                .tag("strength", Integer.toString(strength))
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean matched = matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+        return Boolean.TRUE.equals(matched);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || !encodedPassword.startsWith(PREFIX)) {
+            return true;
+        }
+        return costOf(encodedPassword.substring(PREFIX.length())) != strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    // BCrypt format: $2a$NN$<salt+hash>
+    static int costOf(String bcryptHash) {
+        String[] parts = bcryptHash.split("\\$");
+        if (parts.length < 4) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(parts[2]);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
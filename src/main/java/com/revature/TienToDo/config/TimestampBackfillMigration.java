@@ -0,0 +1,87 @@
+package com.revature.TienToDo.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Rewrites created_at/updated_at values stored as epoch milliseconds (written by
+ * early builds) into the "yyyy-MM-dd HH:mm:ss" text the converter writes today,
+ * so the columns sort and compare correctly in SQL. Conversion goes through
+ * {@link SQLiteLocalDateTimeConverter} itself, so the result is exactly what
+ * loading and re-saving the row would store.
+ *
+ * One migration per table, walking rows in id order.
+ */
+public class TimestampBackfillMigration implements SchemaMigrator.BatchedMigration {
+    private static final SQLiteLocalDateTimeConverter CONVERTER = new SQLiteLocalDateTimeConverter();
+
+    private final int version;
+    private final String table;
+
+    TimestampBackfillMigration(int version, String table) {
+        this.version = version;
+        this.table = table;
+    }
+
+    static List<SchemaMigrator.BatchedMigration> all() {
+        return List.of(
+                new TimestampBackfillMigration(3, "users"),
+                new TimestampBackfillMigration(4, "todos"),
+                new TimestampBackfillMigration(5, "subtasks"));
+    }
+
+    @Override
+    public int version() {
+        return version;
+    }
+
+    @Override
+    public String description() {
+        return "backfill text timestamps in " + table;
+    }
+
+    @Override
+    public String checksum() {
+        return "timestamp-backfill:" + table + ":1";
+    }
+
+    @Override
+    public long migrateBatch(Connection connection, long after, int batchSize) throws SQLException {
+        long last = -1;
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id, created_at, updated_at FROM " + table + " WHERE id > ? ORDER BY id LIMIT ?");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE " + table + " SET created_at = ?, updated_at = ? WHERE id = ?")) {
+            select.setLong(1, after);
+            select.setInt(2, batchSize);
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    last = rs.getLong(1);
+                    String createdAt = rs.getString(2);
+                    String updatedAt = rs.getString(3);
+                    if (isEpochMillis(createdAt) || isEpochMillis(updatedAt)) {
+                        update.setString(1, normalize(createdAt));
+                        update.setString(2, normalize(updatedAt));
+                        update.setLong(3, last);
+                        update.addBatch();
+                    }
+                }
+            }
+            update.executeBatch();
+        }
+        return last;
+    }
+
+    private static boolean isEpochMillis(String value) {
+        return value != null && !value.isEmpty() && value.chars().allMatch(Character::isDigit);
+    }
+
+    private static String normalize(String value) {
+        return isEpochMillis(value)
+                ? CONVERTER.convertToDatabaseColumn(CONVERTER.convertToEntityAttribute(value))
+                : value;
+    }
+}
@@ -0,0 +1,42 @@
+package com.revature.TienToDo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * JIT warm-up before readiness (app.warmup.enabled): the throwaway database the
+ * synthetic requests run against, and the DataSource wrapper that routes them
+ * there. The requests themselves are driven by service.WarmupRunner.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+public class WarmupConfig {
+    private static final Logger logger = LoggerFactory.getLogger(WarmupConfig.class);
+
+    @Bean(destroyMethod = "close")
+    public static WarmupDatabase warmupDatabase(Environment env) {
+        return new WarmupDatabase(env.getProperty("app.warmup.threads", Integer.class, 4));
+    }
+
+    @Bean
+    public static BeanPostProcessor warmupDataSourceRouter(WarmupDatabase warmupDatabase) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource
+                        && !(bean instanceof WarmupDataSource)) {
+                    logger.info("Routing warm-up requests on '{}' to a throwaway database", beanName);
+                    return new WarmupDataSource(dataSource, warmupDatabase);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.revature.TienToDo.config;
+
+import com.revature.TienToDo.utility.RequestInfo;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Sends connections for warm-up requests (see {@link RequestInfo#isWarmup()})
+ * to the {@link WarmupDatabase} and everything else to the real DataSource.
+ *
+ * A warm-up request after the warm-up database has closed fails rather than
+ * falling through to real data.
+ */
+public class WarmupDataSource extends DelegatingDataSource {
+    private final WarmupDatabase warmupDatabase;
+
+    public WarmupDataSource(DataSource target, WarmupDatabase warmupDatabase) {
+        super(target);
+        this.warmupDatabase = warmupDatabase;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return RequestInfo.isWarmup() ? warmupDatabase.getConnection() : super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return RequestInfo.isWarmup() ? warmupDatabase.getConnection() : super.getConnection(username, password);
+    }
+}
@@ -0,0 +1,114 @@
+package com.revature.TienToDo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Throwaway SQLite database for the JIT warm-up (service.WarmupRunner): a temp
+ * file migrated to the current schema and seeded with the warm-up users, and
+ * deleted once warm-up ends. Warm-up requests get their connections from here
+ * through {@link WarmupDataSource}, so they never touch real data.
+ *
+ * Warm-up users get ids from {@link #FIRST_USER_ID} up, far above any real
+ * user's, so per-user state kept in memory (e.g. the event hub) can't mix them up.
+ */
+public class WarmupDatabase {
+    private static final Logger logger = LoggerFactory.getLogger(WarmupDatabase.class);
+
+    public static final long FIRST_USER_ID = 1_000_000_000_000L;
+
+    private final int poolSize;
+    private volatile HikariDataSource dataSource;
+    private Path file;
+
+    public WarmupDatabase(int poolSize) {
+        this.poolSize = Math.max(1, poolSize);
+    }
+
+    /**
+     * Creates the database with one user per name, ids counting up from FIRST_USER_ID.
+     */
+    public synchronized void open(List<String> usernames) throws IOException, SQLException {
+        if (dataSource != null) {
+            throw new IllegalStateException("The warm-up database is already open");
+        }
+        file = Files.createTempFile("tientodo-warmup-", ".sqlite");
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("warmup");
+        pool.setJdbcUrl("jdbc:sqlite:" + file.toAbsolutePath() + "?journal_mode=WAL&busy_timeout=10000");
+        pool.setMaximumPoolSize(poolSize);
+        try {
+            new SchemaMigrator(pool, "classpath*:db/migration/", 1000).migrate();
+            seedUsers(pool, usernames);
+        } catch (RuntimeException | SQLException e) {
+            pool.close();
+            deleteFiles();
+            throw e;
+        }
+        dataSource = pool;
+    }
+
+    public boolean isOpen() {
+        return dataSource != null;
+    }
+
+    public Connection getConnection() throws SQLException {
+        HikariDataSource pool = dataSource;
+        if (pool == null) {
+            throw new SQLException("The warm-up database is closed");
+        }
+        return pool.getConnection();
+    }
+
+    public synchronized void close() {
+        HikariDataSource pool = dataSource;
+        if (pool == null) {
+            return;
+        }
+        dataSource = null;
+        pool.close();
+        deleteFiles();
+    }
+
+    private static void seedUsers(HikariDataSource pool, List<String> usernames) throws SQLException {
+        String now = new SQLiteLocalDateTimeConverter().convertToDatabaseColumn(LocalDateTime.now());
+        try (Connection connection = pool.getConnection();
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO users (id, username, email, password_hash, created_at, updated_at) "
+                             + "VALUES (?, ?, ?, ?, ?, ?)")) {
+            long id = FIRST_USER_ID;
+            for (String username : usernames) {
+                insert.setLong(1, id++);
+                insert.setString(2, username);
+                insert.setString(3, username + "@warmup.invalid");
+                // Not a BCrypt hash, so nothing can log in as a warm-up user
+                insert.setString(4, "!");
+                insert.setString(5, now);
+                insert.setString(6, now);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void deleteFiles() {
+        for (String suffix : new String[]{"", "-wal", "-shm"}) {
+            Path path = file.resolveSibling(file.getFileName() + suffix);
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                logger.warn("Could not delete warm-up database file {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
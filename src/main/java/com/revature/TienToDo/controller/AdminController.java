@@ -0,0 +1,182 @@
+package com.revature.TienToDo.controller;
+
+import com.revature.TienToDo.config.SlowQueryLog;
+import com.revature.TienToDo.service.DatabaseBackupService;
+import com.revature.TienToDo.service.DatabaseMaintenanceService;
+import com.revature.TienToDo.service.JfrRecordingService;
+import com.revature.TienToDo.service.TodoArchiveService;
+import com.revature.TienToDo.service.UserCostTracker;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Diagnostics for operators. Restricted to ROLE_ADMIN in SecurityConfig.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+    @Autowired
+    private JfrRecordingService jfrRecordingService;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private UserCostTracker userCostTracker;
+
+    @Autowired
+    private DatabaseBackupService backupService;
+
+    @Autowired
+    private DatabaseMaintenanceService maintenanceService;
+
+    // Only with app.archive.enabled
+    @Autowired
+    private ObjectProvider<TodoArchiveService> archiveService;
+
+    @GetMapping("/jfr")
+    public ResponseEntity<Map<String, Object>> jfrStatus() {
+        return ResponseEntity.ok(jfrRecordingService.status());
+    }
+
+    @PostMapping("/jfr/start")
+    public ResponseEntity<Map<String, Object>> startJfr(
+            @RequestParam(defaultValue = "profile") String settings) {
+        return ResponseEntity.ok(jfrRecordingService.start(settings));
+    }
+
+    /**
+     * Stop the recording and stream the .jfr file; the temporary copy is
+     * deleted once it has been written to the client.
+     */
+    @PostMapping("/jfr/stop")
+    public ResponseEntity<StreamingResponseBody> stopJfr() throws IOException {
+        Path file = jfrRecordingService.stop();
+        long size = Files.size(file);
+
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(size)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + file.getFileName() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Statement shapes by p99 (over each shape's recent executions), plus the
+     * latest executions over the slow-query threshold.
+     */
+    @GetMapping("/slow-queries")
+    public ResponseEntity<Map<String, Object>> slowQueries(@RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > 500) {
+            throw new IllegalArgumentException("limit must be between 1 and 500");
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("thresholdMs", slowQueryLog.getThresholdMs());
+        body.put("slowestShapes", slowQueryLog.slowestShapes(limit));
+        body.put("recent", slowQueryLog.recentSlowStatements(limit));
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * Heaviest users of one resource (db-time, rows-read, statements, bytes)
+     * over the last windowSeconds, with their usage of the others alongside.
+     */
+    @GetMapping("/top-users")
+    public ResponseEntity<Map<String, Object>> topUsers(
+            @RequestParam(defaultValue = "db-time") String by,
+            @RequestParam(defaultValue = "300") int windowSeconds,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > 100) {
+            throw new IllegalArgumentException("limit must be between 1 and 100");
+        }
+        UserCostTracker.Resource resource = UserCostTracker.Resource.fromParam(by);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("by", by);
+        body.put("windowSeconds", windowSeconds);
+        body.put("users", userCostTracker.topUsers(resource, windowSeconds, limit));
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * The running backup or restore, if any, the last backup and the backups on disk.
+     */
+    @GetMapping("/backups")
+    public ResponseEntity<Map<String, Object>> backups() {
+        return ResponseEntity.ok(backupService.status());
+    }
+
+    /**
+     * Start an online backup; poll GET /backups for its progress.
+     */
+    @PostMapping("/backups")
+    public ResponseEntity<Map<String, Object>> startBackup() {
+        backupService.startBackup();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(backupService.status());
+    }
+
+    /**
+     * Replace the database with a backup once it passes an integrity check.
+     */
+    @PostMapping("/backups/{name}/restore")
+    public ResponseEntity<DatabaseBackupService.RestoreResult> restoreBackup(@PathVariable String name) {
+        return ResponseEntity.ok(backupService.restore(name));
+    }
+
+    /**
+     * Fragmentation, WAL size and the last run of each maintenance task.
+     */
+    @GetMapping("/maintenance")
+    public ResponseEntity<Map<String, Object>> maintenance() {
+        return ResponseEntity.ok(maintenanceService.status());
+    }
+
+    /**
+     * Run one maintenance task (checkpoint, vacuum, optimize) now, even under load.
+     */
+    @PostMapping("/maintenance/{task}")
+    public ResponseEntity<DatabaseMaintenanceService.TaskReport> runMaintenance(@PathVariable String task) {
+        return ResponseEntity.ok(maintenanceService.runNow(DatabaseMaintenanceService.Task.fromParam(task)));
+    }
+
+    /**
+     * The last archival run of completed todos, if archiving is on.
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<Map<String, Object>> archive() {
+        TodoArchiveService service = archiveService.getIfAvailable();
+        return ResponseEntity.ok(service != null ? service.status() : Map.of("enabled", false));
+    }
+
+    /**
+     * Archive every completed todo that is due now, even under load.
+     */
+    @PostMapping("/archive")
+    public ResponseEntity<TodoArchiveService.ArchiveRun> runArchive() {
+        TodoArchiveService service = archiveService.getIfAvailable();
+        if (service == null) {
+            throw new IllegalArgumentException("Archiving is off; set app.archive.enabled=true");
+        }
+        return ResponseEntity.ok(service.runNow());
+    }
+}
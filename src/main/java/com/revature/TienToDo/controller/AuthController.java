@@ -8,6 +8,7 @@ import com.revature.TienToDo.service.AuthService;
 import com.revature.TienToDo.utility.JwtUtil;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -15,6 +16,8 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -26,40 +29,26 @@ public class AuthController {
 
     private JwtUtil jwtUtil;
 
-    @PostMapping("/register")
-    public ResponseEntity<Map<String, Object>> register(@Valid @RequestBody RegisterRequest request) {
-        AuthResponse response = authService.register(request);
-
-        // Generate a refresh token alongside the access token
-        String refreshToken = jwtUtil.generateRefreshToken(response.getUsername());
-
-        Map<String, Object> body = new LinkedHashMap<>();
-        body.put("token", response.getToken());
-        body.put("refreshToken", refreshToken);
-        body.put("type", response.getType());
-        body.put("userId", response.getUserId());
-        body.put("username", response.getUsername());
-        body.put("email", response.getEmail());
+    // Register and login are BCrypt-bound, so they run on the bounded hashing pool
+    // and release the request thread; a full pool is rejected with 503.
+    @Autowired
+    @Qualifier("passwordHashingExecutor")
+    private Executor passwordHashingExecutor;
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(body);
+    @PostMapping("/register")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> register(
+            @Valid @RequestBody RegisterRequest request) {
+        return CompletableFuture
+                .supplyAsync(() -> authService.register(request), passwordHashingExecutor)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(tokenBody(response)));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
-
-        // Generate a refresh token alongside the access token
-        String refreshToken = jwtUtil.generateRefreshToken(response.getUsername());
-
-        Map<String, Object> body = new LinkedHashMap<>();
-        body.put("token", response.getToken());
-        body.put("refreshToken", refreshToken);
-        body.put("type", response.getType());
-        body.put("userId", response.getUserId());
-        body.put("username", response.getUsername());
-        body.put("email", response.getEmail());
-
-        return ResponseEntity.ok(body);
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> login(
+            @Valid @RequestBody LoginRequest request) {
+        return CompletableFuture
+                .supplyAsync(() -> authService.login(request), passwordHashingExecutor)
+                .thenApply(response -> ResponseEntity.ok(tokenBody(response)));
     }
 
     @PostMapping("/refresh")
@@ -98,4 +87,17 @@ public class AuthController {
         return ResponseEntity.ok(body);
     }
 
+    private Map<String, Object> tokenBody(AuthResponse response) {
+        // Generate a refresh token alongside the access token
+        String refreshToken = jwtUtil.generateRefreshToken(response.getUsername());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("token", response.getToken());
+        body.put("refreshToken", refreshToken);
+        body.put("type", response.getType());
+        body.put("userId", response.getUserId());
+        body.put("username", response.getUsername());
+        body.put("email", response.getEmail());
+        return body;
+    }
 }
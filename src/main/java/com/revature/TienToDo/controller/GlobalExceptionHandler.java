@@ -1,6 +1,7 @@
 package com.revature.TienToDo.controller;
 import com.revature.TienToDo.dto.ApiError;
 import com.revature.TienToDo.service.TodoService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -55,6 +57,14 @@ public class GlobalExceptionHandler {
                 .body(new ApiError(400, message));
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ApiError> handleRejected(RejectedExecutionException ex) {
+        // A bounded worker pool is full — fail fast and let the client retry
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiError(503, "Server is busy, please retry shortly"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGeneral(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
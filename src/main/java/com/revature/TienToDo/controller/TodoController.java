@@ -5,13 +5,16 @@ import com.revature.TienToDo.dto.*;
 import com.revature.TienToDo.entity.User;
 import com.revature.TienToDo.service.AuthService;
 
+import com.revature.TienToDo.service.TodoEventHub;
 import com.revature.TienToDo.service.TodoService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -25,6 +28,9 @@ public class TodoController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private TodoEventHub todoEventHub;
+
     @GetMapping
     public ResponseEntity<List<TodoResponse>> getAllTodos(Authentication auth) {
         User user = getUser(auth);
@@ -70,6 +76,12 @@ public class TodoController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(Authentication auth) {
+        User user = getUser(auth);
+        return todoEventHub.subscribe(user.getId());
+    }
+
     @GetMapping("/active")
     public ResponseEntity<List<TodoResponse>> getActiveTodos(Authentication auth) {
         User user = getUser(auth);
@@ -82,6 +94,22 @@ public class TodoController {
         return ResponseEntity.ok(todoService.getCompletedTodos(user));
     }
 
+    @GetMapping("/archived")
+    public ResponseEntity<ArchivedTodoPage> getArchivedTodos(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication auth) {
+        User user = getUser(auth);
+        return ResponseEntity.ok(todoService.getArchivedTodos(user, page, size));
+    }
+
+    @PostMapping("/{todoId}/restore")
+    public ResponseEntity<TodoResponse> restoreTodo(
+            @PathVariable Long todoId, Authentication auth) {
+        User user = getUser(auth);
+        return ResponseEntity.ok(todoService.restoreTodo(todoId, user));
+    }
+
     @GetMapping("/search")
     public ResponseEntity<List<TodoResponse>> searchTodos(
             @RequestParam("q") String keyword, Authentication auth) {
@@ -0,0 +1,23 @@
+package com.revature.TienToDo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of GET /api/todos/archived, most recently archived first.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTodoPage {
+    private List<TodoResponse> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+}
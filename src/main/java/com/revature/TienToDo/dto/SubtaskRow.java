@@ -0,0 +1,22 @@
+package com.revature.TienToDo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a subtask row together with its parent todo id.
+ *
+ * Filled directly by a JPQL constructor expression so that list endpoints can
+ * attach subtasks to their {@link TodoResponse} without loading managed entities.
+ */
+public record SubtaskRow(
+        Long todoId,
+        Long id,
+        String title,
+        boolean completed,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+    public SubtaskResponse toResponse() {
+        return new SubtaskResponse(id, title, completed, createdAt, updatedAt);
+    }
+}
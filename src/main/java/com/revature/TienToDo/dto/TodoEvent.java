@@ -0,0 +1,51 @@
+package com.revature.TienToDo.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change to one of a user's todos, published by TodoService and pushed to
+ * that user's open /api/todos/events streams after the transaction commits.
+ *
+ * RESYNC tells the client it missed events (its buffer overflowed) and should
+ * re-fetch GET /api/todos instead of applying deltas.
+ *
+ * ARCHIVED means the todo left GET /api/todos for GET /api/todos/archived;
+ * RESTORED brings it back and carries it like CREATED.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoEvent {
+    public enum Type {
+        CREATED, UPDATED, COMPLETED, DELETED, SUBTASKS_CHANGED, ARCHIVED, RESTORED, RESYNC
+    }
+
+    private Type type;
+
+    @JsonIgnore
+    private Long userId;
+
+    private Long todoId;
+
+    // Present for CREATED, UPDATED, COMPLETED and RESTORED; null otherwise
+    private TodoResponse todo;
+
+    private LocalDateTime timestamp;
+
+    public static TodoEvent of(Type type, Long userId, TodoResponse todo) {
+        return new TodoEvent(type, userId, todo.getId(), todo, LocalDateTime.now());
+    }
+
+    public static TodoEvent of(Type type, Long userId, Long todoId) {
+        return new TodoEvent(type, userId, todoId, null, LocalDateTime.now());
+    }
+
+    public static TodoEvent resync(Long userId) {
+        return new TodoEvent(Type.RESYNC, userId, null, null, LocalDateTime.now());
+    }
+}
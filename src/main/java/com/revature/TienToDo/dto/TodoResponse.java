@@ -1,11 +1,13 @@
 package com.revature.TienToDo.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -20,4 +22,20 @@ public class TodoResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private List<SubtaskResponse> subtasks;
+
+    // Set only on todos read from the archive (TodoArchive)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime archivedAt;
+
+    // Used by JPQL constructor expressions — subtasks are attached in a second query
+    public TodoResponse(Long id, String title, String description, boolean completed,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.completed = completed;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.subtasks = new ArrayList<>();
+    }
 }
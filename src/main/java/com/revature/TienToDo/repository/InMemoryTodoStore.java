@@ -0,0 +1,780 @@
+package com.revature.TienToDo.repository;
+
+import com.revature.TienToDo.config.SQLiteLocalDateTimeConverter;
+import com.revature.TienToDo.repository.StoreChange.DeleteSubtask;
+import com.revature.TienToDo.repository.StoreChange.DeleteTodo;
+import com.revature.TienToDo.repository.StoreChange.PutSubtask;
+import com.revature.TienToDo.repository.StoreChange.PutTodo;
+import com.revature.TienToDo.repository.StoreChange.StoredSubtask;
+import com.revature.TienToDo.repository.StoreChange.StoredTodo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Todos and subtasks held in memory, one structure per user behind its own
+ * read/write lock, made durable by an append-only {@link TodoLog}. The storage
+ * engine behind app.storage.engine=memory; {@link TodoStoreRepositories} puts the
+ * TodoRepository and SubtaskRepository operations on top of it.
+ *
+ * A write takes the user's write lock, appends the change to the log, waits
+ * for the group fsync and only then applies it, so nothing is visible before
+ * it's durable. Writers for different users never wait on each other except
+ * to share an fsync.
+ *
+ * Snapshots (snapshot-N.bin, see {@link MappedSnapshot}) bound recovery time:
+ * the log rolls to segment N, every loaded user is copied out under its read
+ * lock, the rest are copied from the previous snapshot, and once the snapshot
+ * is on disk the older segments are deleted. Startup maps the newest snapshot
+ * without decoding it and replays segments from N on; since each change
+ * carries the full row, replaying ones the snapshot already saw is harmless.
+ * A user's rows are decoded from the mapped file on that user's first access,
+ * so a restart costs the index check and the log replay, not the data set.
+ * With no snapshot and no log yet, the todos and subtasks are imported once
+ * from the SQLite database.
+ */
+public class InMemoryTodoStore implements TodoStore, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryTodoStore.class);
+
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d+)\\.bin");
+    // The original, fully loaded snapshot format; still read so existing stores upgrade
+    private static final int SNAPSHOT_MAGIC = 0x54544453; // "TTDS"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private static final Comparator<StoredTodo> NEWEST_FIRST = Comparator
+            .comparing(StoredTodo::createdAt).thenComparingLong(StoredTodo::id).reversed();
+    private static final Comparator<StoredSubtask> OLDEST_FIRST = Comparator
+            .comparing(StoredSubtask::createdAt).thenComparingLong(StoredSubtask::id);
+
+    /**
+     * One loaded user's todos and subtasks. Only touched under its lock.
+     */
+    private static final class UserTodos {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, StoredTodo> todos = new HashMap<>();
+        private final Map<Long, Map<Long, StoredSubtask>> subtasks = new HashMap<>();
+    }
+
+    private final Path directory;
+    private final boolean fsync;
+    private final long snapshotIntervalSeconds;
+
+    // Loaded users only; the ids of users that aren't loaded resolve through the mapped snapshot
+    private final Map<Long, UserTodos> users = new ConcurrentHashMap<>();
+    private final Map<Long, Long> todoOwners = new ConcurrentHashMap<>();
+    private final Map<Long, Long> subtaskTodos = new ConcurrentHashMap<>();
+    private final AtomicLong lastTodoId = new AtomicLong();
+    private final AtomicLong lastSubtaskId = new AtomicLong();
+    private final AtomicLong todoTotal = new AtomicLong();
+    private final AtomicLong subtaskTotal = new AtomicLong();
+    private final LongAdder changesSinceSnapshot = new LongAdder();
+    private final Object snapshotLock = new Object();
+
+    private volatile MappedSnapshot mapped;
+    private TodoLog log;
+    private ScheduledExecutorService snapshotter;
+    private boolean deleteOnClose;
+
+    public InMemoryTodoStore(Path directory, boolean fsync, long snapshotIntervalSeconds) {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.snapshotIntervalSeconds = snapshotIntervalSeconds;
+    }
+
+    /**
+     * An empty store in a temporary directory, without fsync or snapshots,
+     * deleted on close. For the JIT warm-up's synthetic requests.
+     */
+    public static InMemoryTodoStore throwaway() throws IOException {
+        InMemoryTodoStore store = new InMemoryTodoStore(Files.createTempDirectory("todo-store-warmup-"), false, 0);
+        store.deleteOnClose = true;
+        store.open(null);
+        return store;
+    }
+
+    /**
+     * Recovers from the snapshot and log, or imports from importSource (may be
+     * null) when the directory is new, then starts taking snapshots.
+     */
+    public void open(DataSource importSource) throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+
+        long fromSegment = 1;
+        Path snapshot = latestSnapshot();
+        if (snapshot != null && MappedSnapshot.isMapped(snapshot)) {
+            mapped = MappedSnapshot.open(snapshot);
+            fromSegment = mapped.segment();
+            lastTodoId.set(mapped.lastTodoId());
+            lastSubtaskId.set(mapped.lastSubtaskId());
+            todoTotal.set(mapped.todoCount());
+            subtaskTotal.set(mapped.subtaskCount());
+        } else if (snapshot != null) {
+            fromSegment = loadFullSnapshot(snapshot);
+        }
+        List<Long> segments = TodoLog.segments(directory);
+        long replayed = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            long segment = segments.get(i);
+            if (segment < fromSegment) {
+                Files.deleteIfExists(TodoLog.segmentPath(directory, segment));
+                continue;
+            }
+            boolean last = i == segments.size() - 1;
+            replayed += TodoLog.read(TodoLog.segmentPath(directory, segment), last,
+                    payload -> apply(StoreChange.decode(payload)));
+        }
+
+        boolean imported = false;
+        if (snapshot == null && segments.isEmpty() && importSource != null) {
+            imported = importFrom(importSource);
+        }
+
+        long appendTo = segments.isEmpty() ? fromSegment : Math.max(fromSegment, segments.get(segments.size() - 1));
+        log = new TodoLog(directory, appendTo, fsync);
+        if (imported) {
+            snapshot();
+        }
+
+        MappedSnapshot current = mapped;
+        logger.info("In-memory todo store opened in {} ms: {} todos, {} subtasks ({}, {} users indexed, "
+                        + "{} loaded; {} log entries replayed; fsync {})",
+                (System.nanoTime() - start) / 1_000_000, todoTotal.get(), subtaskTotal.get(),
+                snapshot != null ? snapshot.getFileName() : "no snapshot",
+                current != null ? current.userCount() : 0, users.size(), replayed, fsync ? "on" : "off");
+
+        if (snapshotIntervalSeconds > 0) {
+            snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "todo-store-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotter.scheduleWithFixedDelay(this::snapshotIfChanged,
+                    snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    // ==================== READS ====================
+
+    /**
+     * A user's todos, newest first.
+     */
+    @Override
+    public List<StoredTodo> todos(long userId) {
+        return read(userId, user -> sorted(user.todos.values(), NEWEST_FIRST), List.of());
+    }
+
+    @Override
+    public Optional<StoredTodo> todo(long todoId) {
+        Long owner = owner(todoId);
+        if (owner == null) {
+            return Optional.empty();
+        }
+        return read(owner, user -> Optional.ofNullable(user.todos.get(todoId)), Optional.empty());
+    }
+
+    /**
+     * A todo's subtasks, oldest first.
+     */
+    @Override
+    public List<StoredSubtask> subtasks(long todoId) {
+        Long owner = owner(todoId);
+        if (owner == null) {
+            return List.of();
+        }
+        return read(owner, user -> {
+            Map<Long, StoredSubtask> subtasks = user.subtasks.get(todoId);
+            return subtasks != null ? sorted(subtasks.values(), OLDEST_FIRST) : List.<StoredSubtask>of();
+        }, List.of());
+    }
+
+    @Override
+    public List<StoredSubtask> subtasks(Collection<Long> todoIds) {
+        List<StoredSubtask> subtasks = new ArrayList<>();
+        for (long todoId : todoIds) {
+            subtasks.addAll(subtasks(todoId));
+        }
+        subtasks.sort(OLDEST_FIRST);
+        return subtasks;
+    }
+
+    /**
+     * All of a user's subtasks, keyed by todo, each list oldest first.
+     */
+    @Override
+    public Map<Long, List<StoredSubtask>> subtasksByTodo(long userId) {
+        return read(userId, user -> {
+            Map<Long, List<StoredSubtask>> byTodo = new LinkedHashMap<>();
+            user.subtasks.forEach((todoId, subtasks) -> byTodo.put(todoId, sorted(subtasks.values(), OLDEST_FIRST)));
+            return byTodo;
+        }, Map.of());
+    }
+
+    @Override
+    public Optional<StoredSubtask> subtask(long subtaskId) {
+        Long todoId = todoOf(subtaskId);
+        Long owner = todoId != null ? owner(todoId) : null;
+        if (owner == null) {
+            return Optional.empty();
+        }
+        return read(owner, user -> {
+            Map<Long, StoredSubtask> subtasks = user.subtasks.get(todoId);
+            return Optional.ofNullable(subtasks != null ? subtasks.get(subtaskId) : null);
+        }, Optional.empty());
+    }
+
+    @Override
+    public Optional<Long> ownerOf(long todoId) {
+        return todo(todoId).map(StoredTodo::userId);
+    }
+
+    @Override
+    public long todoCount() {
+        return todoTotal.get();
+    }
+
+    @Override
+    public long subtaskCount() {
+        return subtaskTotal.get();
+    }
+
+    /**
+     * Users whose rows have been decoded, out of those the store holds.
+     */
+    public long loadedUserCount() {
+        return users.size();
+    }
+
+    // ==================== WRITES ====================
+
+    @Override
+    public StoredTodo insertTodo(long userId, String title, String description, boolean completed,
+                                 LocalDateTime createdAt) {
+        UserTodos user = user(userId, true);
+        return write(user, () -> {
+            LocalDateTime created = seconds(createdAt != null ? createdAt : LocalDateTime.now());
+            StoredTodo todo = new StoredTodo(lastTodoId.incrementAndGet(), userId, title, description,
+                    completed, created, created);
+            commit(new PutTodo(todo));
+            return todo;
+        });
+    }
+
+    /**
+     * Replaces a todo's title, description and completed flag and bumps updatedAt.
+     */
+    @Override
+    public Optional<StoredTodo> updateTodo(long todoId, String title, String description, boolean completed) {
+        return withOwner(todoId, user -> {
+            StoredTodo current = user.todos.get(todoId);
+            if (current == null) {
+                return Optional.empty();
+            }
+            StoredTodo todo = new StoredTodo(todoId, current.userId(), title, description, completed,
+                    current.createdAt(), seconds(LocalDateTime.now()));
+            commit(new PutTodo(todo));
+            return Optional.of(todo);
+        });
+    }
+
+    /**
+     * Deletes a todo and its subtasks.
+     */
+    @Override
+    public boolean deleteTodo(long todoId) {
+        return withOwner(todoId, user -> {
+            StoredTodo current = user.todos.get(todoId);
+            if (current == null) {
+                return Optional.<Boolean>empty();
+            }
+            commit(new DeleteTodo(current.userId(), todoId));
+            return Optional.of(true);
+        }).orElse(false);
+    }
+
+    /**
+     * @return the new subtask, or empty if the todo doesn't exist
+     */
+    @Override
+    public Optional<StoredSubtask> insertSubtask(long todoId, String title, boolean completed,
+                                                 LocalDateTime createdAt) {
+        return withOwner(todoId, user -> {
+            StoredTodo todo = user.todos.get(todoId);
+            if (todo == null) {
+                return Optional.empty();
+            }
+            LocalDateTime created = seconds(createdAt != null ? createdAt : LocalDateTime.now());
+            StoredSubtask subtask = new StoredSubtask(lastSubtaskId.incrementAndGet(), todoId, title,
+                    completed, created, created);
+            commit(new PutSubtask(todo.userId(), subtask));
+            return Optional.of(subtask);
+        });
+    }
+
+    @Override
+    public Optional<StoredSubtask> updateSubtask(long subtaskId, String title, boolean completed) {
+        Long todoId = todoOf(subtaskId);
+        if (todoId == null) {
+            return Optional.empty();
+        }
+        return withOwner(todoId, user -> {
+            Map<Long, StoredSubtask> subtasks = user.subtasks.get(todoId);
+            StoredSubtask current = subtasks != null ? subtasks.get(subtaskId) : null;
+            if (current == null) {
+                return Optional.empty();
+            }
+            StoredSubtask subtask = new StoredSubtask(subtaskId, todoId, title, completed,
+                    current.createdAt(), seconds(LocalDateTime.now()));
+            commit(new PutSubtask(user.todos.get(todoId).userId(), subtask));
+            return Optional.of(subtask);
+        });
+    }
+
+    @Override
+    public boolean deleteSubtask(long subtaskId) {
+        Long todoId = todoOf(subtaskId);
+        if (todoId == null) {
+            return false;
+        }
+        return withOwner(todoId, user -> {
+            Map<Long, StoredSubtask> subtasks = user.subtasks.get(todoId);
+            if (subtasks == null || !subtasks.containsKey(subtaskId)) {
+                return Optional.<Boolean>empty();
+            }
+            commit(new DeleteSubtask(user.todos.get(todoId).userId(), todoId, subtaskId));
+            return Optional.of(true);
+        }).orElse(false);
+    }
+
+    // ==================== SNAPSHOTS ====================
+
+    /**
+     * Writes a snapshot and drops the log segments (and older snapshots) it covers.
+     */
+    public void snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            long start = System.nanoTime();
+            long segment = log.roll();
+            changesSinceSnapshot.reset();
+
+            Path target = directory.resolve("snapshot-" + segment + ".bin");
+            Path temp = directory.resolve("snapshot-" + segment + ".bin.tmp");
+            MappedSnapshot previous = mapped;
+            long written = MappedSnapshot.write(temp, segment, lastTodoId.get(), lastSubtaskId.get(),
+                    new MappedSnapshot.Source() {
+                        @Override
+                        public long[] loadedUsers() {
+                            return users.keySet().stream().mapToLong(Long::longValue).toArray();
+                        }
+
+                        @Override
+                        public MappedSnapshot.UserRows rows(long userId) {
+                            return read(userId, InMemoryTodoStore::rows, EMPTY_ROWS);
+                        }
+                    }, previous);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            // Users loaded from now on decode from the new file; the old mapping stays valid until collected
+            mapped = MappedSnapshot.open(target);
+            if (previous != null) {
+                previous.close();
+            }
+            for (Path old : snapshots()) {
+                if (!old.equals(target)) {
+                    deleteQuietly(old);
+                }
+            }
+            for (long old : TodoLog.segments(directory)) {
+                if (old < segment) {
+                    Files.deleteIfExists(TodoLog.segmentPath(directory, old));
+                }
+            }
+            logger.info("Todo store snapshot {} written in {} ms ({} users, {} todos, {} subtasks, {} bytes)",
+                    target.getFileName(), (System.nanoTime() - start) / 1_000_000, written,
+                    mapped.todoCount(), mapped.subtaskCount(), Files.size(target));
+        }
+    }
+
+    private static final MappedSnapshot.UserRows EMPTY_ROWS =
+            new MappedSnapshot.UserRows(new byte[0][], new long[0], new long[0], new long[0]);
+
+    /**
+     * A loaded user's rows for a snapshot. Called under the user's read lock.
+     */
+    private static MappedSnapshot.UserRows rows(UserTodos user) {
+        List<byte[]> changes = new ArrayList<>();
+        long[] todoIds = new long[user.todos.size()];
+        int t = 0;
+        for (StoredTodo todo : user.todos.values()) {
+            changes.add(new PutTodo(todo).encode());
+            todoIds[t++] = todo.id();
+        }
+        int subtaskCount = 0;
+        for (Map<Long, StoredSubtask> byId : user.subtasks.values()) {
+            subtaskCount += byId.size();
+        }
+        long[] subtaskIds = new long[subtaskCount];
+        long[] subtaskTodoIds = new long[subtaskCount];
+        int s = 0;
+        for (Map.Entry<Long, Map<Long, StoredSubtask>> entry : user.subtasks.entrySet()) {
+            StoredTodo todo = user.todos.get(entry.getKey());
+            if (todo == null) {
+                continue;
+            }
+            for (StoredSubtask subtask : entry.getValue().values()) {
+                changes.add(new PutSubtask(todo.userId(), subtask).encode());
+                subtaskIds[s] = subtask.id();
+                subtaskTodoIds[s++] = subtask.todoId();
+            }
+        }
+        return new MappedSnapshot.UserRows(changes.toArray(new byte[0][]),
+                todoIds, Arrays.copyOf(subtaskIds, s), Arrays.copyOf(subtaskTodoIds, s));
+    }
+
+    private void snapshotIfChanged() {
+        if (changesSinceSnapshot.sum() == 0) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Todo store snapshot failed; the log keeps growing until one succeeds", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (snapshotter != null) {
+            // Not shutdownNow(): interrupting a snapshot would close its FileChannel mid-write
+            snapshotter.shutdown();
+            try {
+                snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (log == null) {
+            return;
+        }
+        if (deleteOnClose) {
+            log.close();
+            if (mapped != null) {
+                mapped.close();
+            }
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(directory);
+            return;
+        }
+        // A snapshot on the way down makes the next start a snapshot load with no replay
+        snapshotIfChanged();
+        log.close();
+        if (mapped != null) {
+            mapped.close();
+        }
+    }
+
+    // ==================== INTERNALS ====================
+
+    private <T> T read(long userId, Function<UserTodos, T> reader, T absent) {
+        UserTodos user = user(userId, false);
+        if (user == null) {
+            return absent;
+        }
+        Lock lock = user.lock.readLock();
+        lock.lock();
+        try {
+            return reader.apply(user);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> T write(UserTodos user, Supplier<T> writer) {
+        Lock lock = user.lock.writeLock();
+        lock.lock();
+        try {
+            return writer.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> Optional<T> withOwner(long todoId, Function<UserTodos, Optional<T>> writer) {
+        Long owner = owner(todoId);
+        UserTodos user = owner != null ? user(owner, false) : null;
+        if (user == null) {
+            return Optional.empty();
+        }
+        // The todo may be gone by the time the lock is held; writers check again
+        return write(user, () -> writer.apply(user));
+    }
+
+    /**
+     * Logs a change and, once it's durable, applies it. Called under the user's write lock.
+     */
+    private void commit(StoreChange change) {
+        try {
+            log.append(change.encode()).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Could not write to the todo log", e.getCause());
+        }
+        apply(change);
+        changesSinceSnapshot.increment();
+    }
+
+    private void apply(StoreChange change) {
+        applyTo(user(change.userId(), true), change, true);
+    }
+
+    /**
+     * Applies a change to a user's structures. Totals are only counted for new
+     * changes, not for rows decoded from the mapped snapshot, which has them already.
+     */
+    private void applyTo(UserTodos user, StoreChange change, boolean count) {
+        if (change instanceof PutTodo put) {
+            StoredTodo todo = put.todo();
+            if (user.todos.put(todo.id(), todo) == null && count) {
+                todoTotal.incrementAndGet();
+            }
+            todoOwners.put(todo.id(), todo.userId());
+            lastTodoId.accumulateAndGet(todo.id(), Math::max);
+        } else if (change instanceof DeleteTodo delete) {
+            if (user.todos.remove(delete.todoId()) != null && count) {
+                todoTotal.decrementAndGet();
+            }
+            todoOwners.remove(delete.todoId());
+            Map<Long, StoredSubtask> subtasks = user.subtasks.remove(delete.todoId());
+            if (subtasks != null) {
+                subtasks.keySet().forEach(subtaskTodos::remove);
+                if (count) {
+                    subtaskTotal.addAndGet(-subtasks.size());
+                }
+            }
+        } else if (change instanceof PutSubtask put) {
+            StoredSubtask subtask = put.subtask();
+            if (user.subtasks.computeIfAbsent(subtask.todoId(), id -> new HashMap<>())
+                    .put(subtask.id(), subtask) == null && count) {
+                subtaskTotal.incrementAndGet();
+            }
+            subtaskTodos.put(subtask.id(), subtask.todoId());
+            lastSubtaskId.accumulateAndGet(subtask.id(), Math::max);
+        } else if (change instanceof DeleteSubtask delete) {
+            Map<Long, StoredSubtask> subtasks = user.subtasks.get(delete.todoId());
+            if (subtasks != null) {
+                if (subtasks.remove(delete.subtaskId()) != null && count) {
+                    subtaskTotal.decrementAndGet();
+                }
+                if (subtasks.isEmpty()) {
+                    user.subtasks.remove(delete.todoId());
+                }
+            }
+            subtaskTodos.remove(delete.subtaskId());
+        }
+    }
+
+    /**
+     * A user's structures, decoding them from the mapped snapshot on first
+     * access. Returns null for a user the store has never seen unless create is set.
+     */
+    private UserTodos user(long userId, boolean create) {
+        UserTodos user = users.get(userId);
+        if (user != null) {
+            return user;
+        }
+        MappedSnapshot snapshot = mapped;
+        if (!create && (snapshot == null || !snapshot.hasUser(userId))) {
+            return null;
+        }
+        return users.computeIfAbsent(userId, this::load);
+    }
+
+    private UserTodos load(long userId) {
+        MappedSnapshot snapshot = mapped;
+        while (true) {
+            UserTodos user = new UserTodos();
+            if (snapshot == null) {
+                return user;
+            }
+            try {
+                snapshot.readUser(userId, payload -> applyTo(user, StoreChange.decode(payload), false));
+                return user;
+            } catch (ClosedChannelException e) {
+                // A newer snapshot replaced this one mid-read; it holds the same rows for this user
+                if (mapped == snapshot) {
+                    throw new IllegalStateException("The todo store snapshot was closed", e);
+                }
+                snapshot = mapped;
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read user " + userId + " from the todo store snapshot", e);
+            }
+        }
+    }
+
+    /**
+     * A todo's owner from the loaded users or, failing that, the snapshot's todo index.
+     */
+    private Long owner(long todoId) {
+        Long owner = todoOwners.get(todoId);
+        if (owner != null) {
+            return owner;
+        }
+        MappedSnapshot snapshot = mapped;
+        long indexed = snapshot != null ? snapshot.ownerOf(todoId) : -1;
+        return indexed >= 0 ? indexed : null;
+    }
+
+    private Long todoOf(long subtaskId) {
+        Long todoId = subtaskTodos.get(subtaskId);
+        if (todoId != null) {
+            return todoId;
+        }
+        MappedSnapshot snapshot = mapped;
+        long indexed = snapshot != null ? snapshot.todoOf(subtaskId) : -1;
+        return indexed >= 0 ? indexed : null;
+    }
+
+    private long loadFullSnapshot(Path snapshot) throws IOException {
+        long[] segment = {-1};
+        TodoLog.read(snapshot, false, payload -> {
+            if (segment[0] < 0) {
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+                if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                    throw new IOException(snapshot + " is not a todo store snapshot this version can read");
+                }
+                segment[0] = in.readLong();
+                lastTodoId.accumulateAndGet(in.readLong(), Math::max);
+                lastSubtaskId.accumulateAndGet(in.readLong(), Math::max);
+            } else {
+                apply(StoreChange.decode(payload));
+            }
+        });
+        if (segment[0] < 0) {
+            throw new IOException(snapshot + " is empty");
+        }
+        return segment[0];
+    }
+
+    private Path latestSnapshot() throws IOException {
+        Path latest = null;
+        long latestSegment = -1;
+        for (Path snapshot : snapshots()) {
+            Matcher matcher = SNAPSHOT.matcher(snapshot.getFileName().toString());
+            if (matcher.matches() && Long.parseLong(matcher.group(1)) > latestSegment) {
+                latestSegment = Long.parseLong(matcher.group(1));
+                latest = snapshot;
+            }
+        }
+        return latest;
+    }
+
+    private List<Path> snapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> SNAPSHOT.matcher(file.getFileName().toString()).matches()).toList();
+        }
+    }
+
+    /**
+     * One-off copy of the relational todos and subtasks into a new store.
+     *
+     * @return whether anything was imported
+     */
+    private boolean importFrom(DataSource dataSource) {
+        SQLiteLocalDateTimeConverter converter = new SQLiteLocalDateTimeConverter();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT id, user_id, title, description, completed, created_at, updated_at FROM todos")) {
+                while (rs.next()) {
+                    apply(new PutTodo(new StoredTodo(rs.getLong(1), rs.getLong(2), rs.getString(3),
+                            rs.getString(4), rs.getBoolean(5), time(converter, rs.getString(6)),
+                            time(converter, rs.getString(7)))));
+                }
+            }
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT s.id, s.todo_id, t.user_id, s.title, s.completed, s.created_at, s.updated_at "
+                            + "FROM subtasks s JOIN todos t ON t.id = s.todo_id")) {
+                while (rs.next()) {
+                    apply(new PutSubtask(rs.getLong(3), new StoredSubtask(rs.getLong(1), rs.getLong(2),
+                            rs.getString(4), rs.getBoolean(5), time(converter, rs.getString(6)),
+                            time(converter, rs.getString(7)))));
+                }
+            }
+        } catch (SQLException e) {
+            logger.info("Nothing imported into the todo store ({}); starting empty", e.getMessage());
+            return false;
+        }
+        logger.info("Imported {} todos and {} subtasks from the database into the todo store",
+                todoOwners.size(), subtaskTodos.size());
+        return !todoOwners.isEmpty();
+    }
+
+    private static LocalDateTime time(SQLiteLocalDateTimeConverter converter, String value) {
+        LocalDateTime time = converter.convertToEntityAttribute(value);
+        return time != null ? time : LocalDateTime.now();
+    }
+
+    /**
+     * Same precision as the SQLite text columns, so both engines return the same timestamps.
+     */
+    private static LocalDateTime seconds(LocalDateTime time) {
+        return time.truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private static <T> List<T> sorted(Collection<T> values, Comparator<T> order) {
+        List<T> list = new ArrayList<>(values);
+        list.sort(order);
+        return list;
+    }
+
+    /**
+     * Some platforms refuse to delete a file that's still mapped; it goes with a later snapshot instead.
+     */
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.debug("Could not delete {} yet: {}", file, e.toString());
+        }
+    }
+}
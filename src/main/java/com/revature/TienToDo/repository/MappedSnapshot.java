@@ -0,0 +1,521 @@
+package com.revature.TienToDo.repository;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * A snapshot of the {@link InMemoryTodoStore} that's read through
+ * MappedByteBuffers instead of being loaded: startup maps the file and checks
+ * the header and indexes, and each user's rows are decoded on that user's
+ * first access.
+ *
+ * Layout (all big-endian):
+ *
+ *   header          magic, version, log segment, last todo/subtask ids, counts,
+ *                   index offsets, CRC32C of the indexes, CRC32C of the header
+ *   user blocks     per user, in userId order: that user's todos and subtasks as
+ *                   log-framed entries ([length][CRC32C][StoreChange])
+ *   user index      (userId, block offset, block length), sorted by userId
+ *   todo index      (todoId, userId), sorted by todoId
+ *   subtask index   (subtaskId, todoId, userId), sorted by subtaskId
+ *
+ * The id indexes answer "whose todo is this" for users that aren't loaded
+ * yet, by binary search over the mapped entries. A new snapshot copies the
+ * blocks of users that were never loaded byte for byte from the previous one.
+ */
+final class MappedSnapshot implements AutoCloseable {
+    static final int MAGIC = 0x5454444d; // "TTDM"
+    static final int VERSION = 2;
+
+    private static final int HEADER_BYTES = 88;
+    private static final int USER_ENTRY = 24;
+    private static final int TODO_ENTRY = 16;
+    private static final int SUBTASK_ENTRY = 24;
+    private static final int FRAME_HEADER = 8;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer whole;
+    private final ByteBuffer userIndex;
+    private final ByteBuffer todoIndex;
+    private final ByteBuffer subtaskIndex;
+
+    private final long segment;
+    private final long lastTodoId;
+    private final long lastSubtaskId;
+    private final long todoCount;
+    private final long subtaskCount;
+
+    private MappedSnapshot(Path file, FileChannel channel, MappedByteBuffer whole, ByteBuffer userIndex,
+                           ByteBuffer todoIndex, ByteBuffer subtaskIndex, ByteBuffer header) {
+        this.file = file;
+        this.channel = channel;
+        this.whole = whole;
+        this.userIndex = userIndex;
+        this.todoIndex = todoIndex;
+        this.subtaskIndex = subtaskIndex;
+        this.segment = header.getLong(8);
+        this.lastTodoId = header.getLong(16);
+        this.lastSubtaskId = header.getLong(24);
+        this.todoCount = header.getLong(40);
+        this.subtaskCount = header.getLong(48);
+    }
+
+    /**
+     * Whether a file starts like a snapshot in this format (as opposed to the
+     * older, fully loaded one).
+     */
+    static boolean isMapped(Path file) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            return in.read(magic, 0) == 4 && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Maps a snapshot and verifies its header and indexes; user blocks are
+     * verified entry by entry as they're read.
+     */
+    static MappedSnapshot open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            if (size < HEADER_BYTES || channel.read(header, 0) != HEADER_BYTES) {
+                throw new IOException(file + " is too short to be a todo store snapshot");
+            }
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException(file + " is not a todo store snapshot this version can read");
+            }
+            if (header.getInt(HEADER_BYTES - 4) != crc(header.array(), 0, HEADER_BYTES - 4)) {
+                throw new IOException(file + " has a corrupt header");
+            }
+            long userIndexAt = header.getLong(56);
+            long todoIndexAt = header.getLong(64);
+            long subtaskIndexAt = header.getLong(72);
+            long userCount = header.getLong(32);
+            if (userIndexAt + userCount * USER_ENTRY != todoIndexAt
+                    || todoIndexAt + header.getLong(40) * TODO_ENTRY != subtaskIndexAt
+                    || subtaskIndexAt + header.getLong(48) * SUBTASK_ENTRY != size) {
+                throw new IOException(file + " has inconsistent index offsets");
+            }
+
+            ByteBuffer userIndex = map(channel, userIndexAt, todoIndexAt - userIndexAt);
+            ByteBuffer todoIndex = map(channel, todoIndexAt, subtaskIndexAt - todoIndexAt);
+            ByteBuffer subtaskIndex = map(channel, subtaskIndexAt, size - subtaskIndexAt);
+            CRC32C crc = new CRC32C();
+            crc.update(userIndex.duplicate());
+            crc.update(todoIndex.duplicate());
+            crc.update(subtaskIndex.duplicate());
+            if ((int) crc.getValue() != header.getInt(80)) {
+                throw new IOException(file + " has a corrupt index");
+            }
+
+            // Blocks of files under 2 GB are sliced from one mapping; larger ones are mapped per user
+            MappedByteBuffer whole = size <= Integer.MAX_VALUE
+                    ? channel.map(FileChannel.MapMode.READ_ONLY, 0, size)
+                    : null;
+            return new MappedSnapshot(file, channel, whole, userIndex, todoIndex, subtaskIndex, header);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long segment() {
+        return segment;
+    }
+
+    long lastTodoId() {
+        return lastTodoId;
+    }
+
+    long lastSubtaskId() {
+        return lastSubtaskId;
+    }
+
+    long todoCount() {
+        return todoCount;
+    }
+
+    long subtaskCount() {
+        return subtaskCount;
+    }
+
+    int userCount() {
+        return userIndex.capacity() / USER_ENTRY;
+    }
+
+    boolean hasUser(long userId) {
+        return search(userIndex, USER_ENTRY, userId) >= 0;
+    }
+
+    /**
+     * @return the todo's owner, or -1 if the snapshot doesn't have it
+     */
+    long ownerOf(long todoId) {
+        int at = search(todoIndex, TODO_ENTRY, todoId);
+        return at >= 0 ? todoIndex.getLong(at + 8) : -1;
+    }
+
+    /**
+     * @return the subtask's todo, or -1 if the snapshot doesn't have it
+     */
+    long todoOf(long subtaskId) {
+        int at = search(subtaskIndex, SUBTASK_ENTRY, subtaskId);
+        return at >= 0 ? subtaskIndex.getLong(at + 8) : -1;
+    }
+
+    /**
+     * Decodes a user's rows, checking each entry's CRC.
+     */
+    void readUser(long userId, TodoLog.EntryConsumer consumer) throws IOException {
+        int at = search(userIndex, USER_ENTRY, userId);
+        if (at < 0) {
+            return;
+        }
+        ByteBuffer block = block(userIndex.getLong(at + 8), userIndex.getLong(at + 16));
+        while (block.hasRemaining()) {
+            if (block.remaining() < FRAME_HEADER) {
+                throw corrupt(userId);
+            }
+            int length = block.getInt();
+            int expected = block.getInt();
+            if (length < 0 || length > block.remaining()) {
+                throw corrupt(userId);
+            }
+            byte[] payload = new byte[length];
+            block.get(payload);
+            if (crc(payload, 0, length) != expected) {
+                throw corrupt(userId);
+            }
+            consumer.accept(payload);
+        }
+    }
+
+    private IOException corrupt(long userId) {
+        return new IOException("Corrupt entry for user " + userId + " in " + file);
+    }
+
+    private ByteBuffer block(long offset, long length) throws IOException {
+        if (whole != null) {
+            return whole.slice((int) offset, (int) length);
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Mappings stay valid until they're collected; only the channel is released here
+        channel.close();
+    }
+
+    /**
+     * Binary search over fixed-width entries keyed by their first long.
+     *
+     * @return the matching entry's byte offset, or -1
+     */
+    private static int search(ByteBuffer index, int entryBytes, long key) {
+        int low = 0;
+        int high = index.capacity() / entryBytes - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long found = index.getLong(mid * entryBytes);
+            if (found < key) {
+                low = mid + 1;
+            } else if (found > key) {
+                high = mid - 1;
+            } else {
+                return mid * entryBytes;
+            }
+        }
+        return -1;
+    }
+
+    private static ByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot index of " + length + " bytes is too large to map");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+    }
+
+    private static int crc(byte[] bytes, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    // ==================== WRITING ====================
+
+    /**
+     * Callbacks the writer uses to walk the store. Users must be visited in
+     * ascending userId order.
+     */
+    interface Source {
+        /**
+         * Ids of the users held in memory, ascending. Their rows come from
+         * {@link #rows}; every other user is copied from the previous snapshot.
+         */
+        long[] loadedUsers();
+
+        /**
+         * A loaded user's rows as encoded changes, with its todo and subtask
+         * ids, all taken under the user's read lock.
+         */
+        UserRows rows(long userId);
+    }
+
+    record UserRows(byte[][] changes, long[] todoIds, long[] subtaskIds, long[] subtaskTodoIds) {
+    }
+
+    /**
+     * Writes a snapshot of source to file, reusing previous (may be null) for
+     * users that aren't loaded, and forces it to disk.
+     *
+     * @return the number of users written
+     */
+    static long write(Path file, long segment, long lastTodoId, long lastSubtaskId,
+                      Source source, MappedSnapshot previous) throws IOException {
+        long[] loaded = source.loadedUsers();
+        Arrays.sort(loaded);
+
+        try (CountingOutput out = new CountingOutput(file)) {
+            out.write(new byte[HEADER_BYTES]);
+
+            // User blocks, merged in userId order from memory and the previous snapshot
+            IdPairs userEntries = new IdPairs(3);
+            IdPairs todoEntries = new IdPairs(2);
+            IdPairs subtaskEntries = new IdPairs(3);
+            int previousUsers = previous != null ? previous.userCount() : 0;
+            int p = 0;
+            int l = 0;
+            while (p < previousUsers || l < loaded.length) {
+                long fromPrevious = p < previousUsers ? previous.userIndex.getLong(p * USER_ENTRY) : Long.MAX_VALUE;
+                long fromMemory = l < loaded.length ? loaded[l] : Long.MAX_VALUE;
+                if (fromMemory <= fromPrevious) {
+                    // A loaded user's rows come from memory even if the previous snapshot had them
+                    if (fromMemory == fromPrevious) {
+                        p++;
+                    }
+                    l++;
+                    UserRows rows = source.rows(fromMemory);
+                    if (rows.changes().length == 0) {
+                        continue;
+                    }
+                    long start = out.position();
+                    for (byte[] change : rows.changes()) {
+                        ByteBuffer frame = TodoLog.frame(change);
+                        out.write(frame.array(), 0, frame.limit());
+                    }
+                    userEntries.add(fromMemory, start, out.position() - start);
+                    for (long todoId : rows.todoIds()) {
+                        todoEntries.add(todoId, fromMemory);
+                    }
+                    for (int i = 0; i < rows.subtaskIds().length; i++) {
+                        subtaskEntries.add(rows.subtaskIds()[i], rows.subtaskTodoIds()[i], fromMemory);
+                    }
+                } else {
+                    int at = p * USER_ENTRY;
+                    p++;
+                    ByteBuffer block = previous.block(previous.userIndex.getLong(at + 8),
+                            previous.userIndex.getLong(at + 16));
+                    long start = out.position();
+                    out.write(block);
+                    userEntries.add(fromPrevious, start, out.position() - start);
+                }
+            }
+
+            // Id entries of the copied users come straight from the previous indexes
+            if (previous != null) {
+                int todos = previous.todoIndex.capacity() / TODO_ENTRY;
+                for (int i = 0; i < todos; i++) {
+                    long userId = previous.todoIndex.getLong(i * TODO_ENTRY + 8);
+                    if (Arrays.binarySearch(loaded, userId) < 0) {
+                        todoEntries.add(previous.todoIndex.getLong(i * TODO_ENTRY), userId);
+                    }
+                }
+                int subtasks = previous.subtaskIndex.capacity() / SUBTASK_ENTRY;
+                for (int i = 0; i < subtasks; i++) {
+                    int at = i * SUBTASK_ENTRY;
+                    long userId = previous.subtaskIndex.getLong(at + 16);
+                    if (Arrays.binarySearch(loaded, userId) < 0) {
+                        subtaskEntries.add(previous.subtaskIndex.getLong(at), previous.subtaskIndex.getLong(at + 8),
+                                userId);
+                    }
+                }
+            }
+            todoEntries.sort();
+            subtaskEntries.sort();
+
+            long userIndexAt = out.position();
+            CRC32C indexCrc = new CRC32C();
+            out.writeIndex(userEntries, indexCrc);
+            long todoIndexAt = out.position();
+            out.writeIndex(todoEntries, indexCrc);
+            long subtaskIndexAt = out.position();
+            out.writeIndex(subtaskEntries, indexCrc);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION)
+                    .putLong(segment).putLong(lastTodoId).putLong(lastSubtaskId)
+                    .putLong(userEntries.size()).putLong(todoEntries.size()).putLong(subtaskEntries.size())
+                    .putLong(userIndexAt).putLong(todoIndexAt).putLong(subtaskIndexAt)
+                    .putInt((int) indexCrc.getValue());
+            header.putInt(crc(header.array(), 0, HEADER_BYTES - 4));
+            out.finish(header.flip());
+            return userEntries.size();
+        }
+    }
+
+    /**
+     * A growable table of fixed-width long tuples, sortable by the first column.
+     */
+    private static final class IdPairs {
+        private final int width;
+        private long[] values = new long[1024];
+        private int size;
+
+        IdPairs(int width) {
+            this.width = width;
+        }
+
+        void add(long... tuple) {
+            if ((size + 1) * width > values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            System.arraycopy(tuple, 0, values, size * width, width);
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long get(int row, int column) {
+            return values[row * width + column];
+        }
+
+        void sort() {
+            sort(0, size - 1);
+        }
+
+        // Quicksort of whole rows in place; recurses into the smaller side only
+        private void sort(int low, int high) {
+            while (low < high) {
+                long pivot = values[((low + high) >>> 1) * width];
+                int i = low;
+                int j = high;
+                while (i <= j) {
+                    while (values[i * width] < pivot) {
+                        i++;
+                    }
+                    while (values[j * width] > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        swap(i++, j--);
+                    }
+                }
+                if (j - low < high - i) {
+                    sort(low, j);
+                    low = i;
+                } else {
+                    sort(i, high);
+                    high = j;
+                }
+            }
+        }
+
+        private void swap(int a, int b) {
+            for (int column = 0; column < width; column++) {
+                long value = values[a * width + column];
+                values[a * width + column] = values[b * width + column];
+                values[b * width + column] = value;
+            }
+        }
+    }
+
+    /**
+     * Buffered output to the snapshot file that tracks its position; the header
+     * is written last, in place, before the file is forced.
+     */
+    private static final class CountingOutput implements AutoCloseable {
+        private final Path file;
+        private final DataOutputStream out;
+        private long position;
+        private boolean closed;
+
+        CountingOutput(Path file) throws IOException {
+            this.file = file;
+            OutputStream stream = Files.newOutputStream(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+        }
+
+        long position() {
+            return position;
+        }
+
+        void write(byte[] bytes) throws IOException {
+            write(bytes, 0, bytes.length);
+        }
+
+        void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            position += length;
+        }
+
+        void write(ByteBuffer buffer) throws IOException {
+            byte[] chunk = new byte[8192];
+            while (buffer.hasRemaining()) {
+                int length = Math.min(chunk.length, buffer.remaining());
+                buffer.get(chunk, 0, length);
+                write(chunk, 0, length);
+            }
+        }
+
+        void writeIndex(IdPairs entries, CRC32C crc) throws IOException {
+            ByteBuffer row = ByteBuffer.allocate(entries.width * 8);
+            for (int i = 0; i < entries.size(); i++) {
+                row.clear();
+                for (int column = 0; column < entries.width; column++) {
+                    row.putLong(entries.get(i, column));
+                }
+                crc.update(row.array(), 0, row.position());
+                write(row.array(), 0, row.position());
+            }
+        }
+
+        void finish(ByteBuffer header) throws IOException {
+            out.close();
+            closed = true;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                channel.force(true);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                out.close();
+            }
+        }
+    }
+}
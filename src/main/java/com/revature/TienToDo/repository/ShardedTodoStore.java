@@ -0,0 +1,599 @@
+package com.revature.TienToDo.repository;
+
+import com.revature.TienToDo.config.SQLiteLocalDateTimeConverter;
+import com.revature.TienToDo.repository.StoreChange.StoredSubtask;
+import com.revature.TienToDo.repository.StoreChange.StoredTodo;
+import com.revature.TienToDo.utility.RequestInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Todos and subtasks spread over N SQLite files by a stable hash of the owner's
+ * id, so writers for users on different shards don't queue on one database
+ * lock. The storage engine behind app.storage.engine=sharded; users stay in
+ * the main database.
+ *
+ * Calls that name a user go straight to that user's shard. Lookups by todo or
+ * subtask id use the request's authenticated user (RequestInfo) as the hint,
+ * which is always the owner on TodoService's paths; without one they try every
+ * shard.
+ *
+ * Each shard allocates ids from its own range, (shard + 1) * 2^40 up, so ids
+ * stay unique across shards without coordination and survive a rebalance
+ * unchanged; ids below 2^40 are the ones from before sharding. Writes to a
+ * shard go through its writer lock, so they queue in the JVM instead of
+ * spinning on SQLITE_BUSY.
+ */
+public class ShardedTodoStore implements TodoStore {
+    private static final Logger logger = LoggerFactory.getLogger(ShardedTodoStore.class);
+
+    public static final long ID_RANGE = 1L << 40;
+
+    private static final String TODO_COLUMNS = "id, user_id, title, description, completed, created_at, updated_at";
+    private static final String SUBTASK_COLUMNS = "id, todo_id, title, completed, created_at, updated_at";
+    private static final SQLiteLocalDateTimeConverter TIMES = new SQLiteLocalDateTimeConverter();
+    private static final Comparator<StoredSubtask> OLDEST_FIRST = Comparator
+            .comparing(StoredSubtask::createdAt).thenComparingLong(StoredSubtask::id);
+
+    private static final class Shard {
+        private final int index;
+        private final DataSource dataSource;
+        private final ReentrantLock writer = new ReentrantLock();
+        private final AtomicLong lastTodoId = new AtomicLong();
+        private final AtomicLong lastSubtaskId = new AtomicLong();
+
+        Shard(int index, DataSource dataSource) {
+            this.index = index;
+            this.dataSource = dataSource;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Work<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    private final List<Shard> shards = new ArrayList<>();
+
+    /**
+     * @param dataSources one per shard, in shard order, already migrated
+     */
+    public ShardedTodoStore(List<DataSource> dataSources) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        for (int i = 0; i < dataSources.size(); i++) {
+            shards.add(new Shard(i, dataSources.get(i)));
+        }
+        initIds();
+    }
+
+    /**
+     * The shard a user's todos live on: a 64-bit mix of the id, so consecutive
+     * ids spread evenly, modulo the shard count.
+     */
+    public static int shardOf(long userId, int shardCount) {
+        long h = userId;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) Math.floorMod(h, (long) shardCount);
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    // ==================== READS ====================
+
+    @Override
+    public List<StoredTodo> todos(long userId) {
+        return query(shardFor(userId), connection -> {
+            try (PreparedStatement select = connection.prepareStatement("SELECT " + TODO_COLUMNS
+                    + " FROM todos WHERE user_id = ? ORDER BY created_at DESC, id DESC")) {
+                select.setLong(1, userId);
+                return todos(select);
+            }
+        });
+    }
+
+    @Override
+    public Optional<StoredTodo> todo(long todoId) {
+        for (Shard shard : candidates()) {
+            Optional<StoredTodo> todo = query(shard, connection -> findTodo(connection, todoId));
+            if (todo.isPresent()) {
+                return todo;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<StoredSubtask> subtasks(long todoId) {
+        return subtasks(List.of(todoId));
+    }
+
+    @Override
+    public List<StoredSubtask> subtasks(Collection<Long> todoIds) {
+        if (todoIds.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(todoIds.size(), "?"));
+        List<StoredSubtask> subtasks = new ArrayList<>();
+        for (Shard shard : candidates()) {
+            subtasks.addAll(query(shard, connection -> {
+                try (PreparedStatement select = connection.prepareStatement("SELECT " + SUBTASK_COLUMNS
+                        + " FROM subtasks WHERE todo_id IN (" + placeholders + ") ORDER BY created_at, id")) {
+                    int i = 1;
+                    for (long todoId : todoIds) {
+                        select.setLong(i++, todoId);
+                    }
+                    return subtasks(select);
+                }
+            }));
+        }
+        subtasks.sort(OLDEST_FIRST);
+        return subtasks;
+    }
+
+    @Override
+    public Map<Long, List<StoredSubtask>> subtasksByTodo(long userId) {
+        List<StoredSubtask> subtasks = query(shardFor(userId), connection -> {
+            try (PreparedStatement select = connection.prepareStatement("SELECT s.id, s.todo_id, s.title, "
+                    + "s.completed, s.created_at, s.updated_at FROM subtasks s JOIN todos t ON t.id = s.todo_id "
+                    + "WHERE t.user_id = ? ORDER BY s.created_at, s.id")) {
+                select.setLong(1, userId);
+                return subtasks(select);
+            }
+        });
+        Map<Long, List<StoredSubtask>> byTodo = new LinkedHashMap<>();
+        for (StoredSubtask subtask : subtasks) {
+            byTodo.computeIfAbsent(subtask.todoId(), id -> new ArrayList<>()).add(subtask);
+        }
+        return byTodo;
+    }
+
+    @Override
+    public Optional<StoredSubtask> subtask(long subtaskId) {
+        for (Shard shard : candidates()) {
+            Optional<StoredSubtask> subtask = query(shard, connection -> findSubtask(connection, subtaskId));
+            if (subtask.isPresent()) {
+                return subtask;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Long> ownerOf(long todoId) {
+        return todo(todoId).map(StoredTodo::userId);
+    }
+
+    @Override
+    public long todoCount() {
+        return count("SELECT COUNT(*) FROM todos");
+    }
+
+    @Override
+    public long subtaskCount() {
+        return count("SELECT COUNT(*) FROM subtasks");
+    }
+
+    // ==================== WRITES ====================
+
+    @Override
+    public StoredTodo insertTodo(long userId, String title, String description, boolean completed,
+                                 LocalDateTime createdAt) {
+        Shard shard = shardFor(userId);
+        return write(shard, connection -> {
+            LocalDateTime created = seconds(createdAt != null ? createdAt : LocalDateTime.now());
+            StoredTodo todo = new StoredTodo(shard.lastTodoId.incrementAndGet(), userId, title, description,
+                    completed, created, created);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO todos (" + TODO_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                bind(insert, todo);
+                insert.executeUpdate();
+            }
+            return todo;
+        });
+    }
+
+    @Override
+    public Optional<StoredTodo> updateTodo(long todoId, String title, String description, boolean completed) {
+        return onOwningShard((shard, connection) -> {
+            Optional<StoredTodo> current = findTodo(connection, todoId);
+            if (current.isEmpty()) {
+                return Optional.empty();
+            }
+            StoredTodo todo = new StoredTodo(todoId, current.get().userId(), title, description, completed,
+                    current.get().createdAt(), seconds(LocalDateTime.now()));
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE todos SET title = ?, description = ?, completed = ?, updated_at = ? WHERE id = ?")) {
+                update.setString(1, title);
+                update.setString(2, description);
+                update.setBoolean(3, completed);
+                update.setString(4, TIMES.convertToDatabaseColumn(todo.updatedAt()));
+                update.setLong(5, todoId);
+                update.executeUpdate();
+            }
+            return Optional.of(todo);
+        });
+    }
+
+    @Override
+    public boolean deleteTodo(long todoId) {
+        return onOwningShard((shard, connection) -> {
+            try (PreparedStatement subtasks = connection.prepareStatement("DELETE FROM subtasks WHERE todo_id = ?");
+                 PreparedStatement todo = connection.prepareStatement("DELETE FROM todos WHERE id = ?")) {
+                subtasks.setLong(1, todoId);
+                subtasks.executeUpdate();
+                todo.setLong(1, todoId);
+                return todo.executeUpdate() > 0 ? Optional.of(true) : Optional.<Boolean>empty();
+            }
+        }).orElse(false);
+    }
+
+    @Override
+    public Optional<StoredSubtask> insertSubtask(long todoId, String title, boolean completed,
+                                                 LocalDateTime createdAt) {
+        return onOwningShard((shard, connection) -> {
+            if (findTodo(connection, todoId).isEmpty()) {
+                return Optional.empty();
+            }
+            LocalDateTime created = seconds(createdAt != null ? createdAt : LocalDateTime.now());
+            StoredSubtask subtask = new StoredSubtask(shard.lastSubtaskId.incrementAndGet(), todoId, title,
+                    completed, created, created);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO subtasks (" + SUBTASK_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)")) {
+                bind(insert, subtask);
+                insert.executeUpdate();
+            }
+            return Optional.of(subtask);
+        });
+    }
+
+    @Override
+    public Optional<StoredSubtask> updateSubtask(long subtaskId, String title, boolean completed) {
+        return onOwningShard((shard, connection) -> {
+            Optional<StoredSubtask> current = findSubtask(connection, subtaskId);
+            if (current.isEmpty()) {
+                return Optional.empty();
+            }
+            StoredSubtask subtask = new StoredSubtask(subtaskId, current.get().todoId(), title, completed,
+                    current.get().createdAt(), seconds(LocalDateTime.now()));
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE subtasks SET title = ?, completed = ?, updated_at = ? WHERE id = ?")) {
+                update.setString(1, title);
+                update.setBoolean(2, completed);
+                update.setString(3, TIMES.convertToDatabaseColumn(subtask.updatedAt()));
+                update.setLong(4, subtaskId);
+                update.executeUpdate();
+            }
+            return Optional.of(subtask);
+        });
+    }
+
+    @Override
+    public boolean deleteSubtask(long subtaskId) {
+        return onOwningShard((shard, connection) -> {
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM subtasks WHERE id = ?")) {
+                delete.setLong(1, subtaskId);
+                return delete.executeUpdate() > 0 ? Optional.of(true) : Optional.<Boolean>empty();
+            }
+        }).orElse(false);
+    }
+
+    // ==================== REBALANCING ====================
+
+    /**
+     * Moves every user whose todos aren't on the shard their id hashes to:
+     * users left behind by a change in shard count, and (in extraSources)
+     * retired shard files or the main database from before sharding. Each
+     * user is copied to the target in one transaction, then deleted from the
+     * source in another; an interrupted run leaves rows in both places, which
+     * the next run resolves since the copy overwrites.
+     *
+     * Meant to run before the store serves requests.
+     *
+     * @return the number of users moved
+     */
+    public long rebalance(Map<String, DataSource> extraSources) {
+        long start = System.nanoTime();
+        long users = 0;
+        long todos = 0;
+        for (Shard shard : shards) {
+            for (long userId : userIds(shard.dataSource)) {
+                Shard target = shardFor(userId);
+                if (target != shard) {
+                    todos += move(shard.dataSource, target, userId);
+                    users++;
+                }
+            }
+        }
+        for (Map.Entry<String, DataSource> source : extraSources.entrySet()) {
+            long moved = 0;
+            for (long userId : userIds(source.getValue())) {
+                todos += move(source.getValue(), shardFor(userId), userId);
+                moved++;
+            }
+            if (moved > 0) {
+                logger.info("Moved {} users' todos out of {}", moved, source.getKey());
+            }
+            users += moved;
+        }
+        // Moved rows can come from any id range; start every range above them
+        initIds();
+        logger.info("Shard rebalance over {} shards moved {} users ({} todos) in {} ms",
+                shards.size(), users, todos, (System.nanoTime() - start) / 1_000_000);
+        return users;
+    }
+
+    private long move(DataSource source, Shard target, long userId) {
+        try (Connection from = source.getConnection()) {
+            List<StoredTodo> todos;
+            List<StoredSubtask> subtasks;
+            try (PreparedStatement selectTodos = from.prepareStatement(
+                    "SELECT " + TODO_COLUMNS + " FROM todos WHERE user_id = ?");
+                 PreparedStatement selectSubtasks = from.prepareStatement("SELECT s.id, s.todo_id, s.title, "
+                         + "s.completed, s.created_at, s.updated_at FROM subtasks s JOIN todos t ON t.id = s.todo_id "
+                         + "WHERE t.user_id = ?")) {
+                selectTodos.setLong(1, userId);
+                todos = todos(selectTodos);
+                selectSubtasks.setLong(1, userId);
+                subtasks = subtasks(selectSubtasks);
+            }
+
+            write(target, connection -> {
+                try (PreparedStatement insertTodo = connection.prepareStatement(
+                        "INSERT OR REPLACE INTO todos (" + TODO_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)");
+                     PreparedStatement insertSubtask = connection.prepareStatement(
+                             "INSERT OR REPLACE INTO subtasks (" + SUBTASK_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)")) {
+                    for (StoredTodo todo : todos) {
+                        bind(insertTodo, todo);
+                        insertTodo.addBatch();
+                    }
+                    insertTodo.executeBatch();
+                    for (StoredSubtask subtask : subtasks) {
+                        bind(insertSubtask, subtask);
+                        insertSubtask.addBatch();
+                    }
+                    insertSubtask.executeBatch();
+                }
+                return null;
+            });
+
+            inTransaction(from, () -> {
+                try (PreparedStatement deleteSubtasks = from.prepareStatement(
+                        "DELETE FROM subtasks WHERE todo_id IN (SELECT id FROM todos WHERE user_id = ?)");
+                     PreparedStatement deleteTodos = from.prepareStatement("DELETE FROM todos WHERE user_id = ?")) {
+                    deleteSubtasks.setLong(1, userId);
+                    deleteSubtasks.executeUpdate();
+                    deleteTodos.setLong(1, userId);
+                    deleteTodos.executeUpdate();
+                }
+                return null;
+            });
+            return todos.size();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not move user " + userId + " to shard " + target.index, e);
+        }
+    }
+
+    private static List<Long> userIds(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("SELECT DISTINCT user_id FROM todos");
+             ResultSet rs = select.executeQuery()) {
+            List<Long> userIds = new ArrayList<>();
+            while (rs.next()) {
+                userIds.add(rs.getLong(1));
+            }
+            return userIds;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not list the users with todos", e);
+        }
+    }
+
+    // ==================== INTERNALS ====================
+
+    private Shard shardFor(long userId) {
+        return shards.get(shardOf(userId, shards.size()));
+    }
+
+    /**
+     * The shards an id lookup tries: the current user's, or all of them.
+     */
+    private List<Shard> candidates() {
+        long userId = RequestInfo.userId();
+        return userId >= 0 ? List.of(shardFor(userId)) : shards;
+    }
+
+    @FunctionalInterface
+    private interface ShardWork<T> {
+        Optional<T> run(Shard shard, Connection connection) throws SQLException;
+    }
+
+    /**
+     * Runs a write on each candidate shard until one finds the row it needs.
+     */
+    private <T> Optional<T> onOwningShard(ShardWork<T> work) {
+        for (Shard shard : candidates()) {
+            Optional<T> result = write(shard, connection -> work.run(shard, connection));
+            if (result.isPresent()) {
+                return result;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static <T> T query(Shard shard, Work<T> work) {
+        try (Connection connection = shard.dataSource.getConnection()) {
+            return work.run(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Query on todo shard " + shard.index + " failed", e);
+        }
+    }
+
+    /**
+     * Runs work in one transaction under the shard's writer lock.
+     */
+    private static <T> T write(Shard shard, Work<T> work) {
+        shard.writer.lock();
+        try (Connection connection = shard.dataSource.getConnection()) {
+            return inTransaction(connection, () -> work.run(connection));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Write to todo shard " + shard.index + " failed", e);
+        } finally {
+            shard.writer.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Body<T> {
+        T run() throws SQLException;
+    }
+
+    private static <T> T inTransaction(Connection connection, Body<T> body) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            T result = body.run();
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Starts each shard's id ranges above the highest id in use in that range
+     * on any shard, since a rebalance can move rows out of their range's shard.
+     */
+    private void initIds() {
+        for (Shard shard : shards) {
+            long base = (shard.index + 1) * ID_RANGE;
+            long todo = base;
+            long subtask = base;
+            for (Shard other : shards) {
+                todo = Math.max(todo, maxId(other, "todos", base));
+                subtask = Math.max(subtask, maxId(other, "subtasks", base));
+            }
+            shard.lastTodoId.set(todo);
+            shard.lastSubtaskId.set(subtask);
+        }
+    }
+
+    private static long maxId(Shard shard, String table, long base) {
+        return query(shard, connection -> {
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT MAX(id) FROM " + table + " WHERE id >= ? AND id < ?")) {
+                select.setLong(1, base);
+                select.setLong(2, base + ID_RANGE);
+                try (ResultSet rs = select.executeQuery()) {
+                    return rs.next() ? rs.getLong(1) : 0;
+                }
+            }
+        });
+    }
+
+    private long count(String sql) {
+        long total = 0;
+        for (Shard shard : shards) {
+            total += query(shard, connection -> {
+                try (PreparedStatement select = connection.prepareStatement(sql);
+                     ResultSet rs = select.executeQuery()) {
+                    return rs.next() ? rs.getLong(1) : 0L;
+                }
+            });
+        }
+        return total;
+    }
+
+    private static Optional<StoredTodo> findTodo(Connection connection, long todoId) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT " + TODO_COLUMNS + " FROM todos WHERE id = ?")) {
+            select.setLong(1, todoId);
+            return todos(select).stream().findFirst();
+        }
+    }
+
+    private static Optional<StoredSubtask> findSubtask(Connection connection, long subtaskId) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT " + SUBTASK_COLUMNS + " FROM subtasks WHERE id = ?")) {
+            select.setLong(1, subtaskId);
+            return subtasks(select).stream().findFirst();
+        }
+    }
+
+    private static List<StoredTodo> todos(PreparedStatement select) throws SQLException {
+        List<StoredTodo> todos = new ArrayList<>();
+        try (ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                todos.add(new StoredTodo(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4),
+                        rs.getBoolean(5), time(rs.getString(6)), time(rs.getString(7))));
+            }
+        }
+        return todos;
+    }
+
+    private static List<StoredSubtask> subtasks(PreparedStatement select) throws SQLException {
+        List<StoredSubtask> subtasks = new ArrayList<>();
+        try (ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                subtasks.add(new StoredSubtask(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getBoolean(4),
+                        time(rs.getString(5)), time(rs.getString(6))));
+            }
+        }
+        return subtasks;
+    }
+
+    private static void bind(PreparedStatement insert, StoredTodo todo) throws SQLException {
+        insert.setLong(1, todo.id());
+        insert.setLong(2, todo.userId());
+        insert.setString(3, todo.title());
+        insert.setString(4, todo.description());
+        insert.setBoolean(5, todo.completed());
+        insert.setString(6, TIMES.convertToDatabaseColumn(todo.createdAt()));
+        insert.setString(7, TIMES.convertToDatabaseColumn(todo.updatedAt()));
+    }
+
+    private static void bind(PreparedStatement insert, StoredSubtask subtask) throws SQLException {
+        insert.setLong(1, subtask.id());
+        insert.setLong(2, subtask.todoId());
+        insert.setString(3, subtask.title());
+        insert.setBoolean(4, subtask.completed());
+        insert.setString(5, TIMES.convertToDatabaseColumn(subtask.createdAt()));
+        insert.setString(6, TIMES.convertToDatabaseColumn(subtask.updatedAt()));
+    }
+
+    private static LocalDateTime time(String value) {
+        LocalDateTime time = TIMES.convertToEntityAttribute(value);
+        return time != null ? time : LocalDateTime.now();
+    }
+
+    private static LocalDateTime seconds(LocalDateTime time) {
+        return time.truncatedTo(ChronoUnit.SECONDS);
+    }
+}
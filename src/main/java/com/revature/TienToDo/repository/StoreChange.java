@@ -0,0 +1,133 @@
+package com.revature.TienToDo.repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * One change to the {@link InMemoryTodoStore}, in the binary form written to its
+ * log and snapshots. Every change carries the full new row (or the key of a
+ * deleted one), so replaying a change that's already reflected is harmless.
+ */
+sealed interface StoreChange {
+    byte PUT_TODO = 1;
+    byte DELETE_TODO = 2;
+    byte PUT_SUBTASK = 3;
+    byte DELETE_SUBTASK = 4;
+
+    long userId();
+
+    record StoredTodo(long id, long userId, String title, String description, boolean completed,
+                      LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+    record StoredSubtask(long id, long todoId, String title, boolean completed,
+                         LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+    record PutTodo(StoredTodo todo) implements StoreChange {
+        @Override
+        public long userId() {
+            return todo.userId();
+        }
+    }
+
+    record DeleteTodo(long userId, long todoId) implements StoreChange {
+    }
+
+    record PutSubtask(long userId, StoredSubtask subtask) implements StoreChange {
+    }
+
+    record DeleteSubtask(long userId, long todoId, long subtaskId) implements StoreChange {
+    }
+
+    default byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            if (this instanceof PutTodo put) {
+                StoredTodo todo = put.todo();
+                out.writeByte(PUT_TODO);
+                out.writeLong(todo.id());
+                out.writeLong(todo.userId());
+                writeString(out, todo.title());
+                writeString(out, todo.description());
+                out.writeBoolean(todo.completed());
+                writeTime(out, todo.createdAt());
+                writeTime(out, todo.updatedAt());
+            } else if (this instanceof DeleteTodo delete) {
+                out.writeByte(DELETE_TODO);
+                out.writeLong(delete.userId());
+                out.writeLong(delete.todoId());
+            } else if (this instanceof PutSubtask put) {
+                StoredSubtask subtask = put.subtask();
+                out.writeByte(PUT_SUBTASK);
+                out.writeLong(put.userId());
+                out.writeLong(subtask.id());
+                out.writeLong(subtask.todoId());
+                writeString(out, subtask.title());
+                out.writeBoolean(subtask.completed());
+                writeTime(out, subtask.createdAt());
+                writeTime(out, subtask.updatedAt());
+            } else if (this instanceof DeleteSubtask delete) {
+                out.writeByte(DELETE_SUBTASK);
+                out.writeLong(delete.userId());
+                out.writeLong(delete.todoId());
+                out.writeLong(delete.subtaskId());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static StoreChange decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        return switch (type) {
+            case PUT_TODO -> new PutTodo(new StoredTodo(in.readLong(), in.readLong(), readString(in),
+                    readString(in), in.readBoolean(), readTime(in), readTime(in)));
+            case DELETE_TODO -> new DeleteTodo(in.readLong(), in.readLong());
+            case PUT_SUBTASK -> new PutSubtask(in.readLong(), new StoredSubtask(in.readLong(), in.readLong(),
+                    readString(in), in.readBoolean(), readTime(in), readTime(in)));
+            case DELETE_SUBTASK -> new DeleteSubtask(in.readLong(), in.readLong(), in.readLong());
+            default -> throw new IOException("Unknown change type " + type);
+        };
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeTime(DataOutput out, LocalDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInput in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
@@ -1,13 +1,19 @@
 package com.revature.TienToDo.repository;
 
+import com.revature.TienToDo.dto.SubtaskResponse;
+import com.revature.TienToDo.dto.SubtaskRow;
 import com.revature.TienToDo.entity.Subtask;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,6 +44,26 @@ public interface SubtaskRepository extends JpaRepository<Subtask, Long> {
 
     List<Subtask> findByTodoIdAndCreatedAtBetween(Long todoId, LocalDateTime start, LocalDateTime end);
 
+    // ==================== READ-ONLY PROJECTIONS ====================
+
+    @Query("SELECT new com.revature.TienToDo.dto.SubtaskResponse(" +
+            "s.id, s.title, s.completed, s.createdAt, s.updatedAt) " +
+            "FROM Subtask s WHERE s.todo.id = :todoId ORDER BY s.createdAt ASC, s.id ASC")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<SubtaskResponse> findSubtaskViewsByTodoId(@Param("todoId") Long todoId);
+
+    @Query("SELECT new com.revature.TienToDo.dto.SubtaskRow(" +
+            "s.todo.id, s.id, s.title, s.completed, s.createdAt, s.updatedAt) " +
+            "FROM Subtask s WHERE s.todo.id IN :todoIds ORDER BY s.createdAt ASC, s.id ASC")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<SubtaskRow> findSubtaskRowsByTodoIds(@Param("todoIds") Collection<Long> todoIds);
+
     long countByTodoId(Long todoId);
     long countByTodoIdAndCompleted(Long todoId, boolean completed);
     @Query("SELECT COUNT(s) FROM Subtask s WHERE s.todo.user.id = :userId")
@@ -0,0 +1,325 @@
+package com.revature.TienToDo.repository;
+
+import com.revature.TienToDo.config.SQLiteLocalDateTimeConverter;
+import com.revature.TienToDo.dto.SubtaskResponse;
+import com.revature.TienToDo.dto.TodoResponse;
+import com.revature.TienToDo.repository.StoreChange.StoredSubtask;
+import com.revature.TienToDo.repository.StoreChange.StoredTodo;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Completed todos moved out of the main database's todos table into a
+ * separate SQLite file (archived_todos, archived_subtasks), keeping their ids.
+ *
+ * Rows move in one direction at a time with two transactions: the source rows
+ * are deleted first (which takes the source's write lock, so nothing changes
+ * them meanwhile), the copy is committed at the destination, and only then is
+ * the delete committed. A failure before the copy commits loses nothing; one
+ * between the two commits leaves a row in both places, which the next
+ * archival run or a repeated restore settles. Lookups check the main
+ * database first, so such a row is always read from there.
+ */
+public class TodoArchive {
+    private static final String TODO_COLUMNS = "id, user_id, title, description, completed, created_at, updated_at";
+    private static final String SUBTASK_COLUMNS = "id, todo_id, title, completed, created_at, updated_at";
+    private static final String ARCHIVABLE = "SELECT id FROM todos WHERE completed = 1 AND updated_at < ? AND id > ? "
+            + "ORDER BY id LIMIT ?";
+    private static final SQLiteLocalDateTimeConverter TIMES = new SQLiteLocalDateTimeConverter();
+    private static final Comparator<StoredSubtask> OLDEST_FIRST = Comparator
+            .comparing(StoredSubtask::createdAt).thenComparingLong(StoredSubtask::id);
+
+    /**
+     * One todo moved by an archival batch.
+     */
+    public record Moved(long todoId, long userId) {
+    }
+
+    @FunctionalInterface
+    private interface Body<T> {
+        T run() throws SQLException;
+    }
+
+    private final DataSource main;
+    private final DataSource archive;
+
+    /**
+     * @param main    the application's database, holding todos and subtasks
+     * @param archive the archive database, already migrated (db/archive)
+     */
+    public TodoArchive(DataSource main, DataSource archive) {
+        this.main = main;
+        this.archive = archive;
+    }
+
+    /**
+     * Move up to limit todos with ids above afterId that were completed, and
+     * last changed, before cutoff, together with their subtasks.
+     *
+     * @return the todos moved, in id order; fewer than limit means none are left
+     */
+    public List<Moved> archiveBatch(LocalDateTime cutoff, long afterId, int limit) {
+        String cutoffText = TIMES.convertToDatabaseColumn(cutoff);
+        try (Connection hot = main.getConnection()) {
+            return inTransaction(hot, () -> {
+                // Both deletes pick the same todos: the first one holds the write lock until commit
+                List<StoredSubtask> subtasks;
+                try (PreparedStatement delete = hot.prepareStatement("DELETE FROM subtasks WHERE todo_id IN ("
+                        + ARCHIVABLE + ") RETURNING " + SUBTASK_COLUMNS)) {
+                    bindArchivable(delete, cutoffText, afterId, limit);
+                    subtasks = subtasks(delete);
+                }
+                List<StoredTodo> todos;
+                try (PreparedStatement delete = hot.prepareStatement("DELETE FROM todos WHERE id IN ("
+                        + ARCHIVABLE + ") RETURNING " + TODO_COLUMNS)) {
+                    bindArchivable(delete, cutoffText, afterId, limit);
+                    todos = todos(delete);
+                }
+                if (todos.isEmpty()) {
+                    return List.of();
+                }
+
+                String archivedAt = TIMES.convertToDatabaseColumn(LocalDateTime.now());
+                try (Connection cold = archive.getConnection()) {
+                    inTransaction(cold, () -> {
+                        try (PreparedStatement insertTodo = cold.prepareStatement("INSERT OR REPLACE INTO archived_todos ("
+                                + TODO_COLUMNS + ", archived_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+                             PreparedStatement insertSubtask = cold.prepareStatement(
+                                     "INSERT OR REPLACE INTO archived_subtasks (" + SUBTASK_COLUMNS
+                                             + ") VALUES (?, ?, ?, ?, ?, ?)")) {
+                            for (StoredTodo todo : todos) {
+                                bind(insertTodo, todo);
+                                insertTodo.setString(8, archivedAt);
+                                insertTodo.addBatch();
+                            }
+                            insertTodo.executeBatch();
+                            for (StoredSubtask subtask : subtasks) {
+                                bind(insertSubtask, subtask);
+                                insertSubtask.addBatch();
+                            }
+                            insertSubtask.executeBatch();
+                        }
+                        return null;
+                    });
+                }
+                return todos.stream()
+                        .sorted(Comparator.comparingLong(StoredTodo::id))
+                        .map(todo -> new Moved(todo.id(), todo.userId()))
+                        .toList();
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not archive todos after id " + afterId, e);
+        }
+    }
+
+    /**
+     * Put an archived todo and its subtasks back in the main database, with
+     * updated_at set to now so the next archival run doesn't take it again.
+     */
+    public Optional<TodoResponse> restore(long todoId, long userId) {
+        try (Connection cold = archive.getConnection()) {
+            return inTransaction(cold, () -> {
+                List<StoredTodo> todos;
+                try (PreparedStatement delete = cold.prepareStatement("DELETE FROM archived_todos "
+                        + "WHERE id = ? AND user_id = ? RETURNING " + TODO_COLUMNS)) {
+                    delete.setLong(1, todoId);
+                    delete.setLong(2, userId);
+                    todos = todos(delete);
+                }
+                if (todos.isEmpty()) {
+                    return Optional.empty();
+                }
+                List<StoredSubtask> subtasks;
+                try (PreparedStatement delete = cold.prepareStatement("DELETE FROM archived_subtasks "
+                        + "WHERE todo_id = ? RETURNING " + SUBTASK_COLUMNS)) {
+                    delete.setLong(1, todoId);
+                    subtasks = subtasks(delete);
+                }
+
+                StoredTodo archived = todos.get(0);
+                StoredTodo todo = new StoredTodo(archived.id(), archived.userId(), archived.title(),
+                        archived.description(), archived.completed(), archived.createdAt(), LocalDateTime.now());
+                try (Connection hot = main.getConnection()) {
+                    inTransaction(hot, () -> {
+                        // Ignored if it's already back, from a restore whose archive delete didn't commit
+                        try (PreparedStatement insertTodo = hot.prepareStatement(
+                                "INSERT OR IGNORE INTO todos (" + TODO_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)");
+                             PreparedStatement insertSubtask = hot.prepareStatement(
+                                     "INSERT OR IGNORE INTO subtasks (" + SUBTASK_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)")) {
+                            bind(insertTodo, todo);
+                            insertTodo.executeUpdate();
+                            for (StoredSubtask subtask : subtasks) {
+                                bind(insertSubtask, subtask);
+                                insertSubtask.addBatch();
+                            }
+                            insertSubtask.executeBatch();
+                        }
+                        return null;
+                    });
+                }
+                TodoResponse response = response(todo);
+                subtasks.stream().sorted(OLDEST_FIRST).map(TodoArchive::response)
+                        .forEach(response.getSubtasks()::add);
+                return Optional.of(response);
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not restore archived todo " + todoId, e);
+        }
+    }
+
+    public Optional<TodoResponse> find(long todoId, long userId) {
+        List<TodoResponse> found = query("SELECT " + TODO_COLUMNS + ", archived_at FROM archived_todos "
+                + "WHERE id = ? AND user_id = ?", todoId, userId);
+        return found.stream().findFirst();
+    }
+
+    /**
+     * One page of a user's archive, most recently archived first.
+     */
+    public List<TodoResponse> page(long userId, int page, int size) {
+        return query("SELECT " + TODO_COLUMNS + ", archived_at FROM archived_todos WHERE user_id = ? "
+                + "ORDER BY archived_at DESC, id DESC LIMIT ? OFFSET ?", userId, size, (long) page * size);
+    }
+
+    public long count(long userId) {
+        try (Connection connection = archive.getConnection();
+             PreparedStatement select = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM archived_todos WHERE user_id = ?")) {
+            select.setLong(1, userId);
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not count archived todos", e);
+        }
+    }
+
+    private List<TodoResponse> query(String sql, Object... params) {
+        try (Connection connection = archive.getConnection()) {
+            Map<Long, TodoResponse> byId = new LinkedHashMap<>();
+            try (PreparedStatement select = connection.prepareStatement(sql)) {
+                for (int i = 0; i < params.length; i++) {
+                    select.setObject(i + 1, params[i]);
+                }
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        TodoResponse todo = response(todo(rs));
+                        todo.setArchivedAt(time(rs.getString(8)));
+                        byId.put(todo.getId(), todo);
+                    }
+                }
+            }
+            if (byId.isEmpty()) {
+                return List.of();
+            }
+            String ids = String.join(",", Collections.nCopies(byId.size(), "?"));
+            try (PreparedStatement select = connection.prepareStatement("SELECT " + SUBTASK_COLUMNS
+                    + " FROM archived_subtasks WHERE todo_id IN (" + ids + ") ORDER BY created_at, id")) {
+                int i = 1;
+                for (long id : byId.keySet()) {
+                    select.setLong(i++, id);
+                }
+                for (StoredSubtask subtask : subtasks(select)) {
+                    byId.get(subtask.todoId()).getSubtasks().add(response(subtask));
+                }
+            }
+            return new ArrayList<>(byId.values());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Query on the todo archive failed", e);
+        }
+    }
+
+    private static void bindArchivable(PreparedStatement statement, String cutoff, long afterId, int limit)
+            throws SQLException {
+        statement.setString(1, cutoff);
+        statement.setLong(2, afterId);
+        statement.setInt(3, limit);
+    }
+
+    private static <T> T inTransaction(Connection connection, Body<T> body) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            T result = body.run();
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static List<StoredTodo> todos(PreparedStatement select) throws SQLException {
+        List<StoredTodo> todos = new ArrayList<>();
+        try (ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                todos.add(todo(rs));
+            }
+        }
+        return todos;
+    }
+
+    private static StoredTodo todo(ResultSet rs) throws SQLException {
+        return new StoredTodo(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4),
+                rs.getBoolean(5), time(rs.getString(6)), time(rs.getString(7)));
+    }
+
+    private static List<StoredSubtask> subtasks(PreparedStatement select) throws SQLException {
+        List<StoredSubtask> subtasks = new ArrayList<>();
+        try (ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                subtasks.add(new StoredSubtask(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getBoolean(4),
+                        time(rs.getString(5)), time(rs.getString(6))));
+            }
+        }
+        return subtasks;
+    }
+
+    private static void bind(PreparedStatement insert, StoredTodo todo) throws SQLException {
+        insert.setLong(1, todo.id());
+        insert.setLong(2, todo.userId());
+        insert.setString(3, todo.title());
+        insert.setString(4, todo.description());
+        insert.setBoolean(5, todo.completed());
+        insert.setString(6, TIMES.convertToDatabaseColumn(todo.createdAt()));
+        insert.setString(7, TIMES.convertToDatabaseColumn(todo.updatedAt()));
+    }
+
+    private static void bind(PreparedStatement insert, StoredSubtask subtask) throws SQLException {
+        insert.setLong(1, subtask.id());
+        insert.setLong(2, subtask.todoId());
+        insert.setString(3, subtask.title());
+        insert.setBoolean(4, subtask.completed());
+        insert.setString(5, TIMES.convertToDatabaseColumn(subtask.createdAt()));
+        insert.setString(6, TIMES.convertToDatabaseColumn(subtask.updatedAt()));
+    }
+
+    private static TodoResponse response(StoredTodo todo) {
+        return new TodoResponse(todo.id(), todo.title(), todo.description(), todo.completed(),
+                todo.createdAt(), todo.updatedAt());
+    }
+
+    private static SubtaskResponse response(StoredSubtask subtask) {
+        return new SubtaskResponse(subtask.id(), subtask.title(), subtask.completed(),
+                subtask.createdAt(), subtask.updatedAt());
+    }
+
+    private static LocalDateTime time(String value) {
+        LocalDateTime time = TIMES.convertToEntityAttribute(value);
+        return time != null ? time : LocalDateTime.now();
+    }
+}
@@ -0,0 +1,286 @@
+package com.revature.TienToDo.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log behind the {@link InMemoryTodoStore}, split into numbered
+ * segment files (log-000000000001.bin, ...) so a snapshot can drop the ones it
+ * covers.
+ *
+ * Each entry is [length][CRC32C][payload]. Writers hand entries to a single
+ * writer thread and wait for the returned future; the thread takes everything
+ * queued so far, writes it in one gathering write and calls force() once for
+ * the whole batch (group commit), so concurrent writers share each fsync.
+ */
+final class TodoLog implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TodoLog.class);
+
+    private static final Pattern SEGMENT = Pattern.compile("log-(\\d+)\\.bin");
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_BATCH = 1024;
+
+    private record Pending(ByteBuffer entry, CompletableFuture<Long> done) {
+    }
+
+    private static final Pending STOP = new Pending(null, null);
+
+    private final Path directory;
+    private final boolean fsync;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    private FileChannel channel;
+    private volatile long segment;
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    /**
+     * Opens the given segment for appending (creating it if needed).
+     */
+    TodoLog(Path directory, long segment, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.segment = segment;
+        this.channel = open(segment);
+        this.writer = Thread.ofPlatform().name("todo-log-writer").daemon().start(this::writeLoop);
+    }
+
+    static Path segmentPath(Path directory, long segment) {
+        return directory.resolve(String.format("log-%012d.bin", segment));
+    }
+
+    /**
+     * Segment numbers present in the directory, oldest first.
+     */
+    static List<Long> segments(Path directory) throws IOException {
+        List<Long> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    /**
+     * Frames a payload as a log entry: [length][CRC32C][payload].
+     */
+    static ByteBuffer frame(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        ByteBuffer entry = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        entry.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+        return entry;
+    }
+
+    /**
+     * Reads the entries of one segment in order. A torn or corrupt entry at the
+     * end is expected after a crash; if truncate is set, the file is cut back
+     * to the last good entry, otherwise the damage is reported.
+     *
+     * @return the number of entries read
+     */
+    static long read(Path file, boolean truncate, EntryConsumer consumer) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            long entries = 0;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (position < size) {
+                header.clear();
+                int length = -1;
+                int expected = 0;
+                if (in.read(header, position) == HEADER_BYTES) {
+                    length = header.getInt(0);
+                    expected = header.getInt(4);
+                }
+                byte[] payload = null;
+                if (length >= 0 && position + HEADER_BYTES + length <= size) {
+                    ByteBuffer body = ByteBuffer.allocate(length);
+                    while (body.hasRemaining() && in.read(body, position + HEADER_BYTES + body.position()) >= 0) {
+                        // positional reads of a regular file rarely come back short
+                    }
+                    CRC32C crc = new CRC32C();
+                    crc.update(body.array());
+                    if ((int) crc.getValue() == expected) {
+                        payload = body.array();
+                    }
+                }
+                if (payload == null) {
+                    if (!truncate) {
+                        throw new IOException("Corrupt entry at byte " + position + " of " + file);
+                    }
+                    logger.warn("Truncating {} at byte {} of {}: torn or corrupt entry", file, position, size);
+                    in.truncate(position);
+                    in.force(true);
+                    break;
+                }
+                consumer.accept(payload);
+                position += HEADER_BYTES + length;
+                entries++;
+            }
+            return entries;
+        }
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(byte[] payload) throws IOException;
+    }
+
+    /**
+     * Queues an entry; the future completes with its segment once it's written
+     * (and forced to disk, with fsync on).
+     */
+    CompletableFuture<Long> append(byte[] payload) {
+        return enqueue(frame(payload));
+    }
+
+    /**
+     * Starts a new segment. Entries appended after this returns go to the new one.
+     *
+     * @return the new segment's number
+     */
+    long roll() {
+        return enqueue(null).join();
+    }
+
+    long currentSegment() {
+        return segment;
+    }
+
+    private CompletableFuture<Long> enqueue(ByteBuffer entry) {
+        CompletableFuture<Long> done = new CompletableFuture<>();
+        IOException failed = failure;
+        if (closed || failed != null) {
+            done.completeExceptionally(failed != null ? failed : new IOException("The todo log is closed"));
+            return done;
+        }
+        queue.add(new Pending(entry, done));
+        return done;
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>();
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                // Not expected: close() stops the thread with STOP, not an interrupt,
+                // because an interrupt would also close the channel mid-write
+                continue;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            int stop = batch.indexOf(STOP);
+            if (stop >= 0) {
+                stopping = true;
+                List<Pending> late = batch.subList(stop, batch.size());
+                for (Pending pending : late) {
+                    if (pending != STOP) {
+                        pending.done().completeExceptionally(new IOException("The todo log is closed"));
+                    }
+                }
+                late.clear();
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        int from = 0;
+        while (from < batch.size()) {
+            // A roll request splits the batch: entries before it go to the old segment
+            int to = from;
+            while (to < batch.size() && batch.get(to).entry() != null) {
+                to++;
+            }
+            List<Pending> entries = batch.subList(from, to);
+            try {
+                if (failure != null) {
+                    throw failure;
+                }
+                if (!entries.isEmpty()) {
+                    ByteBuffer[] buffers = new ByteBuffer[entries.size()];
+                    for (int i = 0; i < buffers.length; i++) {
+                        buffers[i] = entries.get(i).entry();
+                    }
+                    while (buffers[buffers.length - 1].hasRemaining()) {
+                        channel.write(buffers);
+                    }
+                    if (fsync) {
+                        channel.force(false);
+                    }
+                }
+                for (Pending pending : entries) {
+                    pending.done().complete(segment);
+                }
+                if (to < batch.size()) {
+                    channel.force(false);
+                    channel.close();
+                    channel = open(++segment);
+                    batch.get(to).done().complete(segment);
+                }
+            } catch (IOException e) {
+                if (failure == null) {
+                    logger.error("Todo log write failed; rejecting further writes", e);
+                    failure = e;
+                }
+                for (Pending pending : batch.subList(from, Math.min(to + 1, batch.size()))) {
+                    pending.done().completeExceptionally(e);
+                }
+            }
+            from = to + 1;
+        }
+    }
+
+    private FileChannel open(long segment) throws IOException {
+        return FileChannel.open(segmentPath(directory, segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.add(STOP);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything that slipped in behind STOP
+        IOException closedError = new IOException("The todo log is closed");
+        for (Pending pending; (pending = queue.poll()) != null; ) {
+            if (pending != STOP) {
+                pending.done().completeExceptionally(closedError);
+            }
+        }
+        channel.force(true);
+        channel.close();
+    }
+}
@@ -1,10 +1,14 @@
 package com.revature.TienToDo.repository;
 
+import com.revature.TienToDo.dto.TodoResponse;
 import com.revature.TienToDo.entity.Todo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -34,6 +38,44 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     List<Todo> findByUserIdAndCreatedAtBetween(Long userId, LocalDateTime start, LocalDateTime end);
     List<Todo> findByUserIdAndUpdatedAtAfterOrderByUpdatedAtDesc(Long userId, LocalDateTime since);
 
+    // ==================== READ-ONLY PROJECTIONS ====================
+    // These bypass the persistence context: rows go straight into TodoResponse,
+    // so Hibernate keeps no managed instances or dirty-checking snapshots.
+
+    @Query("SELECT new com.revature.TienToDo.dto.TodoResponse(" +
+            "t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt) " +
+            "FROM Todo t WHERE t.user.id = :userId ORDER BY t.createdAt DESC")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<TodoResponse> findTodoViewsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.revature.TienToDo.dto.TodoResponse(" +
+            "t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt) " +
+            "FROM Todo t WHERE t.user.id = :userId AND t.completed = :completed " +
+            "ORDER BY t.createdAt DESC")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<TodoResponse> findTodoViewsByUserIdAndCompleted(@Param("userId") Long userId,
+                                                         @Param("completed") boolean completed);
+
+    @Query("SELECT new com.revature.TienToDo.dto.TodoResponse(" +
+            "t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt) " +
+            "FROM Todo t WHERE t.user.id = :userId " +
+            "AND (LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "OR LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+            "ORDER BY t.createdAt DESC")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<TodoResponse> searchTodoViewsByKeyword(@Param("userId") Long userId, @Param("keyword") String keyword);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
     long countByUserId(Long userId);
     long countByUserIdAndCompleted(Long userId, boolean completed);
     @Query("SELECT DISTINCT t FROM Todo t JOIN t.subtasks s " +
@@ -0,0 +1,67 @@
+package com.revature.TienToDo.repository;
+
+import com.revature.TienToDo.repository.StoreChange.StoredSubtask;
+import com.revature.TienToDo.repository.StoreChange.StoredTodo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The operations a storage engine other than JPA provides for todos and
+ * subtasks; {@link TodoStoreRepositories} builds TodoRepository and
+ * SubtaskRepository on top of them. Implemented by {@link InMemoryTodoStore}
+ * (app.storage.engine=memory) and {@link ShardedTodoStore} (sharded).
+ *
+ * Lists come back in the repositories' order: a user's todos newest first,
+ * subtasks oldest first (ties broken by id).
+ */
+public interface TodoStore {
+
+    List<StoredTodo> todos(long userId);
+
+    Optional<StoredTodo> todo(long todoId);
+
+    List<StoredSubtask> subtasks(long todoId);
+
+    /**
+     * The subtasks of several todos, oldest first across all of them.
+     */
+    List<StoredSubtask> subtasks(Collection<Long> todoIds);
+
+    /**
+     * All of a user's subtasks, keyed by todo, each list oldest first.
+     */
+    Map<Long, List<StoredSubtask>> subtasksByTodo(long userId);
+
+    Optional<StoredSubtask> subtask(long subtaskId);
+
+    Optional<Long> ownerOf(long todoId);
+
+    long todoCount();
+
+    long subtaskCount();
+
+    StoredTodo insertTodo(long userId, String title, String description, boolean completed, LocalDateTime createdAt);
+
+    /**
+     * Replaces a todo's title, description and completed flag and bumps updatedAt.
+     */
+    Optional<StoredTodo> updateTodo(long todoId, String title, String description, boolean completed);
+
+    /**
+     * Deletes a todo and its subtasks.
+     */
+    boolean deleteTodo(long todoId);
+
+    /**
+     * @return the new subtask, or empty if the todo doesn't exist
+     */
+    Optional<StoredSubtask> insertSubtask(long todoId, String title, boolean completed, LocalDateTime createdAt);
+
+    Optional<StoredSubtask> updateSubtask(long subtaskId, String title, boolean completed);
+
+    boolean deleteSubtask(long subtaskId);
+}
@@ -0,0 +1,375 @@
+package com.revature.TienToDo.repository;
+
+import com.revature.TienToDo.dto.SubtaskResponse;
+import com.revature.TienToDo.dto.SubtaskRow;
+import com.revature.TienToDo.dto.TodoResponse;
+import com.revature.TienToDo.entity.Subtask;
+import com.revature.TienToDo.entity.Todo;
+import com.revature.TienToDo.entity.User;
+import com.revature.TienToDo.repository.StoreChange.StoredSubtask;
+import com.revature.TienToDo.repository.StoreChange.StoredTodo;
+import com.revature.TienToDo.utility.RequestInfo;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * {@link TodoRepository} and {@link SubtaskRepository} backed by a
+ * {@link TodoStore}, so TodoService runs unchanged on every storage engine.
+ *
+ * They're proxies rather than classes because the interfaces inherit the whole
+ * JpaRepository API; every derived query and @Query method the repositories
+ * declare is implemented here with the same filtering and ordering, along
+ * with save, findById, existsById, delete, deleteById, count and flush.
+ * Anything else (paging, query by example, batch deletes) throws
+ * UnsupportedOperationException.
+ *
+ * Entities handed out are detached copies — a Todo's subtasks are filled in,
+ * its user and a subtask's todo are stubs carrying only the id — and changes
+ * reach the store only through save(), which is how TodoService uses them.
+ * Saving a todo doesn't cascade to its subtasks list.
+ *
+ * With a warm-up store, requests marked by the JIT warm-up (see
+ * RequestInfo.isWarmup()) go there instead, the in-memory counterpart of
+ * WarmupDataSource.
+ */
+public final class TodoStoreRepositories {
+
+    private TodoStoreRepositories() {
+    }
+
+    public static TodoRepository todoRepository(TodoStore store) {
+        return todoRepository(store, null);
+    }
+
+    public static TodoRepository todoRepository(TodoStore store, TodoStore warmupStore) {
+        return proxy(TodoRepository.class, new TodoHandler(store, warmupStore));
+    }
+
+    public static SubtaskRepository subtaskRepository(TodoStore store) {
+        return subtaskRepository(store, null);
+    }
+
+    public static SubtaskRepository subtaskRepository(TodoStore store, TodoStore warmupStore) {
+        return proxy(SubtaskRepository.class, new SubtaskHandler(store, warmupStore));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private abstract static class Handler implements InvocationHandler {
+        private final TodoStore store;
+        private final TodoStore warmupStore;
+
+        Handler(TodoStore store, TodoStore warmupStore) {
+            this.store = store;
+            this.warmupStore = warmupStore;
+        }
+
+        TodoStore store() {
+            return warmupStore != null && RequestInfo.isWarmup() ? warmupStore : store;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            Object[] a = args != null ? args : new Object[0];
+            return switch (method.getName()) {
+                case "toString" -> getClass().getSimpleName() + " (" + store.getClass().getSimpleName() + ")";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == a[0];
+                case "flush" -> null;
+                case "saveAndFlush" -> save(a[0]);
+                case "saveAll" -> {
+                    List<Object> saved = new ArrayList<>();
+                    for (Object entity : (Iterable<?>) a[0]) {
+                        saved.add(save(entity));
+                    }
+                    yield saved;
+                }
+                default -> handle(method.getName(), a);
+            };
+        }
+
+        abstract Object save(Object entity);
+
+        abstract Object handle(String name, Object[] a);
+
+        static UnsupportedOperationException unsupported(String name) {
+            return new UnsupportedOperationException(name + " is not supported by this storage engine");
+        }
+    }
+
+    private static final class TodoHandler extends Handler {
+        TodoHandler(TodoStore store, TodoStore warmupStore) {
+            super(store, warmupStore);
+        }
+
+        @Override
+        Object handle(String name, Object[] a) {
+            return switch (name) {
+                case "findById" -> store().todo(id(a[0])).map(this::entity);
+                case "existsById" -> store().todo(id(a[0])).isPresent();
+                case "count" -> a.length == 0 ? store().todoCount() : throwUnsupported(name);
+                case "delete" -> {
+                    store().deleteTodo(((Todo) a[0]).getId());
+                    yield null;
+                }
+                case "deleteById" -> {
+                    store().deleteTodo(id(a[0]));
+                    yield null;
+                }
+                case "findByIdAndUserId" -> owned(id(a[0]), id(a[1])).map(this::entity);
+                case "existsByIdAndUserId" -> owned(id(a[0]), id(a[1])).isPresent();
+                case "findByUserIdOrderByCreatedAtDesc" -> entities(id(a[0]), todo -> true);
+                case "findByUserIdAndCompletedOrderByCreatedAtDesc" ->
+                        entities(id(a[0]), todo -> todo.completed() == (Boolean) a[1]);
+                case "findActiveTodosByUserId" -> entities(id(a[0]), todo -> !todo.completed());
+                case "findCompletedTodosByUserId" -> entities(id(a[0]), StoredTodo::completed);
+                case "searchByKeyword" -> entities(id(a[0]), matchesTitleOrDescription((String) a[1]));
+                case "searchByTitle" -> entities(id(a[0]), todo -> contains(todo.title(), (String) a[1]));
+                case "findByUserIdAndCreatedAtBetween" -> entities(id(a[0]),
+                        todo -> between(todo.createdAt(), (LocalDateTime) a[1], (LocalDateTime) a[2]));
+                case "findByUserIdAndUpdatedAtAfterOrderByUpdatedAtDesc" -> {
+                    List<Todo> todos = entities(id(a[0]), todo -> todo.updatedAt().isAfter((LocalDateTime) a[1]));
+                    todos.sort(Comparator.comparing(Todo::getUpdatedAt).reversed());
+                    yield todos;
+                }
+                case "findTodosWithIncompleteSubtasks" -> {
+                    Map<Long, List<StoredSubtask>> subtasks = store().subtasksByTodo(id(a[0]));
+                    yield entities(id(a[0]), todo -> subtasks.getOrDefault(todo.id(), List.of()).stream()
+                            .anyMatch(subtask -> !subtask.completed()));
+                }
+                case "findTodosWithoutSubtasks" -> {
+                    Map<Long, List<StoredSubtask>> subtasks = store().subtasksByTodo(id(a[0]));
+                    yield entities(id(a[0]), todo -> !subtasks.containsKey(todo.id()));
+                }
+                case "findTodoViewsByUserId" -> views(id(a[0]), todo -> true);
+                case "findTodoViewsByUserIdAndCompleted" -> views(id(a[0]), todo -> todo.completed() == (Boolean) a[1]);
+                case "searchTodoViewsByKeyword" -> views(id(a[0]), matchesTitleOrDescription((String) a[1]));
+                case "countByUserId" -> (long) store().todos(id(a[0])).size();
+                case "countByUserIdAndCompleted" -> store().todos(id(a[0])).stream()
+                        .filter(todo -> todo.completed() == (Boolean) a[1])
+                        .count();
+                default -> throwUnsupported(name);
+            };
+        }
+
+        @Override
+        Object save(Object entity) {
+            Todo todo = (Todo) entity;
+            StoredTodo stored;
+            if (todo.getId() == null) {
+                if (todo.getUser() == null || todo.getUser().getId() == null) {
+                    throw new IllegalStateException("A new todo needs a user with an id");
+                }
+                stored = store().insertTodo(todo.getUser().getId(), todo.getTitle(), todo.getDescription(),
+                        todo.isCompleted(), todo.getCreatedAt());
+            } else {
+                stored = store().updateTodo(todo.getId(), todo.getTitle(), todo.getDescription(), todo.isCompleted())
+                        .orElseThrow(() -> new IllegalStateException("Todo " + todo.getId() + " no longer exists"));
+            }
+            todo.setId(stored.id());
+            todo.setCreatedAt(stored.createdAt());
+            todo.setUpdatedAt(stored.updatedAt());
+            return todo;
+        }
+
+        private Optional<StoredTodo> owned(long todoId, long userId) {
+            return store().todo(todoId).filter(todo -> todo.userId() == userId);
+        }
+
+        private List<Todo> entities(long userId, Predicate<StoredTodo> filter) {
+            List<Todo> todos = new ArrayList<>();
+            for (StoredTodo todo : store().todos(userId)) {
+                if (filter.test(todo)) {
+                    todos.add(entity(todo));
+                }
+            }
+            return todos;
+        }
+
+        private List<TodoResponse> views(long userId, Predicate<StoredTodo> filter) {
+            List<TodoResponse> views = new ArrayList<>();
+            for (StoredTodo todo : store().todos(userId)) {
+                if (filter.test(todo)) {
+                    views.add(new TodoResponse(todo.id(), todo.title(), todo.description(), todo.completed(),
+                            todo.createdAt(), todo.updatedAt()));
+                }
+            }
+            return views;
+        }
+
+        private Todo entity(StoredTodo stored) {
+            Todo todo = todoStub(stored.id(), stored.userId());
+            todo.setTitle(stored.title());
+            todo.setDescription(stored.description());
+            todo.setCompleted(stored.completed());
+            todo.setCreatedAt(stored.createdAt());
+            todo.setUpdatedAt(stored.updatedAt());
+            for (StoredSubtask subtask : store().subtasks(stored.id())) {
+                todo.getSubtasks().add(subtaskEntity(subtask, todo));
+            }
+            return todo;
+        }
+    }
+
+    private static final class SubtaskHandler extends Handler {
+        SubtaskHandler(TodoStore store, TodoStore warmupStore) {
+            super(store, warmupStore);
+        }
+
+        @Override
+        Object handle(String name, Object[] a) {
+            return switch (name) {
+                case "findById" -> store().subtask(id(a[0])).map(this::entity);
+                case "existsById" -> store().subtask(id(a[0])).isPresent();
+                case "count" -> a.length == 0 ? store().subtaskCount() : throwUnsupported(name);
+                case "delete" -> {
+                    store().deleteSubtask(((Subtask) a[0]).getId());
+                    yield null;
+                }
+                case "deleteById" -> {
+                    store().deleteSubtask(id(a[0]));
+                    yield null;
+                }
+                case "findByTodoIdOrderByCreatedAtAsc" -> entities(id(a[0]), subtask -> true);
+                case "findByIdAndTodoId" -> inTodo(id(a[0]), id(a[1])).map(this::entity);
+                case "existsByIdAndTodoId" -> inTodo(id(a[0]), id(a[1])).isPresent();
+                case "findByTodoIdAndCompletedOrderByCreatedAtAsc" ->
+                        entities(id(a[0]), subtask -> subtask.completed() == (Boolean) a[1]);
+                case "findActiveSubtasksByTodoId" -> entities(id(a[0]), subtask -> !subtask.completed());
+                case "findCompletedSubtasksByTodoId" -> entities(id(a[0]), StoredSubtask::completed);
+                case "searchByTitleInTodo" -> entities(id(a[0]), subtask -> contains(subtask.title(), (String) a[1]));
+                case "findByTodoIdAndCreatedAtBetween" -> entities(id(a[0]),
+                        subtask -> between(subtask.createdAt(), (LocalDateTime) a[1], (LocalDateTime) a[2]));
+                case "findAllSubtasksByUserId" -> forUser(id(a[0]), subtask -> true);
+                case "findAllIncompleteSubtasksByUserId" -> forUser(id(a[0]), subtask -> !subtask.completed());
+                case "searchByTitleForUser" -> forUser(id(a[0]), subtask -> contains(subtask.title(), (String) a[1]));
+                case "findSubtaskViewsByTodoId" -> store().subtasks(id(a[0])).stream()
+                        .map(subtask -> new SubtaskResponse(subtask.id(), subtask.title(), subtask.completed(),
+                                subtask.createdAt(), subtask.updatedAt()))
+                        .toList();
+                case "findSubtaskRowsByTodoIds" -> {
+                    List<Long> todoIds = new ArrayList<>();
+                    for (Object todoId : (Collection<?>) a[0]) {
+                        todoIds.add(id(todoId));
+                    }
+                    yield store().subtasks(todoIds).stream()
+                            .map(subtask -> new SubtaskRow(subtask.todoId(), subtask.id(), subtask.title(),
+                                    subtask.completed(), subtask.createdAt(), subtask.updatedAt()))
+                            .toList();
+                }
+                case "countByTodoId" -> (long) store().subtasks(id(a[0])).size();
+                case "countByTodoIdAndCompleted" -> store().subtasks(id(a[0])).stream()
+                        .filter(subtask -> subtask.completed() == (Boolean) a[1])
+                        .count();
+                case "countAllSubtasksByUserId" -> (long) forUser(id(a[0]), subtask -> true).size();
+                case "countIncompleteSubtasksByUserId" -> (long) forUser(id(a[0]), subtask -> !subtask.completed()).size();
+                default -> throwUnsupported(name);
+            };
+        }
+
+        @Override
+        Object save(Object entity) {
+            Subtask subtask = (Subtask) entity;
+            StoredSubtask stored;
+            if (subtask.getId() == null) {
+                if (subtask.getTodo() == null || subtask.getTodo().getId() == null) {
+                    throw new IllegalStateException("A new subtask needs a todo with an id");
+                }
+                long todoId = subtask.getTodo().getId();
+                stored = store().insertSubtask(todoId, subtask.getTitle(), subtask.isCompleted(), subtask.getCreatedAt())
+                        .orElseThrow(() -> new IllegalStateException("Todo " + todoId + " no longer exists"));
+            } else {
+                stored = store().updateSubtask(subtask.getId(), subtask.getTitle(), subtask.isCompleted())
+                        .orElseThrow(() -> new IllegalStateException("Subtask " + subtask.getId() + " no longer exists"));
+            }
+            subtask.setId(stored.id());
+            subtask.setCreatedAt(stored.createdAt());
+            subtask.setUpdatedAt(stored.updatedAt());
+            return subtask;
+        }
+
+        private Optional<StoredSubtask> inTodo(long subtaskId, long todoId) {
+            return store().subtask(subtaskId).filter(subtask -> subtask.todoId() == todoId);
+        }
+
+        private List<Subtask> entities(long todoId, Predicate<StoredSubtask> filter) {
+            List<Subtask> subtasks = new ArrayList<>();
+            for (StoredSubtask subtask : store().subtasks(todoId)) {
+                if (filter.test(subtask)) {
+                    subtasks.add(entity(subtask));
+                }
+            }
+            return subtasks;
+        }
+
+        private List<Subtask> forUser(long userId, Predicate<StoredSubtask> filter) {
+            List<Subtask> subtasks = new ArrayList<>();
+            store().subtasksByTodo(userId).values().forEach(list -> list.stream()
+                    .filter(filter)
+                    .forEach(subtask -> subtasks.add(subtaskEntity(subtask, todoStub(subtask.todoId(), userId)))));
+            subtasks.sort(Comparator.comparing(Subtask::getCreatedAt).thenComparing(Subtask::getId));
+            return subtasks;
+        }
+
+        private Subtask entity(StoredSubtask stored) {
+            long userId = store().ownerOf(stored.todoId()).orElse(-1L);
+            return subtaskEntity(stored, todoStub(stored.todoId(), userId));
+        }
+    }
+
+    private static Todo todoStub(long todoId, long userId) {
+        User user = new User();
+        user.setId(userId);
+        Todo todo = new Todo();
+        todo.setId(todoId);
+        todo.setUser(user);
+        return todo;
+    }
+
+    private static Subtask subtaskEntity(StoredSubtask stored, Todo todo) {
+        Subtask subtask = new Subtask();
+        subtask.setId(stored.id());
+        subtask.setTodo(todo);
+        subtask.setTitle(stored.title());
+        subtask.setCompleted(stored.completed());
+        subtask.setCreatedAt(stored.createdAt());
+        subtask.setUpdatedAt(stored.updatedAt());
+        return subtask;
+    }
+
+    private static long id(Object value) {
+        return ((Number) value).longValue();
+    }
+
+    private static Predicate<StoredTodo> matchesTitleOrDescription(String keyword) {
+        return todo -> contains(todo.title(), keyword) || contains(todo.description(), keyword);
+    }
+
+    /**
+     * Case-insensitive substring match, like LOWER(x) LIKE LOWER('%keyword%').
+     */
+    private static boolean contains(String value, String keyword) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(keyword.toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean between(LocalDateTime value, LocalDateTime start, LocalDateTime end) {
+        return !value.isBefore(start) && !value.isAfter(end);
+    }
+
+    private static Object throwUnsupported(String name) {
+        throw Handler.unsupported(name);
+    }
+}
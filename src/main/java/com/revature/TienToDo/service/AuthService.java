@@ -4,6 +4,7 @@ import com.revature.TienToDo.dto.AuthResponse;
 import com.revature.TienToDo.dto.LoginRequest;
 import com.revature.TienToDo.dto.RegisterRequest;
 import com.revature.TienToDo.entity.User;
+import com.revature.TienToDo.repository.TodoRepository;
 import com.revature.TienToDo.repository.UserRepository;
 import com.revature.TienToDo.utility.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +23,10 @@ public class AuthService {
     @Autowired
     private UserRepository userRepository;
 
+    // Counts go through the todo repository so they follow app.storage.engine
+    @Autowired
+    private TodoRepository todoRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -31,6 +36,9 @@ public class AuthService {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private UserCaches userCaches;
+
     @Transactional
     public AuthResponse register(RegisterRequest request) {
         // Validate uniqueness
@@ -85,7 +93,7 @@ public class AuthService {
 
     @Transactional(readOnly = true)
     public User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
+        return userCaches.user(username, () -> userRepository.findByUsername(username))
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
@@ -101,21 +109,24 @@ public class AuthService {
             throw new IllegalArgumentException("Email already exists");
         }
         userRepository.updateEmail(userId, email, LocalDateTime.now());
+        userCaches.userChanged(userId);
     }
 
     @Transactional
     public void updatePassword(Long userId, String newPassword) {
         String hash = passwordEncoder.encode(newPassword);
         userRepository.updatePassword(userId, hash, LocalDateTime.now());
+        userCaches.userChanged(userId);
     }
 
     @Transactional(readOnly = true)
     public long getTodoCount(Long userId) {
-        return userRepository.countTodosByUserId(userId);
+        return userCaches.todoCount(userId, () -> todoRepository.countByUserId(userId));
     }
 
     @Transactional(readOnly = true)
     public long getCompletedTodoCount(Long userId) {
-        return userRepository.countCompletedTodosByUserId(userId);
+        return userCaches.completedTodoCount(userId,
+                () -> todoRepository.countByUserIdAndCompleted(userId, true));
     }
 }
@@ -0,0 +1,41 @@
+package com.revature.TienToDo.service;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Tells the other nodes to drop what they cache for one user. Sent on the
+ * {@link InvalidationBus} after the change commits; sentAtMillis lets the
+ * receiver measure how long it took to arrive.
+ */
+public record CacheInvalidation(long userId, Set<UserCaches.Kind> kinds, long sentAtMillis) {
+
+    public CacheInvalidation {
+        kinds = Set.copyOf(kinds);
+    }
+
+    public static CacheInvalidation of(long userId, UserCaches.Kind... kinds) {
+        return new CacheInvalidation(userId, Set.of(kinds), System.currentTimeMillis());
+    }
+
+    /**
+     * The kinds as a bit mask, one bit per ordinal, for the socket bus.
+     */
+    public int kindMask() {
+        int mask = 0;
+        for (UserCaches.Kind kind : kinds) {
+            mask |= 1 << kind.ordinal();
+        }
+        return mask;
+    }
+
+    public static Set<UserCaches.Kind> kindsOf(int mask) {
+        EnumSet<UserCaches.Kind> kinds = EnumSet.noneOf(UserCaches.Kind.class);
+        for (UserCaches.Kind kind : UserCaches.Kind.values()) {
+            if ((mask & (1 << kind.ordinal())) != 0) {
+                kinds.add(kind);
+            }
+        }
+        return kinds;
+    }
+}
@@ -2,43 +2,137 @@ package com.revature.TienToDo.service;
 
 import com.revature.TienToDo.entity.User;
 import com.revature.TienToDo.repository.UserRepository;
+import com.revature.TienToDo.utility.JfrEvents;
+import com.revature.TienToDo.utility.RequestInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserCaches userCaches;
+
+    @Value("${app.admin.usernames:}")
+    private String adminUsernamesProperty;
+
+    private Counter rehashCounter;
+    private Set<String> adminUsernames = Set.of();
+
+    @PostConstruct
+    public void init() {
+        adminUsernames = Arrays.stream(adminUsernamesProperty.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        rehashCounter = Counter.builder("auth.password.rehash")
+                .description("Stored password hashes rewritten at the current BCrypt strength")
+                .register(meterRegistry);
+    }
+
+    /**
+     * For password logins (DaoAuthenticationProvider), which need the stored
+     * hash, so this reads the row rather than the user cache.
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        User user = lookup(username, () -> userRepository.findByUsername(username));
+        return details(user, user.getPasswordHash());
+    }
+
+    /**
+     * For requests carrying a verified access token: the user through
+     * UserCaches, which doesn't keep password hashes. The details have an
+     * empty password, since the token already proved who this is.
+     */
+    public UserDetails loadUserForToken(String username) throws UsernameNotFoundException {
+        User user = lookup(username, () -> userCaches.user(username, () -> userRepository.findByUsername(username)));
+        return details(user, "");
+    }
+
+    private User lookup(String username, Supplier<Optional<User>> loader) {
         logger.debug("Loading user details for username: {}", username);
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> {
-                    logger.warn("Authentication attempted for non-existent username: {}", username);
-                    return new UsernameNotFoundException(
-                            "User not found with username: " + username);
-                });
+        JfrEvents.UserLookup event = new JfrEvents.UserLookup();
+        event.begin();
+        Optional<User> found = loader.get();
+        event.end();
+        if (event.shouldCommit()) {
+            event.username = username;
+            event.found = found.isPresent();
+            event.commitWithRequestInfo();
+        }
 
+        User user = found.orElseThrow(() -> {
+            logger.warn("Authentication attempted for non-existent username: {}", username);
+            return new UsernameNotFoundException(
+                    "User not found with username: " + username);
+        });
+        RequestInfo.setUser(user.getId(), user.getUsername());
+        return user;
+    }
+
+    private UserDetails details(User user, String password) {
         return new org.springframework.security.core.userdetails.User(
                 user.getUsername(),
-                user.getPasswordHash(),
+                password,
                 true,   // enabled
                 true,   // accountNonExpired
                 true,   // credentialsNonExpired
                 true,   // accountNonLocked
-                List.of(new SimpleGrantedAuthority("ROLE_USER"))
+                authoritiesFor(user.getUsername())
         );
     }
+
+    private List<GrantedAuthority> authoritiesFor(String username) {
+        if (adminUsernames.contains(username)) {
+            return List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+        }
+        return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    }
+
+    /**
+     * Called by DaoAuthenticationProvider after a successful login when the stored
+     * hash needs upgrading; newPassword is already encoded at the target strength.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByUsername(user.getUsername()).ifPresent(entity -> {
+            userRepository.updatePassword(entity.getId(), newPassword, LocalDateTime.now());
+            userCaches.userChanged(entity.getId());
+            rehashCounter.increment();
+            logger.debug("Rehashed password for username: {}", user.getUsername());
+        });
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
 }
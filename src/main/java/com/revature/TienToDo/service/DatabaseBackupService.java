@@ -0,0 +1,451 @@
+package com.revature.TienToDo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.core.DB;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Online backups of the main SQLite database (app.backup.*), on demand through
+ * the admin endpoints and every app.backup.interval-minutes when that's above 0.
+ *
+ * A backup copies the live database with SQLite's online backup API,
+ * app.backup.pages-per-step pages at a time with app.backup.step-pause-ms
+ * between steps, then gzips the copy to backup-&lt;timestamp&gt;.sqlite.gz and
+ * keeps the newest app.backup.generations files. In WAL mode the copy reads
+ * from one snapshot held open for its whole run, so writers carry on and the
+ * copy never starts over; the WAL just can't be checkpointed past that
+ * snapshot until it ends. In rollback-journal mode each step takes the shared
+ * lock only briefly, but a write in between restarts the copy.
+ *
+ * A restore decompresses a backup to a scratch file, refuses it unless
+ * PRAGMA integrity_check passes and its schema version matches the live
+ * database, then copies it over the live database the same way. Only the main
+ * database is covered: users, and todos under the jpa storage engine.
+ */
+@Service
+public class DatabaseBackupService {
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseBackupService.class);
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final Pattern BACKUP_NAME = Pattern.compile("backup-\\d{8}-\\d{6}-\\d{3}\\.sqlite\\.gz");
+    // A step that finds the database locked waits BUSY_PAUSE_MS and tries again, up to BUSY_RETRIES times
+    private static final int BUSY_RETRIES = 100;
+    private static final int BUSY_PAUSE_MS = 50;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    @Value("${spring.datasource.url}")
+    private String datasourceUrl;
+
+    @Value("${app.backup.directory:./backups}")
+    private String directory;
+
+    @Value("${app.backup.generations:7}")
+    private int generations;
+
+    @Value("${app.backup.interval-minutes:0}")
+    private long intervalMinutes;
+
+    @Value("${app.backup.pages-per-step:256}")
+    private int pagesPerStep;
+
+    @Value("${app.backup.step-pause-ms:5}")
+    private int stepPauseMs;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserCaches userCaches;
+
+    private final AtomicReference<Progress> running = new AtomicReference<>();
+    private volatile BackupResult lastBackup;
+    private ScheduledExecutorService executor;
+    private Timer backupTimer;
+    private Counter failures;
+
+    /**
+     * One finished backup: the copy's size before and after compression, how
+     * many times the copy had to start over, and how much WAL had built up
+     * behind it by the end.
+     */
+    public record BackupResult(String name, long pages, long databaseBytes, long compressedBytes,
+                               int restarts, long copyMillis, long compressMillis, long walBytes,
+                               Instant finishedAt) {
+    }
+
+    public record BackupFile(String name, long bytes, Instant modifiedAt) {
+    }
+
+    public record RestoreResult(String name, long pages, long millis) {
+    }
+
+    @PostConstruct
+    public void init() {
+        backupTimer = Timer.builder("todo.backup.duration")
+                .description("Time to copy and compress one database backup")
+                .register(meterRegistry);
+        failures = Counter.builder("todo.backup.failures").register(meterRegistry);
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-backup");
+            t.setDaemon(true);
+            return t;
+        });
+        if (intervalMinutes > 0) {
+            executor.scheduleWithFixedDelay(this::scheduledBackup, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+            logger.info("Database backups every {} min to {} (keeping {})", intervalMinutes,
+                    Path.of(directory).toAbsolutePath(), generations);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Start a backup on the backup thread and return right away; status()
+     * shows its progress.
+     */
+    public CompletableFuture<BackupResult> startBackup() {
+        Progress progress = begin();
+        return CompletableFuture.supplyAsync(() -> runBackup(progress), executor);
+    }
+
+    /**
+     * Back up on the calling thread.
+     */
+    public BackupResult backup() {
+        return runBackup(begin());
+    }
+
+    public boolean isRunning() {
+        return running.get() != null;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        Progress progress = running.get();
+        status.put("running", progress != null);
+        if (progress != null) {
+            status.put("operation", progress.operation);
+            status.put("pagesRemaining", progress.remaining.get());
+            status.put("pageCount", progress.pageCount.get());
+            status.put("restarts", progress.restarts.get());
+        }
+        status.put("lastBackup", lastBackup);
+        status.put("backups", list());
+        return status;
+    }
+
+    public List<BackupFile> list() {
+        Path dir = Path.of(directory);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> BACKUP_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparing((Path file) -> file.getFileName().toString()).reversed())
+                    .map(file -> {
+                        try {
+                            return new BackupFile(file.getFileName().toString(), Files.size(file),
+                                    Files.getLastModifiedTime(file).toInstant());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Replace the live database with a backup after checking it. Writers wait
+     * on the database lock while the pages are copied in.
+     */
+    public RestoreResult restore(String name) {
+        if (!BACKUP_NAME.matcher(name).matches() || !Files.isRegularFile(Path.of(directory, name))) {
+            throw new IllegalArgumentException("No backup named " + name);
+        }
+        Progress progress = new Progress("restore");
+        if (!running.compareAndSet(null, progress)) {
+            throw new IllegalArgumentException("A backup or restore is already running");
+        }
+        Path scratch = Path.of(directory, name + ".restore");
+        try {
+            long start = System.nanoTime();
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(Path.of(directory, name)), BUFFER_SIZE)) {
+                Files.copy(in, scratch, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Path database = databaseFile();
+            try (Connection target = DriverManager.getConnection("jdbc:sqlite:" + database)) {
+                check(name, scratch, target);
+                try (Statement statement = target.createStatement()) {
+                    statement.execute("PRAGMA busy_timeout = 10000");
+                }
+                int rc = ((SQLiteConnection) target).getDatabase().restore("main", scratch.toString(), progress,
+                        BUSY_PAUSE_MS, BUSY_RETRIES, pagesPerStep);
+                if (rc != SQLiteErrorCode.SQLITE_OK.code) {
+                    throw new SQLException("Restore of " + name + " failed: " + SQLiteErrorCode.getErrorCode(rc));
+                }
+            }
+            userCaches.clear();
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            logger.info("Restored {} into {} ({} pages, {} ms)", name, database, progress.pageCount.get(), millis);
+            return new RestoreResult(name, progress.pageCount.get(), millis);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Restore of " + name + " failed", e);
+        } finally {
+            running.set(null);
+            deleteQuietly(scratch);
+        }
+    }
+
+    private void scheduledBackup() {
+        try {
+            backup();
+        } catch (IllegalArgumentException e) {
+            logger.info("Skipping the scheduled backup: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Scheduled backup failed", e);
+        }
+    }
+
+    private Progress begin() {
+        Progress progress = new Progress("backup");
+        if (!running.compareAndSet(null, progress)) {
+            throw new IllegalArgumentException("A backup or restore is already running");
+        }
+        return progress;
+    }
+
+    private BackupResult runBackup(Progress progress) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String name = "backup-" + LocalDateTime.now().format(STAMP) + ".sqlite.gz";
+        Path dir = Path.of(directory);
+        Path copy = dir.resolve(name + ".copy");
+        Path partial = dir.resolve(name + ".partial");
+        try {
+            Path database = databaseFile();
+            Files.createDirectories(dir);
+
+            long copyStart = System.nanoTime();
+            long walBytes;
+            try (Connection source = DriverManager.getConnection("jdbc:sqlite:" + database)) {
+                boolean wal = holdSnapshot(source);
+                if (!wal) {
+                    logger.warn("{} is not in WAL mode; writes during the backup restart the copy", database);
+                }
+                int rc = ((SQLiteConnection) source).getDatabase().backup("main", copy.toString(), progress,
+                        BUSY_PAUSE_MS, BUSY_RETRIES, pagesPerStep);
+                if (rc != SQLiteErrorCode.SQLITE_OK.code) {
+                    throw new SQLException("Backup failed: " + SQLiteErrorCode.getErrorCode(rc));
+                }
+                walBytes = sizeOf(database.resolveSibling(database.getFileName() + "-wal"));
+                if (wal) {
+                    source.rollback();
+                }
+            }
+            long copyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - copyStart);
+
+            long compressStart = System.nanoTime();
+            long databaseBytes = Files.size(copy);
+            try (InputStream in = Files.newInputStream(copy);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial), BUFFER_SIZE)) {
+                in.transferTo(out);
+            }
+            Files.move(partial, dir.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+            long compressMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - compressStart);
+
+            BackupResult result = new BackupResult(name, progress.pageCount.get(), databaseBytes,
+                    Files.size(dir.resolve(name)), progress.restarts.get(), copyMillis, compressMillis, walBytes,
+                    Instant.now());
+            lastBackup = result;
+            prune(dir);
+            logger.info("Backed up {} to {}: {} -> {} bytes, copy {} ms ({} restarts), compress {} ms",
+                    database, name, databaseBytes, result.compressedBytes(), copyMillis, result.restarts(),
+                    compressMillis);
+            return result;
+        } catch (IOException | SQLException e) {
+            failures.increment();
+            throw new IllegalStateException("Backup failed", e);
+        } catch (RuntimeException e) {
+            failures.increment();
+            throw e;
+        } finally {
+            sample.stop(backupTimer);
+            running.set(null);
+            deleteQuietly(copy);
+            deleteQuietly(partial);
+        }
+    }
+
+    /**
+     * In WAL mode, open a read transaction so every step copies the same
+     * snapshot. Returns whether the database is in WAL mode.
+     */
+    private static boolean holdSnapshot(Connection source) throws SQLException {
+        String mode;
+        try (Statement statement = source.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA journal_mode")) {
+            mode = rs.next() ? rs.getString(1) : "";
+        }
+        if (!"wal".equalsIgnoreCase(mode)) {
+            return false;
+        }
+        source.setAutoCommit(false);
+        try (Statement statement = source.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM sqlite_schema")) {
+            rs.next();
+        }
+        return true;
+    }
+
+    private static void check(String name, Path scratch, Connection live) {
+        try (Connection backup = DriverManager.getConnection("jdbc:sqlite:" + scratch);
+             Statement statement = backup.createStatement()) {
+            List<String> problems = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery("PRAGMA integrity_check")) {
+                while (rs.next() && problems.size() < 5) {
+                    problems.add(rs.getString(1));
+                }
+            }
+            if (!problems.equals(List.of("ok"))) {
+                throw new IllegalArgumentException("Backup " + name + " failed its integrity check: " + problems);
+            }
+            int backupVersion = userVersion(backup);
+            int liveVersion = userVersion(live);
+            if (backupVersion != liveVersion) {
+                throw new IllegalArgumentException("Backup " + name + " is at schema version " + backupVersion
+                        + " but the database is at " + liveVersion);
+            }
+        } catch (SQLException e) {
+            throw new IllegalArgumentException("Backup " + name + " can't be read: " + e.getMessage(), e);
+        }
+    }
+
+    private static int userVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private void prune(Path dir) {
+        List<BackupFile> backups = list();
+        for (BackupFile old : backups.subList(Math.min(Math.max(generations, 1), backups.size()), backups.size())) {
+            deleteQuietly(dir.resolve(old.name()));
+            logger.info("Deleted old backup {}", old.name());
+        }
+    }
+
+    /**
+     * The database file behind spring.datasource.url.
+     */
+    Path databaseFile() {
+        String prefix = "jdbc:sqlite:";
+        if (!datasourceUrl.startsWith(prefix)) {
+            throw new IllegalArgumentException("Backups need a SQLite datasource, not " + datasourceUrl);
+        }
+        String path = datasourceUrl.substring(prefix.length());
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        if (path.startsWith("file:")) {
+            path = path.substring("file:".length());
+        }
+        if (path.isEmpty() || path.equals(":memory:")) {
+            throw new IllegalArgumentException("Backups need a file-based SQLite datasource, not " + datasourceUrl);
+        }
+        return Path.of(path).toAbsolutePath();
+    }
+
+    private static long sizeOf(Path file) throws IOException {
+        return Files.exists(file) ? Files.size(file) : 0;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(file.resolveSibling(file.getFileName() + "-journal"));
+        } catch (IOException e) {
+            logger.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Page counts reported after each step. The remaining count going up means
+     * the source changed under a rollback-journal copy and it started over.
+     * The pause here, on the copying thread, is what leaves the database to
+     * the writers between steps.
+     */
+    private final class Progress implements DB.ProgressObserver {
+        private final String operation;
+        private final AtomicInteger remaining = new AtomicInteger(-1);
+        private final AtomicInteger pageCount = new AtomicInteger();
+        private final AtomicInteger restarts = new AtomicInteger();
+
+        private Progress(String operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public void progress(int remainingPages, int totalPages) {
+            int previous = remaining.getAndSet(remainingPages);
+            if (previous >= 0 && remainingPages > previous) {
+                restarts.incrementAndGet();
+            }
+            pageCount.set(totalPages);
+            if (remainingPages > 0 && stepPauseMs > 0 && operation.equals("backup")) {
+                try {
+                    Thread.sleep(stepPauseMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
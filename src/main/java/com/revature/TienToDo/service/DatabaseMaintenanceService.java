@@ -0,0 +1,490 @@
+package com.revature.TienToDo.service;
+
+import com.revature.TienToDo.utility.AdaptiveConcurrencyLimiter;
+import com.revature.TienToDo.utility.RequestInfoFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background upkeep of the main SQLite database (app.db.maintenance.*), run
+ * from one thread that looks every check-interval-seconds at what's due:
+ *
+ *   checkpoint  a PASSIVE WAL checkpoint once the WAL passes
+ *               wal.passive-threshold-mb, TRUNCATE past wal.truncate-threshold-mb
+ *               (which waits for readers, so only when the app is quiet)
+ *   vacuum      PRAGMA incremental_vacuum a few pages at a time every
+ *               vacuum.interval-minutes while the free pages are over
+ *               vacuum.min-free-percent, for at most vacuum.max-seconds
+ *   optimize    PRAGMA optimize every optimize.interval-minutes, or a full
+ *               ANALYZE while the database has no statistics yet
+ *
+ * A due task is put off while the app is busy: admitted requests above
+ * busy-utilization of the adaptive concurrency limit, or a backup running.
+ * With app.concurrency.enabled=false the limiter admits nothing and its limit
+ * stays at initial-limit, so requests in progress (RequestInfoFilter) are
+ * measured against that instead.
+ * After max-deferral-minutes it runs anyway, as a PASSIVE checkpoint if it's
+ * the checkpoint. The vacuum also checks between steps and stops early.
+ *
+ * Incremental vacuum only works on a database created with
+ * auto_vacuum=INCREMENTAL; convert-auto-vacuum switches an existing one over
+ * with a one-time VACUUM at startup, which blocks everything until it's done.
+ */
+@Service
+public class DatabaseMaintenanceService {
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseMaintenanceService.class);
+    private static final int AUTO_VACUUM_INCREMENTAL = 2;
+
+    public enum Task {
+        CHECKPOINT, VACUUM, OPTIMIZE;
+
+        public static Task fromParam(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Task must be one of checkpoint, vacuum, optimize");
+            }
+        }
+    }
+
+    @Value("${app.db.maintenance.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.db.maintenance.check-interval-seconds:10}")
+    private long checkIntervalSeconds = 10;
+
+    @Value("${app.db.maintenance.busy-utilization:0.5}")
+    private double busyUtilization = 0.5;
+
+    @Value("${app.db.maintenance.max-deferral-minutes:30}")
+    private long maxDeferralMinutes = 30;
+
+    @Value("${app.db.maintenance.wal.passive-threshold-mb:16}")
+    private long passiveThresholdMb = 16;
+
+    @Value("${app.db.maintenance.wal.truncate-threshold-mb:64}")
+    private long truncateThresholdMb = 64;
+
+    @Value("${app.db.maintenance.vacuum.interval-minutes:60}")
+    private long vacuumIntervalMinutes = 60;
+
+    @Value("${app.db.maintenance.vacuum.min-free-percent:10}")
+    private double vacuumMinFreePercent = 10;
+
+    @Value("${app.db.maintenance.vacuum.pages-per-step:256}")
+    private int vacuumPagesPerStep = 256;
+
+    @Value("${app.db.maintenance.vacuum.step-pause-ms:20}")
+    private long vacuumStepPauseMs = 20;
+
+    @Value("${app.db.maintenance.vacuum.max-seconds:30}")
+    private long vacuumMaxSeconds = 30;
+
+    @Value("${app.db.maintenance.optimize.interval-minutes:360}")
+    private long optimizeIntervalMinutes = 360;
+
+    @Value("${app.db.maintenance.convert-auto-vacuum:false}")
+    private boolean convertAutoVacuum;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.concurrency.enabled:true}")
+    private boolean concurrencyEnabled = true;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Autowired
+    private RequestInfoFilter requestInfoFilter;
+
+    @Autowired
+    private DatabaseBackupService backupService;
+
+    private final Map<Task, TaskState> tasks = new EnumMap<>(Task.class);
+    private volatile DatabaseStats lastStats;
+    // A checkpoint leaves the WAL file at its size, so its size alone would make one due on every check
+    private volatile FileTime walModifiedAtCheckpoint;
+    private ScheduledExecutorService executor;
+    private Path database;
+
+    /**
+     * Page counts from the header and the WAL file's size; fragmentation is
+     * the share of pages on the freelist.
+     */
+    public record DatabaseStats(long pageSize, long pageCount, long freelistCount, double fragmentationPercent,
+                                long walBytes, String autoVacuum, Instant measuredAt) {
+    }
+
+    /**
+     * The last run of one task and how often it has been put off.
+     */
+    public record TaskReport(String task, long runs, long deferrals, Instant lastRunAt, Long lastMillis,
+                             String lastResult, Instant nextDueAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            database = backupService.databaseFile();
+        } catch (IllegalArgumentException e) {
+            logger.info("Database maintenance off: {}", e.getMessage());
+            return;
+        }
+        Instant now = Instant.now();
+        for (Task task : Task.values()) {
+            TaskState state = new TaskState(task);
+            state.nextDueAt = task == Task.CHECKPOINT ? now : now.plus(interval(task));
+            state.register(meterRegistry);
+            tasks.put(task, state);
+        }
+        Gauge.builder("todo.db.wal.bytes", this, s -> s.lastStats == null ? 0 : s.lastStats.walBytes())
+                .description("Size of the main database's WAL file at the last maintenance check")
+                .register(meterRegistry);
+        Gauge.builder("todo.db.fragmentation", this, s -> s.lastStats == null ? 0 : s.lastStats.fragmentationPercent())
+                .description("Percent of the main database's pages on the freelist")
+                .register(meterRegistry);
+
+        if (convertAutoVacuum) {
+            convertToIncrementalVacuum();
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-maintenance");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::tick, checkIntervalSeconds, checkIntervalSeconds, TimeUnit.SECONDS);
+        logger.info("Database maintenance every {}s for {} (WAL checkpoint at {} MB, vacuum every {} min, optimize every {} min)",
+                checkIntervalSeconds, database, passiveThresholdMb, vacuumIntervalMinutes, optimizeIntervalMinutes);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", database != null);
+        if (database != null) {
+            status.put("busy", isBusy());
+            status.put("database", lastStats);
+            status.put("tasks", tasks.values().stream().map(TaskState::report).toList());
+        }
+        return status;
+    }
+
+    /**
+     * Run a task now, whatever the load, and return its report.
+     */
+    public TaskReport runNow(Task task) {
+        if (database == null) {
+            throw new IllegalArgumentException("Database maintenance is not enabled");
+        }
+        runTask(task, true);
+        return tasks.get(task).report();
+    }
+
+    void tick() {
+        try {
+            DatabaseStats stats = refreshStats();
+            if (stats == null) {
+                return;
+            }
+            Instant now = Instant.now();
+            for (Task task : Task.values()) {
+                TaskState state = tasks.get(task);
+                boolean due = task == Task.CHECKPOINT
+                        ? stats.walBytes() >= mb(passiveThresholdMb) && walWrittenSinceCheckpoint()
+                        : !now.isBefore(state.nextDueAt);
+                if (!due) {
+                    continue;
+                }
+                if (isBusy() && !state.overdue(now)) {
+                    state.defer(now);
+                    continue;
+                }
+                runTask(task, false);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Database maintenance check failed", e);
+        }
+    }
+
+    private synchronized void runTask(Task task, boolean forced) {
+        TaskState state = tasks.get(task);
+        long start = System.nanoTime();
+        String result;
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+             Statement statement = connection.createStatement()) {
+            // Maintenance gives way to the app: wait briefly for locks, then give up and retry later
+            statement.execute("PRAGMA busy_timeout = 250");
+            result = switch (task) {
+                case CHECKPOINT -> checkpoint(statement, forced);
+                case VACUUM -> vacuum(statement, forced);
+                case OPTIMIZE -> optimize(statement);
+            };
+        } catch (SQLException e) {
+            result = "failed: " + e.getMessage();
+            logger.warn("Database maintenance task {} failed", task, e);
+        }
+        long nanos = System.nanoTime() - start;
+        state.ran(Instant.now(), nanos, result);
+        refreshStats();
+        if (task == Task.CHECKPOINT) {
+            logger.debug("Database maintenance checkpoint: {} ({} ms)", result, TimeUnit.NANOSECONDS.toMillis(nanos));
+        } else {
+            logger.info("Database maintenance {}: {} ({} ms)", task.name().toLowerCase(Locale.ROOT), result,
+                    TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    private String checkpoint(Statement statement, boolean forced) throws SQLException {
+        long before = walBytes();
+        walModifiedAtCheckpoint = walModified();
+        boolean truncate = before >= mb(truncateThresholdMb) && (forced || !isBusy());
+        String mode = truncate ? "TRUNCATE" : "PASSIVE";
+        try (ResultSet rs = statement.executeQuery("PRAGMA wal_checkpoint(" + mode + ")")) {
+            rs.next();
+            boolean blocked = rs.getInt(1) != 0;
+            int frames = rs.getInt(2);
+            int checkpointed = rs.getInt(3);
+            return String.format("%s checkpointed %d of %d frames%s, WAL %d -> %d bytes", mode, checkpointed,
+                    frames, blocked ? " (blocked by a reader)" : "", before, walBytes());
+        }
+    }
+
+    private String vacuum(Statement statement, boolean forced) throws SQLException {
+        if (pragma(statement, "auto_vacuum") != AUTO_VACUUM_INCREMENTAL) {
+            return "skipped: auto_vacuum is not INCREMENTAL (see app.db.maintenance.convert-auto-vacuum)";
+        }
+        long pageCount = pragma(statement, "page_count");
+        long free = pragma(statement, "freelist_count");
+        double percent = pageCount == 0 ? 0 : 100.0 * free / pageCount;
+        if (!forced && percent < vacuumMinFreePercent) {
+            return String.format("skipped: %.1f%% free pages", percent);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(vacuumMaxSeconds);
+        long released = 0;
+        String stopped = "done";
+        while (free > 0) {
+            if (!forced && isBusy()) {
+                stopped = "stopped under load";
+                break;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                stopped = "stopped at the time limit";
+                break;
+            }
+            // Each row stepped frees one page, so the result has to be read to the end
+            if (statement.execute("PRAGMA incremental_vacuum(" + vacuumPagesPerStep + ")")) {
+                try (ResultSet rs = statement.getResultSet()) {
+                    while (rs.next()) {
+                        // draining
+                    }
+                }
+            }
+            long after = pragma(statement, "freelist_count");
+            if (after >= free) {
+                break;
+            }
+            released += free - after;
+            free = after;
+            pause(vacuumStepPauseMs);
+        }
+        return String.format("released %d of %d pages, %s", released, released + free, stopped);
+    }
+
+    private static String optimize(Statement statement) throws SQLException {
+        boolean hasStats;
+        try (ResultSet rs = statement.executeQuery(
+                "SELECT COUNT(*) FROM sqlite_schema WHERE type = 'table' AND name = 'sqlite_stat1'")) {
+            hasStats = rs.next() && rs.getInt(1) > 0;
+        }
+        if (!hasStats) {
+            statement.execute("ANALYZE");
+            return "ANALYZE (no statistics yet)";
+        }
+        // Caps the rows read per index, so a re-analysis stays cheap on a large table
+        statement.execute("PRAGMA analysis_limit = 1000");
+        statement.execute("PRAGMA optimize");
+        return "PRAGMA optimize";
+    }
+
+    private void convertToIncrementalVacuum() {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+             Statement statement = connection.createStatement()) {
+            if (pragma(statement, "auto_vacuum") == AUTO_VACUUM_INCREMENTAL) {
+                return;
+            }
+            long start = System.nanoTime();
+            logger.warn("Switching {} to auto_vacuum=INCREMENTAL; the database is locked until VACUUM finishes", database);
+            statement.execute("PRAGMA auto_vacuum = INCREMENTAL");
+            statement.execute("VACUUM");
+            logger.info("VACUUM finished in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (SQLException e) {
+            logger.error("Could not switch {} to incremental vacuum", database, e);
+        }
+    }
+
+    private DatabaseStats refreshStats() {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+             Statement statement = connection.createStatement()) {
+            long pageSize = pragma(statement, "page_size");
+            long pageCount = pragma(statement, "page_count");
+            long free = pragma(statement, "freelist_count");
+            long autoVacuum = pragma(statement, "auto_vacuum");
+            lastStats = new DatabaseStats(pageSize, pageCount, free, pageCount == 0 ? 0 : 100.0 * free / pageCount,
+                    walBytes(), autoVacuum == 0 ? "NONE" : autoVacuum == 1 ? "FULL" : "INCREMENTAL", Instant.now());
+        } catch (SQLException e) {
+            logger.warn("Could not read database stats: {}", e.getMessage());
+        }
+        return lastStats;
+    }
+
+    /**
+     * Whether the app is busy enough that maintenance should wait.
+     */
+    boolean isBusy() {
+        int inFlight = concurrencyEnabled ? limiter.getInFlight() : requestInfoFilter.getActiveRequests();
+        return backupService.isRunning() || inFlight >= limiter.getLimit() * busyUtilization;
+    }
+
+    private long walBytes() {
+        Path wal = database.resolveSibling(database.getFileName() + "-wal");
+        try {
+            return Files.exists(wal) ? Files.size(wal) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private boolean walWrittenSinceCheckpoint() {
+        FileTime modified = walModified();
+        return modified != null && !modified.equals(walModifiedAtCheckpoint);
+    }
+
+    private FileTime walModified() {
+        Path wal = database.resolveSibling(database.getFileName() + "-wal");
+        try {
+            return Files.exists(wal) ? Files.getLastModifiedTime(wal) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Duration interval(Task task) {
+        return switch (task) {
+            case CHECKPOINT -> Duration.ofSeconds(checkIntervalSeconds);
+            case VACUUM -> Duration.ofMinutes(vacuumIntervalMinutes);
+            case OPTIMIZE -> Duration.ofMinutes(optimizeIntervalMinutes);
+        };
+    }
+
+    private static long pragma(Statement statement, String name) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("PRAGMA " + name)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private static long mb(long megabytes) {
+        return megabytes * 1024 * 1024;
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class TaskState {
+        private final Task task;
+        private long runs;
+        private long deferrals;
+        private Instant deferredSince;
+        private Instant lastRunAt;
+        private Long lastMillis;
+        private String lastResult;
+        private Instant nextDueAt;
+        private Timer timer;
+        private Counter deferred;
+
+        private TaskState(Task task) {
+            this.task = task;
+        }
+
+        private void register(MeterRegistry registry) {
+            String name = task.name().toLowerCase(Locale.ROOT);
+            timer = Timer.builder("todo.db.maintenance").tag("task", name)
+                    .description("Time taken by one database maintenance task").register(registry);
+            deferred = Counter.builder("todo.db.maintenance.deferred").tag("task", name)
+                    .description("Due maintenance tasks put off because the app was busy").register(registry);
+        }
+
+        private synchronized boolean overdue(Instant now) {
+            return deferredSince != null && deferredSince.plus(Duration.ofMinutes(maxDeferralMinutes)).isBefore(now);
+        }
+
+        private synchronized void defer(Instant now) {
+            if (deferredSince == null) {
+                deferredSince = now;
+            }
+            deferrals++;
+            deferred.increment();
+        }
+
+        private synchronized void ran(Instant now, long nanos, String result) {
+            runs++;
+            deferredSince = null;
+            lastRunAt = now;
+            lastMillis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            lastResult = result;
+            nextDueAt = now.plus(interval(task));
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        private synchronized TaskReport report() {
+            return new TaskReport(task.name().toLowerCase(Locale.ROOT), runs, deferrals, lastRunAt, lastMillis, lastResult,
+                    task == Task.CHECKPOINT ? null : nextDueAt);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.revature.TienToDo.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link CacheInvalidation}s between the nodes of a cluster
+ * (app.cluster.bus). A node never receives its own messages. Delivery is best
+ * effort: a message lost to a dead peer is covered by the caches' TTL.
+ */
+public interface InvalidationBus extends AutoCloseable {
+
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Registers the receiver for messages from other nodes; called once, at startup.
+     */
+    void subscribe(Consumer<CacheInvalidation> listener);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,107 @@
+package com.revature.TienToDo.service;
+
+import com.revature.TienToDo.utility.JfrEvents;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Starts and stops a single on-demand Flight Recorder recording for the admin
+ * endpoints. The recording uses one of the JDK's built-in settings files and
+ * includes the application's own events (see JfrEvents); it is capped by
+ * app.jfr.max-age-seconds and app.jfr.max-size-mb so a forgotten recording
+ * cannot fill the disk.
+ */
+@Service
+public class JfrRecordingService {
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecordingService.class);
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    @Value("${app.jfr.max-age-seconds:900}")
+    private long maxAgeSeconds;
+
+    @Value("${app.jfr.max-size-mb:256}")
+    private long maxSizeMb;
+
+    private Recording recording;
+
+    public synchronized Map<String, Object> start(String settings) {
+        if (!SETTINGS.contains(settings)) {
+            throw new IllegalArgumentException("Settings must be one of " + SETTINGS);
+        }
+        if (recording != null) {
+            throw new IllegalArgumentException("A recording is already running");
+        }
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not load JFR settings: " + settings, e);
+        }
+
+        Recording r = new Recording(configuration);
+        r.setName("tientodo-" + settings);
+        r.setToDisk(true);
+        r.setMaxAge(Duration.ofSeconds(maxAgeSeconds));
+        r.setMaxSize(maxSizeMb * 1024 * 1024);
+        // Custom events are on by default; enabled here so a settings file can't switch them off
+        for (Class<? extends JfrEvents.RequestEvent> type : JfrEvents.ALL) {
+            r.enable(type);
+        }
+        r.start();
+        recording = r;
+
+        logger.info("JFR recording started (settings: {}, max age: {}s)", settings, maxAgeSeconds);
+        return status();
+    }
+
+    /**
+     * Stop the running recording and write it to a temporary file. The caller
+     * owns the file and should delete it once streamed.
+     */
+    public synchronized Path stop() throws IOException {
+        if (recording == null) {
+            throw new IllegalArgumentException("No recording is running");
+        }
+
+        Recording r = recording;
+        recording = null;
+        try {
+            r.stop();
+            Path file = Files.createTempFile("tientodo-", ".jfr");
+            r.dump(file);
+            logger.info("JFR recording stopped ({} bytes)", Files.size(file));
+            return file;
+        } finally {
+            r.close();
+        }
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        boolean running = recording != null && recording.getState() == RecordingState.RUNNING;
+        status.put("running", running);
+        if (running) {
+            Instant startTime = recording.getStartTime();
+            status.put("name", recording.getName());
+            status.put("startedAt", startTime.toString());
+            status.put("durationSeconds", Duration.between(startTime, Instant.now()).toSeconds());
+        }
+        return status;
+    }
+}
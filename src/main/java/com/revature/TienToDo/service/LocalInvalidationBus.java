@@ -0,0 +1,45 @@
+package com.revature.TienToDo.service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * An {@link InvalidationBus} between application contexts in one JVM: every bus
+ * opened on the same channel name delivers to the others, synchronously on the
+ * publishing thread. For tests and for running several nodes in one process.
+ */
+public class LocalInvalidationBus implements InvalidationBus {
+    private static final ConcurrentHashMap<String, Set<LocalInvalidationBus>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private final CopyOnWriteArrayList<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    public LocalInvalidationBus(String channel) {
+        this.channel = channel;
+        CHANNELS.computeIfAbsent(channel, name -> ConcurrentHashMap.newKeySet()).add(this);
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        for (LocalInvalidationBus member : CHANNELS.getOrDefault(channel, Set.of())) {
+            if (member != this) {
+                member.listeners.forEach(listener -> listener.accept(invalidation));
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        CHANNELS.computeIfPresent(channel, (name, members) -> {
+            members.remove(this);
+            return members.isEmpty() ? null : members;
+        });
+    }
+}
@@ -0,0 +1,201 @@
+package com.revature.TienToDo.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * An {@link InvalidationBus} over TCP: each node listens on app.cluster.bus.port
+ * and keeps one connection open to every peer, reconnecting on the next message
+ * after a failure. Frames are fixed-size (userId, kind mask, send time), so a
+ * reader needs no parsing beyond three reads.
+ *
+ * Publishing only queues the frame; a sender thread per peer writes it, so a
+ * slow or dead peer never holds up a request. A frame that can't be written
+ * after one reconnect is dropped and counted.
+ */
+public class SocketInvalidationBus implements InvalidationBus {
+    private static final Logger logger = LoggerFactory.getLogger(SocketInvalidationBus.class);
+
+    private static final int CONNECT_TIMEOUT_MS = 1000;
+
+    private final ServerSocket server;
+    private final List<Peer> peers = new ArrayList<>();
+    private final CopyOnWriteArrayList<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<Socket> inbound = new CopyOnWriteArrayList<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean closed;
+
+    public SocketInvalidationBus(InetAddress bindAddress, int port, List<InetSocketAddress> peerAddresses)
+            throws IOException {
+        server = new ServerSocket(port, 50, bindAddress);
+        for (InetSocketAddress address : peerAddresses) {
+            peers.add(new Peer(address));
+        }
+        Thread acceptor = new Thread(this::accept, "invalidation-bus-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        logger.info("Invalidation bus listening on {} with {} peers", server.getLocalSocketAddress(), peers.size());
+    }
+
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        for (Peer peer : peers) {
+            peer.send(invalidation);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            server.close();
+        } catch (IOException e) {
+            logger.debug("Closing the invalidation bus listener: {}", e.getMessage());
+        }
+        inbound.forEach(SocketInvalidationBus::closeQuietly);
+        peers.forEach(Peer::close);
+    }
+
+    private void accept() {
+        while (!closed) {
+            try {
+                Socket socket = server.accept();
+                inbound.add(socket);
+                Thread reader = new Thread(() -> read(socket), "invalidation-bus-read");
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    logger.warn("Invalidation bus accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void read(Socket socket) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            while (!closed) {
+                long userId = in.readLong();
+                int mask = in.readInt();
+                long sentAtMillis = in.readLong();
+                CacheInvalidation invalidation =
+                        new CacheInvalidation(userId, CacheInvalidation.kindsOf(mask), sentAtMillis);
+                for (Consumer<CacheInvalidation> listener : listeners) {
+                    listener.accept(invalidation);
+                }
+            }
+        } catch (EOFException e) {
+            // The peer closed the connection; it reconnects when it next has something to send
+        } catch (IOException e) {
+            if (!closed) {
+                logger.debug("Invalidation bus connection from {} lost: {}",
+                        socket.getRemoteSocketAddress(), e.getMessage());
+            }
+        } finally {
+            inbound.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // Already gone
+        }
+    }
+
+    private final class Peer {
+        private final InetSocketAddress address;
+        private final ExecutorService sender;
+        private volatile Socket socket;
+        private DataOutputStream out;
+
+        private Peer(InetSocketAddress address) {
+            this.address = address;
+            this.sender = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "invalidation-bus-send-" + address.getPort());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        private void send(CacheInvalidation invalidation) {
+            if (!closed) {
+                sender.execute(() -> write(invalidation));
+            }
+        }
+
+        // Only ever runs on this peer's sender thread
+        private void write(CacheInvalidation invalidation) {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                try {
+                    if (out == null) {
+                        socket = new Socket();
+                        socket.setTcpNoDelay(true);
+                        socket.connect(address, CONNECT_TIMEOUT_MS);
+                        out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                    }
+                    out.writeLong(invalidation.userId());
+                    out.writeInt(invalidation.kindMask());
+                    out.writeLong(invalidation.sentAtMillis());
+                    out.flush();
+                    return;
+                } catch (IOException e) {
+                    disconnect();
+                    if (attempt == 1) {
+                        dropped.incrementAndGet();
+                        logger.warn("Dropped a cache invalidation for {}: {}", address, e.getMessage());
+                    }
+                }
+            }
+        }
+
+        private void disconnect() {
+            if (socket != null) {
+                closeQuietly(socket);
+            }
+            socket = null;
+            out = null;
+        }
+
+        private void close() {
+            sender.shutdownNow();
+            Socket current = socket;
+            if (current != null) {
+                closeQuietly(current);
+            }
+        }
+    }
+}
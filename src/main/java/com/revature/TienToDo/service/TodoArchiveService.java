@@ -0,0 +1,190 @@
+package com.revature.TienToDo.service;
+
+import com.revature.TienToDo.dto.TodoEvent;
+import com.revature.TienToDo.repository.TodoArchive;
+import com.revature.TienToDo.repository.TodoArchive.Moved;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves completed todos last changed more than app.archive.after-days ago
+ * into the {@link TodoArchive}, every app.archive.interval-minutes, in
+ * batches of app.archive.batch-size with batch-pause-ms between them.
+ *
+ * Todos have no completion time, so updated_at stands in for it: marking a
+ * todo complete is its last change unless it's edited afterwards.
+ *
+ * Like database maintenance, a run doesn't start while the app is busy and
+ * stops between batches when it becomes busy; the next run carries on.
+ */
+@Service
+@ConditionalOnProperty(name = "app.archive.enabled", havingValue = "true")
+public class TodoArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(TodoArchiveService.class);
+
+    @Value("${app.archive.after-days:30}")
+    private long afterDays = 30;
+
+    @Value("${app.archive.interval-minutes:60}")
+    private long intervalMinutes = 60;
+
+    @Value("${app.archive.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${app.archive.batch-pause-ms:50}")
+    private long batchPauseMs = 50;
+
+    @Autowired
+    private TodoArchive todoArchive;
+
+    @Autowired
+    private DatabaseMaintenanceService maintenanceService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ReentrantLock running = new ReentrantLock();
+    private Counter movedCounter;
+    private ScheduledExecutorService executor;
+    private volatile ArchiveRun lastRun;
+
+    /**
+     * One archival run; stoppedEarly when it gave way to load before
+     * running out of todos to move.
+     */
+    public record ArchiveRun(LocalDateTime cutoff, int moved, int batches, boolean stoppedEarly, long millis,
+                             Instant finishedAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        if (afterDays < 0 || batchSize < 1) {
+            throw new IllegalArgumentException("app.archive.after-days must be 0 or more and batch-size at least 1");
+        }
+        movedCounter = Counter.builder("todo.archive.moved")
+                .description("Todos moved into the archive")
+                .register(meterRegistry);
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "todo-archive");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::scheduledRun, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        logger.info("Archiving completed todos older than {} days every {} min", afterDays, intervalMinutes);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", true);
+        status.put("afterDays", afterDays);
+        status.put("running", running.isLocked());
+        status.put("lastRun", lastRun);
+        return status;
+    }
+
+    /**
+     * Archive everything due now, even under load.
+     */
+    public ArchiveRun runNow() {
+        return run(false);
+    }
+
+    void scheduledRun() {
+        try {
+            if (maintenanceService.isBusy()) {
+                logger.debug("Todo archival put off: the app is busy");
+                return;
+            }
+            run(true);
+        } catch (RuntimeException e) {
+            // An exception would cancel the schedule
+            logger.warn("Todo archival failed", e);
+        }
+    }
+
+    private ArchiveRun run(boolean yieldToLoad) {
+        if (!running.tryLock()) {
+            throw new IllegalArgumentException("Archival is already running");
+        }
+        try {
+            long start = System.nanoTime();
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+            long after = 0;
+            int moved = 0;
+            int batches = 0;
+            boolean stoppedEarly = false;
+            while (true) {
+                List<Moved> batch = todoArchive.archiveBatch(cutoff, after, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                batches++;
+                moved += batch.size();
+                movedCounter.increment(batch.size());
+                for (Moved todo : batch) {
+                    eventPublisher.publishEvent(TodoEvent.of(TodoEvent.Type.ARCHIVED, todo.userId(), todo.todoId()));
+                }
+                if (batch.size() < batchSize) {
+                    break;
+                }
+                after = batch.get(batch.size() - 1).todoId();
+                if ((yieldToLoad && maintenanceService.isBusy()) || !pause()) {
+                    stoppedEarly = true;
+                    break;
+                }
+            }
+            ArchiveRun run = new ArchiveRun(cutoff, moved, batches, stoppedEarly,
+                    (System.nanoTime() - start) / 1_000_000, Instant.now());
+            lastRun = run;
+            if (moved > 0) {
+                logger.info("Archived {} completed todos in {} batches ({} ms){}", moved, run.batches(), run.millis(),
+                        stoppedEarly ? ", stopped early under load" : "");
+            }
+            return run;
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private boolean pause() {
+        if (batchPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.revature.TienToDo.service;
+
+import com.revature.TienToDo.dto.TodoEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process fan-out of {@link TodoEvent}s to per-user SSE streams.
+ *
+ * Each connection is an async {@link SseEmitter}, so an idle subscriber holds no
+ * request thread — only a small queue. Publishers never write to sockets: they
+ * offer into the subscriber's bounded queue, and a virtual thread drains it, so
+ * a send blocked on one client's full socket holds up only that client. When a
+ * queue is full the pending events are dropped and replaced by a single RESYNC,
+ * so one slow client cannot hold back commits or other clients. A subscriber
+ * whose send has been blocked for app.events.send-timeout-ms is dropped and its
+ * stream completed; the client reconnects and starts again from a RESYNC.
+ */
+@Component
+public class TodoEventHub {
+    private static final Logger logger = LoggerFactory.getLogger(TodoEventHub.class);
+
+    @Value("${app.events.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.events.heartbeat-ms:20000}")
+    private long heartbeatMs;
+
+    @Value("${app.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${app.events.send-timeout-ms:10000}")
+    private long sendTimeoutMs = 10_000;
+
+    private final ConcurrentHashMap<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong subscriberCount = new AtomicLong();
+    private final AtomicLong resyncCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private ExecutorService dispatcher;
+    private ScheduledExecutorService heartbeat;
+
+    @PostConstruct
+    public void init() {
+        dispatcher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("todo-events-dispatch-", 0).factory());
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "todo-events-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        logger.info("Todo event hub started (queue: {}, heartbeat: {}ms, send timeout: {}ms)",
+                queueCapacity, heartbeatMs, sendTimeoutMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        subscriptions.values().forEach(subs -> subs.forEach(sub -> sub.emitter.complete()));
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Open a stream for the given user. The first event is a RESYNC so the
+     * client loads its initial state after the stream is live, not before.
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscription sub = new Subscription(userId, emitter);
+
+        subscriptions.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(sub);
+        subscriberCount.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(sub));
+        emitter.onTimeout(() -> remove(sub));
+        emitter.onError(e -> remove(sub));
+
+        sub.offer(TodoEvent.resync(userId));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTodoEvent(TodoEvent event) {
+        Set<Subscription> subs = subscriptions.get(event.getUserId());
+        if (subs == null) {
+            return;
+        }
+        for (Subscription sub : subs) {
+            sub.offer(event);
+        }
+    }
+
+    public long getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public long getResyncCount() {
+        return resyncCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void sendHeartbeats() {
+        for (Set<Subscription> subs : subscriptions.values()) {
+            for (Subscription sub : subs) {
+                if (sub.stuck()) {
+                    drop(sub);
+                    continue;
+                }
+                sub.heartbeatDue.set(true);
+                sub.schedule();
+            }
+        }
+    }
+
+    /**
+     * Give up on a subscriber whose send is stuck. Completing the emitter waits
+     * for that send to end, so it runs on its own virtual thread.
+     */
+    private void drop(Subscription sub) {
+        if (sub.closed.get()) {
+            return;
+        }
+        logger.debug("Dropping event stream for user {}: a send has been blocked for over {}ms",
+                sub.userId, sendTimeoutMs);
+        remove(sub);
+        droppedCount.incrementAndGet();
+        dispatcher.execute(sub.emitter::complete);
+    }
+
+    private void remove(Subscription sub) {
+        if (!sub.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscriptions.computeIfPresent(sub.userId, (id, subs) -> {
+            subs.remove(sub);
+            return subs.isEmpty() ? null : subs;
+        });
+    }
+
+    private final class Subscription implements Runnable {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<TodoEvent> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // System.nanoTime() when the running drain started, 0 when none is running
+        private volatile long sendingSince;
+
+        private Subscription(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void offer(TodoEvent event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                if (stuck()) {
+                    drop(this);
+                    return;
+                }
+                // Client can't keep up — drop the backlog and ask it to resync
+                queue.clear();
+                queue.offer(TodoEvent.resync(userId));
+                resyncCount.incrementAndGet();
+            }
+            schedule();
+        }
+
+        private boolean stuck() {
+            long since = sendingSince;
+            return since != 0 && System.nanoTime() - since > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        }
+
+        private void schedule() {
+            if (!closed.get() && scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            sendingSince = System.nanoTime();
+            try {
+                if (heartbeatDue.getAndSet(false)) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                TodoEvent event;
+                while ((event = queue.poll()) != null) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(sequence.incrementAndGet()))
+                            .name(event.getType().name().toLowerCase(Locale.ROOT))
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Closing event stream for user {}: {}", userId, e.getMessage());
+                remove(this);
+                emitter.completeWithError(e);
+            } finally {
+                sendingSince = 0;
+                scheduled.set(false);
+                if (!queue.isEmpty() || heartbeatDue.get()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
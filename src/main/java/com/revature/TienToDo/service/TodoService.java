@@ -5,36 +5,93 @@ import com.revature.TienToDo.entity.Subtask;
 import com.revature.TienToDo.entity.Todo;
 import com.revature.TienToDo.entity.User;
 import com.revature.TienToDo.repository.SubtaskRepository;
+import com.revature.TienToDo.repository.TodoArchive;
 import com.revature.TienToDo.repository.TodoRepository;
+import com.revature.TienToDo.utility.JfrEvents;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class TodoService {
+    // Stays well below SQLite's bound-parameter limit
+    private static final int SUBTASK_FETCH_CHUNK = 500;
+
     @Autowired
     private TodoRepository todoRepository;
 
     @Autowired
     private SubtaskRepository subtaskRepository;
 
+    // Events are delivered to TodoEventHub only after the surrounding transaction commits
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Dropped per user by the events above
+    @Autowired
+    private UserCaches userCaches;
+
+    // Only with app.archive.enabled; todos it holds are no longer in todoRepository
+    @Autowired
+    private ObjectProvider<TodoArchive> todoArchive;
+
     @Transactional(readOnly = true)
     public List<TodoResponse> getAllTodos(User user) {
-        return todoRepository.findByUserIdOrderByCreatedAtDesc(user.getId())
-                .stream()
-                .map(this::mapTodoToResponse)
-                .collect(Collectors.toList());
+        return userCaches.todos(user.getId(),
+                () -> attachSubtasks(todoRepository.findTodoViewsByUserId(user.getId())));
     }
 
+    /**
+     * A live todo, or failing that an archived one (with archivedAt set).
+     */
     @Transactional(readOnly = true)
     public TodoResponse getTodoById(Long todoId, User user) {
-        Todo todo = findTodoByIdAndUser(todoId, user);
-        return mapTodoToResponse(todo);
+        Optional<Todo> todo = todoRepository.findByIdAndUserId(todoId, user.getId());
+        if (todo.isPresent()) {
+            return mapTodoToResponse(todo.get());
+        }
+        return archive().flatMap(archive -> archive.find(todoId, user.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Todo not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public ArchivedTodoPage getArchivedTodos(User user, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must be 0 or more");
+        }
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("size must be between 1 and 100");
+        }
+        Optional<TodoArchive> archive = archive();
+        long total = archive.map(a -> a.count(user.getId())).orElse(0L);
+        List<TodoResponse> content = total > (long) page * size
+                ? archive.get().page(user.getId(), page, size)
+                : List.of();
+        return new ArchivedTodoPage(content, page, size, total, (int) ((total + size - 1) / size));
+    }
+
+    /**
+     * Bring an archived todo and its subtasks back. The archive moves the rows
+     * on its own connections, so this runs outside a JPA transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TodoResponse restoreTodo(Long todoId, User user) {
+        TodoResponse response = archive().flatMap(archive -> archive.restore(todoId, user.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Archived todo not found"));
+        eventPublisher.publishEvent(TodoEvent.of(TodoEvent.Type.RESTORED, user.getId(), response));
+        return response;
     }
 
     public TodoResponse createTodo(TodoRequest request, User user) {
@@ -43,7 +100,9 @@ public class TodoService {
         todo.setDescription(request.getDescription());
         todo.setUser(user);
         todo = todoRepository.save(todo);
-        return mapTodoToResponse(todo);
+        TodoResponse response = mapTodoToResponse(todo);
+        eventPublisher.publishEvent(TodoEvent.of(TodoEvent.Type.CREATED, user.getId(), response));
+        return response;
     }
 
     public TodoResponse updateTodo(Long todoId, TodoUpdateRequest request, User user) {
@@ -60,52 +119,47 @@ public class TodoService {
         }
 
         todo = todoRepository.save(todo);
-        return mapTodoToResponse(todo);
+        TodoResponse response = mapTodoToResponse(todo);
+        eventPublisher.publishEvent(TodoEvent.of(TodoEvent.Type.UPDATED, user.getId(), response));
+        return response;
     }
 
     public void deleteTodo(Long todoId, User user) {
         Todo todo = findTodoByIdAndUser(todoId, user);
         todoRepository.delete(todo);
+        eventPublisher.publishEvent(TodoEvent.of(TodoEvent.Type.DELETED, user.getId(), todoId));
     }
 
     public TodoResponse markTodoComplete(Long todoId, User user) {
         Todo todo = findTodoByIdAndUser(todoId, user);
         todo.setCompleted(true);
         todo = todoRepository.save(todo);
-        return mapTodoToResponse(todo);
+        TodoResponse response = mapTodoToResponse(todo);
+        eventPublisher.publishEvent(TodoEvent.of(TodoEvent.Type.COMPLETED, user.getId(), response));
+        return response;
     }
 
     @Transactional(readOnly = true)
     public List<TodoResponse> getActiveTodos(User user) {
-        return todoRepository.findActiveTodosByUserId(user.getId())
-                .stream()
-                .map(this::mapTodoToResponse)
-                .collect(Collectors.toList());
+        return attachSubtasks(todoRepository.findTodoViewsByUserIdAndCompleted(user.getId(), false));
     }
 
     @Transactional(readOnly = true)
     public List<TodoResponse> getCompletedTodos(User user) {
-        return todoRepository.findCompletedTodosByUserId(user.getId())
-                .stream()
-                .map(this::mapTodoToResponse)
-                .collect(Collectors.toList());
+        return attachSubtasks(todoRepository.findTodoViewsByUserIdAndCompleted(user.getId(), true));
     }
 
     @Transactional(readOnly = true)
     public List<TodoResponse> searchTodos(String keyword, User user) {
-        return todoRepository.searchByKeyword(user.getId(), keyword)
-                .stream()
-                .map(this::mapTodoToResponse)
-                .collect(Collectors.toList());
+        return attachSubtasks(todoRepository.searchTodoViewsByKeyword(user.getId(), keyword));
     }
 
     @Transactional(readOnly = true)
     public List<SubtaskResponse> getSubtasksByTodoId(Long todoId, User user) {
-        findTodoByIdAndUser(todoId, user);
-        return subtaskRepository.findByTodoIdOrderByCreatedAtAsc(todoId)
-                .stream()
-                .map(this::mapSubtaskToResponse)
-                .collect(Collectors.toList());
+        if (!todoRepository.existsByIdAndUserId(todoId, user.getId())) {
+            throw new ResourceNotFoundException("Todo not found");
+        }
+        return subtaskRepository.findSubtaskViewsByTodoId(todoId);
     }
 
     public SubtaskResponse createSubtask(Long todoId, SubtaskRequest request, User user) {
@@ -115,6 +169,7 @@ public class TodoService {
         subtask.setTitle(request.getTitle());
         subtask.setTodo(todo);
         subtask = subtaskRepository.save(subtask);
+        publishSubtasksChanged(todoId, user);
         return mapSubtaskToResponse(subtask);
     }
 
@@ -131,6 +186,7 @@ public class TodoService {
         }
 
         subtask = subtaskRepository.save(subtask);
+        publishSubtasksChanged(todoId, user);
         return mapSubtaskToResponse(subtask);
     }
 
@@ -138,6 +194,7 @@ public class TodoService {
         findTodoByIdAndUser(todoId, user);
         Subtask subtask = findSubtaskByIdAndTodoId(subtaskId, todoId);
         subtaskRepository.delete(subtask);
+        publishSubtasksChanged(todoId, user);
     }
 
     public SubtaskResponse markSubtaskComplete(Long todoId, Long subtaskId, User user) {
@@ -145,9 +202,18 @@ public class TodoService {
         Subtask subtask = findSubtaskByIdAndTodoId(subtaskId, todoId);
         subtask.setCompleted(true);
         subtask = subtaskRepository.save(subtask);
+        publishSubtasksChanged(todoId, user);
         return mapSubtaskToResponse(subtask);
     }
 
+    private void publishSubtasksChanged(Long todoId, User user) {
+        eventPublisher.publishEvent(TodoEvent.of(TodoEvent.Type.SUBTASKS_CHANGED, user.getId(), todoId));
+    }
+
+    private Optional<TodoArchive> archive() {
+        return Optional.ofNullable(todoArchive != null ? todoArchive.getIfAvailable() : null);
+    }
+
     private Todo findTodoByIdAndUser(Long todoId, User user) {
         return todoRepository.findByIdAndUserId(todoId, user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Todo not found"));
@@ -158,7 +224,42 @@ public class TodoService {
                 .orElseThrow(() -> new ResourceNotFoundException("Subtask not found"));
     }
 
+    /**
+     * Fill in the subtasks of projected todos with one IN query per chunk
+     * instead of one lazy collection load per todo.
+     */
+    private List<TodoResponse> attachSubtasks(List<TodoResponse> todos) {
+        if (todos.isEmpty()) {
+            return todos;
+        }
+
+        Map<Long, TodoResponse> byId = new HashMap<>(todos.size() * 2);
+        for (TodoResponse todo : todos) {
+            byId.put(todo.getId(), todo);
+        }
+
+        // Includes the subtask queries; their own time is in the RepositoryCall events
+        JfrEvents.DtoMapping event = new JfrEvents.DtoMapping();
+        event.begin();
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < ids.size(); from += SUBTASK_FETCH_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + SUBTASK_FETCH_CHUNK, ids.size()));
+            for (SubtaskRow row : subtaskRepository.findSubtaskRowsByTodoIds(chunk)) {
+                byId.get(row.todoId()).getSubtasks().add(row.toResponse());
+            }
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.kind = "attachSubtasks";
+            event.items = todos.size();
+            event.commitWithRequestInfo();
+        }
+        return todos;
+    }
+
     private TodoResponse mapTodoToResponse(Todo todo) {
+        JfrEvents.DtoMapping event = new JfrEvents.DtoMapping();
+        event.begin();
         TodoResponse response = new TodoResponse();
         response.setId(todo.getId());
         response.setTitle(todo.getTitle());
@@ -171,6 +272,12 @@ public class TodoService {
                         .map(this::mapSubtaskToResponse)
                         .collect(Collectors.toList())
         );
+        event.end();
+        if (event.shouldCommit()) {
+            event.kind = "todoEntity";
+            event.items = 1 + response.getSubtasks().size();
+            event.commitWithRequestInfo();
+        }
         return response;
     }
 
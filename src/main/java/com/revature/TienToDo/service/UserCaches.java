@@ -0,0 +1,319 @@
+package com.revature.TienToDo.service;
+
+import com.revature.TienToDo.dto.TodoEvent;
+import com.revature.TienToDo.dto.TodoResponse;
+import com.revature.TienToDo.entity.User;
+import com.revature.TienToDo.utility.RequestInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Per-user read caches: the user row behind every authenticated request, the
+ * GET /api/todos list and the /me/stats counts (app.cache.*).
+ *
+ * An entry is dropped when TodoService publishes a change for its user, or
+ * when AuthService changes the user: once as soon as the change is made, for
+ * reads later in the same transaction, and again after commit, for reads that
+ * loaded the old rows in between. A load that overlaps an invalidation isn't
+ * stored. After commit the invalidation also goes out on the
+ * {@link InvalidationBus} when clustering is on; app.cache.ttl-seconds bounds
+ * how long a lost message can leave another node stale.
+ *
+ * Users are kept as a projection without the password hash, so a cache hit
+ * is a detached User whose passwordHash is null; password logins read the
+ * row themselves. Warm-up requests (see {@link RequestInfo#isWarmup()}) go
+ * straight to the loader, so their synthetic users and todos, which live in
+ * the throwaway warm-up database, never reach the caches.
+ *
+ * Writes made straight through the repositories bypass all of this, which is
+ * why the test profile turns the caches off.
+ */
+@Component
+public class UserCaches {
+    private static final Logger logger = LoggerFactory.getLogger(UserCaches.class);
+
+    public enum Kind {
+        USERS, TODOS, STATS
+    }
+
+    @Value("${app.cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.cache.max-entries:10000}")
+    private int maxEntries = 10_000;
+
+    @Value("${app.cache.ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectProvider<InvalidationBus> invalidationBus;
+
+    private final Cache<String, CachedUser> users = new Cache<>(Kind.USERS);
+    private final Cache<Long, List<TodoResponse>> todos = new Cache<>(Kind.TODOS);
+    private final Cache<Long, Long> todoCounts = new Cache<>(Kind.STATS);
+    private final Cache<Long, Long> completedCounts = new Cache<>(Kind.STATS);
+
+    private Timer invalidationLag;
+
+    @PostConstruct
+    public void init() {
+        invalidationLag = Timer.builder("todo.cache.invalidation.lag")
+                .description("Time from a change committing on one node to its invalidation arriving on another")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        for (Cache<?, ?> cache : List.of(users, todos, todoCounts, completedCounts)) {
+            cache.register(meterRegistry);
+        }
+        InvalidationBus bus = invalidationBus.getIfAvailable();
+        if (bus != null) {
+            bus.subscribe(this::receive);
+        }
+        logger.info("User caches {} (max entries: {}, TTL: {}s, bus: {})", enabled ? "enabled" : "disabled",
+                maxEntries, ttlSeconds, bus != null ? bus.getClass().getSimpleName() : "none");
+    }
+
+    public Optional<User> user(String username, Supplier<Optional<User>> loader) {
+        if (bypass()) {
+            return loader.get();
+        }
+        return Optional.ofNullable(users.get(username, () -> loader.get().map(CachedUser::of).orElse(null)))
+                .map(CachedUser::toUser);
+    }
+
+    public List<TodoResponse> todos(long userId, Supplier<List<TodoResponse>> loader) {
+        return todos.get(userId, () -> List.copyOf(loader.get()));
+    }
+
+    public long todoCount(long userId, Supplier<Long> loader) {
+        return todoCounts.get(userId, loader);
+    }
+
+    public long completedTodoCount(long userId, Supplier<Long> loader) {
+        return completedCounts.get(userId, loader);
+    }
+
+    public boolean isCached(Kind kind, long userId) {
+        return switch (kind) {
+            case USERS -> users.contains(user -> user.id() == userId);
+            case TODOS -> todos.contains(userId);
+            case STATS -> todoCounts.contains(userId) || completedCounts.contains(userId);
+        };
+    }
+
+    /**
+     * The user's row changed: drop it here now and everywhere after commit.
+     */
+    public void userChanged(long userId) {
+        changed(CacheInvalidation.of(userId, Kind.USERS));
+    }
+
+    /**
+     * Drop everything on this node, e.g. after the database was restored from a
+     * backup. Other nodes catch up when their entries expire.
+     */
+    public void clear() {
+        users.clear();
+        todos.clear();
+        todoCounts.clear();
+        completedCounts.clear();
+    }
+
+    @EventListener
+    public void onTodoEvent(TodoEvent event) {
+        CacheInvalidation invalidation = invalidationFor(event);
+        if (invalidation != null) {
+            invalidate(invalidation);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void afterTodoEventCommit(TodoEvent event) {
+        CacheInvalidation invalidation = invalidationFor(event);
+        if (invalidation != null) {
+            committed(invalidation);
+        }
+    }
+
+    private void changed(CacheInvalidation invalidation) {
+        invalidate(invalidation);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    committed(invalidation);
+                }
+            });
+        } else {
+            committed(invalidation);
+        }
+    }
+
+    private void committed(CacheInvalidation invalidation) {
+        invalidate(invalidation);
+        InvalidationBus bus = invalidationBus != null ? invalidationBus.getIfAvailable() : null;
+        if (bus != null) {
+            bus.publish(new CacheInvalidation(invalidation.userId(), invalidation.kinds(), System.currentTimeMillis()));
+        }
+    }
+
+    private void receive(CacheInvalidation invalidation) {
+        invalidate(invalidation);
+        invalidationLag.record(Math.max(0, System.currentTimeMillis() - invalidation.sentAtMillis()),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void invalidate(CacheInvalidation invalidation) {
+        long userId = invalidation.userId();
+        if (invalidation.kinds().contains(Kind.USERS)) {
+            users.invalidateIf(user -> user.id() == userId);
+        }
+        if (invalidation.kinds().contains(Kind.TODOS)) {
+            todos.invalidate(userId);
+        }
+        if (invalidation.kinds().contains(Kind.STATS)) {
+            todoCounts.invalidate(userId);
+            completedCounts.invalidate(userId);
+        }
+    }
+
+    private static CacheInvalidation invalidationFor(TodoEvent event) {
+        if (event.getUserId() == null) {
+            return null;
+        }
+        return switch (event.getType()) {
+            case RESYNC -> null;
+            case SUBTASKS_CHANGED -> CacheInvalidation.of(event.getUserId(), Kind.TODOS);
+            default -> CacheInvalidation.of(event.getUserId(), Kind.TODOS, Kind.STATS);
+        };
+    }
+
+    private boolean bypass() {
+        return !enabled || RequestInfo.isWarmup();
+    }
+
+    /**
+     * What the users cache keeps of a User: everything requests read, minus the
+     * password hash and the lazy todos collection.
+     */
+    private record CachedUser(long id, String username, String email, LocalDateTime createdAt,
+                              LocalDateTime updatedAt) {
+        static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getUsername(), user.getEmail(), user.getCreatedAt(),
+                    user.getUpdatedAt());
+        }
+
+        User toUser() {
+            User user = new User();
+            user.setId(id);
+            user.setUsername(username);
+            user.setEmail(email);
+            user.setCreatedAt(createdAt);
+            user.setUpdatedAt(updatedAt);
+            return user;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final class Cache<K, V> {
+        private final Kind kind;
+        private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+        // Bumped by every invalidation; a load that saw it change doesn't store its result
+        private final AtomicLong generation = new AtomicLong();
+        private Counter hits;
+        private Counter misses;
+
+        private Cache(Kind kind) {
+            this.kind = kind;
+        }
+
+        private void register(MeterRegistry registry) {
+            String name = kind.name().toLowerCase(Locale.ROOT);
+            hits = Counter.builder("todo.cache.requests").tag("cache", name)
+                    .tag("result", "hit").register(registry);
+            misses = Counter.builder("todo.cache.requests").tag("cache", name)
+                    .tag("result", "miss").register(registry);
+        }
+
+        private V get(K key, Supplier<V> loader) {
+            if (bypass()) {
+                return loader.get();
+            }
+            long now = System.nanoTime();
+            Entry<V> entry = entries.get(key);
+            if (entry != null && now - entry.expiresAt() < 0) {
+                hits.increment();
+                return entry.value();
+            }
+            misses.increment();
+            long seen = generation.get();
+            V value = loader.get();
+            if (value != null && generation.get() == seen) {
+                if (entries.size() >= maxEntries) {
+                    evictOne();
+                }
+                entries.put(key, new Entry<>(value, now + Duration.ofSeconds(ttlSeconds).toNanos()));
+            }
+            return value;
+        }
+
+        private boolean contains(K key) {
+            return entries.containsKey(key);
+        }
+
+        private boolean contains(Predicate<V> matches) {
+            return entries.values().stream().anyMatch(entry -> matches.test(entry.value()));
+        }
+
+        private void invalidate(K key) {
+            generation.incrementAndGet();
+            entries.remove(key);
+        }
+
+        private void invalidateIf(Predicate<V> matches) {
+            generation.incrementAndGet();
+            entries.values().removeIf(entry -> matches.test(entry.value()));
+        }
+
+        private void clear() {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+
+        private void evictOne() {
+            Iterator<K> keys = entries.keySet().iterator();
+            if (keys.hasNext()) {
+                entries.remove(keys.next());
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.revature.TienToDo.service;
+
+import com.revature.TienToDo.utility.HeavyHitters;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Per-user resource cost — database time, rows read, statements and response
+ * bytes — so the few users behind most of the load can be named.
+ *
+ * Time is split into buckets (app.cost.bucket-seconds) kept in a ring of
+ * app.cost.buckets, and each bucket holds one {@link HeavyHitters} sketch per
+ * resource, so memory is fixed however many users are active. A window is the
+ * sum over its most recent buckets, the current partial one included.
+ *
+ * Fed by CostAccountingFilter at the end of each authenticated request; the top
+ * consumers are listed at GET /api/admin/top-users, and the share of each
+ * resource used by the top users is the todo.cost.top_share gauge.
+ */
+@Component
+public class UserCostTracker {
+    private static final Logger logger = LoggerFactory.getLogger(UserCostTracker.class);
+
+    public enum Resource {
+        DB_TIME, ROWS_READ, STATEMENTS, BYTES;
+
+        public static Resource fromParam(String value) {
+            try {
+                return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        "Unknown resource '" + value + "'; expected db-time, rows-read, statements or bytes");
+            }
+        }
+    }
+
+    /**
+     * One user's estimated usage over a window. Estimates can overcount by a
+     * small fraction of the window's total, never undercount.
+     */
+    public record UserCost(long userId, String username, double dbTimeMs, long rowsRead,
+                           long statements, long bytes, double share) {
+    }
+
+    @Value("${app.cost.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cost.bucket-seconds:60}")
+    private int bucketSeconds;
+
+    @Value("${app.cost.buckets:15}")
+    private int bucketCount;
+
+    @Value("${app.cost.sketch-width:1024}")
+    private int sketchWidth;
+
+    @Value("${app.cost.sketch-depth:4}")
+    private int sketchDepth;
+
+    @Value("${app.cost.candidates:64}")
+    private int candidates;
+
+    @Value("${app.cost.gauge.window-seconds:300}")
+    private int gaugeWindowSeconds;
+
+    @Value("${app.cost.gauge.top-users:10}")
+    private int gaugeTopUsers;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private AtomicReferenceArray<Bucket> buckets;
+
+    @PostConstruct
+    public void init() {
+        if (bucketSeconds < 1 || bucketCount < 1) {
+            throw new IllegalArgumentException("app.cost.bucket-seconds and app.cost.buckets must be at least 1");
+        }
+        buckets = new AtomicReferenceArray<>(bucketCount);
+        if (!enabled) {
+            return;
+        }
+        for (Resource resource : Resource.values()) {
+            Gauge.builder("todo.cost.top_share", () -> topShare(resource))
+                    .description("Share of the resource used by the top users over the gauge window")
+                    .tag("resource", resource.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        logger.info("Per-user cost accounting over {} x {}s buckets (sketch {}x{}, {} candidates)",
+                bucketCount, bucketSeconds, sketchWidth, sketchDepth, candidates);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxWindowSeconds() {
+        return bucketCount * bucketSeconds;
+    }
+
+    public void record(long userId, String username, long dbNanos, long rowsRead, long statements, long bytes) {
+        Bucket bucket = currentBucket();
+        bucket.sketches[Resource.DB_TIME.ordinal()].add(userId, username, dbNanos);
+        bucket.sketches[Resource.ROWS_READ.ordinal()].add(userId, username, rowsRead);
+        bucket.sketches[Resource.STATEMENTS.ordinal()].add(userId, username, statements);
+        bucket.sketches[Resource.BYTES.ordinal()].add(userId, username, bytes);
+    }
+
+    /**
+     * The heaviest users of one resource over the last windowSeconds.
+     */
+    public List<UserCost> topUsers(Resource by, int windowSeconds, int limit) {
+        if (windowSeconds < 1 || windowSeconds > getMaxWindowSeconds()) {
+            throw new IllegalArgumentException(
+                    "windowSeconds must be between 1 and " + getMaxWindowSeconds());
+        }
+        List<Bucket> window = window(windowSeconds);
+
+        Map<Long, String> users = new HashMap<>();
+        for (Bucket bucket : window) {
+            users.putAll(bucket.sketches[by.ordinal()].candidates());
+        }
+        long[] totals = new long[Resource.values().length];
+        for (Bucket bucket : window) {
+            for (Resource resource : Resource.values()) {
+                totals[resource.ordinal()] += bucket.sketches[resource.ordinal()].total();
+            }
+        }
+
+        List<UserCost> costs = new ArrayList<>(users.size());
+        users.forEach((userId, username) -> {
+            long[] usage = new long[Resource.values().length];
+            for (Bucket bucket : window) {
+                for (Resource resource : Resource.values()) {
+                    usage[resource.ordinal()] += bucket.sketches[resource.ordinal()].estimate(userId);
+                }
+            }
+            long total = totals[by.ordinal()];
+            costs.add(new UserCost(userId, username,
+                    usage[Resource.DB_TIME.ordinal()] / 1_000_000.0,
+                    usage[Resource.ROWS_READ.ordinal()],
+                    usage[Resource.STATEMENTS.ordinal()],
+                    usage[Resource.BYTES.ordinal()],
+                    total > 0 ? Math.min(1.0, (double) usage[by.ordinal()] / total) : 0));
+        });
+        costs.sort(Comparator.comparingDouble(UserCost::share).reversed());
+        return costs.size() > limit ? costs.subList(0, limit) : costs;
+    }
+
+    private double topShare(Resource resource) {
+        int windowSeconds = Math.min(gaugeWindowSeconds, getMaxWindowSeconds());
+        return topUsers(resource, windowSeconds, gaugeTopUsers).stream()
+                .mapToDouble(UserCost::share)
+                .sum();
+    }
+
+    private long currentEpoch() {
+        return System.currentTimeMillis() / 1000 / bucketSeconds;
+    }
+
+    private Bucket currentBucket() {
+        long epoch = currentEpoch();
+        int slot = (int) (epoch % bucketCount);
+        while (true) {
+            Bucket bucket = buckets.get(slot);
+            if (bucket != null && bucket.epoch == epoch) {
+                return bucket;
+            }
+            // First request of a new bucket replaces the one from a full ring ago
+            Bucket fresh = new Bucket(epoch);
+            if (buckets.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private List<Bucket> window(int windowSeconds) {
+        long epoch = currentEpoch();
+        int count = Math.min(bucketCount, (windowSeconds + bucketSeconds - 1) / bucketSeconds);
+        List<Bucket> window = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Bucket bucket = buckets.get((int) ((epoch - i) % bucketCount));
+            if (bucket != null && bucket.epoch == epoch - i) {
+                window.add(bucket);
+            }
+        }
+        return window;
+    }
+
+    private final class Bucket {
+        private final long epoch;
+        private final HeavyHitters[] sketches = new HeavyHitters[Resource.values().length];
+
+        private Bucket(long epoch) {
+            this.epoch = epoch;
+            for (int i = 0; i < sketches.length; i++) {
+                sketches[i] = new HeavyHitters(sketchWidth, sketchDepth, candidates);
+            }
+        }
+    }
+}
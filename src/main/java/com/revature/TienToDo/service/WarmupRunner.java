@@ -0,0 +1,314 @@
+package com.revature.TienToDo.service;
+
+import com.revature.TienToDo.config.WarmupDatabase;
+import com.revature.TienToDo.utility.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Warms the JIT before the instance reports ready, so the first real requests
+ * after a scale-out don't pay for compiling the Jackson, Hibernate, JJWT and
+ * Spring Security paths.
+ *
+ * Runners finish before Spring Boot publishes ReadinessState.ACCEPTING_TRAFFIC,
+ * so /actuator/health/readiness (and /readyz on the application port) reports
+ * OUT_OF_SERVICE until this returns. In the meantime a few threads send
+ * synthetic requests over loopback through the whole stack — JwtAuthFilter,
+ * TodoController, TodoService, the repositories — as warm-up users with
+ * minted tokens. Each request carries a per-start secret
+ * header; WarmupFilter marks those, which routes their database work to the
+ * throwaway {@link WarmupDatabase} and keeps them out of rate limiting, load
+ * shedding, cost accounting and the slow-query log.
+ *
+ * Warm-up stops once JIT compilations (counted from JFR jdk.Compilation events)
+ * stay under app.warmup.settle-compilations-per-second for settle-intervals
+ * seconds in a row, after at least min-seconds and at most max-seconds. Login
+ * and registration aren't exercised: they're dominated by BCrypt, which the
+ * JIT doesn't speed up.
+ */
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+public class WarmupRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    public static final String TOKEN_HEADER = "X-Warmup-Token";
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private WarmupDatabase warmupDatabase;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private Environment env;
+
+    @Value("${app.warmup.threads:4}")
+    private int threads;
+
+    @Value("${app.warmup.min-seconds:5}")
+    private int minSeconds;
+
+    @Value("${app.warmup.max-seconds:60}")
+    private int maxSeconds;
+
+    @Value("${app.warmup.settle-compilations-per-second:20}")
+    private double settleCompilationsPerSecond;
+
+    @Value("${app.warmup.settle-intervals:3}")
+    private int settleIntervals;
+
+    private final byte[] token = newToken();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder c1Compilations = new LongAdder();
+    private final LongAdder c2Compilations = new LongAdder();
+
+    /**
+     * Whether a request is one of ours: only while warm-up runs, only over
+     * loopback, and only with this start's token.
+     */
+    public boolean isWarmupRequest(HttpServletRequest request) {
+        String header = request.getHeader(TOKEN_HEADER);
+        return running.get()
+                && header != null
+                && isLoopback(request.getRemoteAddr())
+                && MessageDigest.isEqual(token, header.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Integer port = env.getProperty("local.server.port", Integer.class);
+        if (port == null || port <= 0) {
+            logger.info("JIT warm-up skipped: no web server port");
+            return;
+        }
+        String baseUrl = "http://127.0.0.1:" + port + env.getProperty("server.servlet.context-path", "");
+
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            usernames.add("warmup-" + i);
+        }
+        warmupDatabase.open(usernames);
+
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean jitTimed = jit != null && jit.isCompilationTimeMonitoringSupported();
+        long jitMsBefore = jitTimed ? jit.getTotalCompilationTime() : 0;
+        long start = System.nanoTime();
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        RecordingStream compilations = startCompilationStream();
+        running.set(true);
+        String outcome;
+        try {
+            for (String username : usernames) {
+                String bearer = jwtUtil.generateToken(username);
+                workers.execute(() -> drive(http, baseUrl, bearer));
+            }
+            outcome = awaitSettled(compilations != null);
+        } finally {
+            running.set(false);
+            workers.shutdownNow();
+            workers.awaitTermination(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+            if (compilations != null) {
+                compilations.close();
+            }
+            http.close();
+            warmupDatabase.close();
+        }
+
+        long jitMs = jitTimed ? jit.getTotalCompilationTime() - jitMsBefore : -1;
+        logger.info("JIT warm-up {} after {} ms: {} requests ({} failed), {} compilations ({} C1, {} C2), "
+                        + "{} ms compiling; reporting ready",
+                outcome, (System.nanoTime() - start) / 1_000_000, requests.sum(), failures.sum(),
+                c1Compilations.sum() + c2Compilations.sum(), c1Compilations.sum(), c2Compilations.sum(), jitMs);
+    }
+
+    private String awaitSettled(boolean counting) throws InterruptedException {
+        SettleDetector detector = new SettleDetector(settleCompilationsPerSecond, settleIntervals);
+        long start = System.nanoTime();
+        long last = 0;
+        while (true) {
+            Thread.sleep(1000);
+            long elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000L;
+            long total = c1Compilations.sum() + c2Compilations.sum();
+            boolean settled = detector.sample(total - last);
+            last = total;
+            if (elapsedSeconds >= maxSeconds) {
+                return "hit max-seconds";
+            }
+            if (elapsedSeconds >= minSeconds && (settled || !counting)) {
+                return counting ? "settled" : "ran min-seconds (no JFR)";
+            }
+        }
+    }
+
+    private RecordingStream startCompilationStream() {
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable("jdk.Compilation").withoutThreshold();
+            stream.onEvent("jdk.Compilation", event -> {
+                // Tiers 1-3 are C1, tier 4 is C2
+                if (event.getInt("compileLevel") >= 4) {
+                    c2Compilations.increment();
+                } else {
+                    c1Compilations.increment();
+                }
+            });
+            stream.startAsync();
+            return stream;
+        } catch (RuntimeException e) {
+            logger.warn("JIT warm-up can't count compilations ({}); running for min-seconds instead", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * One warm-up user's loop: the todo and subtask endpoints in roughly the
+     * order a client uses them, deleting the previous round's todo so lists
+     * stay short.
+     */
+    private void drive(HttpClient http, String baseUrl, String bearer) {
+        long previous = -1;
+        int round = 0;
+        while (running.get() && !Thread.currentThread().isInterrupted()) {
+            try {
+                JsonNode todo = send(http, baseUrl, bearer, "POST", "/api/todos",
+                        "{\"title\":\"Warm-up " + round + "\",\"description\":\"Synthetic request\"}");
+                long todoId = todo != null && todo.has("id") ? todo.get("id").asLong() : -1;
+                if (todoId > 0) {
+                    String path = "/api/todos/" + todoId;
+                    send(http, baseUrl, bearer, "GET", path, null);
+                    send(http, baseUrl, bearer, "PUT", path,
+                            "{\"title\":\"Warm-up " + round + " (edited)\",\"completed\":false}");
+                    JsonNode subtask = send(http, baseUrl, bearer, "POST", path + "/subtasks",
+                            "{\"title\":\"Warm-up step\"}");
+                    if (subtask != null && subtask.has("id")) {
+                        send(http, baseUrl, bearer, "PATCH",
+                                path + "/subtasks/" + subtask.get("id").asLong() + "/complete", null);
+                    }
+                    send(http, baseUrl, bearer, "GET", path + "/subtasks", null);
+                    send(http, baseUrl, bearer, "PATCH", path + "/complete", null);
+                }
+                send(http, baseUrl, bearer, "GET", "/api/todos", null);
+                send(http, baseUrl, bearer, "GET", "/api/todos/active", null);
+                send(http, baseUrl, bearer, "GET", "/api/todos/completed", null);
+                send(http, baseUrl, bearer, "GET", "/api/todos/search?q=warm", null);
+                send(http, baseUrl, bearer, "GET", "/api/auth/me/stats", null);
+                if (previous > 0) {
+                    send(http, baseUrl, bearer, "DELETE", "/api/todos/" + previous, null);
+                }
+                previous = todoId;
+                round++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException e) {
+                failures.increment();
+                logger.debug("Warm-up request failed: {}", e.toString());
+            }
+        }
+    }
+
+    private JsonNode send(HttpClient http, String baseUrl, String bearer, String method, String path, String json)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + bearer)
+                .header(TOKEN_HEADER, new String(token, StandardCharsets.US_ASCII));
+        if (json != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(json));
+        } else {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        HttpResponse<byte[]> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        requests.increment();
+        if (response.statusCode() >= 400) {
+            failures.increment();
+            logger.debug("Warm-up {} {} returned {}", method, path, response.statusCode());
+            return null;
+        }
+        byte[] body = response.body();
+        return body.length > 0 ? MAPPER.readTree(body) : null;
+    }
+
+    private static boolean isLoopback(String address) {
+        try {
+            // A literal IP, so no lookup happens
+            return address != null && InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    private static byte[] newToken() {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Settled once the compilations in each of the last n one-second intervals
+     * are all under the threshold.
+     */
+    static final class SettleDetector {
+        private final double maxPerInterval;
+        private final int intervals;
+        private int quiet;
+
+        SettleDetector(double maxPerInterval, int intervals) {
+            this.maxPerInterval = maxPerInterval;
+            this.intervals = Math.max(1, intervals);
+        }
+
+        boolean sample(long compilations) {
+            quiet = compilations < maxPerInterval ? quiet + 1 : 0;
+            return quiet >= intervals;
+        }
+    }
+}
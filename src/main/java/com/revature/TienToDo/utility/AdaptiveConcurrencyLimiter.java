@@ -0,0 +1,196 @@
+package com.revature.TienToDo.utility;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * AIMD concurrency limit that follows request latency.
+ *
+ * Completed todo requests report their latency into a sample window that
+ * closes after window-samples samples and at least window-min-ms. Each closed
+ * window makes one decision: when its average latency is over tolerance ×
+ * baseline (the best recent window minimum) the limit is cut once by backoff,
+ * otherwise, if the limit was actually being used, it grows by one. A latency
+ * spike therefore costs one cut per window, not one per slow response.
+ * Requests beyond the limit are rejected right away instead of queueing in Tomcat.
+ *
+ * Only 2xx responses move the baseline; 4xx and 3xx (rejected tokens, missing
+ * todos) are answered before any real work and are left out altogether, while
+ * 5xx still count towards a window's average.
+ *
+ * Priority requests (auth, health) are admitted up to limit × (1 + headroom), so
+ * they still get through while regular traffic is being shed.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    // How fast the baseline follows latency upward (it drops to a new minimum at once)
+    private static final double BASELINE_DRIFT = 0.01;
+
+    @Value("${app.concurrency.initial-limit:20}")
+    private double initialLimit;
+
+    @Value("${app.concurrency.min-limit:2}")
+    private double minLimit;
+
+    @Value("${app.concurrency.max-limit:200}")
+    private double maxLimit;
+
+    @Value("${app.concurrency.tolerance:2.0}")
+    private double tolerance;
+
+    @Value("${app.concurrency.backoff:0.9}")
+    private double backoff;
+
+    @Value("${app.concurrency.priority-headroom:0.5}")
+    private double priorityHeadroom;
+
+    @Value("${app.concurrency.window-samples:20}")
+    private int windowSamples = 20;
+
+    @Value("${app.concurrency.window-min-ms:100}")
+    private long windowMinMs = 100;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReference<Window> window = new AtomicReference<>(new Window(System.nanoTime()));
+    // Written only by the thread that closes a window
+    private volatile double limit;
+    private volatile long baselineNanos;
+
+    private Counter shedCounter;
+    private Counter priorityShedCounter;
+
+    @PostConstruct
+    public void init() {
+        limit = initialLimit;
+        Gauge.builder("todo.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("todo.concurrency.in_flight", inFlight, AtomicInteger::get)
+                .description("Requests currently admitted by the concurrency limiter")
+                .register(meterRegistry);
+        shedCounter = Counter.builder("todo.concurrency.shed")
+                .description("Requests rejected by the concurrency limiter")
+                .tag("priority", "normal")
+                .register(meterRegistry);
+        priorityShedCounter = Counter.builder("todo.concurrency.shed")
+                .description("Requests rejected by the concurrency limiter")
+                .tag("priority", "high")
+                .register(meterRegistry);
+        logger.info("Adaptive concurrency limit starting at {} (min {}, max {}, windows of {} samples)",
+                initialLimit, minLimit, maxLimit, windowSamples);
+    }
+
+    /**
+     * @return true if the request is admitted; the caller must then call release()
+     */
+    public boolean tryAcquire(boolean priority) {
+        double cap = priority ? limit * (1 + priorityHeadroom) : limit;
+        while (true) {
+            int current = inFlight.get();
+            if (current >= cap) {
+                (priority ? priorityShedCounter : shedCounter).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release a slot taken by tryAcquire().
+     *
+     * @param latencyNanos the request's latency, or a negative value to skip the
+     *                     sample (e.g. for priority requests with their own costs)
+     * @param status       the response status; 3xx and 4xx responses are skipped
+     */
+    public void release(long latencyNanos, int status) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (latencyNanos >= 0 && (status < 300 || status >= 500)) {
+            onSample(latencyNanos, status < 300, inFlightBefore);
+        }
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void onSample(long latencyNanos, boolean success, int inFlightBefore) {
+        Window current = window.get();
+        current.add(latencyNanos, success, inFlightBefore);
+        long now = System.nanoTime();
+        // Whoever swaps the window out applies it, so each window is applied once
+        if (current.isComplete(now) && window.compareAndSet(current, new Window(now))) {
+            apply(current);
+        }
+    }
+
+    private void apply(Window closed) {
+        long samples = closed.samples.get();
+        long windowMin = closed.successMin.get();
+        if (windowMin != Long.MAX_VALUE) {
+            long baseline = baselineNanos;
+            baselineNanos = baseline == 0 || windowMin < baseline
+                    ? windowMin
+                    : baseline + (long) ((windowMin - baseline) * BASELINE_DRIFT);
+        }
+        if (samples == 0 || baselineNanos == 0) {
+            return;
+        }
+
+        double current = limit;
+        double average = (double) closed.latencySum.get() / samples;
+        if (average > baselineNanos * tolerance) {
+            limit = Math.max(minLimit, current * backoff);
+        } else if (closed.maxInFlight.get() >= current / 2) {
+            // Only grow when the limit is actually being used
+            limit = Math.min(maxLimit, current + 1);
+        }
+    }
+
+    private final class Window {
+        private final long startNanos;
+        private final AtomicLong samples = new AtomicLong();
+        private final AtomicLong latencySum = new AtomicLong();
+        private final AtomicLong successMin = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private Window(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        private void add(long latencyNanos, boolean success, int inFlightBefore) {
+            latencySum.addAndGet(latencyNanos);
+            if (success) {
+                successMin.accumulateAndGet(latencyNanos, Math::min);
+            }
+            maxInFlight.accumulateAndGet(inFlightBefore, Math::max);
+            samples.incrementAndGet();
+        }
+
+        private boolean isComplete(long now) {
+            return samples.get() >= windowSamples && now - startNanos >= TimeUnit.MILLISECONDS.toNanos(windowMinMs);
+        }
+    }
+}
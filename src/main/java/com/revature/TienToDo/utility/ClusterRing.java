@@ -0,0 +1,99 @@
+package com.revature.TienToDo.utility;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The cluster's nodes on a consistent-hash ring over user ids: each node takes
+ * virtualNodes points on the ring, and a user belongs to the first point at or
+ * after the hash of their id. Adding or removing a node only moves the users
+ * between it and its neighbours, about 1/N of them, so the other nodes' caches
+ * stay warm.
+ *
+ * Membership is static (app.cluster.nodes), the same list on every node.
+ */
+public final class ClusterRing {
+    private final String self;
+    private final Map<String, URI> nodes;
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public ClusterRing(String self, Map<String, URI> nodes, int virtualNodes) {
+        if (!nodes.containsKey(self)) {
+            throw new IllegalArgumentException("Node '" + self + "' is not in the cluster " + nodes.keySet());
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be at least 1");
+        }
+        this.self = self;
+        this.nodes = Collections.unmodifiableMap(new LinkedHashMap<>(nodes));
+        for (String node : nodes.keySet()) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * Parses "node-1=http://host-a:8080,node-2=http://host-b:8080".
+     */
+    public static ClusterRing parse(String self, String nodesProperty, int virtualNodes) {
+        Map<String, URI> nodes = new LinkedHashMap<>();
+        for (String entry : nodesProperty.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int eq = entry.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException(
+                        "Expected node-id=url in app.cluster.nodes, got '" + entry.trim() + "'");
+            }
+            nodes.put(entry.substring(0, eq).trim(), URI.create(entry.substring(eq + 1).trim()));
+        }
+        return new ClusterRing(self, nodes, virtualNodes);
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public Map<String, URI> nodes() {
+        return nodes;
+    }
+
+    public URI addressOf(String node) {
+        return nodes.get(node);
+    }
+
+    public String ownerOf(long userId) {
+        Map.Entry<Long, String> point = ring.ceilingEntry(mix(userId));
+        return point != null ? point.getValue() : ring.firstEntry().getValue();
+    }
+
+    public boolean isOwner(long userId) {
+        return self.equals(ownerOf(userId));
+    }
+
+    private static long hash(String value) {
+        // FNV-1a, then mixed so the points spread over the whole ring
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,245 @@
+package com.revature.TienToDo.utility;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends each authenticated request to the node that owns its user on the
+ * {@link ClusterRing}, so a user's requests, and their cached rows, stay on one
+ * node. Runs after JwtAuthFilter, which has resolved the user id, and before
+ * rate limiting, so a forwarded request is counted once, by its owner.
+ *
+ * app.cluster.routing picks how:
+ *
+ *   forward   (default) proxy the request to the owner and relay its response
+ *   redirect  answer 307 with the owner's URL; the client re-sends it there
+ *
+ * Event streams are always redirected, since proxying one would hold a request
+ * thread here for as long as it stays open. A forwarded request carries
+ * X-Cluster-Forwarded-By and is served wherever it lands, so a disagreement
+ * about ownership can't loop. When the owner can't be reached, the request is
+ * served locally: every node shares the database, so that costs only the
+ * owner's cache, and the write's invalidation still reaches it. The body is
+ * read once before forwarding and replayed to the local chain in that case.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.enabled", havingValue = "true")
+public class ClusterRoutingFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterRoutingFilter.class);
+
+    public static final String FORWARDED_BY = "X-Cluster-Forwarded-By";
+    public static final String SERVED_BY = "X-Cluster-Node";
+
+    // Hop-by-hop headers, and ones HttpClient sets itself
+    private static final Set<String> SKIPPED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        SKIPPED_HEADERS.addAll(List.of("connection", "content-length", "expect", "host", "keep-alive",
+                "proxy-connection", "te", "trailer", "transfer-encoding", "upgrade"));
+    }
+
+    @Autowired
+    private ClusterRing ring;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.cluster.routing:forward}")
+    private String routing;
+
+    @Value("${app.cluster.forward-timeout-ms:5000}")
+    private long forwardTimeoutMs;
+
+    private final Map<String, Counter> outcomeCounters = new ConcurrentHashMap<>();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        response.setHeader(SERVED_BY, ring.self());
+        long userId = RequestInfo.userId();
+        if (userId < 0 || request.getHeader(FORWARDED_BY) != null || ring.isOwner(userId)) {
+            recordOutcome(userId < 0 ? "anonymous" : "local");
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String owner = ring.ownerOf(userId);
+        URI target = targetUri(ring.addressOf(owner), request);
+        boolean stream = MediaType.TEXT_EVENT_STREAM_VALUE.equals(request.getHeader(HttpHeaders.ACCEPT))
+                || request.getRequestURI().endsWith("/events");
+
+        if ("redirect".equalsIgnoreCase(routing) || stream) {
+            recordOutcome("redirected");
+            response.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+            response.setHeader(HttpHeaders.LOCATION, target.toString());
+            return;
+        }
+
+        CachedBodyRequest cached = new CachedBodyRequest(request);
+        try {
+            forward(cached, response, target);
+            recordOutcome("forwarded");
+        } catch (IOException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            logger.warn("Could not forward {} {} to {} ({}); serving it here",
+                    request.getMethod(), request.getRequestURI(), owner, e.getMessage());
+            recordOutcome("fallback");
+            response.reset();
+            response.setHeader(SERVED_BY, ring.self());
+            filterChain.doFilter(cached, response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while forwarding to " + owner, e);
+        }
+    }
+
+    private void forward(CachedBodyRequest request, HttpServletResponse response, URI target)
+            throws IOException, InterruptedException {
+        byte[] body = request.body;
+        HttpRequest.Builder forwarded = HttpRequest.newBuilder(target)
+                .timeout(Duration.ofMillis(forwardTimeoutMs))
+                .method(request.getMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body))
+                .header(FORWARDED_BY, ring.self());
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!SKIPPED_HEADERS.contains(name)) {
+                for (String value : Collections.list(request.getHeaders(name))) {
+                    forwarded.header(name, value);
+                }
+            }
+        }
+
+        HttpResponse<InputStream> relayed = client.send(forwarded.build(), HttpResponse.BodyHandlers.ofInputStream());
+        response.setStatus(relayed.statusCode());
+        relayed.headers().map().forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name) && !name.startsWith(":")) {
+                // The owner's values replace this node's, X-Cluster-Node included
+                for (int i = 0; i < values.size(); i++) {
+                    if (i == 0) {
+                        response.setHeader(name, values.get(i));
+                    } else {
+                        response.addHeader(name, values.get(i));
+                    }
+                }
+            }
+        });
+        try (InputStream in = relayed.body()) {
+            OutputStream out = response.getOutputStream();
+            in.transferTo(out);
+            out.flush();
+        }
+    }
+
+    private static URI targetUri(URI node, HttpServletRequest request) {
+        String query = request.getQueryString();
+        return node.resolve(request.getRequestURI() + (query != null ? "?" + query : ""));
+    }
+
+    private void recordOutcome(String outcome) {
+        outcomeCounters.computeIfAbsent(outcome, key -> Counter.builder("todo.cluster.requests")
+                        .description("Requests by where the cluster served them")
+                        .tag("outcome", key)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    /**
+     * A request whose body has been read into memory, so it can be sent to the
+     * owner and still be read by the controller if forwarding fails.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(@NonNull byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Async reads aren't supported on a replayed body");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.revature.TienToDo.utility;
+
+import com.revature.TienToDo.service.UserCostTracker;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Charges each authenticated request's cost to its user in {@link UserCostTracker}:
+ * database time, rows read and statements from {@link RequestInfo}, plus the
+ * response bytes written through the output stream (which is how the message
+ * converters write JSON).
+ *
+ * Runs inside RequestInfoFilter so the user and statement totals are still on
+ * the thread when the chain returns. Bytes an async response (SSE) writes after
+ * that point are not counted.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class CostAccountingFilter extends OncePerRequestFilter {
+    @Autowired
+    private UserCostTracker userCostTracker;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!userCostTracker.isEnabled() || RequestInfo.isWarmup()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        CountingResponse counting = new CountingResponse(response);
+        try {
+            filterChain.doFilter(request, counting);
+        } finally {
+            long userId = RequestInfo.userId();
+            if (userId >= 0) {
+                userCostTracker.record(userId, RequestInfo.username(), RequestInfo.dbNanos(),
+                        RequestInfo.rowsRead(), RequestInfo.statements(), counting.bytes);
+            }
+        }
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+        private long bytes;
+        private ServletOutputStream stream;
+
+        private CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (stream == null) {
+                ServletOutputStream target = super.getOutputStream();
+                stream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        target.write(b);
+                        bytes++;
+                    }
+
+                    @Override
+                    public void write(@NonNull byte[] b, int off, int len) throws IOException {
+                        target.write(b, off, len);
+                        bytes += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        target.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        target.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return target.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        target.setWriteListener(listener);
+                    }
+                };
+            }
+            return stream;
+        }
+    }
+}
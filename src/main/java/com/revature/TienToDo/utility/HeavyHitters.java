@@ -0,0 +1,113 @@
+package com.revature.TienToDo.utility;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Approximate per-key totals in fixed memory, with the heaviest keys kept by name.
+ *
+ * Totals live in a count-min sketch: depth rows of width counters, a key adds
+ * to one counter per row and its estimate is the smallest of those. Estimates
+ * never undercount, and overcount by at most about e/width of the grand total.
+ * Updates are one atomic add per row — no locks.
+ *
+ * The sketch can't list its keys, so a bounded candidate map remembers keys whose
+ * estimate reached the admission floor. When it grows past twice its capacity,
+ * whichever thread gets there first trims it back to the top {@code capacity}
+ * and raises the floor to the smallest estimate kept.
+ */
+public final class HeavyHitters {
+    private final int width;
+    private final int depth;
+    private final int capacity;
+    private final AtomicLongArray counters;
+    private final LongAdder total = new LongAdder();
+    private final ConcurrentHashMap<Long, String> candidates = new ConcurrentHashMap<>();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private volatile long floor;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     */
+    public HeavyHitters(int width, int depth, int capacity) {
+        if (width < 1 || depth < 1 || capacity < 1) {
+            throw new IllegalArgumentException("width, depth and capacity must be at least 1");
+        }
+        this.width = Math.max(1, Integer.highestOneBit(width - 1) << 1);
+        this.depth = depth;
+        this.capacity = capacity;
+        this.counters = new AtomicLongArray(this.width * depth);
+    }
+
+    /**
+     * Add to a key's total and return its new estimate.
+     */
+    public long add(long key, String label, long amount) {
+        if (amount <= 0) {
+            return estimate(key);
+        }
+        total.add(amount);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(slot(key, row), amount));
+        }
+        if (estimate >= floor && candidates.putIfAbsent(key, label) == null
+                && candidates.size() > capacity * 2) {
+            trim();
+        }
+        return estimate;
+    }
+
+    public long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(slot(key, row)));
+        }
+        return estimate;
+    }
+
+    public long total() {
+        return total.sum();
+    }
+
+    /**
+     * Keys that may be among the heaviest, with their labels. Holds at most
+     * twice the capacity.
+     */
+    public Map<Long, String> candidates() {
+        return candidates;
+    }
+
+    private void trim() {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // Snapshot the estimates first: they keep moving while we sort
+            long[][] ranked = candidates.keySet().stream()
+                    .map(key -> new long[]{key, estimate(key)})
+                    .sorted((a, b) -> Long.compare(b[1], a[1]))
+                    .toArray(long[][]::new);
+            for (int i = capacity; i < ranked.length; i++) {
+                candidates.remove(ranked[i][0]);
+            }
+            if (ranked.length > 0) {
+                floor = ranked[Math.min(capacity, ranked.length) - 1][1];
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    private int slot(long key, int row) {
+        // Different seed per row, then a 64-bit finalizer (MurmurHash3 fmix64)
+        long h = key + (row + 1) * 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return row * width + (int) (h & (width - 1));
+    }
+}
@@ -0,0 +1,107 @@
+package com.revature.TienToDo.utility;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.List;
+
+/**
+ * Custom Java Flight Recorder events for the request phases we care about.
+ *
+ * Every event carries the route and user id of the request it ran in (from
+ * {@link RequestInfo}). Callers follow the usual JFR pattern — begin(), do the
+ * work, end(), then fill in fields and commit() only if shouldCommit() — so a
+ * disabled event costs almost nothing. Stack traces are off to keep them cheap.
+ */
+public final class JfrEvents {
+
+    // JfrRecordingService enables each of these by class (Recording.enable(Class)) in every recording it starts
+    public static final List<Class<? extends RequestEvent>> ALL = List.of(
+            JwtVerify.class, UserLookup.class, RepositoryCall.class, DtoMapping.class, Serialization.class);
+
+    private JfrEvents() {
+    }
+
+    @Category({"TienToDo"})
+    @StackTrace(false)
+    public abstract static class RequestEvent extends Event {
+        @Label("Route")
+        public String route;
+
+        @Label("User Id")
+        public long userId;
+
+        public void commitWithRequestInfo() {
+            if (shouldCommit()) {
+                route = RequestInfo.route();
+                userId = RequestInfo.userId();
+                commit();
+            }
+        }
+    }
+
+    @Name("com.revature.TienToDo.JwtVerify")
+    @Label("JWT Verification")
+    @Description("Parse and signature check of a JWT in JwtUtil.extractAllClaims")
+    public static class JwtVerify extends RequestEvent {
+        @Label("Outcome")
+        public String outcome;
+    }
+
+    @Name("com.revature.TienToDo.UserLookup")
+    @Label("User Lookup")
+    @Description("CustomUserDetailsService user lookup, for logins and token requests")
+    public static class UserLookup extends RequestEvent {
+        @Label("Username")
+        public String username;
+
+        @Label("Found")
+        public boolean found;
+    }
+
+    @Name("com.revature.TienToDo.RepositoryCall")
+    @Label("Repository Call")
+    @Description("A Spring Data repository method invocation and the SQL it ran")
+    public static class RepositoryCall extends RequestEvent {
+        @Label("Repository")
+        public String repository;
+
+        @Label("Method")
+        public String method;
+
+        @Label("Statements")
+        public int statements;
+
+        @Label("Last SQL")
+        public String sql;
+
+        @Label("Rows")
+        public int rows;
+    }
+
+    @Name("com.revature.TienToDo.DtoMapping")
+    @Label("DTO Mapping")
+    @Description("Entity or projection to response DTO mapping in TodoService")
+    public static class DtoMapping extends RequestEvent {
+        @Label("Kind")
+        public String kind;
+
+        @Label("Items")
+        public int items;
+    }
+
+    @Name("com.revature.TienToDo.Serialization")
+    @Label("Response Serialization")
+    @Description("Writing the response body through the HTTP message converter")
+    public static class Serialization extends RequestEvent {
+        @Label("Body Type")
+        public String bodyType;
+
+        @Label("Content Type")
+        public String contentType;
+    }
+}
@@ -2,6 +2,8 @@ package com.revature.TienToDo.utility;
 
 import com.revature.TienToDo.dto.ApiError;
 import com.revature.TienToDo.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,6 +24,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
@@ -36,6 +39,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Counter> outcomeCounters = new ConcurrentHashMap<>();
+
     //@Autowired
     //private ObjectMapper objectMapper;
 
@@ -61,6 +69,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String tokenError = jwtUtil.getTokenError(jwt);
         if (tokenError != null) {
             logger.warn("JWT rejected for {} {}: {}", request.getMethod(), request.getRequestURI(), tokenError);
+            recordOutcome("token_error");
             sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, tokenError);
             return;
         }
@@ -69,6 +78,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         if (jwtUtil.isRefreshToken(jwt)) {
             logger.warn("Refresh token used as access token for {} {}",
                     request.getMethod(), request.getRequestURI());
+            recordOutcome("refresh_as_access");
             sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED,
                     "Refresh tokens cannot be used for API access. Use an access token instead.");
             return;
@@ -81,7 +91,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
                 // Step 5a: Load user from database
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = userDetailsService.loadUserForToken(username);
 
                 // Step 5b: Validate token against user details
                 if (jwtUtil.isTokenValid(jwt, userDetails)) {
@@ -97,12 +107,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                             new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    recordOutcome("authenticated");
 
                     logger.debug("Authenticated user '{}' for {} {}",
                             username, request.getMethod(), request.getRequestURI());
                 } else {
                     logger.warn("Token validation failed for user '{}' on {} {}",
                             username, request.getMethod(), request.getRequestURI());
+                    recordOutcome("validation_failed");
                     sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED,
                             "Token validation failed");
                     return;
@@ -112,12 +124,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         } catch (UsernameNotFoundException e) {
             // User was deleted after the token was issued
             logger.warn("JWT references non-existent user: {}", e.getMessage());
+            recordOutcome("user_not_found");
             sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED,
                     "User account no longer exists");
             return;
 
         } catch (Exception e) {
             logger.error("Unexpected error during JWT authentication: {}", e.getMessage());
+            recordOutcome("error");
             sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED,
                     "Authentication failed");
             return;
@@ -135,6 +149,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 || path.equals("/api/auth/refresh");
     }
 
+    private void recordOutcome(String outcome) {
+        outcomeCounters.computeIfAbsent(outcome, key -> Counter.builder("auth.jwt.filter")
+                        .description("JwtAuthFilter outcomes, including rejection reasons")
+                        .tag("outcome", key)
+                        .register(meterRegistry))
+                .increment();
+    }
+
     private void sendErrorResponse(HttpServletResponse response, int status, String message)
             throws IOException {
         response.setStatus(status);
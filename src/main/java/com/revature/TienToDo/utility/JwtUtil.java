@@ -8,9 +8,13 @@ import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -20,6 +24,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
@@ -39,8 +45,14 @@ public class JwtUtil {
     @Value("${app.jwt.issuer:todo-api}")
     private String issuer;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private SecretKey signingKey;
 
+    private Timer parseTimer;
+    private final Map<String, Counter> validationCounters = new ConcurrentHashMap<>();
+
     @PostConstruct
     public void init() {
         if (jwtSecret == null || jwtSecret.length() < 32) {
@@ -49,6 +61,9 @@ public class JwtUtil {
                     + (jwtSecret == null ? 0 : jwtSecret.length()));
         }
         this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parseTimer = Timer.builder("auth.jwt.parse")
+                .description("JWT parse and signature verification time")
+                .register(meterRegistry);
         logger.info("JWT signing key initialized (issuer: {}, access TTL: {}ms, refresh TTL: {}ms)",
                 issuer, jwtExpirationMs, refreshExpirationMs);
     }
@@ -108,12 +123,26 @@ public class JwtUtil {
 
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(signingKey)
-                .requireIssuer(issuer)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        JfrEvents.JwtVerify event = new JfrEvents.JwtVerify();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            Claims claims = Jwts.parser()
+                    .verifyWith(signingKey)
+                    .requireIssuer(issuer)
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+            event.outcome = "valid";
+            return claims;
+        } catch (RuntimeException e) {
+            event.outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.end();
+            event.commitWithRequestInfo();
+        }
     }
 
 
@@ -159,24 +188,40 @@ public class JwtUtil {
         try {
             extractAllClaims(token);
             if (isTokenExpired(token)) {
+                recordValidation("expired");
                 return "Token has expired";
             }
+            recordValidation("valid");
             return null;
         } catch (ExpiredJwtException e) {
+            recordValidation("expired");
             return "Token has expired";
         } catch (SecurityException e) {
+            recordValidation("bad_signature");
             return "Invalid token signature";
         } catch (MalformedJwtException e) {
+            recordValidation("malformed");
             return "Malformed token";
         } catch (UnsupportedJwtException e) {
+            recordValidation("unsupported");
             return "Unsupported token format";
         } catch (IllegalArgumentException e) {
+            recordValidation("empty");
             return "Token claims string is empty";
         } catch (JwtException e) {
+            recordValidation("invalid");
             return "Invalid token: " + e.getMessage();
         }
     }
 
+    private void recordValidation(String outcome) {
+        validationCounters.computeIfAbsent(outcome, key -> Counter.builder("auth.jwt.validation")
+                        .description("JWT validation outcomes")
+                        .tag("outcome", key)
+                        .register(meterRegistry))
+                .increment();
+    }
+
     // ==================== TOKEN METADATA ====================
 
     /**
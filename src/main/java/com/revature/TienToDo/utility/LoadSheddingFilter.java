@@ -0,0 +1,115 @@
+package com.revature.TienToDo.utility;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits requests through the {@link AdaptiveConcurrencyLimiter} before any
+ * authentication or database work, and answers 503 when over the limit.
+ *
+ * Auth and health routes are priority traffic. Todo routes feed their latency
+ * and status back into the limiter; the SSE stream is skipped since it stays open.
+ */
+@Component
+public class LoadSheddingFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(LoadSheddingFilter.class);
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Value("${app.concurrency.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        boolean priority = isPriority(request);
+        if (!limiter.tryAcquire(priority)) {
+            logger.debug("Shedding {} {} (limit {})",
+                    request.getMethod(), request.getRequestURI(), (int) limiter.getLimit());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(
+                    "{\"status\":503,\"message\":\"Server is busy, please retry shortly\"}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(priority ? -1 : System.nanoTime() - start, response.getStatus());
+            }
+        };
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Async auth endpoints finish on another thread — hold the slot until then
+                request.getAsyncContext().addListener(new ReleasingListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !enabled
+                || RequestInfo.isWarmup()
+                || path.equals("/api/todos/events")
+                || !(path.startsWith("/api/") || isHealth(path));
+    }
+
+    private boolean isPriority(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return path.startsWith("/api/auth/") || isHealth(path);
+    }
+
+    private static boolean isHealth(String path) {
+        return path.startsWith("/actuator/health") || path.equals("/livez") || path.equals("/readyz");
+    }
+
+    private record ReleasingListener(Runnable release) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.revature.TienToDo.utility;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Rate limits API calls after JWT authentication has run.
+ *
+ * Public auth routes are keyed by client IP (credential stuffing protection);
+ * everything else is keyed by the authenticated username, falling back to IP
+ * for anonymous requests. Over-limit requests get 429 with Retry-After.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        RateLimiter.RouteGroup group = classify(request);
+        String key = group == RateLimiter.RouteGroup.AUTH ? "ip:" + request.getRemoteAddr() : clientKey(request);
+
+        long waitNanos = rateLimiter.tryAcquire(group, key);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+            logger.debug("Rate limited {} on {} {} (retry in {}s)",
+                    key, request.getMethod(), request.getRequestURI(), retryAfterSeconds);
+
+            response.setStatus(429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(
+                    "{\"status\":429,\"message\":\"Too many requests. Please retry later.\"}");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || RequestInfo.isWarmup() || !request.getServletPath().startsWith("/api/");
+    }
+
+    private RateLimiter.RouteGroup classify(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if (path.equals("/api/auth/register")
+                || path.equals("/api/auth/login")
+                || path.equals("/api/auth/refresh")) {
+            return RateLimiter.RouteGroup.AUTH;
+        }
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod())
+                ? RateLimiter.RouteGroup.READ
+                : RateLimiter.RouteGroup.WRITE;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated()) {
+            return "user:" + auth.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,132 @@
+package com.revature.TienToDo.utility;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket rate limiter, one bucket per (route group, client key).
+ *
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time"
+ * (the GCRA form of a token bucket), so a check is one read and one CAS — no
+ * locks. Buckets live in a ConcurrentHashMap per group, which spreads writers
+ * across bins; idle buckets (fully refilled) are swept periodically so memory
+ * tracks active clients only.
+ *
+ * Limits per group come from app.rate-limit.{group}.rate-per-second and
+ * app.rate-limit.{group}.burst.
+ */
+@Component
+public class RateLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    public enum RouteGroup {
+        AUTH, READ, WRITE
+    }
+
+    public record Limit(double ratePerSecond, int burst) {
+        long intervalNanos() {
+            return (long) (1_000_000_000L / ratePerSecond);
+        }
+
+        long toleranceNanos() {
+            return intervalNanos() * (burst - 1);
+        }
+    }
+
+    @Autowired
+    private Environment env;
+
+    private final Map<RouteGroup, Limit> limits = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, ConcurrentHashMap<String, AtomicLong>> buckets = new EnumMap<>(RouteGroup.class);
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    public void init() {
+        limits.put(RouteGroup.AUTH, readLimit("auth", 0.5, 10));
+        limits.put(RouteGroup.READ, readLimit("read", 50, 100));
+        limits.put(RouteGroup.WRITE, readLimit("write", 20, 40));
+        for (RouteGroup group : RouteGroup.values()) {
+            buckets.put(group, new ConcurrentHashMap<>());
+        }
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "rate-limit-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleAtFixedRate(this::sweep, 1, 1, TimeUnit.MINUTES);
+        logger.info("Rate limits: {}", limits);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * Take one token for the given client.
+     *
+     * @return 0 if the request is allowed, otherwise nanoseconds until it would be
+     */
+    public long tryAcquire(RouteGroup group, String key) {
+        return tryAcquire(group, key, System.nanoTime());
+    }
+
+    long tryAcquire(RouteGroup group, String key, long now) {
+        Limit limit = limits.get(group);
+        long interval = limit.intervalNanos();
+        long tolerance = limit.toleranceNanos();
+
+        AtomicLong bucket = buckets.get(group).computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long tat = bucket.get();
+            long start = Math.max(tat, now);
+            long excess = start - now - tolerance;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(tat, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    public Limit getLimit(RouteGroup group) {
+        return limits.get(group);
+    }
+
+    public int getTrackedKeys() {
+        return buckets.values().stream().mapToInt(Map::size).sum();
+    }
+
+    void sweep() {
+        long now = System.nanoTime();
+        for (ConcurrentHashMap<String, AtomicLong> groupBuckets : buckets.values()) {
+            // A bucket whose arrival time has passed is full again — same as a new one
+            groupBuckets.entrySet().removeIf(entry -> entry.getValue().get() <= now);
+        }
+    }
+
+    private Limit readLimit(String group, double defaultRate, int defaultBurst) {
+        double rate = env.getProperty("app.rate-limit." + group + ".rate-per-second", Double.class, defaultRate);
+        int burst = env.getProperty("app.rate-limit." + group + ".burst", Integer.class, defaultBurst);
+        if (rate <= 0 || burst < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid rate limit for '" + group + "': rate and burst must be positive");
+        }
+        return new Limit(rate, burst);
+    }
+}
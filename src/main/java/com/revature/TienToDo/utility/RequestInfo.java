@@ -0,0 +1,106 @@
+package com.revature.TienToDo.utility;
+
+/**
+ * Per-thread facts about the request being handled — route, authenticated
+ * user and the database work done so far — for diagnostics such as JFR events
+ * and per-user cost accounting.
+ *
+ * Set by {@link RequestInfoFilter} (raw route), refined by the MVC interceptor to
+ * the matched pattern, and given the user once CustomUserDetailsService loads it.
+ * Statements are added by the timing DataSource (config.SlowQueryDataSource).
+ * Synthetic warm-up requests are marked by WarmupFilter so their database work
+ * goes to the throwaway warm-up database and they're left out of accounting.
+ * Work handed to other threads (async auth) runs without it.
+ */
+public final class RequestInfo {
+    private static final ThreadLocal<RequestInfo> CURRENT = new ThreadLocal<>();
+
+    private String route;
+    private long userId = -1;
+    private String username;
+    private long dbNanos;
+    private long rowsRead;
+    private long statements;
+    private boolean warmup;
+
+    private RequestInfo(String route) {
+        this.route = route;
+    }
+
+    public static void start(String route) {
+        CURRENT.set(new RequestInfo(route));
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static void setRoute(String route) {
+        RequestInfo info = CURRENT.get();
+        if (info != null) {
+            info.route = route;
+        }
+    }
+
+    public static void setUser(Long userId, String username) {
+        RequestInfo info = CURRENT.get();
+        if (info != null) {
+            info.userId = userId != null ? userId : -1;
+            info.username = username;
+        }
+    }
+
+    public static void markWarmup() {
+        RequestInfo info = CURRENT.get();
+        if (info != null) {
+            info.warmup = true;
+        }
+    }
+
+    public static boolean isWarmup() {
+        RequestInfo info = CURRENT.get();
+        return info != null && info.warmup;
+    }
+
+    public static String route() {
+        RequestInfo info = CURRENT.get();
+        return info != null ? info.route : null;
+    }
+
+    /**
+     * @return the authenticated user's id, or -1 if unknown on this thread
+     */
+    public static long userId() {
+        RequestInfo info = CURRENT.get();
+        return info != null ? info.userId : -1;
+    }
+
+    public static String username() {
+        RequestInfo info = CURRENT.get();
+        return info != null ? info.username : null;
+    }
+
+    public static void addStatement(long nanos, long rowsRead) {
+        RequestInfo info = CURRENT.get();
+        if (info != null) {
+            info.dbNanos += nanos;
+            info.rowsRead += rowsRead;
+            info.statements++;
+        }
+    }
+
+    public static long dbNanos() {
+        RequestInfo info = CURRENT.get();
+        return info != null ? info.dbNanos : 0;
+    }
+
+    public static long rowsRead() {
+        RequestInfo info = CURRENT.get();
+        return info != null ? info.rowsRead : 0;
+    }
+
+    public static long statements() {
+        RequestInfo info = CURRENT.get();
+        return info != null ? info.statements : 0;
+    }
+}
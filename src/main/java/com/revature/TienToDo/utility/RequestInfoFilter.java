@@ -0,0 +1,45 @@
+package com.revature.TienToDo.utility;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opens {@link RequestInfo} for the request ahead of every other filter,
+ * including the security chain, and clears it afterwards. Also counts the
+ * requests in progress on request threads, for when the concurrency limiter,
+ * which otherwise tracks that, is switched off.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestInfoFilter extends OncePerRequestFilter {
+    private final AtomicInteger activeRequests = new AtomicInteger();
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestInfo.start(request.getMethod() + " " + request.getServletPath());
+        activeRequests.incrementAndGet();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            activeRequests.decrementAndGet();
+            RequestInfo.clear();
+        }
+    }
+
+    public int getActiveRequests() {
+        return activeRequests.get();
+    }
+}
@@ -0,0 +1,100 @@
+package com.revature.TienToDo.utility;
+
+import com.revature.TienToDo.config.SqlStatementCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Counts the SQL each request runs, from the first filter on, so the user
+ * lookup in JwtAuthFilter is included.
+ *
+ * The result is left on the request as {@link #STATS_ATTRIBUTE} (tests assert
+ * statement budgets on it) and per-transaction counts are recorded as
+ * db.transaction.statements{transaction}. A sampled fraction of requests also
+ * tracks statement shapes: when one shape runs more than the threshold times
+ * in a request — the N+1 pattern — it is logged and counted in
+ * db.repeated.statements{method, uri}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class StatementTrackingFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(StatementTrackingFilter.class);
+
+    public static final String STATS_ATTRIBUTE = StatementTrackingFilter.class.getName() + ".stats";
+
+    @Value("${app.sql.repeat-detection.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${app.sql.repeat-detection.threshold:10}")
+    private int repeatThreshold;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Counter> repeatCounters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> transactionSummaries = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        SqlStatementCounter.startRequest(sampled);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.RequestStats stats = SqlStatementCounter.finishRequest(repeatThreshold);
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.RequestStats stats) {
+        for (SqlStatementCounter.TransactionStatements tx : stats.transactions()) {
+            transactionSummaries.computeIfAbsent(tx.name(), name -> DistributionSummary
+                            .builder("db.transaction.statements")
+                            .description("SQL statements executed per transaction")
+                            .tag("transaction", name)
+                            .register(meterRegistry))
+                    .record(tx.statements());
+        }
+
+        if (stats.repeatedShapes().isEmpty()) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        stats.repeatedShapes().forEach((shape, count) ->
+                logger.warn("Repeated statement on {} {} ({} times, {} statements total): {}",
+                        method, uri, count, stats.statements(), shape));
+        repeatCounters.computeIfAbsent(method + " " + uri, key -> Counter.builder("db.repeated.statements")
+                        .description("Sampled requests that ran one statement shape more than the threshold")
+                        .tag("method", method)
+                        .tag("uri", uri)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
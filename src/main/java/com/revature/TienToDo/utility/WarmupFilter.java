@@ -0,0 +1,45 @@
+package com.revature.TienToDo.utility;
+
+import com.revature.TienToDo.service.WarmupRunner;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Marks {@link WarmupRunner}'s synthetic requests in {@link RequestInfo} ahead
+ * of the security chain, so their database work goes to the warm-up database
+ * and the rate limiter, load shedder and accounting leave them alone.
+ *
+ * Does nothing unless app.warmup.enabled is set and warm-up is running.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class WarmupFilter extends OncePerRequestFilter {
+    @Autowired(required = false)
+    private WarmupRunner warmupRunner;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (warmupRunner.isWarmupRequest(request)) {
+            RequestInfo.markWarmup();
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return warmupRunner == null || !warmupRunner.isRunning();
+    }
+}
@@ -0,0 +1,28 @@
+-- Todos moved out of the main database by TodoArchive, with their subtasks.
+-- Ids are the ones they had in todos/subtasks, so lookups by id keep working
+-- and a restore puts them back unchanged.
+
+CREATE TABLE IF NOT EXISTS archived_todos (
+    id          INTEGER PRIMARY KEY,
+    user_id     INTEGER NOT NULL,
+    title       TEXT NOT NULL,
+    description TEXT,
+    completed   INTEGER NOT NULL,
+    created_at  TEXT NOT NULL,
+    updated_at  TEXT NOT NULL,
+    archived_at TEXT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS archived_subtasks (
+    id         INTEGER PRIMARY KEY,
+    todo_id    INTEGER NOT NULL,
+    title      TEXT NOT NULL,
+    completed  INTEGER NOT NULL,
+    created_at TEXT NOT NULL,
+    updated_at TEXT NOT NULL
+);
+
+-- GET /api/todos/archived pages through one user's archive, newest first
+CREATE INDEX IF NOT EXISTS idx_archived_todos_user_archived ON archived_todos (user_id, archived_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_archived_subtasks_todo_created ON archived_subtasks (todo_id, created_at);
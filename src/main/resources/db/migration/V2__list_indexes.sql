@@ -0,0 +1,8 @@
+-- Every list query filters on the owner and sorts by created_at; without these
+-- SQLite scans the whole table and sorts in a temp b-tree.
+
+CREATE INDEX IF NOT EXISTS idx_todos_user_created ON todos (user_id, created_at);
+
+CREATE INDEX IF NOT EXISTS idx_todos_user_completed_created ON todos (user_id, completed, created_at);
+
+CREATE INDEX IF NOT EXISTS idx_subtasks_todo_created ON subtasks (todo_id, created_at);
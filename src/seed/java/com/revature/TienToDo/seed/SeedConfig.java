@@ -0,0 +1,62 @@
+package com.revature.TienToDo.seed;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What {@link SqliteSeeder} generates. Parsed from --name=value arguments;
+ * anything not given keeps the default shown in {@link #parse}.
+ *
+ * @param todosMax      upper bound of the Zipf "todos per user" distribution
+ * @param todosZipfS    Zipf exponent — higher means more users with few todos
+ * @param subtasksMax   subtasks per todo are uniform in 0..subtasksMax
+ * @param spreadDays    created_at is uniform over the last spreadDays days
+ * @param withIndexes   also create user_id / todo_id indexes (the JPA schema has none)
+ */
+public record SeedConfig(
+        Path file,
+        int users,
+        int todosMax,
+        double todosZipfS,
+        int subtasksMax,
+        double completionRatio,
+        int titleWordsMin,
+        int titleWordsMax,
+        int descriptionWordsMax,
+        int spreadDays,
+        long randomSeed,
+        int batchSize,
+        int commitEvery,
+        boolean withIndexes) {
+
+    public static SeedConfig of(Path file, int users, int todosMax, int subtasksMax) {
+        return parse(new String[]{
+                "--file=" + file, "--users=" + users, "--todos-max=" + todosMax, "--subtasks-max=" + subtasksMax});
+    }
+
+    public static SeedConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return new SeedConfig(
+                Path.of(options.getOrDefault("file", "target/seed/seed.sqlite")),
+                Integer.parseInt(options.getOrDefault("users", "10000")),
+                Integer.parseInt(options.getOrDefault("todos-max", "2000")),
+                Double.parseDouble(options.getOrDefault("todos-zipf-s", "1.1")),
+                Integer.parseInt(options.getOrDefault("subtasks-max", "6")),
+                Double.parseDouble(options.getOrDefault("completion-ratio", "0.4")),
+                Integer.parseInt(options.getOrDefault("title-words-min", "2")),
+                Integer.parseInt(options.getOrDefault("title-words-max", "8")),
+                Integer.parseInt(options.getOrDefault("description-words-max", "30")),
+                Integer.parseInt(options.getOrDefault("spread-days", "730")),
+                Long.parseLong(options.getOrDefault("random-seed", "42")),
+                Integer.parseInt(options.getOrDefault("batch-size", "10000")),
+                Integer.parseInt(options.getOrDefault("commit-every", "1000000")),
+                Boolean.parseBoolean(options.getOrDefault("with-indexes", "false")));
+    }
+}
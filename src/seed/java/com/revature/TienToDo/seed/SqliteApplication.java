@@ -0,0 +1,66 @@
+package com.revature.TienToDo.seed;
+
+import com.revature.TienToDo.TienToDoAppApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application in this JVM on a SQLite file, for the bench and load
+ * profiles. Those run on the test classpath, where src/test/resources'
+ * application.properties switches to H2 and create-drop; builder defaults
+ * rank below it, so the SQLite settings (and any extra properties) are passed
+ * as command-line arguments, which rank above it. Startup fails if the app
+ * still ends up on anything but SQLite.
+ */
+public final class SqliteApplication {
+    private SqliteApplication() {
+    }
+
+    /**
+     * @param jdbcUrl    a jdbc:sqlite: URL
+     * @param properties extra key=value properties, taking precedence like the SQLite settings
+     * @param profiles   Spring profiles to activate, may be empty
+     */
+    public static ConfigurableApplicationContext run(String jdbcUrl, List<String> properties, String... profiles) {
+        List<String> args = new ArrayList<>(List.of(
+                "spring.datasource.url=" + jdbcUrl,
+                "spring.datasource.driver-class-name=org.sqlite.JDBC",
+                "spring.datasource.username=",
+                "spring.datasource.password=",
+                "spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect",
+                "spring.jpa.hibernate.ddl-auto=none",
+                "spring.jpa.show-sql=false",
+                "app.db.migrations.enabled=true",
+                "app.sql.repeat-detection.sample-rate=0.01",
+                "server.port=0",
+                "spring.main.banner-mode=off",
+                "spring.devtools.restart.enabled=false",
+                "logging.level.root=WARN"));
+        args.addAll(properties);
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(TienToDoAppApplication.class);
+        if (profiles.length > 0) {
+            builder.profiles(profiles);
+        }
+        ConfigurableApplicationContext context = builder.run(args.stream().map(arg -> "--" + arg).toArray(String[]::new));
+
+        String url;
+        try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+            url = connection.getMetaData().getURL();
+        } catch (SQLException e) {
+            context.close();
+            throw new IllegalStateException("Could not open a connection to " + jdbcUrl, e);
+        }
+        if (url == null || !url.startsWith("jdbc:sqlite:")) {
+            context.close();
+            throw new IllegalStateException("Expected the app on " + jdbcUrl + " but it started on " + url);
+        }
+        return context;
+    }
+}
@@ -0,0 +1,251 @@
+package com.revature.TienToDo.seed;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+
+/**
+ * Writes users, todos and subtasks straight into a new SQLite file, bypassing
+ * JPA: explicit ids, prepared-statement batches, one transaction per
+ * commitEvery rows, and journaling and fsync switched off while loading (a
+ * crash mid-seed just means seeding again). Output is deterministic for a
+ * given random seed.
+ *
+ * The schema matches db/migration/V1__initial_schema.sql (which uses IF NOT
+ * EXISTS), so the app's migrations start on the file and only add what came
+ * later. Every user is "seed-user-N" with password {@link #PASSWORD}, so load
+ * tests can log in as them.
+ *
+ *   ./mvnw -Pseed verify -Dseed.args="--file=target/seed/10m.sqlite --users=20000"
+ */
+public final class SqliteSeeder {
+    public static final String PASSWORD = "Seeded#2025";
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String[] WORDS = {
+            "buy", "groceries", "quarterly", "report", "call", "dentist", "fix", "bug", "review", "pull",
+            "request", "plan", "sprint", "book", "flights", "pay", "rent", "clean", "garage", "update",
+            "resume", "email", "team", "prepare", "slides", "water", "plants", "renew", "passport", "order",
+            "printer", "ink", "schedule", "meeting", "backup", "laptop", "read", "chapter", "walk", "dog"
+    };
+
+    public record Summary(long users, long todos, long subtasks, long millis) {
+        public long rows() {
+            return users + todos + subtasks;
+        }
+    }
+
+    private final SeedConfig config;
+    private final SplittableRandom random;
+    private final ZipfDistribution todosPerUser;
+    private final long nowEpoch = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+    private final StringBuilder text = new StringBuilder(256);
+
+    private PreparedStatement[] batches;
+    private long pendingRows;
+
+    private SqliteSeeder(SeedConfig config) {
+        this.config = config;
+        this.random = new SplittableRandom(config.randomSeed());
+        this.todosPerUser = new ZipfDistribution(config.todosMax(), config.todosZipfS());
+    }
+
+    public static void main(String[] args) throws Exception {
+        SeedConfig config = SeedConfig.parse(args);
+        Summary summary = seed(config);
+        System.out.printf("Seeded %s: %,d users, %,d todos, %,d subtasks (%,d rows) in %.1fs%n",
+                config.file(), summary.users(), summary.todos(), summary.subtasks(), summary.rows(),
+                summary.millis() / 1000.0);
+    }
+
+    public static Summary seed(SeedConfig config) throws SQLException, IOException {
+        if (Files.exists(config.file())) {
+            throw new IllegalArgumentException("Refusing to overwrite existing database " + config.file());
+        }
+        Path parent = config.file().toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new SqliteSeeder(config).run();
+    }
+
+    private Summary run() throws SQLException {
+        long started = System.currentTimeMillis();
+        System.out.printf("Seeding ~%,.0f todos for %,d users (Zipf mean %.1f per user)%n",
+                todosPerUser.mean() * config.users(), config.users(), todosPerUser.mean());
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + config.file())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=OFF");
+                statement.execute("PRAGMA synchronous=OFF");
+                statement.execute("PRAGMA locking_mode=EXCLUSIVE");
+                statement.execute("PRAGMA temp_store=MEMORY");
+                statement.execute("PRAGMA cache_size=-262144");
+                createSchema(statement);
+            }
+            connection.setAutoCommit(false);
+
+            String passwordHash = "{bcrypt}" + new BCryptPasswordEncoder(10).encode(PASSWORD);
+            long todos = 0;
+            long subtasks = 0;
+
+            try (PreparedStatement users = connection.prepareStatement(
+                         "INSERT INTO users (id, username, email, password_hash, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)");
+                 PreparedStatement todoInsert = connection.prepareStatement(
+                         "INSERT INTO todos (id, user_id, title, description, completed, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)");
+                 PreparedStatement subtaskInsert = connection.prepareStatement(
+                         "INSERT INTO subtasks (id, todo_id, title, completed, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)")) {
+                batches = new PreparedStatement[]{users, todoInsert, subtaskInsert};
+
+                for (long userId = 1; userId <= config.users(); userId++) {
+                    long userCreated = randomPastEpoch();
+                    String created = format(userCreated);
+                    users.setLong(1, userId);
+                    users.setString(2, "seed-user-" + userId);
+                    users.setString(3, "seed-user-" + userId + "@seed.test");
+                    users.setString(4, passwordHash);
+                    users.setString(5, created);
+                    users.setString(6, created);
+                    add(connection, users);
+
+                    int userTodos = todosPerUser.sample(random);
+                    for (int t = 0; t < userTodos; t++) {
+                        long todoId = ++todos;
+                        long todoCreated = between(userCreated, nowEpoch);
+                        long todoUpdated = between(todoCreated, nowEpoch);
+                        boolean completed = random.nextDouble() < config.completionRatio();
+
+                        todoInsert.setLong(1, todoId);
+                        todoInsert.setLong(2, userId);
+                        todoInsert.setString(3, words(config.titleWordsMin(), config.titleWordsMax()));
+                        String description = config.descriptionWordsMax() > 0 && random.nextInt(4) != 0
+                                ? words(1, config.descriptionWordsMax()) : null;
+                        todoInsert.setString(4, description);
+                        todoInsert.setInt(5, completed ? 1 : 0);
+                        todoInsert.setString(6, format(todoCreated));
+                        todoInsert.setString(7, format(todoUpdated));
+                        add(connection, todoInsert);
+
+                        int todoSubtasks = random.nextInt(config.subtasksMax() + 1);
+                        for (int s = 0; s < todoSubtasks; s++) {
+                            long subtaskCreated = between(todoCreated, todoUpdated);
+                            subtaskInsert.setLong(1, ++subtasks);
+                            subtaskInsert.setLong(2, todoId);
+                            subtaskInsert.setString(3, words(config.titleWordsMin(), config.titleWordsMax()));
+                            subtaskInsert.setInt(4, completed || random.nextDouble() < config.completionRatio() ? 1 : 0);
+                            subtaskInsert.setString(5, format(subtaskCreated));
+                            subtaskInsert.setString(6, format(between(subtaskCreated, todoUpdated)));
+                            add(connection, subtaskInsert);
+                        }
+                    }
+                }
+
+                users.executeBatch();
+                todoInsert.executeBatch();
+                subtaskInsert.executeBatch();
+                connection.commit();
+            }
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                if (config.withIndexes()) {
+                    statement.execute("CREATE INDEX IF NOT EXISTS idx_todos_user_id ON todos (user_id)");
+                    statement.execute("CREATE INDEX IF NOT EXISTS idx_subtasks_todo_id ON subtasks (todo_id)");
+                }
+                statement.execute("ANALYZE");
+                statement.execute("PRAGMA journal_mode=DELETE");
+            }
+
+            return new Summary(config.users(), todos, subtasks, System.currentTimeMillis() - started);
+        }
+    }
+
+    /**
+     * Queue a row; every batchSize rows all three batches are flushed (parents
+     * before children), and every commitEvery rows the transaction is committed.
+     */
+    private void add(Connection connection, PreparedStatement statement) throws SQLException {
+        statement.addBatch();
+        pendingRows++;
+        if (pendingRows % config.batchSize() == 0) {
+            for (PreparedStatement batch : batches) {
+                batch.executeBatch();
+            }
+        }
+        if (pendingRows % config.commitEvery() == 0) {
+            connection.commit();
+            System.out.printf("  %,d rows%n", pendingRows);
+        }
+    }
+
+    private void createSchema(Statement statement) throws SQLException {
+        statement.execute("""
+                CREATE TABLE users (
+                    id            INTEGER PRIMARY KEY AUTOINCREMENT,
+                    username      TEXT NOT NULL UNIQUE,
+                    email         TEXT NOT NULL UNIQUE,
+                    password_hash TEXT NOT NULL,
+                    created_at    TEXT NOT NULL,
+                    updated_at    TEXT NOT NULL
+                )""");
+        statement.execute("""
+                CREATE TABLE todos (
+                    id          INTEGER PRIMARY KEY AUTOINCREMENT,
+                    user_id     INTEGER NOT NULL,
+                    title       TEXT NOT NULL,
+                    description TEXT,
+                    completed   INTEGER NOT NULL DEFAULT 0,
+                    created_at  TEXT NOT NULL,
+                    updated_at  TEXT NOT NULL,
+                    CONSTRAINT fk_todos_user_id FOREIGN KEY (user_id) REFERENCES users (id)
+                )""");
+        statement.execute("""
+                CREATE TABLE subtasks (
+                    id         INTEGER PRIMARY KEY AUTOINCREMENT,
+                    todo_id    INTEGER NOT NULL,
+                    title      TEXT NOT NULL,
+                    completed  INTEGER NOT NULL DEFAULT 0,
+                    created_at TEXT NOT NULL,
+                    updated_at TEXT NOT NULL,
+                    CONSTRAINT fk_subtasks_todo_id FOREIGN KEY (todo_id) REFERENCES todos (id)
+                )""");
+    }
+
+    private String words(int min, int max) {
+        int count = min + random.nextInt(Math.max(1, max - min + 1));
+        text.setLength(0);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        if (!text.isEmpty()) {
+            text.setCharAt(0, Character.toUpperCase(text.charAt(0)));
+        }
+        return text.toString();
+    }
+
+    private long randomPastEpoch() {
+        return nowEpoch - random.nextLong(Math.max(1, config.spreadDays() * 86_400L));
+    }
+
+    private long between(long from, long to) {
+        return to > from ? from + random.nextLong(to - from + 1) : from;
+    }
+
+    private static String format(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC).format(FORMATTER);
+    }
+}
@@ -0,0 +1,43 @@
+package com.revature.TienToDo.seed;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf distribution over 1..n with exponent s: P(k) ∝ 1 / k^s. Sampled by
+ * binary search over a precomputed CDF, which is exact and fast for the
+ * few-thousand-element ranges used for "todos per user".
+ */
+public final class ZipfDistribution {
+    private final double[] cdf;
+
+    public ZipfDistribution(int n, double s) {
+        if (n < 1 || s <= 0) {
+            throw new IllegalArgumentException("Zipf needs n >= 1 and s > 0");
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 1; k <= n; k++) {
+            sum += 1.0 / Math.pow(k, s);
+            cdf[k - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+    }
+
+    public int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return (index >= 0 ? index : -index - 1) + 1;
+    }
+
+    public double mean() {
+        double mean = 0;
+        double previous = 0;
+        for (int i = 0; i < cdf.length; i++) {
+            mean += (i + 1) * (cdf[i] - previous);
+            previous = cdf[i];
+        }
+        return mean;
+    }
+}
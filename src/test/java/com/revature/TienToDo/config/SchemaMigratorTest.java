@@ -0,0 +1,183 @@
+package com.revature.TienToDo.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SchemaMigratorTest {
+    @TempDir
+    Path dir;
+
+    private SQLiteDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + dir.resolve("migrations.sqlite"));
+    }
+
+    private SchemaMigrator migrator(int batchSize, List<SchemaMigrator.BatchedMigration> batched) {
+        SchemaMigrator migrator = new SchemaMigrator();
+        ReflectionTestUtils.setField(migrator, "dataSource", dataSource);
+        ReflectionTestUtils.setField(migrator, "location", "classpath*:db/migration/");
+        ReflectionTestUtils.setField(migrator, "batchSize", batchSize);
+        ReflectionTestUtils.setField(migrator, "batchedMigrations", batched);
+        return migrator;
+    }
+
+    @Test
+    @DisplayName("should create the schema and record every version")
+    void migrate_CreatesSchema() throws SQLException {
+        migrator(100, TimestampBackfillMigration.all()).migrate();
+
+        assertThat(queryStrings("SELECT name FROM sqlite_master WHERE type IN ('table', 'index') ORDER BY name"))
+                .contains("users", "todos", "subtasks", "schema_migrations", "idx_todos_user_created");
+        assertThat(queryStrings("SELECT state FROM schema_migrations ORDER BY version"))
+                .containsExactly("applied", "applied", "applied", "applied", "applied");
+        assertThat(userVersion()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("should skip work when current and reject edited migrations otherwise")
+    void migrate_SkipsWhenCurrent() throws SQLException {
+        migrator(100, TimestampBackfillMigration.all()).migrate();
+        execute("UPDATE schema_migrations SET checksum = 'edited' WHERE version = 1");
+
+        // user_version is current, so the history isn't even read
+        migrator(100, TimestampBackfillMigration.all()).migrate();
+
+        execute("PRAGMA user_version = 2");
+        assertThatThrownBy(() -> migrator(100, TimestampBackfillMigration.all()).migrate())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("V1")
+                .hasMessageContaining("has changed");
+    }
+
+    @Test
+    @DisplayName("should rewrite epoch-millisecond timestamps as text")
+    void migrate_BackfillsTimestamps() throws SQLException {
+        migrator(100, List.of()).migrate();
+        execute("INSERT INTO users (username, email, password_hash, created_at, updated_at) "
+                + "VALUES ('legacy', 'legacy@example.com', 'x', '1771087438372', '1771087438372')");
+        execute("INSERT INTO users (username, email, password_hash, created_at, updated_at) "
+                + "VALUES ('current', 'current@example.com', 'x', '2025-01-02 03:04:05', '2025-01-02 03:04:05')");
+
+        migrator(1, TimestampBackfillMigration.all()).migrate();
+
+        SQLiteLocalDateTimeConverter converter = new SQLiteLocalDateTimeConverter();
+        assertThat(queryStrings("SELECT created_at FROM users ORDER BY id")).containsExactly(
+                converter.convertToDatabaseColumn(converter.convertToEntityAttribute("1771087438372")),
+                "2025-01-02 03:04:05");
+    }
+
+    @Test
+    @DisplayName("should resume a batched migration from its last committed batch")
+    void migrate_ResumesBatchedMigration() throws SQLException {
+        CountingMigration migration = new CountingMigration();
+        migration.failAt = 2;
+
+        assertThatThrownBy(() -> migrator(1, List.of(migration)).migrate())
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(queryStrings("SELECT state || ':' || resume_after FROM schema_migrations WHERE version = 3"))
+                .containsExactly("in_progress:2");
+
+        migration.failAt = -1;
+        migrator(1, List.of(migration)).migrate();
+
+        assertThat(migration.batches).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(queryStrings("SELECT state FROM schema_migrations WHERE version = 3")).containsExactly("applied");
+        assertThat(userVersion()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should split scripts on semicolons outside comments, strings and trigger bodies")
+    void splitStatements_HandlesTriggers() {
+        List<String> statements = SchemaMigrator.splitStatements("""
+                -- a comment; not a statement
+                CREATE TABLE audit (note TEXT DEFAULT 'a;b');
+                /* block; comment */
+                CREATE TRIGGER todos_audit AFTER INSERT ON todos BEGIN
+                    INSERT INTO audit (note) VALUES ('insert');
+                    DELETE FROM audit WHERE rowid < new.id - 100;
+                END;
+                CREATE INDEX idx ON audit (note)
+                """);
+
+        assertThat(statements).hasSize(3);
+        assertThat(statements.get(0)).isEqualTo("CREATE TABLE audit (note TEXT DEFAULT 'a;b')");
+        assertThat(statements.get(1)).startsWith("CREATE TRIGGER").endsWith("END");
+        assertThat(statements.get(2)).isEqualTo("CREATE INDEX idx ON audit (note)");
+    }
+
+    /**
+     * Five batches keyed 0..4; can be told to fail when it reaches a key.
+     */
+    private static final class CountingMigration implements SchemaMigrator.BatchedMigration {
+        private final List<Long> batches = new ArrayList<>();
+        private long failAt = -1;
+
+        @Override
+        public int version() {
+            return 3;
+        }
+
+        @Override
+        public String description() {
+            return "counting";
+        }
+
+        @Override
+        public String checksum() {
+            return "counting:1";
+        }
+
+        @Override
+        public long migrateBatch(Connection connection, long after, int batchSize) {
+            if (after == failAt) {
+                throw new IllegalStateException("simulated crash");
+            }
+            if (after >= 5) {
+                return -1;
+            }
+            batches.add(after);
+            return after + 1;
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private List<String> queryStrings(String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                values.add(rs.getString(1));
+            }
+        }
+        return values;
+    }
+
+    private int userVersion() throws SQLException {
+        return Integer.parseInt(queryStrings("PRAGMA user_version").get(0));
+    }
+}
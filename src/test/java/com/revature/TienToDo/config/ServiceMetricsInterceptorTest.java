@@ -0,0 +1,54 @@
+package com.revature.TienToDo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ServiceMetricsInterceptorTest {
+    private SimpleMeterRegistry meterRegistry;
+    private GreetingService proxy;
+
+    static class GreetingService {
+        public String greet(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("name is required");
+            }
+            return "Hello " + name;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry));
+
+        ProxyFactory factory = new ProxyFactory(new GreetingService());
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new ServiceMetricsInterceptor(beanFactory.getBeanProvider(MeterRegistry.class)));
+        proxy = (GreetingService) factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("should time successful and failed calls separately")
+    void recordsOutcome() {
+        proxy.greet("Tien");
+        proxy.greet("Ana");
+        assertThatThrownBy(() -> proxy.greet(null)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(meterRegistry.get("app.service.method")
+                .tags("class", "GreetingService", "method", "greet", "outcome", "success")
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("app.service.method")
+                .tags("class", "GreetingService", "method", "greet", "outcome", "error")
+                .timer().count()).isEqualTo(1);
+    }
+}
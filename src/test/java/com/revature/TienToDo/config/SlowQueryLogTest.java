@@ -0,0 +1,141 @@
+package com.revature.TienToDo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SlowQueryLogTest {
+    private static final long MS = 1_000_000L;
+
+    private SlowQueryLog log = new SlowQueryLog(100, 4, 10, 100, 60_000);
+
+    @AfterEach
+    void tearDown() {
+        log.shutdown();
+    }
+
+    @Test
+    @DisplayName("should normalize literals, IN lists and whitespace")
+    void normalize_StripsLiterals() {
+        assertThat(SqlShapes.normalize("select *  from todos\n where user_id = 42 and title = 'it''s' and id in (?, ?)"))
+                .isEqualTo("select * from todos where user_id = ? and title = ? and id in (?...)");
+    }
+
+    @Test
+    @DisplayName("should keep only executions over the threshold, newest first")
+    void record_KeepsSlowStatements() {
+        log.record("select * from todos where id=?", List.of("Long"), 5 * MS, 1);
+        log.record("select * from todos where user_id=?", List.of("Long"), 150 * MS, 1000);
+        log.record("update todos set title=? where id=?", List.of("String", "Long"), 120 * MS, 1);
+
+        List<SlowQueryLog.SlowStatement> recent = log.recentSlowStatements(10);
+
+        assertThat(recent).extracting(SlowQueryLog.SlowStatement::shape)
+                .containsExactly("update todos set title=? where id=?", "select * from todos where user_id=?");
+        assertThat(recent.get(1).parameterTypes()).containsExactly("Long");
+        assertThat(recent.get(1).rows()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("should overwrite the oldest slow statement when the ring is full")
+    void record_RingWrapsAround() {
+        for (int i = 1; i <= 6; i++) {
+            log.record("select " + "x".repeat(i) + " from todos", List.of(), 200 * MS, 0);
+        }
+
+        assertThat(log.recentSlowStatements(10)).hasSize(4)
+                .first().extracting(SlowQueryLog.SlowStatement::shape).isEqualTo("select xxxxxx from todos");
+    }
+
+    @Test
+    @DisplayName("should rank shapes by p99")
+    void slowestShapes_RankedByP99() {
+        for (int i = 1; i <= 100; i++) {
+            log.record("select * from subtasks where todo_id in (?, ?)", List.of(), i * MS, 2);
+            log.record("select * from users where username=?", List.of(), MS, 1);
+        }
+
+        List<SlowQueryLog.ShapeSummary> shapes = log.slowestShapes(5);
+
+        assertThat(shapes).hasSize(2);
+        SlowQueryLog.ShapeSummary slowest = shapes.get(0);
+        assertThat(slowest.shape()).isEqualTo("select * from subtasks where todo_id in (?...)");
+        assertThat(slowest.executions()).isEqualTo(100);
+        assertThat(slowest.p50Ms()).isEqualTo(50.0);
+        assertThat(slowest.p99Ms()).isEqualTo(99.0);
+        assertThat(slowest.slowExecutions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should fold shapes past the limit into one bucket")
+    void record_BoundsShapes() {
+        for (int i = 0; i < 15; i++) {
+            log.record("select c" + "x".repeat(i) + " from todos", List.of(), MS, 0);
+        }
+
+        assertThat(log.slowestShapes(100)).hasSize(11)
+                .extracting(SlowQueryLog.ShapeSummary::shape).contains(SlowQueryLog.OVERFLOW_SHAPE);
+    }
+
+    @Test
+    @DisplayName("should time statements through the DataSource with parameter types and row counts")
+    void dataSource_RecordsStatements() throws Exception {
+        log.shutdown();
+        log = new SlowQueryLog(0, 10, 10, 10, 60_000);
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:slow-query-test;DB_CLOSE_DELAY=-1");
+        SlowQueryDataSource dataSource = new SlowQueryDataSource(h2, log);
+
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create table items (id bigint, name varchar(20))");
+            }
+            try (PreparedStatement insert = connection.prepareStatement("insert into items values (?, ?)")) {
+                for (long i = 0; i < 3; i++) {
+                    insert.setLong(1, i);
+                    insert.setString(2, "item");
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement select = connection.prepareStatement("select * from items where id >= ?")) {
+                select.setLong(1, 1);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        // drain
+                    }
+                }
+            }
+        }
+
+        List<SlowQueryLog.SlowStatement> recent = log.recentSlowStatements(10);
+        assertThat(recent.get(0).shape()).isEqualTo("select * from items where id >= ?");
+        assertThat(recent.get(0).parameterTypes()).containsExactly("Long");
+        assertThat(recent.get(0).rows()).isEqualTo(2);
+        assertThat(recent.get(1).shape()).isEqualTo("insert into items values (?, ?)");
+        assertThat(recent.get(1).rows()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should capture plans on the pool behind the timing and concurrency wrappers")
+    void planSource_UnwrapsToPool() {
+        try (HikariDataSource pool = new HikariDataSource()) {
+            pool.setJdbcUrl("jdbc:h2:mem:plan-source-test");
+            SlowQueryDataSource timed = new SlowQueryDataSource(new ConcurrencyLimitedDataSource(pool, 1, 50), log);
+            ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(new SlowQueryDataSource(pool, log), 1, 50);
+
+            assertThat(SlowQueryConfig.planSource(timed)).isSameAs(pool);
+            assertThat(SlowQueryConfig.planSource(limited)).isSameAs(pool);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.revature.TienToDo.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlStatementCounterTest {
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("should report shapes repeated more than the threshold")
+    void finishRequest_ReportsRepeatedShapes() {
+        SqlStatementCounter.startRequest(true);
+        counter.inspect("select u.id from users u where u.username=?");
+        for (int i = 0; i < 5; i++) {
+            counter.inspect("select s.id from subtasks s where s.todo_id=?");
+        }
+
+        SqlStatementCounter.RequestStats stats = SqlStatementCounter.finishRequest(3);
+
+        assertThat(stats.statements()).isEqualTo(6);
+        assertThat(stats.repeatedShapes())
+                .containsOnlyKeys("select s.id from subtasks s where s.todo_id=?")
+                .containsValue(5);
+    }
+
+    @Test
+    @DisplayName("should treat IN lists of different lengths as one shape")
+    void normalize_CollapsesInLists() {
+        assertThat(SqlStatementCounter.normalize("select * from subtasks where todo_id in (?, ?, ?)"))
+                .isEqualTo(SqlStatementCounter.normalize("select * from subtasks where todo_id in (?,?)"))
+                .isEqualTo("select * from subtasks where todo_id in (?...)");
+    }
+
+    @Test
+    @DisplayName("should count but not track shapes for unsampled requests")
+    void unsampled_CountsOnly() {
+        SqlStatementCounter.startRequest(false);
+        for (int i = 0; i < 5; i++) {
+            counter.inspect("select 1");
+        }
+
+        SqlStatementCounter.RequestStats stats = SqlStatementCounter.finishRequest(3);
+
+        assertThat(stats.statements()).isEqualTo(5);
+        assertThat(stats.repeatedShapes()).isEmpty();
+        assertThat(SqlStatementCounter.lastSql()).isEqualTo("select 1");
+    }
+
+    @Test
+    @DisplayName("should count statements per transaction within a request")
+    void finishRequest_ReportsTransactions() {
+        SqlStatementCounter.startRequest(false);
+        runTransaction(3);
+        runTransaction(1);
+
+        SqlStatementCounter.RequestStats stats = SqlStatementCounter.finishRequest(3);
+
+        assertThat(stats.transactions()).extracting(SqlStatementCounter.TransactionStatements::statements)
+                .containsExactly(3, 1);
+        assertThat(stats.maxPerTransaction()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should not keep transactions run on threads outside a request")
+    void transactionsOutsideRequest_AreNotKept() throws InterruptedException {
+        AtomicInteger pending = new AtomicInteger(-1);
+        // Like a password-hashing pool thread running AuthService.login
+        Thread worker = new Thread(() -> {
+            for (int i = 0; i < 100; i++) {
+                runTransaction(2);
+            }
+            pending.set(SqlStatementCounter.pendingTransactions());
+        });
+        worker.start();
+        worker.join();
+
+        assertThat(pending.get()).isZero();
+    }
+
+    private void runTransaction(int statements) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            for (int i = 0; i < statements; i++) {
+                counter.inspect("select 1");
+            }
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.revature.TienToDo.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StrengthTaggedPasswordEncoderTest {
+    private SimpleMeterRegistry meterRegistry;
+    private StrengthTaggedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        encoder = new StrengthTaggedPasswordEncoder(5, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should store hashes tagged with {bcrypt} at the target cost")
+    void encode_TaggedWithStrength() {
+        String hash = encoder.encode("Secret123!");
+
+        assertThat(hash).startsWith("{bcrypt}$2a$05$");
+        assertThat(encoder.matches("Secret123!", hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should verify legacy untagged hashes and flag them for rehash")
+    void legacyHash_MatchesAndUpgrades() {
+        String legacy = new BCryptPasswordEncoder(4).encode("Secret123!");
+
+        assertThat(encoder.matches("Secret123!", legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should flag hashes stronger than the target too")
+    void strongerHash_Upgrades() {
+        String stronger = new StrengthTaggedPasswordEncoder(6, meterRegistry).encode("Secret123!");
+
+        assertThat(encoder.matches("Secret123!", stronger)).isTrue();
+        assertThat(encoder.upgradeEncoding(stronger)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should record hash latency")
+    void recordsLatency() {
+        String hash = encoder.encode("Secret123!");
+        encoder.matches("Secret123!", hash);
+
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count())
+                .isEqualTo(1);
+    }
+}
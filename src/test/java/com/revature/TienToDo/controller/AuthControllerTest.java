@@ -19,9 +19,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -57,6 +61,9 @@ public class AuthControllerTest {
         testUser.setUpdatedAt(LocalDateTime.of(2026, 2, 15, 10, 0, 0));
 
         testAuthResponse = new AuthResponse("access.token.here", 1L, "john_doe", "john@example.com");
+
+        // Run the async auth work inline so results are available immediately
+        ReflectionTestUtils.setField(authController, "passwordHashingExecutor", (Executor) Runnable::run);
     }
 
     @Nested
@@ -75,7 +82,7 @@ public class AuthControllerTest {
             when(authService.register(any(RegisterRequest.class))).thenReturn(testAuthResponse);
             when(jwtUtil.generateRefreshToken("john_doe")).thenReturn("refresh.token.here");
 
-            ResponseEntity<Map<String, Object>> response = authController.register(request);
+            ResponseEntity<Map<String, Object>> response = authController.register(request).join();
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
             assertThat(response.getBody()).isNotNull();
@@ -99,8 +106,9 @@ public class AuthControllerTest {
             when(authService.register(any(RegisterRequest.class)))
                     .thenThrow(new IllegalArgumentException("Username already exists"));
 
-            org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class,
-                    () -> authController.register(request));
+            CompletionException ex = org.junit.jupiter.api.Assertions.assertThrows(CompletionException.class,
+                    () -> authController.register(request).join());
+            assertThat(ex.getCause()).isInstanceOf(IllegalArgumentException.class);
         }
 
         @Test
@@ -112,8 +120,9 @@ public class AuthControllerTest {
             when(authService.register(any(RegisterRequest.class)))
                     .thenThrow(new IllegalArgumentException("Email already exists"));
 
-            org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class,
-                    () -> authController.register(request));
+            CompletionException ex = org.junit.jupiter.api.Assertions.assertThrows(CompletionException.class,
+                    () -> authController.register(request).join());
+            assertThat(ex.getCause()).isInstanceOf(IllegalArgumentException.class);
         }
 
         @Test
@@ -126,8 +135,9 @@ public class AuthControllerTest {
             when(authService.register(any(RegisterRequest.class)))
                     .thenThrow(new IllegalArgumentException("Password and confirmation do not match"));
 
-            org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class,
-                    () -> authController.register(request));
+            CompletionException ex = org.junit.jupiter.api.Assertions.assertThrows(CompletionException.class,
+                    () -> authController.register(request).join());
+            assertThat(ex.getCause()).isInstanceOf(IllegalArgumentException.class);
         }
     }
 
@@ -145,7 +155,7 @@ public class AuthControllerTest {
             when(authService.login(any(LoginRequest.class))).thenReturn(testAuthResponse);
             when(jwtUtil.generateRefreshToken("john_doe")).thenReturn("refresh.token.here");
 
-            ResponseEntity<Map<String, Object>> response = authController.login(request);
+            ResponseEntity<Map<String, Object>> response = authController.login(request).join();
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(response.getBody()).isNotNull();
@@ -170,8 +180,23 @@ public class AuthControllerTest {
             when(authService.login(any(LoginRequest.class)))
                     .thenThrow(new org.springframework.security.authentication.BadCredentialsException("Bad credentials"));
 
-            org.junit.jupiter.api.Assertions.assertThrows(
-                    org.springframework.security.authentication.BadCredentialsException.class,
+            CompletionException ex = org.junit.jupiter.api.Assertions.assertThrows(CompletionException.class,
+                    () -> authController.login(request).join());
+            assertThat(ex.getCause())
+                    .isInstanceOf(org.springframework.security.authentication.BadCredentialsException.class);
+        }
+
+        @Test
+        @DisplayName("should fail fast when the hashing pool is saturated")
+        void login_PoolSaturated() {
+            LoginRequest request = new LoginRequest();
+            request.setUsername("john_doe");
+            request.setPassword("Secret123!");
+
+            ReflectionTestUtils.setField(authController, "passwordHashingExecutor",
+                    (Executor) task -> { throw new RejectedExecutionException("queue full"); });
+
+            org.junit.jupiter.api.Assertions.assertThrows(RejectedExecutionException.class,
                     () -> authController.login(request));
         }
     }
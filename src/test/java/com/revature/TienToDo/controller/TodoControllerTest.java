@@ -7,6 +7,7 @@ import com.revature.TienToDo.dto.TodoResponse;
 import com.revature.TienToDo.dto.TodoUpdateRequest;
 import com.revature.TienToDo.entity.User;
 import com.revature.TienToDo.service.AuthService;
+import com.revature.TienToDo.service.TodoEventHub;
 import com.revature.TienToDo.service.TodoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -39,6 +41,9 @@ public class TodoControllerTest {
     @Mock
     private AuthService authService;
 
+    @Mock
+    private TodoEventHub todoEventHub;
+
     @Mock
     private Authentication authentication;
 
@@ -249,4 +254,22 @@ public class TodoControllerTest {
                     () -> todoController.deleteTodo(99L, authentication));
         }
     }
+
+    @Nested
+    @DisplayName("GET /api/todos/events")
+    class StreamEventsTests {
+
+        @Test
+        @DisplayName("should subscribe the authenticated user to the event hub")
+        void streamEvents_SubscribesUser() {
+            stubAuth();
+            SseEmitter emitter = new SseEmitter();
+            when(todoEventHub.subscribe(1L)).thenReturn(emitter);
+
+            SseEmitter result = todoController.streamEvents(authentication);
+
+            assertThat(result).isSameAs(emitter);
+            verify(todoEventHub).subscribe(1L);
+        }
+    }
 }
@@ -3,6 +3,7 @@ package com.revature.TienToDo.integration;
 import com.revature.TienToDo.entity.User;
 import com.revature.TienToDo.repository.UserRepository;
 import com.revature.TienToDo.utility.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,7 +16,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 import java.time.LocalDateTime;
 
@@ -23,9 +25,10 @@ import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+// Not @Transactional: register/login run on the password hashing pool, which
+// can't see rows from an uncommitted test transaction. Data is cleaned per test.
 @SpringBootTest
 @AutoConfigureMockMvc
-@Transactional
 @ActiveProfiles("test")
 public class AuthControllerIntegrationTest {
     @Autowired
@@ -58,6 +61,24 @@ public class AuthControllerIntegrationTest {
         accessToken = jwtUtil.generateToken("existing_user");
     }
 
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    /**
+     * Perform a request and, if the controller went async (register/login),
+     * dispatch the async result so expectations see the final response.
+     */
+    private ResultActions performAsync(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            return mockMvc.perform(asyncDispatch(result));
+        }
+        return actions;
+    }
+
     @Nested
     @DisplayName("POST /api/auth/register")
     class RegisterTests {
@@ -65,7 +86,7 @@ public class AuthControllerIntegrationTest {
         @Test
         @DisplayName("201 — successful registration returns tokens and user info")
         void register_Success() throws Exception {
-            mockMvc.perform(post("/api/auth/register")
+            performAsync(post("/api/auth/register")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content("""
                                 {
@@ -87,7 +108,7 @@ public class AuthControllerIntegrationTest {
         @Test
         @DisplayName("400 — duplicate username is rejected")
         void register_DuplicateUsername() throws Exception {
-            mockMvc.perform(post("/api/auth/register")
+            performAsync(post("/api/auth/register")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content("""
                                 {
@@ -103,7 +124,7 @@ public class AuthControllerIntegrationTest {
         @Test
         @DisplayName("400 — duplicate email is rejected")
         void register_DuplicateEmail() throws Exception {
-            mockMvc.perform(post("/api/auth/register")
+            performAsync(post("/api/auth/register")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content("""
                                 {
@@ -119,7 +140,7 @@ public class AuthControllerIntegrationTest {
         @Test
         @DisplayName("400 — password mismatch is rejected")
         void register_PasswordMismatch() throws Exception {
-            mockMvc.perform(post("/api/auth/register")
+            performAsync(post("/api/auth/register")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content("""
                                 {
@@ -142,7 +163,7 @@ public class AuthControllerIntegrationTest {
         @Test
         @DisplayName("200 — valid credentials return tokens")
         void login_Success() throws Exception {
-            mockMvc.perform(post("/api/auth/login")
+            performAsync(post("/api/auth/login")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content("""
                                 {
@@ -161,7 +182,7 @@ public class AuthControllerIntegrationTest {
         @Test
         @DisplayName("401 — wrong password is rejected")
         void login_WrongPassword() throws Exception {
-            mockMvc.perform(post("/api/auth/login")
+            performAsync(post("/api/auth/login")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content("""
                                 {
@@ -175,7 +196,7 @@ public class AuthControllerIntegrationTest {
         @Test
         @DisplayName("401 — non-existent user is rejected")
         void login_UserNotFound() throws Exception {
-            mockMvc.perform(post("/api/auth/login")
+            performAsync(post("/api/auth/login")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content("""
                                 {
@@ -282,7 +303,7 @@ public class AuthControllerIntegrationTest {
                     .andExpect(jsonPath("$.message").value("Password updated successfully"));
 
             // Verify can login with new password
-            mockMvc.perform(post("/api/auth/login")
+            performAsync(post("/api/auth/login")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content("""
                                 {
@@ -366,7 +387,7 @@ public class AuthControllerIntegrationTest {
                     .andExpect(jsonPath("$.message").value("Account deleted successfully"));
 
             // Verify user is gone
-            mockMvc.perform(post("/api/auth/login")
+            performAsync(post("/api/auth/login")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content("""
                                 {
@@ -397,7 +418,7 @@ public class AuthControllerIntegrationTest {
         @Test
         @DisplayName("public endpoints are accessible without token")
         void publicEndpoints_NoAuth() throws Exception {
-            mockMvc.perform(post("/api/auth/register")
+            performAsync(post("/api/auth/register")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content("""
                                 {
@@ -446,7 +467,7 @@ public class AuthControllerIntegrationTest {
         @DisplayName("register → login → get profile → change password → login with new password")
         void fullAuthFlow() throws Exception {
             // 1. Register
-            MvcResult registerResult = mockMvc.perform(post("/api/auth/register")
+            MvcResult registerResult = performAsync(post("/api/auth/register")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content("""
                                 {
@@ -483,7 +504,7 @@ public class AuthControllerIntegrationTest {
                     .andExpect(status().isOk());
 
             // 4. Login with new password
-            mockMvc.perform(post("/api/auth/login")
+            performAsync(post("/api/auth/login")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content("""
                                 {
@@ -495,7 +516,7 @@ public class AuthControllerIntegrationTest {
                     .andExpect(jsonPath("$.token").isNotEmpty());
 
             // 5. Old password should fail
-            mockMvc.perform(post("/api/auth/login")
+            performAsync(post("/api/auth/login")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content("""
                                 {
@@ -0,0 +1,241 @@
+package com.revature.TienToDo.integration;
+
+import com.revature.TienToDo.TienToDoAppApplication;
+import com.revature.TienToDo.entity.User;
+import com.revature.TienToDo.repository.UserRepository;
+import com.revature.TienToDo.service.AuthService;
+import com.revature.TienToDo.service.TodoService;
+import com.revature.TienToDo.service.UserCaches;
+import com.revature.TienToDo.utility.ClusterRing;
+import com.revature.TienToDo.utility.ClusterRoutingFilter;
+import com.revature.TienToDo.utility.JwtUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Three nodes in this JVM, each its own application context and HTTP port,
+ * sharing one H2 database and an in-JVM invalidation bus.
+ */
+public class ClusterIntegrationTest {
+    private static final String[] NODE_IDS = {"node-a", "node-b", "node-c"};
+    private static final long INVALIDATION_DEADLINE_MS = 1000;
+
+    private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private static final List<URI> addresses = new ArrayList<>();
+    private static final HttpClient http = HttpClient.newHttpClient();
+    private static final AtomicInteger users = new AtomicInteger();
+
+    private User user;
+    private String token;
+    private int owner;
+
+    @BeforeAll
+    static void startCluster() throws IOException {
+        StringBuilder members = new StringBuilder();
+        for (String nodeId : NODE_IDS) {
+            URI address = freeAddress();
+            addresses.add(address);
+            members.append(members.isEmpty() ? "" : ",").append(nodeId).append('=').append(address);
+        }
+        for (int i = 0; i < NODE_IDS.length; i++) {
+            nodes.add(startNode(NODE_IDS[i], addresses.get(i), members.toString(), "cluster"));
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId, URI address, String members, String name) {
+        // Command-line arguments, so they win over src/test/resources/application.properties
+        // (app.cache.enabled=false there); builder properties() would only be defaults
+        return new SpringApplicationBuilder(TienToDoAppApplication.class)
+                .profiles("test")
+                .run(
+                        "--server.port=" + address.getPort(),
+                        "--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--app.cache.enabled=true",
+                        "--app.cluster.enabled=true",
+                        "--app.cluster.node-id=" + nodeId,
+                        "--app.cluster.nodes=" + members,
+                        "--app.cluster.bus.type=local",
+                        "--app.cluster.bus.channel=" + name + "-integration-test");
+    }
+
+    private static URI freeAddress() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return URI.create("http://localhost:" + socket.getLocalPort());
+        }
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @BeforeEach
+    void setUp() {
+        ConfigurableApplicationContext first = nodes.get(0);
+        user = newUser(first);
+        token = first.getBean(JwtUtil.class).generateToken(user.getUsername());
+
+        String ownerId = first.getBean(ClusterRing.class).ownerOf(user.getId());
+        owner = List.of(NODE_IDS).indexOf(ownerId);
+    }
+
+    private static User newUser(ConfigurableApplicationContext context) {
+        User created = new User();
+        created.setUsername("cluster_user_" + users.incrementAndGet());
+        created.setEmail(created.getUsername() + "@example.com");
+        created.setPasswordHash(context.getBean(PasswordEncoder.class).encode("Secret123!"));
+        created.setCreatedAt(LocalDateTime.now());
+        created.setUpdatedAt(LocalDateTime.now());
+        return context.getBean(UserRepository.class).save(created);
+    }
+
+    private HttpResponse<String> send(int node, String method, String path, String json)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(addresses.get(node).resolve(path))
+                .header("Authorization", "Bearer " + token)
+                .method(method, json == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(json));
+        if (json != null) {
+            request.header("Content-Type", "application/json");
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static <T> T bean(int node, Class<T> type) {
+        return nodes.get(node).getBean(type);
+    }
+
+    private static boolean within(long millis, BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    @Test
+    @DisplayName("should serve a user's requests on the owning node whichever node they arrive at")
+    void requests_ServedByOwner() throws Exception {
+        for (int node = 0; node < NODE_IDS.length; node++) {
+            HttpResponse<String> created = send(node, "POST", "/api/todos",
+                    "{\"title\":\"From " + NODE_IDS[node] + "\"}");
+            assertThat(created.statusCode()).isEqualTo(201);
+            assertThat(created.headers().firstValue(ClusterRoutingFilter.SERVED_BY)).hasValue(NODE_IDS[owner]);
+
+            HttpResponse<String> listed = send(node, "GET", "/api/todos", null);
+            assertThat(listed.statusCode()).isEqualTo(200);
+            assertThat(listed.headers().firstValue(ClusterRoutingFilter.SERVED_BY)).hasValue(NODE_IDS[owner]);
+            assertThat(listed.body()).contains("From " + NODE_IDS[node]);
+        }
+
+        // Only the owner ever loaded the list
+        for (int node = 0; node < NODE_IDS.length; node++) {
+            assertThat(bean(node, UserCaches.class).isCached(UserCaches.Kind.TODOS, user.getId()))
+                    .isEqualTo(node == owner);
+        }
+    }
+
+    @Test
+    @DisplayName("should drop every node's cached todos and stats soon after a write on the owner")
+    void write_InvalidatesOtherNodes() throws Exception {
+        // Fill each node's caches directly, as if ownership had just moved
+        for (int node = 0; node < NODE_IDS.length; node++) {
+            User local = bean(node, AuthService.class).getUserByUsername(user.getUsername());
+            assertThat(bean(node, TodoService.class).getAllTodos(local)).isEmpty();
+            assertThat(bean(node, AuthService.class).getTodoCount(user.getId())).isZero();
+            assertThat(bean(node, UserCaches.class).isCached(UserCaches.Kind.TODOS, user.getId())).isTrue();
+        }
+
+        int entry = (owner + 1) % NODE_IDS.length;
+        assertThat(send(entry, "POST", "/api/todos", "{\"title\":\"Invalidate me\"}").statusCode())
+                .isEqualTo(201);
+
+        for (int node = 0; node < NODE_IDS.length; node++) {
+            UserCaches caches = bean(node, UserCaches.class);
+            assertThat(within(INVALIDATION_DEADLINE_MS,
+                    () -> !caches.isCached(UserCaches.Kind.TODOS, user.getId())
+                            && !caches.isCached(UserCaches.Kind.STATS, user.getId())))
+                    .as("invalidated on %s", NODE_IDS[node])
+                    .isTrue();
+            User local = bean(node, AuthService.class).getUserByUsername(user.getUsername());
+            assertThat(bean(node, TodoService.class).getAllTodos(local)).hasSize(1);
+            assertThat(bean(node, AuthService.class).getTodoCount(user.getId())).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("should drop every node's cached user after the user changes")
+    void userChange_InvalidatesOtherNodes() throws Exception {
+        for (int node = 0; node < NODE_IDS.length; node++) {
+            bean(node, AuthService.class).getUserByUsername(user.getUsername());
+            assertThat(bean(node, UserCaches.class).isCached(UserCaches.Kind.USERS, user.getId())).isTrue();
+        }
+
+        bean(owner, AuthService.class).updateEmail(user.getId(), "moved-" + user.getEmail());
+
+        for (int node = 0; node < NODE_IDS.length; node++) {
+            UserCaches caches = bean(node, UserCaches.class);
+            assertThat(within(INVALIDATION_DEADLINE_MS, () -> !caches.isCached(UserCaches.Kind.USERS, user.getId())))
+                    .as("invalidated on %s", NODE_IDS[node])
+                    .isTrue();
+            assertThat(bean(node, AuthService.class).getUserByUsername(user.getUsername()).getEmail())
+                    .startsWith("moved-");
+        }
+    }
+
+    @Test
+    @DisplayName("should serve a write locally, body intact, when the owner can't be reached")
+    void unreachableOwner_ServedLocallyWithBody() throws Exception {
+        URI live = freeAddress();
+        // Nothing listens here
+        URI gone = freeAddress();
+        ConfigurableApplicationContext node = startNode("node-live", live,
+                "node-live=" + live + ",node-gone=" + gone, "cluster-fallback");
+        try {
+            ClusterRing ring = node.getBean(ClusterRing.class);
+            User stranded = newUser(node);
+            for (int i = 0; i < 100 && !ring.ownerOf(stranded.getId()).equals("node-gone"); i++) {
+                stranded = newUser(node);
+            }
+            assertThat(ring.ownerOf(stranded.getId())).isEqualTo("node-gone");
+
+            HttpResponse<String> created = http.send(HttpRequest.newBuilder(live.resolve("/api/todos"))
+                    .header("Authorization", "Bearer " + node.getBean(JwtUtil.class).generateToken(stranded.getUsername()))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Served here\"}"))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+
+            assertThat(created.statusCode()).isEqualTo(201);
+            assertThat(created.headers().firstValue(ClusterRoutingFilter.SERVED_BY)).hasValue("node-live");
+            assertThat(created.body()).contains("Served here");
+        } finally {
+            node.close();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.revature.TienToDo.integration;
+
+import com.revature.TienToDo.config.SqlStatementCounter;
+import com.revature.TienToDo.utility.StatementTrackingFilter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matchers for the SQL a request ran, read from the stats
+ * StatementTrackingFilter leaves on the request:
+ *
+ *   mockMvc.perform(get("/api/todos")...)
+ *          .andExpect(SqlBudget.atMost(4))
+ *          .andExpect(SqlBudget.noRepeatedStatements());
+ */
+public final class SqlBudget {
+
+    private SqlBudget() {
+    }
+
+    public static ResultMatcher atMost(int statements) {
+        return result -> assertThat(stats(result).statements())
+                .as("SQL statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(statements);
+    }
+
+    /**
+     * Fails if any statement shape ran more than app.sql.repeat-detection.threshold
+     * times — the signature of an N+1 query.
+     */
+    public static ResultMatcher noRepeatedStatements() {
+        return result -> assertThat(stats(result).repeatedShapes())
+                .as("Repeated statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isEmpty();
+    }
+
+    private static SqlStatementCounter.RequestStats stats(MvcResult result) {
+        Object stats = result.getRequest().getAttribute(StatementTrackingFilter.STATS_ATTRIBUTE);
+        assertThat(stats).as("SQL stats recorded by StatementTrackingFilter").isNotNull();
+        return (SqlStatementCounter.RequestStats) stats;
+    }
+}
@@ -369,6 +369,66 @@ public class TodoControllerIntegrationTest {
     }
 
 
+    // ==================== SQL STATEMENT BUDGETS ====================
+
+    @Nested
+    @DisplayName("SQL statement budgets")
+    class StatementBudgetTests {
+
+        // Every authenticated request pays two user lookups: JwtAuthFilter and TodoController.getUser
+
+        @Test
+        @DisplayName("GET /api/todos — constant statements regardless of todo and subtask count")
+        void getAllTodos_NoNPlusOne() throws Exception {
+            for (int i = 0; i < 20; i++) {
+                Todo todo = new Todo();
+                todo.setTitle("Todo " + i);
+                todo.setUser(userA);
+                todo.setCreatedAt(LocalDateTime.now());
+                todo.setUpdatedAt(LocalDateTime.now());
+                todo = todoRepository.save(todo);
+                for (int j = 0; j < 3; j++) {
+                    Subtask subtask = new Subtask();
+                    subtask.setTitle("Step " + j);
+                    subtask.setTodo(todo);
+                    subtask.setCreatedAt(LocalDateTime.now());
+                    subtask.setUpdatedAt(LocalDateTime.now());
+                    subtaskRepository.save(subtask);
+                }
+            }
+
+            mockMvc.perform(get("/api/todos")
+                            .header("Authorization", bearer(tokenA)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(21)))
+                    .andExpect(SqlBudget.atMost(4))
+                    .andExpect(SqlBudget.noRepeatedStatements());
+        }
+
+        @Test
+        @DisplayName("GET /api/todos/{id} — todo and its subtasks")
+        void getTodoById_Budget() throws Exception {
+            createSubtask("Buy milk");
+
+            mockMvc.perform(get("/api/todos/" + todoA.getId())
+                            .header("Authorization", bearer(tokenA)))
+                    .andExpect(status().isOk())
+                    .andExpect(SqlBudget.atMost(4));
+        }
+
+        @Test
+        @DisplayName("POST /api/todos — a single insert")
+        void createTodo_Budget() throws Exception {
+            mockMvc.perform(post("/api/todos")
+                            .header("Authorization", bearer(tokenA))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\": \"Clean house\"}"))
+                    .andExpect(status().isCreated())
+                    .andExpect(SqlBudget.atMost(3));
+        }
+    }
+
+
     // ==================== END-TO-END FLOW ====================
 
     @Nested
@@ -0,0 +1,174 @@
+package com.revature.TienToDo.repository;
+
+import com.revature.TienToDo.dto.TodoResponse;
+import com.revature.TienToDo.entity.Subtask;
+import com.revature.TienToDo.entity.Todo;
+import com.revature.TienToDo.entity.User;
+import com.revature.TienToDo.repository.StoreChange.StoredSubtask;
+import com.revature.TienToDo.repository.StoreChange.StoredTodo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InMemoryTodoStoreTest {
+    @TempDir
+    Path dir;
+
+    private InMemoryTodoStore store;
+
+    private InMemoryTodoStore open() throws IOException {
+        store = new InMemoryTodoStore(dir, false, 0);
+        store.open(null);
+        return store;
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    @DisplayName("should replay the log after a restart without a snapshot")
+    void open_ReplaysLog() throws IOException {
+        open();
+        StoredTodo first = store.insertTodo(1L, "First", "Desc", false, LocalDateTime.of(2024, 1, 1, 9, 0));
+        StoredTodo second = store.insertTodo(1L, "Second", null, false, LocalDateTime.of(2024, 1, 2, 9, 0));
+        store.insertSubtask(first.id(), "Step", false, null);
+        store.updateTodo(first.id(), "First (edited)", "Desc", true);
+        store.deleteTodo(second.id());
+
+        // Simulates a crash: the log is closed without the shutdown snapshot
+        TodoLog log = (TodoLog) ReflectionTestUtils.getField(store, "log");
+        log.close();
+        store = null;
+
+        open();
+        assertThat(store.todos(1L)).extracting(StoredTodo::title).containsExactly("First (edited)");
+        assertThat(store.todo(first.id()).orElseThrow().completed()).isTrue();
+        assertThat(store.subtasks(first.id())).extracting(StoredSubtask::title).containsExactly("Step");
+        assertThat(store.todo(second.id())).isEmpty();
+        // Ids keep counting from where they were
+        assertThat(store.insertTodo(1L, "Third", null, false, null).id()).isGreaterThan(second.id());
+    }
+
+    @Test
+    @DisplayName("should load a snapshot and replay only the newer log")
+    void snapshot_RecoversWithNewerEntries() throws IOException {
+        open();
+        StoredTodo todo = store.insertTodo(1L, "Before", null, false, null);
+        store.snapshot();
+        store.insertTodo(2L, "After", null, false, null);
+        store.close();
+        store = null;
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.map(file -> file.getFileName().toString()).filter(name -> name.startsWith("snapshot-")))
+                    .hasSize(1);
+        }
+        open();
+        assertThat(store.todo(todo.id())).isPresent();
+        assertThat(store.todos(2L)).extracting(StoredTodo::title).containsExactly("After");
+        assertThat(store.todoCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should decode a user from the mapped snapshot only on first access")
+    void open_LoadsUsersLazily() throws IOException {
+        open();
+        StoredTodo todo = null;
+        for (long userId = 1; userId <= 50; userId++) {
+            todo = store.insertTodo(userId, "Todo " + userId, null, false, null);
+            store.insertSubtask(todo.id(), "Step", false, null);
+        }
+        store.close();
+        store = null;
+
+        open();
+        assertThat(store.loadedUserCount()).isZero();
+        assertThat(store.todoCount()).isEqualTo(50);
+        assertThat(store.subtaskCount()).isEqualTo(50);
+
+        // Found through the mapped todo index, which loads just the owner
+        assertThat(store.todo(todo.id()).orElseThrow().userId()).isEqualTo(50L);
+        assertThat(store.loadedUserCount()).isEqualTo(1);
+
+        store.deleteTodo(todo.id());
+        store.snapshot();
+        assertThat(store.todos(10L)).extracting(StoredTodo::title).containsExactly("Todo 10");
+        assertThat(store.todo(todo.id())).isEmpty();
+        assertThat(store.subtaskCount()).isEqualTo(49);
+    }
+
+    @Test
+    @DisplayName("should truncate a torn entry at the end of the log")
+    void open_TruncatesTornTail() throws IOException {
+        open();
+        store.insertTodo(1L, "Kept", null, false, null);
+        TodoLog log = (TodoLog) ReflectionTestUtils.getField(store, "log");
+        log.close();
+        store = null;
+
+        Path segment = TodoLog.segmentPath(dir, TodoLog.segments(dir).get(0));
+        long size = Files.size(segment);
+        try (FileChannel out = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            // A length header promising more bytes than follow
+            out.write(ByteBuffer.allocate(6).putInt(100).flip());
+        }
+
+        open();
+        assertThat(store.todos(1L)).extracting(StoredTodo::title).containsExactly("Kept");
+        assertThat(Files.size(segment)).isEqualTo(size);
+    }
+
+    @Test
+    @DisplayName("should serve the repository methods TodoService uses")
+    void repositories_MatchJpaBehavior() throws IOException {
+        open();
+        TodoRepository todos = TodoStoreRepositories.todoRepository(store);
+        SubtaskRepository subtasks = TodoStoreRepositories.subtaskRepository(store);
+
+        User user = new User();
+        user.setId(7L);
+        Todo todo = new Todo();
+        todo.setTitle("Write report");
+        todo.setUser(user);
+        todo = todos.save(todo);
+        assertThat(todo.getId()).isNotNull();
+        assertThat(todo.getCreatedAt()).isNotNull();
+
+        Subtask subtask = new Subtask();
+        subtask.setTitle("Outline");
+        subtask.setTodo(todo);
+        subtasks.save(subtask);
+
+        assertThat(todos.findByIdAndUserId(todo.getId(), 7L)).isPresent();
+        assertThat(todos.findByIdAndUserId(todo.getId(), 8L)).isEmpty();
+        assertThat(todos.searchTodoViewsByKeyword(7L, "REPORT")).extracting(TodoResponse::getTitle)
+                .containsExactly("Write report");
+        assertThat(subtasks.findSubtaskRowsByTodoIds(List.of(todo.getId()))).hasSize(1);
+        assertThat(todos.countByUserIdAndCompleted(7L, false)).isEqualTo(1);
+
+        todos.delete(todo);
+        assertThat(todos.countByUserId(7L)).isZero();
+        assertThat(subtasks.count()).isZero();
+        assertThatThrownBy(() -> todos.findAll())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
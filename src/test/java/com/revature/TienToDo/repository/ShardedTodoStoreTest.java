@@ -0,0 +1,141 @@
+package com.revature.TienToDo.repository;
+
+import com.revature.TienToDo.repository.StoreChange.StoredSubtask;
+import com.revature.TienToDo.repository.StoreChange.StoredTodo;
+import com.revature.TienToDo.utility.RequestInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShardedTodoStoreTest {
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void tearDown() {
+        RequestInfo.clear();
+    }
+
+    private DataSource shard(String name) throws SQLException {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + dir.resolve(name + ".sqlite"));
+        try (Connection connection = dataSource.getConnection(); Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE IF NOT EXISTS todos (id INTEGER PRIMARY KEY AUTOINCREMENT, user_id INTEGER, "
+                    + "title TEXT, description TEXT, completed BOOLEAN, created_at TEXT, updated_at TEXT)");
+            ddl.execute("CREATE TABLE IF NOT EXISTS subtasks (id INTEGER PRIMARY KEY AUTOINCREMENT, todo_id INTEGER, "
+                    + "title TEXT, completed BOOLEAN, created_at TEXT, updated_at TEXT)");
+        }
+        return dataSource;
+    }
+
+    private List<DataSource> shards(int count) throws SQLException {
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            shards.add(shard("shard-" + i));
+        }
+        return shards;
+    }
+
+    private static long countOn(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement select = connection.createStatement()) {
+            var rs = select.executeQuery(sql);
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    @Test
+    @DisplayName("should keep each user's todos on the shard their id hashes to")
+    void insertTodo_RoutesByUser() throws SQLException {
+        List<DataSource> shards = shards(3);
+        ShardedTodoStore store = new ShardedTodoStore(shards);
+
+        for (long userId = 1; userId <= 30; userId++) {
+            StoredTodo todo = store.insertTodo(userId, "Todo " + userId, null, false, null);
+            int shard = ShardedTodoStore.shardOf(userId, 3);
+            // Ids come from the owning shard's range, so they never collide
+            assertThat(todo.id() / ShardedTodoStore.ID_RANGE).isEqualTo(shard + 1);
+            assertThat(countOn(shards.get(shard), "SELECT COUNT(*) FROM todos WHERE user_id = " + userId))
+                    .isEqualTo(1);
+        }
+        assertThat(store.todoCount()).isEqualTo(30);
+        assertThat(shards).allSatisfy(shard -> assertThat(countOn(shard, "SELECT COUNT(*) FROM todos")).isPositive());
+    }
+
+    @Test
+    @DisplayName("should find rows by id with or without the current user as a hint")
+    void lookups_RouteByCurrentUser() throws SQLException {
+        ShardedTodoStore store = new ShardedTodoStore(shards(4));
+        StoredTodo todo = store.insertTodo(42L, "Report", "Draft", false, null);
+        StoredSubtask subtask = store.insertSubtask(todo.id(), "Outline", false, null).orElseThrow();
+
+        // No request: every shard is tried
+        assertThat(store.todo(todo.id())).isPresent();
+        assertThat(store.subtask(subtask.id())).isPresent();
+
+        RequestInfo.start("test");
+        RequestInfo.setUser(42L, "owner");
+        assertThat(store.updateTodo(todo.id(), "Report", "Final", true).orElseThrow().completed()).isTrue();
+        assertThat(store.subtasks(List.of(todo.id()))).extracting(StoredSubtask::title).containsExactly("Outline");
+        assertThat(store.subtasksByTodo(42L)).containsOnlyKeys(todo.id());
+
+        assertThat(store.deleteTodo(todo.id())).isTrue();
+        assertThat(store.todo(todo.id())).isEmpty();
+        assertThat(store.subtaskCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("should move users to their new shard when the shard count grows")
+    void rebalance_MovesUsersAfterResharding() throws SQLException {
+        ShardedTodoStore two = new ShardedTodoStore(shards(2));
+        DataSource legacy = shard("main");
+        try (Connection connection = legacy.getConnection(); Statement insert = connection.createStatement()) {
+            insert.execute("INSERT INTO todos (id, user_id, title, completed, created_at, updated_at) "
+                    + "VALUES (7, 99, 'Legacy', 0, '2024-01-01 09:00:00', '2024-01-01 09:00:00')");
+            insert.execute("INSERT INTO subtasks (id, todo_id, title, completed, created_at, updated_at) "
+                    + "VALUES (3, 7, 'Legacy step', 0, '2024-01-01 09:00:00', '2024-01-01 09:00:00')");
+        }
+        List<StoredTodo> todos = new ArrayList<>();
+        for (long userId = 1; userId <= 40; userId++) {
+            StoredTodo todo = two.insertTodo(userId, "Todo " + userId, null, false, null);
+            two.insertSubtask(todo.id(), "Step", false, null);
+            todos.add(todo);
+        }
+
+        List<DataSource> threeShards = shards(3);
+        ShardedTodoStore three = new ShardedTodoStore(threeShards);
+        assertThat(three.rebalance(Map.of("main", legacy))).isGreaterThan(1);
+        // Nothing left to move the second time
+        assertThat(three.rebalance(Map.of("main", legacy))).isZero();
+
+        assertThat(three.todoCount()).isEqualTo(41);
+        assertThat(three.subtaskCount()).isEqualTo(41);
+        assertThat(countOn(legacy, "SELECT COUNT(*) FROM todos")).isZero();
+        for (StoredTodo todo : todos) {
+            DataSource owner = threeShards.get(ShardedTodoStore.shardOf(todo.userId(), 3));
+            assertThat(countOn(owner, "SELECT COUNT(*) FROM todos WHERE id = " + todo.id())).isEqualTo(1);
+            assertThat(three.todos(todo.userId())).extracting(StoredTodo::id).containsExactly(todo.id());
+        }
+        assertThat(three.subtasksByTodo(99L).get(7L)).extracting(StoredSubtask::title)
+                .containsExactly("Legacy step");
+
+        // New ids start above the moved ones in every range
+        for (long userId = 41; userId <= 50; userId++) {
+            assertThat(three.insertTodo(userId, "New", null, false, null).id())
+                    .isNotIn(todos.stream().map(StoredTodo::id).toList());
+        }
+    }
+}
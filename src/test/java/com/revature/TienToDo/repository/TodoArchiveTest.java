@@ -0,0 +1,175 @@
+package com.revature.TienToDo.repository;
+
+import com.revature.TienToDo.dto.SubtaskResponse;
+import com.revature.TienToDo.dto.TodoResponse;
+import com.revature.TienToDo.repository.TodoArchive.Moved;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TodoArchiveTest {
+    private static final String OLD = "2020-01-01 10:00:00";
+    private static final String RECENT = "2099-01-01 10:00:00";
+
+    @TempDir
+    Path dir;
+
+    private DataSource main;
+    private DataSource archive;
+    private TodoArchive todoArchive;
+
+    @BeforeEach
+    void setUp() throws SQLException, IOException {
+        main = dataSource("main");
+        execute(main,
+                "CREATE TABLE todos (id INTEGER PRIMARY KEY AUTOINCREMENT, user_id INTEGER NOT NULL, title TEXT NOT NULL, "
+                        + "description TEXT, completed INTEGER NOT NULL DEFAULT 0, created_at TEXT NOT NULL, "
+                        + "updated_at TEXT NOT NULL)",
+                "CREATE TABLE subtasks (id INTEGER PRIMARY KEY AUTOINCREMENT, todo_id INTEGER NOT NULL, "
+                        + "title TEXT NOT NULL, completed INTEGER NOT NULL DEFAULT 0, created_at TEXT NOT NULL, "
+                        + "updated_at TEXT NOT NULL)");
+        archive = dataSource("archive");
+        try (InputStream in = getClass().getResourceAsStream("/db/archive/V1__archive_schema.sql")) {
+            String script = new String(in.readAllBytes(), StandardCharsets.UTF_8).replaceAll("(?m)^--.*$", "");
+            execute(archive, script.split(";"));
+        }
+        todoArchive = new TodoArchive(main, archive);
+    }
+
+    @Test
+    @DisplayName("should move only todos completed before the cutoff, with their subtasks")
+    void archiveBatch_MovesOldCompletedTodos() throws SQLException {
+        todo(1, 7, true, OLD);
+        todo(2, 7, false, OLD);
+        todo(3, 7, true, RECENT);
+        subtask(10, 1, "2020-01-01 09:00:00");
+        subtask(11, 3, RECENT);
+
+        List<Moved> moved = todoArchive.archiveBatch(LocalDateTime.of(2024, 1, 1, 0, 0), 0, 100);
+
+        assertThat(moved).containsExactly(new Moved(1, 7));
+        assertThat(count(main, "SELECT COUNT(*) FROM todos")).isEqualTo(2);
+        assertThat(count(main, "SELECT COUNT(*) FROM subtasks WHERE todo_id = 1")).isZero();
+        assertThat(count(main, "SELECT COUNT(*) FROM subtasks WHERE todo_id = 3")).isEqualTo(1);
+        assertThat(count(archive, "SELECT COUNT(*) FROM archived_subtasks WHERE todo_id = 1")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should page through batches by id until nothing is left")
+    void archiveBatch_ResumesAfterCursor() throws SQLException {
+        for (int id = 1; id <= 5; id++) {
+            todo(id, 7, true, OLD);
+        }
+        LocalDateTime cutoff = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        List<Moved> first = todoArchive.archiveBatch(cutoff, 0, 3);
+        List<Moved> second = todoArchive.archiveBatch(cutoff, first.get(first.size() - 1).todoId(), 3);
+
+        assertThat(first).extracting(Moved::todoId).containsExactly(1L, 2L, 3L);
+        assertThat(second).extracting(Moved::todoId).containsExactly(4L, 5L);
+        assertThat(todoArchive.archiveBatch(cutoff, 0, 3)).isEmpty();
+        assertThat(todoArchive.count(7)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("should find an archived todo by id only for its owner")
+    void find_ReturnsArchivedTodoForOwner() throws SQLException {
+        todo(1, 7, true, OLD);
+        subtask(10, 1, "2020-01-01 09:00:00");
+        todoArchive.archiveBatch(LocalDateTime.of(2024, 1, 1, 0, 0), 0, 100);
+
+        TodoResponse found = todoArchive.find(1, 7).orElseThrow();
+
+        assertThat(found.getTitle()).isEqualTo("Todo 1");
+        assertThat(found.isCompleted()).isTrue();
+        assertThat(found.getArchivedAt()).isNotNull();
+        assertThat(found.getSubtasks()).extracting(SubtaskResponse::getId).containsExactly(10L);
+        assertThat(todoArchive.find(1, 8)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should page a user's archive with its own offsets")
+    void page_ReturnsOneUsersArchive() throws SQLException {
+        for (int id = 1; id <= 5; id++) {
+            todo(id, 7, true, OLD);
+        }
+        todo(6, 8, true, OLD);
+        todoArchive.archiveBatch(LocalDateTime.of(2024, 1, 1, 0, 0), 0, 100);
+
+        // Archived in the same batch, so newest id first
+        assertThat(todoArchive.page(7, 0, 2)).extracting(TodoResponse::getId).containsExactly(5L, 4L);
+        assertThat(todoArchive.page(7, 2, 2)).extracting(TodoResponse::getId).containsExactly(1L);
+        assertThat(todoArchive.page(7, 3, 2)).isEmpty();
+        assertThat(todoArchive.count(8)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should restore a todo with its subtasks and keep it out of the next batch")
+    void restore_MovesTodoBack() throws SQLException {
+        todo(1, 7, true, OLD);
+        subtask(10, 1, "2020-01-01 09:00:00");
+        LocalDateTime cutoff = LocalDateTime.of(2024, 1, 1, 0, 0);
+        todoArchive.archiveBatch(cutoff, 0, 100);
+
+        TodoResponse restored = todoArchive.restore(1, 7).orElseThrow();
+
+        assertThat(restored.getId()).isEqualTo(1L);
+        assertThat(restored.getArchivedAt()).isNull();
+        assertThat(restored.getSubtasks()).hasSize(1);
+        assertThat(count(main, "SELECT COUNT(*) FROM todos WHERE id = 1")).isEqualTo(1);
+        assertThat(count(main, "SELECT COUNT(*) FROM subtasks WHERE todo_id = 1")).isEqualTo(1);
+        assertThat(todoArchive.count(7)).isZero();
+        assertThat(todoArchive.restore(1, 7)).isEmpty();
+        // updated_at is now, so it isn't due again
+        assertThat(todoArchive.archiveBatch(cutoff, 0, 100)).isEmpty();
+    }
+
+    private DataSource dataSource(String name) {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + dir.resolve(name + ".sqlite"));
+        return dataSource;
+    }
+
+    private void todo(long id, long userId, boolean completed, String updatedAt) throws SQLException {
+        execute(main, "INSERT INTO todos (id, user_id, title, completed, created_at, updated_at) VALUES (" + id
+                + ", " + userId + ", 'Todo " + id + "', " + (completed ? 1 : 0) + ", '" + OLD + "', '" + updatedAt + "')");
+    }
+
+    private void subtask(long id, long todoId, String createdAt) throws SQLException {
+        execute(main, "INSERT INTO subtasks (id, todo_id, title, completed, created_at, updated_at) VALUES (" + id
+                + ", " + todoId + ", 'Subtask " + id + "', 0, '" + createdAt + "', '" + createdAt + "')");
+    }
+
+    private static void execute(DataSource dataSource, String... sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String s : sql) {
+                if (!s.isBlank()) {
+                    statement.execute(s);
+                }
+            }
+        }
+    }
+
+    private static long count(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement select = connection.createStatement()) {
+            var rs = select.executeQuery(sql);
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
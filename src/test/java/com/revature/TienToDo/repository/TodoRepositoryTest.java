@@ -1,5 +1,6 @@
 package com.revature.TienToDo.repository;
 
+import com.revature.TienToDo.dto.TodoResponse;
 import com.revature.TienToDo.entity.Todo;
 import com.revature.TienToDo.entity.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -171,6 +172,59 @@ public class TodoRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("Read-only projections")
+    class ProjectionTests {
+
+        @Test
+        @DisplayName("findTodoViewsByUserId should project owned todos into responses")
+        void findViews() {
+            createTodo("Mine", false, savedUser);
+            createTodo("Theirs", false, otherUser);
+
+            List<TodoResponse> result = todoRepository.findTodoViewsByUserId(savedUser.getId());
+
+            assertThat(result).hasSize(1);
+            assertThat(result.get(0).getTitle()).isEqualTo("Mine");
+            assertThat(result.get(0).getCreatedAt()).isNotNull();
+            assertThat(result.get(0).getSubtasks()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("findTodoViewsByUserIdAndCompleted should filter by status")
+        void findViewsByStatus() {
+            createTodo("Active", false, savedUser);
+            createTodo("Done", true, savedUser);
+
+            List<TodoResponse> result =
+                    todoRepository.findTodoViewsByUserIdAndCompleted(savedUser.getId(), true);
+
+            assertThat(result).hasSize(1);
+            assertThat(result.get(0).getTitle()).isEqualTo("Done");
+        }
+
+        @Test
+        @DisplayName("searchTodoViewsByKeyword should match case-insensitively")
+        void searchViews() {
+            createTodo("Buy GROCERIES", false, savedUser);
+            createTodo("Clean house", false, savedUser);
+
+            List<TodoResponse> result =
+                    todoRepository.searchTodoViewsByKeyword(savedUser.getId(), "groceries");
+
+            assertThat(result).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("existsByIdAndUserId should respect ownership")
+        void existsOwned() {
+            Todo todo = createTodo("Mine", false, savedUser);
+
+            assertThat(todoRepository.existsByIdAndUserId(todo.getId(), savedUser.getId())).isTrue();
+            assertThat(todoRepository.existsByIdAndUserId(todo.getId(), otherUser.getId())).isFalse();
+        }
+    }
+
     @Nested
     @DisplayName("Counting")
     class CountTests {
@@ -4,6 +4,7 @@ import com.revature.TienToDo.dto.AuthResponse;
 import com.revature.TienToDo.dto.LoginRequest;
 import com.revature.TienToDo.dto.RegisterRequest;
 import com.revature.TienToDo.entity.User;
+import com.revature.TienToDo.repository.TodoRepository;
 import com.revature.TienToDo.repository.UserRepository;
 import com.revature.TienToDo.utility.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -33,6 +35,9 @@ public class AuthServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TodoRepository todoRepository;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
@@ -42,6 +47,10 @@ public class AuthServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    // Caches are off unless app.cache.enabled is set, so reads go straight to the mocks
+    @Spy
+    private UserCaches userCaches = new UserCaches();
+
     @InjectMocks
     private AuthService authService;
 
@@ -324,7 +333,7 @@ public class AuthServiceTest {
         @Test
         @DisplayName("should return total todo count")
         void getTodoCount() {
-            when(userRepository.countTodosByUserId(1L)).thenReturn(10L);
+            when(todoRepository.countByUserId(1L)).thenReturn(10L);
 
             assertThat(authService.getTodoCount(1L)).isEqualTo(10L);
         }
@@ -332,7 +341,7 @@ public class AuthServiceTest {
         @Test
         @DisplayName("should return completed todo count")
         void getCompletedTodoCount() {
-            when(userRepository.countCompletedTodosByUserId(1L)).thenReturn(7L);
+            when(todoRepository.countByUserIdAndCompleted(1L, true)).thenReturn(7L);
 
             assertThat(authService.getCompletedTodoCount(1L)).isEqualTo(7L);
         }
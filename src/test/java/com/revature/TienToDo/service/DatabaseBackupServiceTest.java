@@ -0,0 +1,144 @@
+package com.revature.TienToDo.service;
+
+import com.revature.TienToDo.service.DatabaseBackupService.BackupFile;
+import com.revature.TienToDo.service.DatabaseBackupService.BackupResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DatabaseBackupServiceTest {
+    @TempDir
+    Path dir;
+
+    private Path database;
+    private DatabaseBackupService service;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = dir.resolve("app.sqlite");
+        execute("PRAGMA journal_mode = WAL",
+                "CREATE TABLE users (id INTEGER PRIMARY KEY, username TEXT)",
+                "PRAGMA user_version = 3");
+        for (int i = 0; i < 500; i++) {
+            execute("INSERT INTO users (username) VALUES ('user-" + i + "')");
+        }
+
+        service = new DatabaseBackupService();
+        ReflectionTestUtils.setField(service, "datasourceUrl", "jdbc:sqlite:" + database + "?journal_mode=WAL");
+        ReflectionTestUtils.setField(service, "directory", dir.resolve("backups").toString());
+        ReflectionTestUtils.setField(service, "generations", 2);
+        ReflectionTestUtils.setField(service, "pagesPerStep", 1);
+        ReflectionTestUtils.setField(service, "stepPauseMs", 0);
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "userCaches", new UserCaches());
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("should back up in steps and keep only the newest generations")
+    void backup_KeepsGenerations() throws Exception {
+        BackupResult first = service.backup();
+        assertThat(first.pages()).isGreaterThan(1);
+        assertThat(first.restarts()).isZero();
+        assertThat(first.compressedBytes()).isPositive().isLessThan(first.databaseBytes());
+
+        Thread.sleep(5);
+        service.backup();
+        Thread.sleep(5);
+        BackupResult third = service.backup();
+
+        assertThat(service.list()).extracting(BackupFile::name).hasSize(2).first().isEqualTo(third.name());
+        assertThat(service.list()).extracting(BackupFile::name).doesNotContain(first.name());
+        // Only the compressed files are left behind
+        try (var files = Files.list(dir.resolve("backups"))) {
+            assertThat(files.map(file -> file.getFileName().toString())).allMatch(name -> name.endsWith(".sqlite.gz"));
+        }
+    }
+
+    @Test
+    @DisplayName("should restore a backup over later changes")
+    void restore_ReplacesDatabase() throws Exception {
+        BackupResult backup = service.backup();
+        execute("DELETE FROM users");
+
+        service.restore(backup.name());
+
+        assertThat(count()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("should refuse a backup that fails its integrity check")
+    void restore_RejectsCorruptBackup() throws Exception {
+        Path corrupt = dir.resolve("backups").resolve("backup-20240101-000000-000.sqlite.gz");
+        Files.createDirectories(corrupt.getParent());
+        byte[] page = new byte[8192];
+        System.arraycopy("SQLite format 3\0".getBytes(), 0, page, 0, 16);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(corrupt))) {
+            out.write(page);
+        }
+
+        assertThatThrownBy(() -> service.restore(corrupt.getFileName().toString()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(count()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("should refuse names that aren't backups in the backup directory")
+    void restore_RejectsUnknownName() {
+        assertThatThrownBy(() -> service.restore("../app.sqlite"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No backup named");
+    }
+
+    @Test
+    @DisplayName("should refuse a backup from another schema version")
+    void restore_RejectsOtherSchemaVersion() throws Exception {
+        BackupResult backup = service.backup();
+        execute("PRAGMA user_version = 4");
+
+        assertThatThrownBy(() -> service.restore(backup.name()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("schema version 3");
+    }
+
+    private void execute(String... sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+             Statement statement = connection.createStatement()) {
+            for (String s : List.of(sql)) {
+                statement.execute(s);
+            }
+        }
+    }
+
+    private long count() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM users")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
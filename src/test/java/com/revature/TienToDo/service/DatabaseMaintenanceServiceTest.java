@@ -0,0 +1,182 @@
+package com.revature.TienToDo.service;
+
+import com.revature.TienToDo.service.DatabaseMaintenanceService.Task;
+import com.revature.TienToDo.service.DatabaseMaintenanceService.TaskReport;
+import com.revature.TienToDo.utility.AdaptiveConcurrencyLimiter;
+import com.revature.TienToDo.utility.RequestInfoFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DatabaseMaintenanceServiceTest {
+    @TempDir
+    Path dir;
+
+    @Mock
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Mock
+    private DatabaseBackupService backupService;
+
+    @Mock
+    private RequestInfoFilter requestInfoFilter;
+
+    private Path database;
+    private DatabaseMaintenanceService service;
+
+    @BeforeEach
+    void setUp() {
+        database = dir.resolve("app.sqlite");
+        when(backupService.databaseFile()).thenReturn(database);
+        lenient().when(limiter.getLimit()).thenReturn(20.0);
+
+        service = new DatabaseMaintenanceService();
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "checkIntervalSeconds", 3600L);
+        ReflectionTestUtils.setField(service, "vacuumStepPauseMs", 0L);
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "limiter", limiter);
+        ReflectionTestUtils.setField(service, "backupService", backupService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("should release free pages in incremental vacuum steps")
+    void vacuum_ReleasesFreePages() throws SQLException {
+        execute("PRAGMA auto_vacuum = INCREMENTAL", "CREATE TABLE todos (id INTEGER PRIMARY KEY, body TEXT)");
+        fillAndDelete();
+        service.init();
+        assertThat(pragma("freelist_count")).isGreaterThan(100);
+
+        TaskReport report = service.runNow(Task.VACUUM);
+
+        assertThat(report.runs()).isEqualTo(1);
+        assertThat(report.lastResult()).startsWith("released").endsWith("done");
+        assertThat(pragma("freelist_count")).isZero();
+    }
+
+    @Test
+    @DisplayName("should skip the vacuum when the database isn't in incremental auto_vacuum mode")
+    void vacuum_SkipsWithoutIncrementalMode() throws SQLException {
+        execute("CREATE TABLE todos (id INTEGER PRIMARY KEY, body TEXT)");
+        fillAndDelete();
+        service.init();
+
+        TaskReport report = service.runNow(Task.VACUUM);
+
+        assertThat(report.lastResult()).startsWith("skipped: auto_vacuum");
+        assertThat(pragma("freelist_count")).isGreaterThan(100);
+    }
+
+    @Test
+    @DisplayName("should put a due task off while the app is busy")
+    void tick_DefersUnderLoad() throws SQLException {
+        execute("CREATE TABLE todos (id INTEGER PRIMARY KEY, body TEXT)");
+        ReflectionTestUtils.setField(service, "optimizeIntervalMinutes", 0L);
+        service.init();
+        when(limiter.getInFlight()).thenReturn(15);
+
+        service.tick();
+        assertThat(optimizeReport().deferrals()).isEqualTo(1);
+        assertThat(optimizeReport().runs()).isZero();
+
+        when(limiter.getInFlight()).thenReturn(2);
+        service.tick();
+        assertThat(optimizeReport().runs()).isEqualTo(1);
+        assertThat(optimizeReport().lastResult()).startsWith("ANALYZE");
+    }
+
+    @Test
+    @DisplayName("should count requests in progress as load when the concurrency limiter is off")
+    void isBusy_CountsRequestsWithoutLimiter() throws SQLException {
+        execute("CREATE TABLE todos (id INTEGER PRIMARY KEY, body TEXT)");
+        service.init();
+        ReflectionTestUtils.setField(service, "concurrencyEnabled", false);
+        ReflectionTestUtils.setField(service, "requestInfoFilter", requestInfoFilter);
+        when(requestInfoFilter.getActiveRequests()).thenReturn(15);
+
+        assertThat(service.isBusy()).isTrue();
+
+        when(requestInfoFilter.getActiveRequests()).thenReturn(2);
+        assertThat(service.isBusy()).isFalse();
+        verify(limiter, never()).getInFlight();
+    }
+
+    @Test
+    @DisplayName("should truncate a large WAL when the app is quiet")
+    void checkpoint_TruncatesWal() throws SQLException {
+        ReflectionTestUtils.setField(service, "truncateThresholdMb", 0L);
+        // The open connection keeps the WAL from being checkpointed and removed on close
+        try (Connection writer = DriverManager.getConnection("jdbc:sqlite:" + database);
+             Statement statement = writer.createStatement()) {
+            statement.execute("PRAGMA journal_mode = WAL");
+            statement.execute("PRAGMA wal_autocheckpoint = 0");
+            statement.execute("CREATE TABLE todos (id INTEGER PRIMARY KEY, body TEXT)");
+            statement.execute("INSERT INTO todos (body) SELECT hex(zeroblob(250)) FROM "
+                    + "(WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < 500) SELECT i FROM n)");
+            Path wal = dir.resolve("app.sqlite-wal");
+            service.init();
+            assertThat(Files.exists(wal)).isTrue();
+
+            TaskReport report = service.runNow(Task.CHECKPOINT);
+
+            assertThat(report.lastResult()).startsWith("TRUNCATE");
+            assertThat(((DatabaseMaintenanceService.DatabaseStats) service.status().get("database")).walBytes())
+                    .isZero();
+        }
+    }
+
+    private TaskReport optimizeReport() {
+        @SuppressWarnings("unchecked")
+        List<TaskReport> tasks = (List<TaskReport>) service.status().get("tasks");
+        return tasks.stream().filter(task -> task.task().equals("optimize")).findFirst().orElseThrow();
+    }
+
+    private void fillAndDelete() throws SQLException {
+        execute("INSERT INTO todos (body) SELECT hex(zeroblob(500)) FROM "
+                        + "(WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < 2000) SELECT i FROM n)",
+                "DELETE FROM todos");
+    }
+
+    private void execute(String... sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+             Statement statement = connection.createStatement()) {
+            for (String s : sql) {
+                statement.execute(s);
+            }
+        }
+    }
+
+    private long pragma(String name) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA " + name)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
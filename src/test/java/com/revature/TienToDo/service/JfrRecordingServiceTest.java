@@ -0,0 +1,102 @@
+package com.revature.TienToDo.service;
+
+import com.revature.TienToDo.utility.JfrEvents;
+import com.revature.TienToDo.utility.RequestInfo;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JfrRecordingServiceTest {
+    private JfrRecordingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new JfrRecordingService();
+        ReflectionTestUtils.setField(service, "maxAgeSeconds", 60L);
+        ReflectionTestUtils.setField(service, "maxSizeMb", 16L);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        RequestInfo.clear();
+        if (Boolean.TRUE.equals(service.status().get("running"))) {
+            Files.deleteIfExists(service.stop());
+        }
+    }
+
+    @Test
+    @DisplayName("should record application events tagged with route and user")
+    void startStop_RecordsAppEvents() throws Exception {
+        service.start("default");
+        assertThat(service.status()).containsEntry("running", true);
+
+        RequestInfo.start("GET /api/todos");
+        RequestInfo.setUser(42L, "alice");
+        JfrEvents.UserLookup event = new JfrEvents.UserLookup();
+        event.begin();
+        event.end();
+        event.username = "alice";
+        event.found = true;
+        event.commitWithRequestInfo();
+
+        Path file = service.stop();
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals("com.revature.TienToDo.UserLookup"))
+                    .toList();
+
+            assertThat(events).hasSize(1);
+            assertThat(events.get(0).getString("route")).isEqualTo("GET /api/todos");
+            assertThat(events.get(0).getLong("userId")).isEqualTo(42L);
+            assertThat(service.status()).containsEntry("running", false);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("should enable each application event explicitly")
+    void start_EnablesAppEvents() {
+        service.start("default");
+
+        Recording recording = (Recording) ReflectionTestUtils.getField(service, "recording");
+        for (Class<? extends JfrEvents.RequestEvent> type : JfrEvents.ALL) {
+            // Settings enabled through the class are keyed by the event type's id
+            assertThat(recording.getSettings())
+                    .containsEntry(EventType.getEventType(type).getId() + "#enabled", "true");
+        }
+    }
+
+    @Test
+    @DisplayName("should reject a second recording while one is running")
+    void start_AlreadyRunning() {
+        service.start("default");
+
+        assertThatThrownBy(() -> service.start("profile"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("A recording is already running");
+    }
+
+    @Test
+    @DisplayName("should reject unknown settings and stop without a recording")
+    void invalidRequests() {
+        assertThatThrownBy(() -> service.start("everything"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.stop())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No recording is running");
+    }
+}
@@ -0,0 +1,90 @@
+package com.revature.TienToDo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SocketInvalidationBusTest {
+    private final List<SocketInvalidationBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        buses.forEach(SocketInvalidationBus::close);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private SocketInvalidationBus open(int port, int... peerPorts) throws IOException {
+        List<InetSocketAddress> peers = new ArrayList<>();
+        for (int peer : peerPorts) {
+            peers.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), peer));
+        }
+        SocketInvalidationBus bus = new SocketInvalidationBus(InetAddress.getLoopbackAddress(), port, peers);
+        buses.add(bus);
+        return bus;
+    }
+
+    @Test
+    @DisplayName("should deliver invalidations to every peer but not back to the sender")
+    void publish_ReachesPeers() throws Exception {
+        int a = freePort();
+        int b = freePort();
+        int c = freePort();
+        SocketInvalidationBus busA = open(a, b, c);
+        SocketInvalidationBus busB = open(b, a, c);
+        SocketInvalidationBus busC = open(c, a, b);
+
+        LinkedBlockingQueue<CacheInvalidation> atA = new LinkedBlockingQueue<>();
+        LinkedBlockingQueue<CacheInvalidation> atB = new LinkedBlockingQueue<>();
+        LinkedBlockingQueue<CacheInvalidation> atC = new LinkedBlockingQueue<>();
+        busA.subscribe(atA::add);
+        busB.subscribe(atB::add);
+        busC.subscribe(atC::add);
+
+        CacheInvalidation sent = CacheInvalidation.of(42L, UserCaches.Kind.TODOS, UserCaches.Kind.STATS);
+        busA.publish(sent);
+
+        for (LinkedBlockingQueue<CacheInvalidation> received : List.of(atB, atC)) {
+            CacheInvalidation invalidation = received.poll(2, TimeUnit.SECONDS);
+            assertThat(invalidation).isEqualTo(sent);
+            assertThat(invalidation.kinds()).isEqualTo(Set.of(UserCaches.Kind.TODOS, UserCaches.Kind.STATS));
+        }
+        assertThat(atA.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("should drop messages for a dead peer and reach it again once it is back")
+    void publish_ReconnectsToRestartedPeer() throws Exception {
+        int a = freePort();
+        int b = freePort();
+        SocketInvalidationBus busA = open(a, b);
+
+        busA.publish(CacheInvalidation.of(1L, UserCaches.Kind.USERS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (busA.droppedCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(busA.droppedCount()).isEqualTo(1);
+
+        LinkedBlockingQueue<CacheInvalidation> atB = new LinkedBlockingQueue<>();
+        open(b, a).subscribe(atB::add);
+        busA.publish(CacheInvalidation.of(2L, UserCaches.Kind.USERS));
+        assertThat(atB.poll(2, TimeUnit.SECONDS).userId()).isEqualTo(2L);
+    }
+}
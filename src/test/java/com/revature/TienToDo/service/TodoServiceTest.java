@@ -13,7 +13,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -24,6 +26,8 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,6 +39,13 @@ public class TodoServiceTest {
     @Mock
     private SubtaskRepository subtaskRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    // Caches are off unless app.cache.enabled is set, so reads go straight to the mocks
+    @Spy
+    private UserCaches userCaches = new UserCaches();
+
     @InjectMocks
     private TodoService todoService;
 
@@ -67,6 +78,11 @@ public class TodoServiceTest {
         testSubtask.setUpdatedAt(LocalDateTime.now());
     }
 
+    private TodoResponse todoView(boolean completed) {
+        return new TodoResponse(1L, "Buy groceries", "Milk, eggs, bread", completed,
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+
     @Nested
     @DisplayName("getAllTodos()")
     class GetAllTodosTests {
@@ -74,8 +90,8 @@ public class TodoServiceTest {
         @Test
         @DisplayName("should return all todos for user")
         void getAllTodos_Success() {
-            when(todoRepository.findByUserIdOrderByCreatedAtDesc(1L))
-                    .thenReturn(List.of(testTodo));
+            when(todoRepository.findTodoViewsByUserId(1L))
+                    .thenReturn(List.of(todoView(false)));
 
             List<TodoResponse> result = todoService.getAllTodos(testUser);
 
@@ -83,15 +99,32 @@ public class TodoServiceTest {
             assertThat(result.get(0).getTitle()).isEqualTo("Buy groceries");
         }
 
+        @Test
+        @DisplayName("should attach subtasks with a single batched query")
+        void getAllTodos_AttachesSubtasks() {
+            when(todoRepository.findTodoViewsByUserId(1L))
+                    .thenReturn(List.of(todoView(false)));
+            when(subtaskRepository.findSubtaskRowsByTodoIds(List.of(1L)))
+                    .thenReturn(List.of(new SubtaskRow(1L, 1L, "Buy milk", false,
+                            LocalDateTime.now(), LocalDateTime.now())));
+
+            List<TodoResponse> result = todoService.getAllTodos(testUser);
+
+            assertThat(result.get(0).getSubtasks()).hasSize(1);
+            assertThat(result.get(0).getSubtasks().get(0).getTitle()).isEqualTo("Buy milk");
+            verify(subtaskRepository, times(1)).findSubtaskRowsByTodoIds(any());
+        }
+
         @Test
         @DisplayName("should return empty list when no todos")
         void getAllTodos_Empty() {
-            when(todoRepository.findByUserIdOrderByCreatedAtDesc(1L))
+            when(todoRepository.findTodoViewsByUserId(1L))
                     .thenReturn(List.of());
 
             List<TodoResponse> result = todoService.getAllTodos(testUser);
 
             assertThat(result).isEmpty();
+            verify(subtaskRepository, never()).findSubtaskRowsByTodoIds(any());
         }
     }
 
@@ -145,6 +178,12 @@ public class TodoServiceTest {
 
             TodoResponse result = todoService.createTodo(request, testUser);
 
+            verify(eventPublisher).publishEvent(argThat((Object event) ->
+                    event instanceof TodoEvent e
+                            && e.getType() == TodoEvent.Type.CREATED
+                            && e.getUserId().equals(1L)
+                            && e.getTodoId().equals(2L)));
+
             assertThat(result.getId()).isEqualTo(2L);
             assertThat(result.getTitle()).isEqualTo("New task");
 
@@ -218,6 +257,30 @@ public class TodoServiceTest {
             verify(todoRepository).delete(testTodo);
         }
 
+        @Test
+        @DisplayName("should publish a DELETED event for the owner")
+        void deleteTodo_PublishesEvent() {
+            when(todoRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testTodo));
+
+            todoService.deleteTodo(1L, testUser);
+
+            verify(eventPublisher).publishEvent(argThat((Object event) ->
+                    event instanceof TodoEvent e
+                            && e.getType() == TodoEvent.Type.DELETED
+                            && e.getTodoId().equals(1L)
+                            && e.getTodo() == null));
+        }
+
+        @Test
+        @DisplayName("should not publish when the todo is not found")
+        void deleteTodo_NotFound_NoEvent() {
+            when(todoRepository.findByIdAndUserId(99L, 1L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> todoService.deleteTodo(99L, testUser))
+                    .isInstanceOf(TodoService.ResourceNotFoundException.class);
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
+
         @Test
         @DisplayName("should throw when deleting non-existent todo")
         void deleteTodo_NotFound() {
@@ -252,7 +315,8 @@ public class TodoServiceTest {
         @Test
         @DisplayName("getActiveTodos should return only incomplete todos")
         void getActiveTodos() {
-            when(todoRepository.findActiveTodosByUserId(1L)).thenReturn(List.of(testTodo));
+            when(todoRepository.findTodoViewsByUserIdAndCompleted(1L, false))
+                    .thenReturn(List.of(todoView(false)));
 
             List<TodoResponse> result = todoService.getActiveTodos(testUser);
 
@@ -263,8 +327,8 @@ public class TodoServiceTest {
         @Test
         @DisplayName("getCompletedTodos should return only completed todos")
         void getCompletedTodos() {
-            testTodo.setCompleted(true);
-            when(todoRepository.findCompletedTodosByUserId(1L)).thenReturn(List.of(testTodo));
+            when(todoRepository.findTodoViewsByUserIdAndCompleted(1L, true))
+                    .thenReturn(List.of(todoView(true)));
 
             List<TodoResponse> result = todoService.getCompletedTodos(testUser);
 
@@ -275,18 +339,19 @@ public class TodoServiceTest {
         @Test
         @DisplayName("searchTodos should pass keyword to repository")
         void searchTodos() {
-            when(todoRepository.searchByKeyword(1L, "groceries")).thenReturn(List.of(testTodo));
+            when(todoRepository.searchTodoViewsByKeyword(1L, "groceries"))
+                    .thenReturn(List.of(todoView(false)));
 
             List<TodoResponse> result = todoService.searchTodos("groceries", testUser);
 
             assertThat(result).hasSize(1);
-            verify(todoRepository).searchByKeyword(1L, "groceries");
+            verify(todoRepository).searchTodoViewsByKeyword(1L, "groceries");
         }
 
         @Test
         @DisplayName("searchTodos should return empty for no match")
         void searchTodos_NoMatch() {
-            when(todoRepository.searchByKeyword(1L, "xyz")).thenReturn(List.of());
+            when(todoRepository.searchTodoViewsByKeyword(1L, "xyz")).thenReturn(List.of());
 
             List<TodoResponse> result = todoService.searchTodos("xyz", testUser);
 
@@ -303,9 +368,10 @@ public class TodoServiceTest {
         @Test
         @DisplayName("getSubtasksByTodoId should verify ownership then return subtasks")
         void getSubtasks_Success() {
-            when(todoRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testTodo));
-            when(subtaskRepository.findByTodoIdOrderByCreatedAtAsc(1L))
-                    .thenReturn(List.of(testSubtask));
+            when(todoRepository.existsByIdAndUserId(1L, 1L)).thenReturn(true);
+            when(subtaskRepository.findSubtaskViewsByTodoId(1L))
+                    .thenReturn(List.of(new SubtaskResponse(1L, "Buy milk", false,
+                            LocalDateTime.now(), LocalDateTime.now())));
 
             List<SubtaskResponse> result = todoService.getSubtasksByTodoId(1L, testUser);
 
@@ -316,7 +382,7 @@ public class TodoServiceTest {
         @Test
         @DisplayName("getSubtasksByTodoId should throw when todo not owned")
         void getSubtasks_TodoNotOwned() {
-            when(todoRepository.findByIdAndUserId(99L, 1L)).thenReturn(Optional.empty());
+            when(todoRepository.existsByIdAndUserId(99L, 1L)).thenReturn(false);
 
             assertThatThrownBy(() -> todoService.getSubtasksByTodoId(99L, testUser))
                     .isInstanceOf(TodoService.ResourceNotFoundException.class)
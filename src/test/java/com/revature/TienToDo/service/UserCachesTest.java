@@ -0,0 +1,83 @@
+package com.revature.TienToDo.service;
+
+import com.revature.TienToDo.entity.User;
+import com.revature.TienToDo.utility.RequestInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class UserCachesTest {
+    private UserCaches caches;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        caches = new UserCaches();
+        ReflectionTestUtils.setField(caches, "enabled", true);
+        ReflectionTestUtils.setField(caches, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(caches, "invalidationBus", mock(ObjectProvider.class));
+        caches.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestInfo.clear();
+    }
+
+    private Optional<User> load() {
+        loads.incrementAndGet();
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setPasswordHash("$2a$10$hash");
+        user.setCreatedAt(LocalDateTime.of(2025, 1, 1, 10, 0));
+        user.setUpdatedAt(LocalDateTime.of(2025, 1, 2, 10, 0));
+        return Optional.of(user);
+    }
+
+    @Test
+    @DisplayName("should keep users without their password hash")
+    void user_CachedWithoutPasswordHash() {
+        caches.user("alice", this::load);
+        User cached = caches.user("alice", this::load).orElseThrow();
+
+        assertThat(loads).hasValue(1);
+        assertThat(cached.getId()).isEqualTo(7L);
+        assertThat(cached.getEmail()).isEqualTo("alice@example.com");
+        assertThat(cached.getUpdatedAt()).isEqualTo(LocalDateTime.of(2025, 1, 2, 10, 0));
+        assertThat(cached.getPasswordHash()).isNull();
+    }
+
+    @Test
+    @DisplayName("should neither fill nor read the caches during warm-up requests")
+    void warmup_BypassesCaches() {
+        RequestInfo.start("/api/todos");
+        RequestInfo.markWarmup();
+        assertThat(caches.user("alice", this::load).orElseThrow().getPasswordHash()).isNotNull();
+        caches.todos(7L, List::of);
+        assertThat(caches.isCached(UserCaches.Kind.USERS, 7L)).isFalse();
+        assertThat(caches.isCached(UserCaches.Kind.TODOS, 7L)).isFalse();
+
+        RequestInfo.clear();
+        caches.user("alice", this::load);
+        RequestInfo.start("/api/todos");
+        RequestInfo.markWarmup();
+        caches.user("alice", this::load);
+
+        assertThat(loads).hasValue(3);
+    }
+}
@@ -0,0 +1,74 @@
+package com.revature.TienToDo.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class UserCostTrackerTest {
+    private SimpleMeterRegistry meterRegistry;
+    private UserCostTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new UserCostTracker();
+        ReflectionTestUtils.setField(tracker, "enabled", true);
+        ReflectionTestUtils.setField(tracker, "bucketSeconds", 60);
+        ReflectionTestUtils.setField(tracker, "bucketCount", 5);
+        ReflectionTestUtils.setField(tracker, "sketchWidth", 256);
+        ReflectionTestUtils.setField(tracker, "sketchDepth", 4);
+        ReflectionTestUtils.setField(tracker, "candidates", 8);
+        ReflectionTestUtils.setField(tracker, "gaugeWindowSeconds", 300);
+        ReflectionTestUtils.setField(tracker, "gaugeTopUsers", 1);
+        ReflectionTestUtils.setField(tracker, "meterRegistry", meterRegistry);
+        tracker.init();
+    }
+
+    @Test
+    @DisplayName("should rank users by the requested resource")
+    void topUsers_RankedByResource() {
+        // alice: heavy on the database; bob: small queries, large responses
+        for (int i = 0; i < 10; i++) {
+            tracker.record(1L, "alice", 50_000_000L, 1000, 3, 2_000);
+            tracker.record(2L, "bob", 1_000_000L, 10, 2, 80_000);
+        }
+
+        List<UserCostTracker.UserCost> byDb = tracker.topUsers(UserCostTracker.Resource.DB_TIME, 300, 10);
+        List<UserCostTracker.UserCost> byBytes = tracker.topUsers(UserCostTracker.Resource.BYTES, 300, 10);
+
+        assertThat(byDb).extracting(UserCostTracker.UserCost::username).containsExactly("alice", "bob");
+        assertThat(byDb.get(0).dbTimeMs()).isGreaterThanOrEqualTo(500.0);
+        assertThat(byDb.get(0).rowsRead()).isGreaterThanOrEqualTo(10_000);
+        assertThat(byDb.get(0).statements()).isGreaterThanOrEqualTo(30);
+        assertThat(byBytes.get(0).username()).isEqualTo("bob");
+        assertThat(byBytes.get(0).share()).isGreaterThan(0.9);
+    }
+
+    @Test
+    @DisplayName("should expose the top users' share as a gauge")
+    void gauge_ReportsTopShare() {
+        tracker.record(1L, "alice", 90_000_000L, 0, 1, 0);
+        tracker.record(2L, "bob", 10_000_000L, 0, 1, 0);
+
+        double share = meterRegistry.get("todo.cost.top_share").tag("resource", "db_time").gauge().value();
+
+        assertThat(share).isBetween(0.9, 1.0);
+    }
+
+    @Test
+    @DisplayName("should reject windows longer than the bucket ring")
+    void topUsers_RejectsLongWindow() {
+        assertThatThrownBy(() -> tracker.topUsers(UserCostTracker.Resource.BYTES, 301, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UserCostTracker.Resource.fromParam("cpu"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(UserCostTracker.Resource.fromParam("rows-read")).isEqualTo(UserCostTracker.Resource.ROWS_READ);
+    }
+}
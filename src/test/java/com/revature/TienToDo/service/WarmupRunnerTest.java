@@ -0,0 +1,51 @@
+package com.revature.TienToDo.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WarmupRunnerTest {
+
+    @Test
+    @DisplayName("should settle only after enough quiet intervals in a row")
+    void settleDetector_NeedsConsecutiveQuietIntervals() {
+        WarmupRunner.SettleDetector detector = new WarmupRunner.SettleDetector(20, 3);
+
+        assertThat(detector.sample(400)).isFalse();
+        assertThat(detector.sample(5)).isFalse();
+        assertThat(detector.sample(3)).isFalse();
+        assertThat(detector.sample(25)).isFalse();
+        assertThat(detector.sample(0)).isFalse();
+        assertThat(detector.sample(19)).isFalse();
+        assertThat(detector.sample(2)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should accept only loopback requests with the token while running")
+    void isWarmupRequest_ChecksTokenAddressAndState() {
+        WarmupRunner runner = new WarmupRunner();
+        String token = new String((byte[]) ReflectionTestUtils.getField(runner, "token"), StandardCharsets.US_ASCII);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/todos");
+        request.setRemoteAddr("127.0.0.1");
+        request.addHeader(WarmupRunner.TOKEN_HEADER, token);
+        assertThat(runner.isWarmupRequest(request)).isFalse();
+
+        ((AtomicBoolean) ReflectionTestUtils.getField(runner, "running")).set(true);
+        assertThat(runner.isWarmupRequest(request)).isTrue();
+
+        request.setRemoteAddr("10.0.0.7");
+        assertThat(runner.isWarmupRequest(request)).isFalse();
+
+        MockHttpServletRequest forged = new MockHttpServletRequest("GET", "/api/todos");
+        forged.setRemoteAddr("127.0.0.1");
+        forged.addHeader(WarmupRunner.TOKEN_HEADER, "not-the-token");
+        assertThat(runner.isWarmupRequest(forged)).isFalse();
+    }
+}
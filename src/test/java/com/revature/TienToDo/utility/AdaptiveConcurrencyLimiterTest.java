@@ -0,0 +1,124 @@
+package com.revature.TienToDo.utility;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterTest {
+    private static final long MS = 1_000_000L;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        // One sample per window, so each release decides on its own
+        limiter = limiter(4.0, 1);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(double initialLimit, int windowSamples) {
+        meterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter();
+        ReflectionTestUtils.setField(limiter, "initialLimit", initialLimit);
+        ReflectionTestUtils.setField(limiter, "minLimit", 2.0);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 100.0);
+        ReflectionTestUtils.setField(limiter, "tolerance", 2.0);
+        ReflectionTestUtils.setField(limiter, "backoff", 0.5);
+        ReflectionTestUtils.setField(limiter, "priorityHeadroom", 0.5);
+        ReflectionTestUtils.setField(limiter, "windowSamples", windowSamples);
+        ReflectionTestUtils.setField(limiter, "windowMinMs", 0L);
+        ReflectionTestUtils.setField(limiter, "meterRegistry", meterRegistry);
+        limiter.init();
+        return limiter;
+    }
+
+    @Test
+    @DisplayName("should shed normal requests beyond the limit and count them")
+    void shedsBeyondLimit() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire(false)).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire(false)).isFalse();
+        assertThat(meterRegistry.get("todo.concurrency.shed").tag("priority", "normal").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should still admit priority requests into the headroom")
+    void priorityHeadroom() {
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire(false);
+        }
+
+        assertThat(limiter.tryAcquire(true)).isTrue();
+        assertThat(limiter.tryAcquire(true)).isTrue();
+        assertThat(limiter.tryAcquire(true)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should cut the limit when latency rises above tolerance")
+    void backsOffOnLatency() {
+        limiter.tryAcquire(false);
+        limiter.release(10 * MS, 200);
+
+        limiter.tryAcquire(false);
+        limiter.release(50 * MS, 200);
+
+        assertThat(limiter.getLimit()).isEqualTo(2.0);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("should grow the limit while busy and latency is healthy")
+    void growsWhenHealthy() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(false);
+        }
+        limiter.release(10 * MS, 200);
+
+        assertThat(limiter.getLimit()).isGreaterThan(4.0);
+    }
+
+    @Test
+    @DisplayName("should cut the limit once per window however many samples in it are slow")
+    void backsOffOncePerWindow() {
+        limiter = limiter(20.0, 20);
+        // Healthy, but too few in flight to grow: sets the baseline only
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire(false);
+            limiter.release(10 * MS, 200);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(20.0);
+
+        // A pause that makes a whole window's responses slow
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire(false);
+            limiter.release(100 * MS, 200);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10.0);
+    }
+
+    @Test
+    @DisplayName("should keep fast 4xx responses out of the latency baseline")
+    void ignoresClientErrorsForBaseline() {
+        limiter.tryAcquire(false);
+        limiter.release(10 * MS, 200);
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire(false);
+            limiter.release(MS / 10, 401);
+        }
+
+        // Within tolerance of the 10 ms baseline, though far above the 401s
+        limiter.tryAcquire(false);
+        limiter.release(15 * MS, 200);
+
+        assertThat(limiter.getLimit()).isEqualTo(4.0);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
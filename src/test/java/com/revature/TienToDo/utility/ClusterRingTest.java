@@ -0,0 +1,59 @@
+package com.revature.TienToDo.utility;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ClusterRingTest {
+    private static final String THREE = "a=http://a:8080,b=http://b:8080,c=http://c:8080";
+
+    @Test
+    @DisplayName("should give every node the same owner for a user, spread evenly")
+    void ownerOf_AgreesAcrossNodes() {
+        ClusterRing fromA = ClusterRing.parse("a", THREE, 128);
+        ClusterRing fromC = ClusterRing.parse("c", THREE, 128);
+
+        Map<String, Integer> owned = new HashMap<>();
+        for (long userId = 1; userId <= 30_000; userId++) {
+            String owner = fromA.ownerOf(userId);
+            assertThat(fromC.ownerOf(userId)).isEqualTo(owner);
+            owned.merge(owner, 1, Integer::sum);
+        }
+        assertThat(owned).containsOnlyKeys("a", "b", "c");
+        assertThat(owned.values()).allSatisfy(count -> assertThat(count).isBetween(8_000, 12_000));
+        assertThat(fromA.addressOf("b").toString()).isEqualTo("http://b:8080");
+    }
+
+    @Test
+    @DisplayName("should move only about a quarter of the users, all to the new node, when a fourth joins")
+    void ownerOf_MovesFewUsersOnJoin() {
+        ClusterRing three = ClusterRing.parse("a", THREE, 128);
+        ClusterRing four = ClusterRing.parse("a", THREE + ",d=http://d:8080", 128);
+
+        int moved = 0;
+        for (long userId = 1; userId <= 20_000; userId++) {
+            String before = three.ownerOf(userId);
+            String after = four.ownerOf(userId);
+            if (!before.equals(after)) {
+                assertThat(after).isEqualTo("d");
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(3_500, 6_500);
+    }
+
+    @Test
+    @DisplayName("should reject a node id missing from the node list")
+    void parse_RejectsUnknownSelf() {
+        assertThatThrownBy(() -> ClusterRing.parse("z", THREE, 16))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'z'");
+        assertThatThrownBy(() -> ClusterRing.parse("a", "a", 16))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
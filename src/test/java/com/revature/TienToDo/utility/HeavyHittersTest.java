@@ -0,0 +1,72 @@
+package com.revature.TienToDo.utility;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HeavyHittersTest {
+
+    @Test
+    @DisplayName("should never undercount a key")
+    void estimate_NeverUndercounts() {
+        HeavyHitters sketch = new HeavyHitters(64, 4, 8);
+        for (long user = 0; user < 1000; user++) {
+            sketch.add(user, "user" + user, user % 7 + 1);
+        }
+
+        for (long user = 0; user < 1000; user++) {
+            assertThat(sketch.estimate(user)).isGreaterThanOrEqualTo(user % 7 + 1);
+        }
+        assertThat(sketch.total()).isEqualTo(1000 / 7 * 28 + 1 + 2 + 3 + 4 + 5 + 6);
+    }
+
+    @Test
+    @DisplayName("should keep the heavy users among a long tail with bounded candidates")
+    void candidates_KeepHeavyHitters() {
+        HeavyHitters sketch = new HeavyHitters(1024, 4, 10);
+        for (int round = 0; round < 20; round++) {
+            for (long user = 100; user < 5100; user++) {
+                sketch.add(user, "tail", 1);
+            }
+            for (long heavy = 1; heavy <= 3; heavy++) {
+                sketch.add(heavy, "heavy" + heavy, 500);
+            }
+        }
+
+        assertThat(sketch.candidates()).containsKeys(1L, 2L, 3L);
+        assertThat(sketch.candidates().size()).isLessThanOrEqualTo(20);
+        assertThat(sketch.estimate(1L)).isBetween(10_000L, 10_000L + sketch.total() * 3 / 1024);
+    }
+
+    @Test
+    @DisplayName("should count every concurrent add")
+    void add_IsThreadSafe() throws Exception {
+        HeavyHitters sketch = new HeavyHitters(256, 4, 16);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    sketch.add(i % 50, "user", 1);
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(sketch.total()).isEqualTo(80_000);
+        assertThat(sketch.estimate(0)).isGreaterThanOrEqualTo(1_600);
+    }
+
+    @Test
+    @DisplayName("should reject empty dimensions")
+    void constructor_RejectsZero() {
+        assertThatThrownBy(() -> new HeavyHitters(0, 4, 8))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
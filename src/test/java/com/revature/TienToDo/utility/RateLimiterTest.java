@@ -0,0 +1,78 @@
+package com.revature.TienToDo.utility;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimiterTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("app.rate-limit.write.rate-per-second", "1")
+                .withProperty("app.rate-limit.write.burst", "3");
+        rateLimiter = new RateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "env", env);
+        rateLimiter.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rateLimiter.shutdown();
+    }
+
+    @Test
+    @DisplayName("should allow a full burst, then reject with the wait until the next token")
+    void burstThenReject() {
+        long now = 10 * SECOND;
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire(RateLimiter.RouteGroup.WRITE, "user:a", now)).isZero();
+        }
+        long wait = rateLimiter.tryAcquire(RateLimiter.RouteGroup.WRITE, "user:a", now);
+
+        assertThat(wait).isEqualTo(SECOND);
+    }
+
+    @Test
+    @DisplayName("should refill at the configured rate")
+    void refills() {
+        long now = 10 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(RateLimiter.RouteGroup.WRITE, "user:a", now);
+        }
+
+        assertThat(rateLimiter.tryAcquire(RateLimiter.RouteGroup.WRITE, "user:a", now + SECOND)).isZero();
+        assertThat(rateLimiter.tryAcquire(RateLimiter.RouteGroup.WRITE, "user:a", now + SECOND)).isPositive();
+    }
+
+    @Test
+    @DisplayName("should keep clients and route groups independent")
+    void independentKeys() {
+        long now = 10 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(RateLimiter.RouteGroup.WRITE, "user:a", now);
+        }
+
+        assertThat(rateLimiter.tryAcquire(RateLimiter.RouteGroup.WRITE, "user:b", now)).isZero();
+        assertThat(rateLimiter.tryAcquire(RateLimiter.RouteGroup.READ, "user:a", now)).isZero();
+    }
+
+    @Test
+    @DisplayName("should sweep buckets that have fully refilled")
+    void sweepsIdleBuckets() {
+        rateLimiter.tryAcquire(RateLimiter.RouteGroup.WRITE, "user:a", System.nanoTime() - 10 * SECOND);
+
+        rateLimiter.sweep();
+
+        assertThat(rateLimiter.getTrackedKeys()).isZero();
+    }
+}